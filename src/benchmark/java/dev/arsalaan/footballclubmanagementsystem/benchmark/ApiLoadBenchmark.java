@@ -0,0 +1,337 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Load benchmark (see LoadHarness), run with:
+//   mvn -P benchmark test -Dtest=ApiLoadBenchmark [-Dload.teams=1000 -Dload.threads=8 -Dload.warmup=10 -Dload.duration=30 -Dload.writes=0.1]
+// Boots the app over a synthetic dataset (load.teams Teams with a full squad, Stadium, Owner and Cup entry each,
+// 20 Teams per League) and drives every controller with a weighted mix of concurrent reads and writes (load.writes is
+// the share of writes). Latency per endpoint is recorded in an HdrHistogram and written, together with throughput and
+// error counts, to target/load-test-report.json (load.report) - diff it between builds.
+
+@Slf4j
+public class ApiLoadBenchmark {
+
+    private static final int TEAMS = Integer.getInteger("load.teams", 1_000);
+    private static final int SQUAD_SIZE = 25;
+    private static final int TEAMS_PER_LEAGUE = 20;
+    private static final int THREADS = Integer.getInteger("load.threads", 8);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration", 30);
+    private static final double WRITE_RATIO = Double.parseDouble(System.getProperty("load.writes", "0.1"));
+    private static final Path REPORT = LoadHarness.reportFile("load-test-report.json");
+
+    static {
+        LoadHarness.keepAliveConnections(THREADS);
+    }
+
+    // status codes are counted per endpoint
+    private final RestTemplate restTemplate = LoadHarness.restTemplate();
+
+    private final AtomicLong uniqueNames = new AtomicLong();
+
+    private List<Long> leagueIds;
+    private List<Long> teamIds;
+    private List<Long> playerIds;
+    private List<Long> cupIds;
+    private List<Long> ownerIds;
+    private List<Long> stadiumIds;
+
+    private String baseUrl;
+    private List<Endpoint> reads;
+    private List<Endpoint> writes;
+
+    @Test
+    public void runLoadAndWriteReport() throws Exception {
+
+        Map<String, Object> report;
+
+        try (ConfigurableApplicationContext context = LoadHarness.start("loadtest")) {
+
+            baseUrl = "http://localhost:" + LoadHarness.port(context);
+            seed(context.getBean(JdbcTemplate.class));
+            defineEndpoints();
+
+            run(WARMUP_SECONDS); // JIT, connection pools, statement caches
+            reads.forEach(Endpoint::reset);
+            writes.forEach(Endpoint::reset);
+
+            long start = System.nanoTime();
+            run(DURATION_SECONDS);
+            report = report((System.nanoTime() - start) / 1e9);
+        }
+
+        LoadHarness.writeReport(REPORT, report);
+
+        StringBuilder summary = new StringBuilder(String.format("%-42s %9s %7s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        ((Map<?, ?>) report.get("endpoints")).forEach((name, value) -> {
+            Map<?, ?> endpoint = (Map<?, ?>) value;
+            Map<?, ?> latency = (Map<?, ?>) endpoint.get("latencyMillis");
+            summary.append(String.format("%n%-42s %9d %7d %9.1f %9.3f %9.3f %9.3f %9.3f", name, endpoint.get("requests"),
+                    endpoint.get("errors"), endpoint.get("throughputPerSecond"), latency.get("p50"), latency.get("p95"),
+                    latency.get("p99"), latency.get("max")));
+        });
+        log.info("Per endpoint:\n{}", summary);
+
+        // writes may legitimately fail under contention (optimistic locking), reads of seeded rows never should
+        assertThat(reads.stream().mapToLong(endpoint -> endpoint.requests).sum()).isPositive();
+        assertThat(reads).allSatisfy(endpoint -> assertThat(endpoint.errors.sum()).as(endpoint.name).isZero());
+    }
+
+    private void run(int seconds) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            workers.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    pick(random.nextDouble() < WRITE_RATIO ? writes : reads, random).call(restTemplate, random);
+                }
+            });
+        }
+
+        workers.shutdown();
+        assertThat(workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static Endpoint pick(List<Endpoint> endpoints, Random random) {
+
+        int total = endpoints.stream().mapToInt(endpoint -> endpoint.weight).sum();
+        int ticket = random.nextInt(total);
+
+        for (Endpoint endpoint : endpoints) {
+            ticket -= endpoint.weight;
+            if (ticket < 0) {
+                return endpoint;
+            }
+        }
+
+        throw new IllegalStateException("no endpoint picked");
+    }
+
+    private void defineEndpoints() {
+
+        reads = new ArrayList<>();
+        reads.add(get("/api/v1/team/{teamId}", 3, random -> any(teamIds, random)));
+        reads.add(get("/api/v1/team/?limit=50&after={after}", 1, random -> any(teamIds, random)));
+        reads.add(get("/api/v1/team/league/{leagueId}", 1, random -> any(leagueIds, random)));
+        reads.add(get("/api/v1/player/{playerId}", 3, random -> any(playerIds, random)));
+        reads.add(get("/api/v1/player/?limit=100&after={after}", 1, random -> any(playerIds, random)));
+        reads.add(get("/api/v1/player/team/{teamId}", 2, random -> any(teamIds, random)));
+        reads.add(get("/api/v1/league/{leagueId}", 1, random -> any(leagueIds, random)));
+        reads.add(get("/api/v1/league/?limit=10&after={after}", 1, random -> any(leagueIds, random)));
+        reads.add(get("/api/v1/cup/{cupId}", 1, random -> any(cupIds, random)));
+        reads.add(get("/api/v1/cup/team/{teamId}", 1, random -> any(teamIds, random)));
+        reads.add(get("/api/v1/owner/{ownerId}", 1, random -> any(ownerIds, random)));
+        reads.add(get("/api/v1/owner/team/{teamId}", 1, random -> any(teamIds, random)));
+        reads.add(get("/api/v1/stadium/{stadiumId}", 1, random -> any(stadiumIds, random)));
+        reads.add(get("/api/v1/stadium/team/{teamId}", 1, random -> any(teamIds, random)));
+
+        writes = new ArrayList<>();
+        writes.add(write(HttpMethod.POST, "/api/v1/player/", 3, random -> null,
+                random -> body("name", "Player " + uniqueNames.incrementAndGet(), "position", "CM",
+                        "nationality", "England", "age", 18 + random.nextInt(20))));
+        writes.add(write(HttpMethod.PUT, "/api/v1/player/{playerId}", 3, random -> any(playerIds, random),
+                random -> body("age", 18 + random.nextInt(20))));
+        writes.add(write(HttpMethod.POST, "/api/v1/team/", 1, random -> null,
+                random -> body("name", "Team " + uniqueNames.incrementAndGet(), "city", "City")));
+        writes.add(write(HttpMethod.PUT, "/api/v1/team/{teamId}", 1, random -> any(teamIds, random),
+                random -> body("name", "Team " + uniqueNames.incrementAndGet(), "city", "City", "manager", "Manager")));
+        writes.add(write(HttpMethod.PUT, "/api/v1/league/{leagueId}", 1, random -> any(leagueIds, random),
+                random -> body("name", "League " + uniqueNames.incrementAndGet())));
+        writes.add(write(HttpMethod.PUT, "/api/v1/cup/{cupId}", 1, random -> any(cupIds, random),
+                random -> body("numberOfTeams", 2 + random.nextInt(100))));
+        writes.add(write(HttpMethod.PUT, "/api/v1/owner/{ownerId}", 1, random -> any(ownerIds, random),
+                random -> body("netWorth", "$" + random.nextInt(10) + "bn")));
+        writes.add(write(HttpMethod.PUT, "/api/v1/stadium/{stadiumId}", 1, random -> any(stadiumIds, random),
+                random -> body("capacity", 10_000 + random.nextInt(80_000))));
+    }
+
+    private Endpoint get(String path, int weight, Function<Random, Object> pathVariable) {
+        return new Endpoint("GET " + path, weight, random -> RequestEntity.get(uri(path, pathVariable.apply(random))).build());
+    }
+
+    private Endpoint write(HttpMethod method, String path, int weight, Function<Random, Object> pathVariable,
+                           Function<Random, Map<String, Object>> body) {
+        return new Endpoint(method + " " + path, weight, random -> RequestEntity.method(method, uri(path, pathVariable.apply(random)))
+                .contentType(MediaType.APPLICATION_JSON).body(body.apply(random)));
+    }
+
+    private URI uri(String path, Object pathVariable) {
+        return restTemplate.getUriTemplateHandler().expand(baseUrl + path, pathVariable);
+    }
+
+    private static Long any(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static Map<String, Object> body(Object... keysAndValues) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            body.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return body;
+    }
+
+    private Map<String, Object> report(double seconds) {
+
+        Map<String, Object> endpoints = new TreeMap<>(); // sorted, so reports of two builds diff line by line
+        long requests = 0;
+        long errors = 0;
+
+        for (List<Endpoint> group : Arrays.asList(reads, writes)) {
+            for (Endpoint endpoint : group) {
+                Histogram histogram = endpoint.recorder.getIntervalHistogram();
+                endpoint.requests = histogram.getTotalCount();
+                requests += endpoint.requests;
+                errors += endpoint.errors.sum();
+
+                Map<String, Object> result = new LinkedHashMap<>();
+                result.put("requests", endpoint.requests);
+                result.put("errors", endpoint.errors.sum());
+                result.put("throughputPerSecond", LoadHarness.round(endpoint.requests / seconds));
+                result.put("latencyMillis", LoadHarness.latencyMillis(histogram));
+                endpoints.put(endpoint.name, result);
+            }
+        }
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("teams", TEAMS);
+        config.put("players", playerIds.size());
+        config.put("threads", THREADS);
+        config.put("warmupSeconds", WARMUP_SECONDS);
+        config.put("durationSeconds", DURATION_SECONDS);
+        config.put("writeRatio", WRITE_RATIO);
+
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("requests", requests);
+        totals.put("errors", errors);
+        totals.put("throughputPerSecond", LoadHarness.round(requests / seconds));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("totals", totals);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+
+        List<Object[]> leagues = new ArrayList<>();
+        for (int l = 0; l < (TEAMS + TEAMS_PER_LEAGUE - 1) / TEAMS_PER_LEAGUE; l++) {
+            leagues.add(new Object[]{"League " + l, "Country " + l, TEAMS_PER_LEAGUE});
+        }
+        jdbcTemplate.batchUpdate("insert into league (name, country, number_of_teams, version) values (?, ?, ?, 0)", leagues);
+        leagueIds = LoadHarness.ids(jdbcTemplate, "league");
+
+        List<Object[]> teams = new ArrayList<>();
+        for (int t = 0; t < TEAMS; t++) {
+            teams.add(new Object[]{"Seed Team " + t, "City " + t, "Manager " + t, leagueIds.get(t / TEAMS_PER_LEAGUE)});
+        }
+        jdbcTemplate.batchUpdate("insert into team (name, city, manager, league_id, version) values (?, ?, ?, ?, 0)", teams);
+        teamIds = LoadHarness.ids(jdbcTemplate, "team");
+
+        List<Object[]> cups = new ArrayList<>();
+        for (int c = 0; c < leagueIds.size(); c++) {
+            cups.add(new Object[]{"Cup " + c, TEAMS_PER_LEAGUE});
+        }
+        jdbcTemplate.batchUpdate("insert into cup (name, number_of_teams) values (?, ?)", cups);
+        cupIds = LoadHarness.ids(jdbcTemplate, "cup");
+
+        List<Object[]> stadiums = new ArrayList<>();
+        List<Object[]> owners = new ArrayList<>();
+        List<Object[]> cupEntries = new ArrayList<>();
+        List<Object[]> players = new ArrayList<>();
+        for (int t = 0; t < teamIds.size(); t++) {
+            Long teamId = teamIds.get(t);
+            stadiums.add(new Object[]{"Stadium " + t, 40_000, teamId});
+            owners.add(new Object[]{"Owner " + t, "$1bn", teamId});
+            cupEntries.add(new Object[]{cupIds.get(t / TEAMS_PER_LEAGUE), teamId});
+            for (int p = 0; p < SQUAD_SIZE; p++) {
+                players.add(new Object[]{"Player " + t + "-" + p, "CM", "England", 18 + p % 20, teamId});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into stadium (name, capacity, team_id) values (?, ?, ?)", stadiums);
+        jdbcTemplate.batchUpdate("insert into owner (name, net_worth, team_id) values (?, ?, ?)", owners);
+        jdbcTemplate.batchUpdate("insert into team_cup_map (cup_id, team_id) values (?, ?)", cupEntries);
+        jdbcTemplate.batchUpdate("insert into player (name, position, nationality, age, team_id, version) values (?, ?, ?, ?, ?, 0)", players);
+
+        playerIds = LoadHarness.ids(jdbcTemplate, "player");
+        stadiumIds = LoadHarness.ids(jdbcTemplate, "stadium");
+        ownerIds = LoadHarness.ids(jdbcTemplate, "owner");
+    }
+
+    private static final class Endpoint {
+
+        private final String name;
+        private final int weight;
+        private final Function<Random, RequestEntity<?>> request;
+        private final Recorder recorder = LoadHarness.recorder();
+        private final LongAdder errors = new LongAdder();
+        private long requests;
+
+        Endpoint(String name, int weight, Function<Random, RequestEntity<?>> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        void call(RestTemplate restTemplate, Random random) {
+
+            RequestEntity<?> requestEntity = request.apply(random);
+            long start = System.nanoTime();
+            boolean ok;
+
+            try {
+                ResponseEntity<byte[]> response = restTemplate.exchange(requestEntity, byte[].class);
+                ok = response.getStatusCode().is2xxSuccessful() || response.getStatusCodeValue() == 304;
+            } catch (RuntimeException e) {
+                ok = false;
+            }
+
+            LoadHarness.record(recorder, start);
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            recorder.getIntervalHistogram(); // drops everything recorded so far
+            errors.reset();
+        }
+
+    }
+
+}
@@ -0,0 +1,306 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Load benchmark (see LoadHarness), run with:
+//   mvn -P benchmark test -Dtest=LiveScoreLoadBenchmark [-Dload.steps=1000,2000,4000,8000 -Dload.matches=50 -Dload.rounds=5]
+// Ramps up live feed subscribers (GET /api/v1/match/{matchId}/live, one in ten on GET /api/v1/league/{leagueId}/live)
+// step by step, and at every step posts load.rounds goals to each of load.matches Matches. Per step it reports the
+// subscribers connected and still connected, the frames that arrived against those expected, the ones dropped as
+// slow or stalled, the fan-out latency (from the POST of a goal to its event arriving at a subscriber, HdrHistogram) and the
+// heap in use after a full GC per subscriber. Client and server share the JVM, so the heap per subscriber includes
+// the client side of the connection too: an upper bound for the server. The ramp stops at the first step at which
+// subscribers failed to connect (file descriptors, server.tomcat.max-connections). Results go to
+// target/live-score-report.json (load.report).
+
+@Slf4j
+public class LiveScoreLoadBenchmark {
+
+    private static final List<Integer> STEPS = Stream.of(System.getProperty("load.steps", "1000,2000,4000,8000").split(","))
+            .map(String::trim).map(Integer::valueOf).collect(Collectors.toList());
+    private static final int MATCHES = Integer.getInteger("load.matches", 50);
+    private static final int ROUNDS = Integer.getInteger("load.rounds", 5);
+    private static final int LEAGUE_SHARE = 10;
+    private static final Path REPORT = LoadHarness.reportFile("live-score-report.json");
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final Recorder latency = LoadHarness.recorder();
+    private final LongAdder frames = new LongAdder();
+
+    @Test
+    public void rampUpSubscribersAndWriteReport() throws Exception {
+
+        int maxSubscribers = STEPS.stream().mapToInt(Integer::intValue).max().orElse(0);
+
+        ConfigurableApplicationContext context = LoadHarness.start("live",
+                "--server.tomcat.max-connections=" + (maxSubscribers + 100),
+                "--app.live.max-subscribers=" + (maxSubscribers + 100));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("java", Runtime.version().toString());
+        config.put("processors", Runtime.getRuntime().availableProcessors());
+        config.put("maxHeapMb", Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        config.put("matches", MATCHES);
+        config.put("roundsPerStep", ROUNDS);
+        config.put("leagueSubscriberShare", "1 in " + LEAGUE_SHARE);
+        report.put("config", config);
+
+        List<Subscriber> subscribers = new ArrayList<>();
+        List<Map<String, Object>> steps = new ArrayList<>();
+        int maxConnected = 0;
+
+        try {
+            String baseUrl = "http://localhost:" + LoadHarness.port(context);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            Long leagueId = seed(jdbcTemplate);
+            List<Map<String, Object>> matches = jdbcTemplate.queryForList("select match_id, home_team_id from matches order by match_id");
+
+            long baseline = usedHeapAfterGc();
+
+            for (int target : STEPS) {
+
+                for (int s = subscribers.size(); s < target; s++) {
+                    Subscriber subscriber = s % LEAGUE_SHARE == 0
+                            ? new Subscriber(baseUrl + "/api/v1/league/" + leagueId + "/live", 2 * MATCHES)
+                            : new Subscriber(baseUrl + "/api/v1/match/" + matches.get(s % MATCHES).get("match_id") + "/live", 2);
+                    subscribers.add(subscriber);
+                    subscriber.connect();
+                }
+                long failed = awaitConnected(subscribers);
+
+                long open = subscribers.stream().filter(Subscriber::connected).count();
+                long heapPerSubscriber = (usedHeapAfterGc() - baseline) / Math.max(1, open);
+
+                long expected = 0;
+                long before = frames.sum();
+                latency.reset();
+                for (int round = 0; round < ROUNDS; round++) {
+                    for (Map<String, Object> match : matches) {
+                        post(baseUrl, (Long) match.get("match_id"), (Long) match.get("home_team_id"), round);
+                    }
+                    for (Subscriber subscriber : subscribers) {
+                        if (subscriber.connected()) {
+                            expected += subscriber.framesPerRound;
+                        }
+                    }
+                }
+                long delivered = awaitFrames(before + expected) - before;
+
+                Map<String, Object> step = new LinkedHashMap<>();
+                step.put("subscribers", subscribers.size());
+                step.put("failedToConnect", failed);
+                step.put("failures", subscribers.stream().filter(subscriber -> subscriber.failure != null)
+                        .collect(Collectors.groupingBy(subscriber -> subscriber.failure, Collectors.counting())));
+                step.put("connected", subscribers.stream().filter(Subscriber::connected).count());
+                step.put("liveSubscribersGauge", meterRegistry.get("live.subscribers").gauge().value());
+                step.put("heapPerSubscriberKb", Math.round(heapPerSubscriber / 102.4) / 10.0);
+                step.put("framesExpected", expected);
+                step.put("framesDelivered", delivered);
+                step.put("droppedSlow", dropped(meterRegistry, "slow"));
+                step.put("droppedStalled", dropped(meterRegistry, "stalled"));
+                step.put("droppedGone", dropped(meterRegistry, "gone"));
+                step.put("fanOutLatencyMillis", latency(latency.getIntervalHistogram()));
+                steps.add(step);
+                log.info("Step {}", step);
+
+                if (failed > 0) {
+                    break;
+                }
+                maxConnected = subscribers.size();
+            }
+        } finally {
+            subscribers.forEach(Subscriber::cancel);
+            context.close();
+        }
+
+        report.put("steps", steps);
+        report.put("maxConcurrentSubscribers", maxConnected);
+
+        LoadHarness.writeReport(REPORT, report);
+    }
+
+    // the number of subscribers that never got their feed, once every one got its response or failed
+    private long awaitConnected(List<Subscriber> subscribers) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (subscribers.stream().anyMatch(subscriber -> !subscriber.opened && !subscriber.failed)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        return subscribers.stream().filter(subscriber -> !subscriber.opened).count();
+    }
+
+    // waits for the expected frames (or until no more arrive), returns the frames received so far
+    private long awaitFrames(long expected) throws InterruptedException {
+
+        long last = -1;
+        long idleSince = System.nanoTime();
+        while (frames.sum() < expected) {
+            long now = frames.sum();
+            if (now != last) {
+                last = now;
+                idleSince = System.nanoTime();
+            } else if (System.nanoTime() - idleSince > TimeUnit.SECONDS.toNanos(5)) {
+                break;
+            }
+            Thread.sleep(10);
+        }
+        return frames.sum();
+    }
+
+    // the event id carries the time it was sent at, the subscribers read it back
+    private void post(String baseUrl, Long matchId, Long teamId, int round) throws Exception {
+
+        String body = "[{\"eventId\":\"load-" + matchId + "-" + round + "-" + System.nanoTime() + "\",\"type\":\"GOAL\","
+                + "\"minute\":" + (10 + round) + ",\"teamId\":" + teamId + "}]";
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/match/" + matchId + "/events"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 202) {
+            throw new IllegalStateException("POST of match events answered " + response.statusCode());
+        }
+    }
+
+    private static Long seed(JdbcTemplate jdbcTemplate) {
+
+        jdbcTemplate.update("insert into league (name, country, number_of_teams, version) values ('League', 'Country', 20, 0)");
+        Long leagueId = jdbcTemplate.queryForObject("select max(league_id) from league", Long.class);
+
+        List<Object[]> teams = new ArrayList<>();
+        for (int t = 0; t < 2 * MATCHES; t++) {
+            teams.add(new Object[]{"Team " + t, "City " + t, leagueId});
+        }
+        jdbcTemplate.batchUpdate("insert into team (name, city, league_id, version) values (?, ?, ?, 0)", teams);
+        List<Long> teamIds = jdbcTemplate.queryForList("select team_id from team order by team_id", Long.class);
+
+        List<Object[]> matches = new ArrayList<>();
+        for (int m = 0; m < MATCHES; m++) {
+            matches.add(new Object[]{leagueId, 2024, teamIds.get(2 * m), teamIds.get(2 * m + 1)});
+        }
+        jdbcTemplate.batchUpdate("insert into matches (league_id, season, home_team_id, away_team_id, version) values (?, ?, ?, ?, 0)",
+                matches);
+        return leagueId;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static double dropped(MeterRegistry meterRegistry, String reason) {
+        return Search.in(meterRegistry).name("live.subscribers.dropped").tag("reason", reason).counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+
+    private static Map<String, Object> latency(Histogram histogram) {
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("samples", histogram.getTotalCount());
+        latency.putAll(LoadHarness.latencyMillis(histogram));
+        return latency;
+    }
+
+    // one SSE connection, read line by line without a thread of its own
+    private final class Subscriber implements Flow.Subscriber<String> {
+
+        private final String url;
+        private final int framesPerRound;
+        private volatile Flow.Subscription subscription;
+        private volatile boolean opened;
+        private volatile boolean open;
+        private volatile boolean failed;
+        private volatile String failure;
+
+        Subscriber(String url, int framesPerRound) {
+            this.url = url;
+            this.framesPerRound = framesPerRound;
+        }
+
+        void connect() {
+            client.sendAsync(HttpRequest.newBuilder(URI.create(url)).header("Accept", "text/event-stream").build(),
+                            HttpResponse.BodyHandlers.fromLineSubscriber(this))
+                    .whenComplete((response, error) -> {
+                        if (error != null || response.statusCode() != 200) {
+                            failure = error != null ? error.getClass().getSimpleName() : "HTTP " + response.statusCode();
+                            failed = true;
+                        }
+                    });
+        }
+
+        boolean connected() {
+            return open && !failed;
+        }
+
+        void cancel() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+
+            if (line.startsWith(": connected")) {
+                opened = true;
+                open = true;
+            } else if (line.startsWith("event:")) {
+                frames.increment();
+            } else if (line.startsWith("data:{\"eventId\":\"load-")) {
+                int end = line.indexOf('"', 22);
+                long sentAt = Long.parseLong(line.substring(line.lastIndexOf('-', end) + 1, end));
+                LoadHarness.record(latency, sentAt);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            failure = throwable.getClass().getSimpleName();
+            open = false;
+            failed = true;
+        }
+
+        @Override
+        public void onComplete() {
+            open = false;
+        }
+
+    }
+
+}
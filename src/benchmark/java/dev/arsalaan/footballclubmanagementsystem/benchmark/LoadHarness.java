@@ -0,0 +1,168 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.arsalaan.footballclubmanagementsystem.FootballClubManagementSystemApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+What the load benchmarks share: booting the application on a free port over an in-memory H2 (client and server share
+the JVM, so they run offline on one box), reading ids back after seeding, recording latencies in HdrHistograms and
+writing the JSON report. The load benchmarks live in src/benchmark/java and are only built with the benchmark
+profile, run one with:
+
+    mvn -P benchmark test -Dtest=ApiLoadBenchmark [-Dload.duration=60 ...]
+
+Each one writes its report to target/ (another file with -Dload.report=...) and logs it as well.
+ */
+
+@Slf4j
+final class LoadHarness {
+
+    // anything slower is clamped to this value in the histograms
+    static final long HIGHEST_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private static final ObjectMapper REPORT_WRITER = new ObjectMapper();
+
+    private LoadHarness() {
+    }
+
+    // the application on a free port over the in-memory H2 `database`, without seed data. Command line arguments
+    // rather than default properties, which the properties files would override
+    static ConfigurableApplicationContext start(String database, String... arguments) {
+        return start(List.of(), database, arguments);
+    }
+
+    // the same with further configuration classes, such as beans wrapping the DataSource
+    static ConfigurableApplicationContext start(List<Class<?>> sources, String database, String... arguments) {
+        return new SpringApplicationBuilder(FootballClubManagementSystemApplication.class)
+                .sources(sources.toArray(new Class<?>[0]))
+                .run(arguments(Stream.concat(Stream.of(
+                                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                                "--app.seed.mode=none"),
+                        Stream.of(arguments)).toArray(String[]::new)));
+    }
+
+    // the arguments every benchmarked application gets: a free port, and only warnings logged but the benchmark's
+    // own summary
+    static String[] arguments(String... arguments) {
+        return Stream.concat(Stream.of(
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.dev.arsalaan.footballclubmanagementsystem=WARN",
+                        "--logging.level.dev.arsalaan.footballclubmanagementsystem.benchmark=INFO"),
+                Stream.of(arguments)).toArray(String[]::new);
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    // HttpURLConnection keeps only 5 idle connections per host by default, the rest would reconnect on every request
+    static void keepAliveConnections(int connections) {
+        System.setProperty("http.maxConnections", String.valueOf(connections));
+    }
+
+    // a RestTemplate that hands back every response, the benchmarks count the status codes themselves
+    static RestTemplate restTemplate() {
+        return new RestTemplateBuilder().errorHandler(new ResponseErrorHandler() {
+            @Override
+            public boolean hasError(ClientHttpResponse response) {
+                return false;
+            }
+
+            @Override
+            public void handleError(ClientHttpResponse response) {
+            }
+        }).build();
+    }
+
+    static Recorder recorder() {
+        return new Recorder(1, HIGHEST_LATENCY_NANOS, 3);
+    }
+
+    // the time since `startNanos`
+    static void record(Recorder recorder, long startNanos) {
+        recorder.recordValue(Math.min(System.nanoTime() - startNanos, HIGHEST_LATENCY_NANOS));
+    }
+
+    // one League with `teams` Teams of `squadSize` Players each, returns the ids of the Teams
+    static List<Long> seedSquads(JdbcTemplate jdbcTemplate, int teams, int squadSize) {
+
+        jdbcTemplate.update("insert into league (name, country, number_of_teams, version) values ('League', 'Country', 20, 0)");
+        Long leagueId = jdbcTemplate.queryForObject("select max(league_id) from league", Long.class);
+
+        List<Object[]> teamRows = new ArrayList<>();
+        for (int t = 0; t < teams; t++) {
+            teamRows.add(new Object[]{"Team " + t, "City " + t, "Manager " + t, leagueId});
+        }
+        jdbcTemplate.batchUpdate("insert into team (name, city, manager, league_id, version) values (?, ?, ?, ?, 0)", teamRows);
+        List<Long> teamIds = ids(jdbcTemplate, "team");
+
+        List<Object[]> players = new ArrayList<>();
+        for (Long teamId : teamIds) {
+            for (int p = 0; p < squadSize; p++) {
+                players.add(new Object[]{"Player " + teamId + "-" + p, "CM", "England", 18 + p % 20, teamId});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into player (name, position, nationality, age, team_id, version) values (?, ?, ?, ?, ?, 0)", players);
+        return teamIds;
+    }
+
+    static List<Long> ids(JdbcTemplate jdbcTemplate, String table) {
+        return jdbcTemplate.queryForList("select " + table + "_id from " + table + " order by " + table + "_id", Long.class);
+    }
+
+    static Map<String, Object> latencyMillis(Histogram histogram) {
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p95", millis(histogram.getValueAtPercentile(95)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", millis((long) histogram.getMean()));
+        return latency;
+    }
+
+    static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    // target/`defaultFile`, or the file given with -Dload.report
+    static Path reportFile(String defaultFile) {
+        return Paths.get(System.getProperty("load.report", "target/" + defaultFile));
+    }
+
+    static void writeReport(Path file, Map<String, Object> report) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        REPORT_WRITER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("Report written to {}:\n{}", file.toAbsolutePath(),
+                REPORT_WRITER.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    }
+
+}
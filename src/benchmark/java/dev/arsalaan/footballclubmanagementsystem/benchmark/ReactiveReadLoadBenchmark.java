@@ -0,0 +1,279 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import dev.arsalaan.footballclubmanagementsystem.reactive.ReactiveReadApplication;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Load benchmark (see LoadHarness), run with:
+//   mvn -P benchmark test -Dtest=ReactiveReadLoadBenchmark [-Dload.clients=100 -Dload.pool=20 -Dload.teams=2000 -Dload.slowread=5 -Dload.duration=20]
+// Boots the MVC application and the reactive read API (ReactiveReadApplication) side by side on one in-memory H2
+// (JDBC for the one, R2DBC for the other, both pools load.pool connections) and puts the same load on each in turn:
+//  - stream: load.clients clients download the whole Team list as NDJSON (MVC /api/v1/team/export, reactive
+//    /api/v1/team/ with Accept: application/x-ndjson), reading 8 KB every load.slowread milliseconds, so the
+//    server has to hold back rather than buffer the response;
+//  - short: load.clients clients keep GETting /api/v1/player/team/{teamId} as fast as they can.
+// Sampled every 100 ms while the load runs: requests in flight, server threads (Tomcat and MVC async threads vs
+// Netty event loops) and database connections in use (Hikari active vs R2DBC pool acquired). The heap retained per
+// in-flight request is the heap after a full GC under load minus the heap after a full GC before it, divided by the
+// requests in flight at that moment. Results go to target/reactive-read-report.json (load.report).
+
+@Slf4j
+public class ReactiveReadLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 100);
+    private static final int POOL = Integer.getInteger("load.pool", 20);
+    private static final int TEAMS = Integer.getInteger("load.teams", 2_000);
+    private static final int SQUAD_SIZE = 25;
+    private static final int SLOW_READ_MILLIS = Integer.getInteger("load.slowread", 5);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration", 20);
+    private static final Path REPORT = LoadHarness.reportFile("reactive-read-report.json");
+
+    static {
+        // one keep-alive connection per client
+        LoadHarness.keepAliveConnections(CLIENTS);
+    }
+
+    @Test
+    public void runBothStacksAndWriteReport() throws Exception {
+
+        String database = "reactive-read-benchmark";
+
+        Map<String, Object> report = new LinkedHashMap<>();
+
+        try (ConfigurableApplicationContext mvc = LoadHarness.start(database,
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL)) {
+
+            List<Long> teamIds = LoadHarness.seedSquads(mvc.getBean(JdbcTemplate.class), TEAMS, SQUAD_SIZE);
+
+            // started after seeding, the schema is the MVC application's
+            try (ConfigurableApplicationContext reactive = ReactiveReadApplication.builder()
+                    .run(LoadHarness.arguments(
+                            "--spring.r2dbc.url=r2dbc:h2:mem:///" + database + ";DB_CLOSE_DELAY=-1",
+                            "--spring.r2dbc.pool.initial-size=1",
+                            "--spring.r2dbc.pool.max-size=" + POOL,
+                            "--spring.r2dbc.pool.max-acquire-time=30s",
+                            "--spring.sql.init.mode=never"))) {
+
+                HikariDataSource hikari = mvc.getBean(DataSource.class).unwrap(HikariDataSource.class);
+                PoolMetrics r2dbcPool = reactive.getBean(ConnectionPool.class).getMetrics().orElseThrow();
+
+                Stack mvcStack = new Stack("mvc", LoadHarness.port(mvc), "/api/v1/team/export",
+                        () -> hikari.getHikariPoolMXBean().getActiveConnections(), "http-nio-", "MvcAsync", "task-");
+                Stack reactiveStack = new Stack("reactive", LoadHarness.port(reactive), "/api/v1/team/",
+                        r2dbcPool::acquiredSize, "reactor-http-");
+
+                Map<String, Object> config = new LinkedHashMap<>();
+                config.put("java", Runtime.version().toString());
+                config.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+                config.put("clients", CLIENTS);
+                config.put("poolSize", POOL);
+                config.put("teams", TEAMS);
+                config.put("playersPerTeam", SQUAD_SIZE);
+                config.put("slowReadMillisPer8KB", SLOW_READ_MILLIS);
+                config.put("durationSeconds", DURATION_SECONDS);
+
+                Map<String, Object> stream = new LinkedHashMap<>();
+                Map<String, Object> shortRequests = new LinkedHashMap<>();
+                for (Stack stack : List.of(mvcStack, reactiveStack)) {
+                    stream.put(stack.name + " GET " + stack.streamPath, run(stack, () -> stack.streamPath, true));
+                    shortRequests.put(stack.name + " GET /api/v1/player/team/{teamId}", run(stack,
+                            () -> "/api/v1/player/team/" + teamIds.get(ThreadLocalRandom.current().nextInt(teamIds.size())), false));
+                }
+
+                report.put("config", config);
+                report.put("stream", stream);
+                report.put("short", shortRequests);
+            }
+        }
+
+        LoadHarness.writeReport(REPORT, report);
+    }
+
+    private Map<String, Object> run(Stack stack, Supplier<String> path, boolean slowReader) throws Exception {
+
+        drive(stack, path, slowReader, WARMUP_SECONDS, null);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        long idleHeap = memory.getHeapMemoryUsage().getUsed();
+
+        Result result = new Result();
+        drive(stack, path, slowReader, DURATION_SECONDS, result);
+        return result.toReport(idleHeap);
+    }
+
+    private void drive(Stack stack, Supplier<String> path, boolean slowReader, int seconds, Result result)
+            throws InterruptedException {
+
+        Result recording = result != null ? result : new Result();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+
+        for (int c = 0; c < CLIENTS; c++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    call("http://localhost:" + stack.port + path.get(), slowReader, recording);
+                }
+            });
+        }
+
+        clients.shutdown();
+        long halfway = start + TimeUnit.SECONDS.toNanos(seconds) / 2;
+        boolean measuredHeap = false;
+
+        while (!clients.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+            recording.sample(stack);
+            if (result != null && !measuredHeap && System.nanoTime() > halfway) {
+                result.measureHeapUnderLoad();
+                measuredHeap = true;
+            }
+            assertThat(System.nanoTime() - deadline).isLessThan(LoadHarness.HIGHEST_LATENCY_NANOS);
+        }
+    }
+
+    private void call(String url, boolean slowReader, Result result) {
+
+        long start = System.nanoTime();
+        result.inFlight.incrementAndGet();
+        boolean ok = false;
+
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setRequestProperty("Accept", slowReader ? "application/x-ndjson" : "application/json");
+            ok = connection.getResponseCode() == 200;
+
+            try (InputStream body = ok ? connection.getInputStream() : connection.getErrorStream()) {
+                byte[] buffer = new byte[8192];
+                while (body != null && body.read(buffer) != -1) {
+                    if (slowReader) {
+                        Thread.sleep(SLOW_READ_MILLIS);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            result.inFlight.decrementAndGet();
+        }
+
+        LoadHarness.record(result.latency, start);
+        if (!ok) {
+            result.errors.increment();
+        }
+    }
+
+    private static final class Stack {
+
+        private final String name;
+        private final int port;
+        private final String streamPath;
+        private final IntSupplier connectionsInUse;
+        private final String[] serverThreadPrefixes;
+
+        Stack(String name, int port, String streamPath, IntSupplier connectionsInUse, String... serverThreadPrefixes) {
+            this.name = name;
+            this.port = port;
+            this.streamPath = streamPath;
+            this.connectionsInUse = connectionsInUse;
+            this.serverThreadPrefixes = serverThreadPrefixes;
+        }
+
+        int serverThreads() {
+            int threads = 0;
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                for (String prefix : serverThreadPrefixes) {
+                    if (thread.getName().startsWith(prefix)) {
+                        threads++;
+                        break;
+                    }
+                }
+            }
+            return threads;
+        }
+
+    }
+
+    private static final class Result {
+
+        private final Recorder latency = LoadHarness.recorder();
+        private final LongAdder errors = new LongAdder();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private long samples;
+        private long inFlightSum;
+        private long connectionsSum;
+        private int peakConnections;
+        private int peakServerThreads;
+        private long heapUnderLoad;
+        private int inFlightAtHeapMeasurement;
+
+        void sample(Stack stack) {
+            int connections = stack.connectionsInUse.getAsInt();
+            samples++;
+            inFlightSum += inFlight.get();
+            connectionsSum += connections;
+            peakConnections = Math.max(peakConnections, connections);
+            peakServerThreads = Math.max(peakServerThreads, stack.serverThreads());
+        }
+
+        void measureHeapUnderLoad() {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            memory.gc();
+            heapUnderLoad = memory.getHeapMemoryUsage().getUsed();
+            inFlightAtHeapMeasurement = inFlight.get();
+        }
+
+        Map<String, Object> toReport(long idleHeap) {
+
+            Histogram histogram = latency.getIntervalHistogram();
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("requests", histogram.getTotalCount());
+            report.put("errors", errors.sum());
+            report.put("throughputPerSecond", LoadHarness.round(histogram.getTotalCount() / (double) DURATION_SECONDS));
+            report.put("latencyMillis", LoadHarness.latencyMillis(histogram));
+            report.put("avgInFlight", LoadHarness.round(samples == 0 ? 0 : (double) inFlightSum / samples));
+            report.put("avgDbConnectionsInUse", LoadHarness.round(samples == 0 ? 0 : (double) connectionsSum / samples));
+            report.put("peakDbConnectionsInUse", peakConnections);
+            report.put("peakServerThreads", peakServerThreads);
+            report.put("retainedHeapPerInFlightRequestKB", inFlightAtHeapMeasurement == 0 ? null
+                    : LoadHarness.round((heapUnderLoad - idleHeap) / 1024.0 / inFlightAtHeapMeasurement));
+            return report;
+        }
+
+    }
+
+}
@@ -0,0 +1,196 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import dev.arsalaan.footballclubmanagementsystem.FootballClubManagementSystemApplication;
+import dev.arsalaan.footballclubmanagementsystem.config.SeedSnapshotGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Benchmark profile only (see LoadHarness), run with:
+//   mvn -P benchmark test -Dtest=StartupBenchmark [-Dbenchmark.seed-players=50000] [-Dbenchmark.rounds=3]
+// Time to first request: the application is started in a JVM of its own (the main classpath, application.properties
+// as deployed) and the clock runs from launching it until GET /api/v1/team/ answers 200, with the database seeded by
+// the seed SQL scripts (app.seed.mode=sql, how spring.sql.init seeded it before) and by the seed snapshot
+// (app.seed.mode=snapshot). Once with the seed data as committed, once with seed-players more players in the scripts
+// and a snapshot generated from them, the way the seed data grows. The seeding alone (as SeedDataLoader logs it) is
+// reported next to it: on a small machine the rest of the startup varies by more than the seeding takes.
+
+@Slf4j
+public class StartupBenchmark {
+
+    private static final int SEED_PLAYERS = Integer.getInteger("benchmark.seed-players", 50_000);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 3);
+    private static final String[] SEED_SCRIPTS = {"cup-data.sql", "league-data.sql", "owner-data.sql", "player-data.sql",
+            "stadium-data.sql", "team-data.sql"};
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+    private static final Pattern SEED_TIME = Pattern.compile(" in (\\d+) ms");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    public void compareScriptSeedingWithSnapshotSeeding() throws Exception {
+
+        Path work = Files.createDirectories(Paths.get("target", "startup-benchmark"));
+        Path grown = grownSeed(work);
+
+        long[] committed = compare("committed seed", List.of());
+        long[] withPlayers = compare("seed + " + SEED_PLAYERS + " players", List.of(
+                "--app.seed.scripts=" + Stream.concat(Stream.of(SEED_SCRIPTS), Stream.of("extra-player-data.sql"))
+                        .map(script -> "file:" + grown.resolve(script).toAbsolutePath())
+                        .collect(Collectors.joining(",")),
+                "--app.seed.snapshot=file:" + grown.resolve("seed.snapshot").toAbsolutePath()));
+
+        log.info("Time to first request (seeding), best of {} rounds:\n{}\n{}", ROUNDS,
+                summary("committed seed", committed), summary("seed + " + SEED_PLAYERS + " players", withPlayers));
+
+        assertThat(withPlayers[3]).isLessThan(withPlayers[2]);
+    }
+
+    // the committed scripts plus one with SEED_PLAYERS more players, and the snapshot of them all
+    private static Path grownSeed(Path work) throws IOException {
+
+        for (String script : SEED_SCRIPTS) {
+            try (InputStream in = new ClassPathResource(script).getInputStream()) {
+                Files.write(work.resolve(script), in.readAllBytes());
+            }
+        }
+
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < SEED_PLAYERS; i++) {
+            sql.append("INSERT INTO player (name, position, nationality, age)\nVALUES ('Seed Player ")
+                    .append(i).append("', 'CM', 'England', ").append(18 + i % 18).append(");\n\n");
+        }
+        Files.writeString(work.resolve("extra-player-data.sql"), sql, StandardCharsets.UTF_8);
+
+        List<String> scripts = new ArrayList<>();
+        for (String script : SEED_SCRIPTS) {
+            scripts.add("file:" + work.resolve(script).toAbsolutePath());
+        }
+        scripts.add("file:" + work.resolve("extra-player-data.sql").toAbsolutePath());
+
+        long start = System.nanoTime();
+        SeedSnapshotGenerator.generate(work.resolve("seed.snapshot"), "--app.seed.scripts=" + String.join(",", scripts));
+        log.info("Snapshot of {} + seed players generated in {} ms, {} bytes (scripts: {} bytes)", SEED_PLAYERS,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Files.size(work.resolve("seed.snapshot")),
+                scripts.stream().map(script -> Paths.get(script.substring("file:".length())))
+                        .mapToLong(script -> script.toFile().length()).sum());
+
+        return work;
+    }
+
+    // best time to first request seeded by the scripts and by the snapshot, then best seeding time of each,
+    // the two started in turns
+    private long[] compare(String scenario, List<String> arguments) throws Exception {
+
+        long[] best = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE};
+        for (int round = 0; round < ROUNDS; round++) {
+            long[] sql = timeToFirstRequest(scenario, "sql", arguments);
+            long[] snapshot = timeToFirstRequest(scenario, "snapshot", arguments);
+            best[0] = Math.min(best[0], sql[0]);
+            best[1] = Math.min(best[1], snapshot[0]);
+            best[2] = Math.min(best[2], sql[1]);
+            best[3] = Math.min(best[3], snapshot[1]);
+        }
+        return best;
+    }
+
+    // milliseconds to the first response and of the seeding
+    private long[] timeToFirstRequest(String scenario, String mode, List<String> arguments) throws Exception {
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        List<String> command = new ArrayList<>(List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", mainClasspath(),
+                FootballClubManagementSystemApplication.class.getName(),
+                "--server.port=" + port,
+                "--app.seed.mode=" + mode,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.dev.arsalaan.footballclubmanagementsystem=INFO"));
+        command.addAll(arguments);
+
+        File output = Paths.get("target", "startup-benchmark", mode + ".log").toFile();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/team/"))
+                .timeout(Duration.ofSeconds(5)).build();
+
+        long start = System.nanoTime();
+        Process application = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output).start();
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!application.isAlive()) {
+                    throw new IllegalStateException(scenario + ", " + mode + ": the application exited, see " + output);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        long seedMillis = seedMillis(output.toPath());
+                        log.info("{}, {}: {} ms (seeding {} ms)", scenario, mode, millis, seedMillis);
+                        return new long[]{millis, seedMillis};
+                    }
+                } catch (IOException notListeningYet) {
+                    // the web server is not up yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(scenario + ", " + mode + ": no response within " + STARTUP_TIMEOUT + ", see " + output);
+        } finally {
+            application.destroy();
+            if (!application.waitFor(30, TimeUnit.SECONDS)) {
+                application.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // the classpath of the tests without the test classes and resources, so the application reads its own
+    // application.properties and not the one of the tests
+    private static String mainClasspath() {
+        return Stream.of(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> !Paths.get(entry).endsWith("test-classes"))
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    // from the "Ran 6 seed scripts in 130 ms" / "Loaded seed snapshot ... in 90 ms: ..." line of SeedDataLoader
+    private static long seedMillis(Path output) throws IOException {
+        try (Stream<String> lines = Files.lines(output, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> line.contains("SeedDataLoader"))
+                    .map(SEED_TIME::matcher)
+                    .filter(Matcher::find)
+                    .mapToLong(matcher -> Long.parseLong(matcher.group(1)))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("no seeding time logged in " + output));
+        }
+    }
+
+    private static String summary(String scenario, long[] millis) {
+        return String.format("  %-28s sql: %6d ms (%5d ms), snapshot: %6d ms (%5d ms), speed-up: %4.2fx (%4.2fx)", scenario,
+                millis[0], millis[2], millis[1], millis[3], (double) millis[0] / millis[1], (double) millis[2] / millis[3]);
+    }
+
+}
@@ -0,0 +1,211 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Load benchmark (see LoadHarness), run with:
+//   mvn -P benchmark test -Dtest=VirtualThreadLoadBenchmark [-Dload.clients=400 -Dload.slowdb=20 -Dload.warmup=5 -Dload.duration=20]
+// Compares the platform thread pool (server.tomcat.threads.max, 200 by default) with the virtual-threads profile
+// while the database is slow: every JDBC statement first sleeps load.slowdb milliseconds. load.clients concurrent
+// clients keep GET /api/v1/player/team/{teamId} (needs the database) busy while one probe client times
+// GET /api/v1/player/search (served from memory). On the platform pool the probe waits for a worker thread that is
+// blocked on JDBC, on virtual threads it does not. Results for both modes go to target/virtual-thread-report.json
+// (load.report).
+// The virtual run is skipped (and reported as such) on a JVM older than Java 21.
+
+@Slf4j
+public class VirtualThreadLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 400);
+    private static final int SLOW_DB_MILLIS = Integer.getInteger("load.slowdb", 20);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup", 5);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.duration", 20);
+    private static final int TEAMS = 100;
+    private static final int SQUAD_SIZE = 25;
+    private static final Path REPORT = LoadHarness.reportFile("virtual-thread-report.json");
+
+    static {
+        // one keep-alive connection per client, the probe included
+        LoadHarness.keepAliveConnections(CLIENTS + 1);
+    }
+
+    // status codes are counted as errors below
+    private final RestTemplate restTemplate = LoadHarness.restTemplate();
+
+    @Test
+    public void runBothModesAndWriteReport() throws Exception {
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("java", Runtime.version().toString());
+        config.put("clients", CLIENTS);
+        config.put("slowDbMillisPerStatement", SLOW_DB_MILLIS);
+        config.put("warmupSeconds", WARMUP_SECONDS);
+        config.put("durationSeconds", DURATION_SECONDS);
+        report.put("config", config);
+
+        report.put("platform", run(false));
+        report.put("virtual", Runtime.version().feature() >= 21 ? run(true) : "skipped, needs Java 21+");
+
+        LoadHarness.writeReport(REPORT, report);
+    }
+
+    private Map<String, Object> run(boolean virtual) throws Exception {
+
+        try (ConfigurableApplicationContext context = LoadHarness.start(List.of(SlowDatabase.class),
+                "virtual-" + virtual, "--app.threads.virtual=" + virtual)) {
+
+            String baseUrl = "http://localhost:" + LoadHarness.port(context);
+            List<Long> teamIds = LoadHarness.seedSquads(context.getBean(JdbcTemplate.class), TEAMS, SQUAD_SIZE);
+            SlowDatabase.enabled = true;
+
+            drive(baseUrl, teamIds, WARMUP_SECONDS); // JIT, connection pools, keep-alive connections
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            return drive(baseUrl, teamIds, DURATION_SECONDS).toReport(threads.getPeakThreadCount());
+        } finally {
+            SlowDatabase.enabled = false;
+        }
+    }
+
+    private Result drive(String baseUrl, List<Long> teamIds, int seconds) throws InterruptedException {
+
+        Result result = new Result(seconds);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS + 1);
+
+        for (int c = 0; c < CLIENTS; c++) {
+            clients.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    call(baseUrl + "/api/v1/player/team/" + teamIds.get(random.nextInt(teamIds.size())),
+                            result.database, result.databaseErrors);
+                }
+            });
+        }
+
+        clients.execute(() -> {
+            while (System.nanoTime() < deadline) {
+                call(baseUrl + "/api/v1/player/search?q=player", result.probe, result.probeErrors);
+            }
+        });
+
+        clients.shutdown();
+        assertThat(clients.awaitTermination(seconds + 120L, TimeUnit.SECONDS)).isTrue();
+        return result;
+    }
+
+    private void call(String url, Recorder recorder, LongAdder errors) {
+
+        long start = System.nanoTime();
+        boolean ok;
+
+        try {
+            ResponseEntity<byte[]> response = restTemplate.getForEntity(url, byte[].class);
+            ok = response.getStatusCode().is2xxSuccessful();
+        } catch (RuntimeException e) {
+            ok = false;
+        }
+
+        LoadHarness.record(recorder, start);
+        if (!ok) {
+            errors.increment();
+        }
+    }
+
+    private static final class Result {
+
+        private final int seconds;
+        private final Recorder database = LoadHarness.recorder();
+        private final Recorder probe = LoadHarness.recorder();
+        private final LongAdder databaseErrors = new LongAdder();
+        private final LongAdder probeErrors = new LongAdder();
+
+        Result(int seconds) {
+            this.seconds = seconds;
+        }
+
+        Map<String, Object> toReport(int peakThreads) {
+
+            Histogram databaseHistogram = database.getIntervalHistogram();
+            Histogram probeHistogram = probe.getIntervalHistogram();
+
+            Map<String, Object> databaseReport = new LinkedHashMap<>();
+            databaseReport.put("requests", databaseHistogram.getTotalCount());
+            databaseReport.put("errors", databaseErrors.sum());
+            databaseReport.put("throughputPerSecond", LoadHarness.round(databaseHistogram.getTotalCount() / (double) seconds));
+            databaseReport.put("latencyMillis", LoadHarness.latencyMillis(databaseHistogram));
+
+            Map<String, Object> probeReport = new LinkedHashMap<>();
+            probeReport.put("requests", probeHistogram.getTotalCount());
+            probeReport.put("errors", probeErrors.sum());
+            probeReport.put("latencyMillis", LoadHarness.latencyMillis(probeHistogram));
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("GET /api/v1/player/team/{teamId}", databaseReport);
+            report.put("GET /api/v1/player/search (no database)", probeReport);
+            report.put("peakPlatformThreads", peakThreads); // clients included, they are platform threads either way
+            return report;
+        }
+
+    }
+
+    // every JDBC statement waits SLOW_DB_MILLIS first, standing in for a slow PostgreSQL.
+    // Only passed to LoadHarness.start above, not a @Configuration so that component scanning skips it.
+    static class SlowDatabase {
+
+        static volatile boolean enabled;
+
+        @Bean
+        static BeanPostProcessor slowDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+                    if (!(bean instanceof DataSource)) {
+                        return bean;
+                    }
+
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                            .beforeQuery((execution, queries) -> {
+                                if (enabled) {
+                                    try {
+                                        Thread.sleep(SLOW_DB_MILLIS);
+                                    } catch (InterruptedException e) {
+                                        Thread.currentThread().interrupt();
+                                    }
+                                }
+                            })
+                            .build();
+                }
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import dev.arsalaan.footballclubmanagementsystem.FootballClubManagementSystemApplication;
+import dev.arsalaan.footballclubmanagementsystem.dto.ImportReportDTO;
+import dev.arsalaan.footballclubmanagementsystem.repository.PlayerRepository;
+import dev.arsalaan.footballclubmanagementsystem.service.BulkImportService;
+import dev.arsalaan.footballclubmanagementsystem.service.PlayerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Loading `players` Players into an in-memory H2, once per invocation.
+// sqlScript runs a script of single-row INSERT statements (the way the seed scripts are run) followed by the search
+// index rebuild the application does once started; bulkImport uploads the same Players as CSV through
+// BulkImportService (validated, stored in chunks of multi-row INSERTs and added to the search index).
+// H2 runs in process here, so there is no round trip for the multi-row statements to save: the gap is the smallest
+// this setup can show, against a database over the network (and COPY on PostgreSQL) it only widens.
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class BulkImportBenchmark {
+
+    @Param({"20000"})
+    private int players;
+
+    private ConfigurableApplicationContext context;
+    private BulkImportService bulkImportService;
+    private PlayerService playerService;
+    private PlayerRepository playerRepository;
+    private DataSource dataSource;
+
+    private byte[] script;
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        context = new SpringApplicationBuilder(FootballClubManagementSystemApplication.class)
+                .web(WebApplicationType.SERVLET) // CorsConfiguration's @EnableWebMvc needs a ServletContext
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+
+        bulkImportService = context.getBean(BulkImportService.class);
+        playerService = context.getBean(PlayerService.class);
+        playerRepository = context.getBean(PlayerRepository.class);
+        dataSource = context.getBean(DataSource.class);
+
+        StringBuilder sql = new StringBuilder();
+        StringBuilder rows = new StringBuilder("name,position,nationality,age\n");
+        for (int i = 0; i < players; i++) {
+            sql.append("INSERT INTO player (name, position, nationality, age, version)\nVALUES ('Player ")
+                    .append(i).append("', 'CM', 'England', ").append(20 + i % 15).append(", 0);\n\n");
+            rows.append("Player ").append(i).append(",CM,England,").append(20 + i % 15).append('\n');
+        }
+        script = sql.toString().getBytes(StandardCharsets.UTF_8);
+        csv = rows.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deletePlayers() {
+        playerRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int sqlScript() {
+        new ResourceDatabasePopulator(new ByteArrayResource(script)).execute(dataSource);
+        playerService.rebuildSearchIndex();
+        return players;
+    }
+
+    @Benchmark
+    public ImportReportDTO bulkImport() {
+
+        ImportReportDTO report = bulkImportService.importPlayers(new ByteArrayInputStream(csv), BulkImportService.Format.CSV);
+
+        if (report.getImported() != players) {
+            throw new IllegalStateException("imported " + report.getImported() + " of " + players + " players");
+        }
+
+        return report;
+    }
+
+}
@@ -0,0 +1,76 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import dev.arsalaan.footballclubmanagementsystem.service.KnockoutBracket;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 100,000 runs of a freshly drawn bracket of `teams` Teams (byes included) with random strengths, as
+// GET /api/v1/cup/{cupId}/simulation?iterations=100000 does them: singleThread on a KnockoutBracket pool of one
+// thread, forkJoin on the default pool of one thread per processor (so only faster with more than one).
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CupSimulationBenchmark {
+
+    private static final int ITERATIONS = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class Bracket {
+
+        @Param({"20", "128"})
+        int teams;
+
+        int[] home;
+        int[] away;
+        int[] winner;
+        double[] strengths;
+        KnockoutBracket singleThread;
+        KnockoutBracket forkJoin;
+
+        @Setup
+        public void setup() {
+
+            int size = KnockoutBracket.size(teams);
+            int[] seedOrder = KnockoutBracket.seedOrder(size);
+            home = new int[size];
+            away = new int[size];
+            winner = new int[size];
+            Arrays.fill(home, -1);
+            Arrays.fill(away, -1);
+            Arrays.fill(winner, -1);
+
+            for (int slot = 0; slot < size / 2; slot++) {
+                int tie = KnockoutBracket.tie(size, 1, slot);
+                home[tie] = seedOrder[2 * slot] - 1;
+                away[tie] = seedOrder[2 * slot + 1] <= teams ? seedOrder[2 * slot + 1] - 1 : -1;
+                if (away[tie] < 0) {
+                    winner[tie] = home[tie];
+                }
+            }
+
+            SplittableRandom random = new SplittableRandom(42);
+            strengths = random.doubles(teams, 0.5, 3.0).toArray();
+            // the pool threads are daemons, they need no shutdown here
+            singleThread = new KnockoutBracket(1);
+            forkJoin = new KnockoutBracket(0);
+        }
+
+    }
+
+    @Benchmark
+    public long[] singleThread(Bracket state) {
+        return state.singleThread.simulate(state.home, state.away, state.winner, state.strengths, ITERATIONS, 7);
+    }
+
+    @Benchmark
+    public long[] forkJoin(Bracket state) {
+        return state.forkJoin.simulate(state.home, state.away, state.winner, state.strengths, ITERATIONS, 7);
+    }
+
+}
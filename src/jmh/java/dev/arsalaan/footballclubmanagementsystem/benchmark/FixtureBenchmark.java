@@ -0,0 +1,158 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import dev.arsalaan.footballclubmanagementsystem.FootballClubManagementSystemApplication;
+import dev.arsalaan.footballclubmanagementsystem.dto.FixtureRequestDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.FixtureScheduleDTO;
+import dev.arsalaan.footballclubmanagementsystem.service.FixtureGenerator;
+import dev.arsalaan.footballclubmanagementsystem.service.FixtureService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Double round-robin fixture lists for `leagues` Leagues of 20 Teams, two of them sharing a Stadium in every League.
+// sequential / forkJoin only build the lists (FixtureGenerator, one League after the other or on its fork-join pool,
+// which only pays off with more than one processor). storeBatch is POST /api/v1/league/fixtures (FixtureService in
+// batch mode: a fixed number of statements for all Leagues), storePerLeague calls POST /api/v1/league/{leagueId}/fixtures
+// once per League instead; both against an in-memory H2 whose Matches are deleted before every invocation.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FixtureBenchmark {
+
+    private static final int SEASON = 2024;
+
+    @State(Scope.Benchmark)
+    public static class Leagues {
+
+        @Param({"100", "500"})
+        int leagues;
+
+        final Map<Long, List<Long>> teamIdsByLeagueId = new LinkedHashMap<>();
+        final Map<Long, Long> stadiumPartners = new HashMap<>();
+        FixtureGenerator fixtureGenerator;
+
+        @Setup
+        public void setup() {
+
+            for (long l = 0; l < leagues; l++) {
+                List<Long> teamIds = new ArrayList<>(Fixtures.TEAMS_PER_LEAGUE);
+                for (long t = 0; t < Fixtures.TEAMS_PER_LEAGUE; t++) {
+                    teamIds.add(l * Fixtures.TEAMS_PER_LEAGUE + t + 1);
+                }
+                teamIdsByLeagueId.put(l + 1, teamIds);
+                stadiumPartners.put(teamIds.get(0), teamIds.get(1));
+                stadiumPartners.put(teamIds.get(1), teamIds.get(0));
+            }
+
+            fixtureGenerator = new FixtureGenerator(0); // the pool threads are daemons, it needs no shutdown here
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        @Param({"100", "500"})
+        int leagues;
+
+        ConfigurableApplicationContext context;
+        JdbcTemplate jdbcTemplate;
+        FixtureService fixtureService;
+        List<Long> leagueIds;
+
+        @Setup(Level.Trial)
+        public void setup() {
+
+            context = new SpringApplicationBuilder(FootballClubManagementSystemApplication.class)
+                    .web(WebApplicationType.SERVLET) // CorsConfiguration's @EnableWebMvc needs a ServletContext
+                    .properties("server.port=0",
+                            "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                            "spring.sql.init.mode=never",
+                            "spring.main.banner-mode=off",
+                            "logging.level.root=WARN")
+                    .run();
+
+            jdbcTemplate = context.getBean(JdbcTemplate.class);
+            fixtureService = context.getBean(FixtureService.class);
+
+            List<Object[]> leagueRows = new ArrayList<>();
+            for (int l = 0; l < leagues; l++) {
+                leagueRows.add(new Object[]{"League " + l, "Country " + l, Fixtures.TEAMS_PER_LEAGUE});
+            }
+            jdbcTemplate.batchUpdate("insert into league (name, country, number_of_teams, version) values (?, ?, ?, 0)", leagueRows);
+            leagueIds = jdbcTemplate.queryForList("select league_id from league order by league_id", Long.class);
+
+            List<Object[]> teamRows = new ArrayList<>();
+            for (Long leagueId : leagueIds) {
+                for (int t = 0; t < Fixtures.TEAMS_PER_LEAGUE; t++) {
+                    teamRows.add(new Object[]{"Team " + leagueId + "-" + t, "City", leagueId});
+                }
+            }
+            jdbcTemplate.batchUpdate("insert into team (name, city, league_id, version) values (?, ?, ?, 0)", teamRows);
+
+            List<Object[]> stadiumRows = new ArrayList<>();
+            List<Map<String, Object>> teams = jdbcTemplate.queryForList("select team_id, league_id from team order by team_id");
+            for (int t = 0; t < teams.size(); t++) {
+                // the first two Teams of every League share a ground
+                int place = t % Fixtures.TEAMS_PER_LEAGUE;
+                stadiumRows.add(new Object[]{"Stadium " + teams.get(t).get("league_id") + "-" + Math.max(place, 1), 40000,
+                        teams.get(t).get("team_id")});
+            }
+            jdbcTemplate.batchUpdate("insert into stadium (name, capacity, team_id) values (?, ?, ?)", stadiumRows);
+        }
+
+        @Setup(Level.Invocation)
+        public void clearMatches() {
+            jdbcTemplate.update("delete from matches");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+
+    }
+
+    @Benchmark
+    public Map<Long, List<FixtureGenerator.Fixture>> sequential(Leagues state) {
+
+        Map<Long, List<FixtureGenerator.Fixture>> fixtures = new HashMap<>();
+        state.teamIdsByLeagueId.forEach((leagueId, teamIds) ->
+                fixtures.put(leagueId, FixtureGenerator.doubleRoundRobin(teamIds, state.stadiumPartners)));
+        return fixtures;
+    }
+
+    @Benchmark
+    public Map<Long, List<FixtureGenerator.Fixture>> forkJoin(Leagues state) {
+        return state.fixtureGenerator.generateAll(state.teamIdsByLeagueId, state.stadiumPartners);
+    }
+
+    @Benchmark
+    public List<FixtureScheduleDTO> storeBatch(Database state) {
+        return state.fixtureService.generateFixturesForLeagues(FixtureRequestDTO.builder().season(SEASON)
+                .leagueIds(state.leagueIds).build());
+    }
+
+    @Benchmark
+    public List<FixtureScheduleDTO> storePerLeague(Database state) {
+
+        List<FixtureScheduleDTO> schedules = new ArrayList<>(state.leagueIds.size());
+        for (Long leagueId : state.leagueIds) {
+            schedules.add(state.fixtureService.generateFixtures(leagueId, FixtureRequestDTO.builder().season(SEASON).build()));
+        }
+        return schedules;
+    }
+
+}
@@ -0,0 +1,59 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import dev.arsalaan.footballclubmanagementsystem.model.League;
+import dev.arsalaan.footballclubmanagementsystem.model.Player;
+import dev.arsalaan.footballclubmanagementsystem.model.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// In-memory entity graphs shaped like the real data: a 25-man squad per Team and 20 Teams per League
+
+final class Fixtures {
+
+    static final int SQUAD_SIZE = 25;
+    static final int TEAMS_PER_LEAGUE = 20;
+
+    private Fixtures() {
+    }
+
+    static List<Player> players(int count, Team team) {
+
+        List<Player> players = new ArrayList<>(count);
+
+        for (int p = 0; p < count; p++) {
+            players.add(new Player((long) p + 1, "Player " + p, "CM", "England", 18 + p % 20, 0L, team));
+        }
+
+        return players;
+    }
+
+    static List<Team> teams(int count, League league) {
+
+        List<Team> teams = new ArrayList<>(count);
+
+        for (int t = 0; t < count; t++) {
+            Team team = Team.builder().teamId((long) t + 1).name("Team " + t).city("City " + t)
+                    .manager("Manager " + t).version(0L).league(league).build();
+            team.setPlayers(players(SQUAD_SIZE, team));
+            teams.add(team);
+        }
+
+        return teams;
+    }
+
+    static List<League> leagues(int count) {
+
+        List<League> leagues = new ArrayList<>(count);
+
+        for (int l = 0; l < count; l++) {
+            League league = League.builder().leagueId((long) l + 1).name("League " + l).country("Country " + l)
+                    .numberOfTeams(TEAMS_PER_LEAGUE).version(0L).build();
+            league.setTeams(teams(TEAMS_PER_LEAGUE, league));
+            leagues.add(league);
+        }
+
+        return leagues;
+    }
+
+}
@@ -0,0 +1,64 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.LeagueDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamDTO;
+import dev.arsalaan.footballclubmanagementsystem.mapper.LeagueMapper;
+import dev.arsalaan.footballclubmanagementsystem.mapper.LeagueMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.mapper.PlayerMapper;
+import dev.arsalaan.footballclubmanagementsystem.mapper.PlayerMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.mapper.TeamMapper;
+import dev.arsalaan.footballclubmanagementsystem.mapper.TeamMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.model.League;
+import dev.arsalaan.footballclubmanagementsystem.model.Player;
+import dev.arsalaan.footballclubmanagementsystem.model.Team;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> DTO list mapping as done by the getAll* service methods.
+// size is the number of top level elements, Teams carry a full squad and Leagues 20 Teams (see Fixtures).
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"25", "500", "5000"})
+    private int size;
+
+    private final TeamMapper teamMapper = new TeamMapperImpl();
+    private final LeagueMapper leagueMapper = new LeagueMapperImpl();
+    private final PlayerMapper playerMapper = new PlayerMapperImpl();
+
+    private List<Team> teams;
+    private List<League> leagues;
+    private List<Player> players;
+
+    @Setup
+    public void setup() {
+        teams = Fixtures.teams(size, null);
+        leagues = Fixtures.leagues(size);
+        players = Fixtures.players(size, null);
+    }
+
+    @Benchmark
+    public List<TeamDTO> teamMapperToTeamDTOs() {
+        return teamMapper.toTeamDTOs(teams);
+    }
+
+    @Benchmark
+    public List<LeagueDTO> leagueMapperToLeagueDTOs() {
+        return leagueMapper.toLeagueDTOs(leagues);
+    }
+
+    @Benchmark
+    public List<PlayerDTO> playerMapperToPlayerDTOs() {
+        return playerMapper.toPlayerDTOs(players);
+    }
+
+}
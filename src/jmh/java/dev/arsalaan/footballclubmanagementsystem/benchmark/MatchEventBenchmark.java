@@ -0,0 +1,128 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import dev.arsalaan.footballclubmanagementsystem.FootballClubManagementSystemApplication;
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchEventDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiTooManyRequestsException;
+import dev.arsalaan.footballclubmanagementsystem.model.MatchEvent;
+import dev.arsalaan.footballclubmanagementsystem.service.MatchEventService;
+import dev.arsalaan.footballclubmanagementsystem.service.MatchEventWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Requests of `events` Match events each, spread over 200 Matches, sent by 4 threads against an in-memory H2.
+// buffered is POST /api/v1/match/{matchId}/events (MatchEventService: queued, the request returns, the consumer
+// stores whatever has piled up in one transaction), a request turned away with 429 is sent again after 1 ms, so
+// once the buffer is full this measures how fast the consumer stores events.
+// direct stores every request in its own transaction on the calling thread (MatchEventWriter), as an endpoint
+// writing synchronously would. Throughput is in requests per second.
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(4)
+public class MatchEventBenchmark {
+
+    private static final int MATCHES = 200;
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        @Param({"1", "20"})
+        int events;
+
+        ConfigurableApplicationContext context;
+        MatchEventService matchEventService;
+        MatchEventWriter matchEventWriter;
+        List<Map<String, Object>> matches;
+        final AtomicLong sequence = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void setup() {
+
+            context = new SpringApplicationBuilder(FootballClubManagementSystemApplication.class)
+                    .web(WebApplicationType.SERVLET) // CorsConfiguration's @EnableWebMvc needs a ServletContext
+                    .properties("server.port=0",
+                            "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                            "spring.sql.init.mode=never",
+                            "spring.main.banner-mode=off",
+                            "logging.level.root=WARN")
+                    .run();
+
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            matchEventService = context.getBean(MatchEventService.class);
+            matchEventWriter = context.getBean(MatchEventWriter.class);
+
+            jdbcTemplate.update("insert into league (name, country, number_of_teams, version) values ('League', 'England', 20, 0)");
+            Long leagueId = jdbcTemplate.queryForObject("select max(league_id) from league", Long.class);
+
+            List<Object[]> teamRows = new ArrayList<>();
+            for (int t = 0; t < 2 * MATCHES; t++) {
+                teamRows.add(new Object[]{"Team " + t, "City", leagueId});
+            }
+            jdbcTemplate.batchUpdate("insert into team (name, city, league_id, version) values (?, ?, ?, 0)", teamRows);
+            List<Long> teamIds = jdbcTemplate.queryForList("select team_id from team order by team_id", Long.class);
+
+            List<Object[]> matchRows = new ArrayList<>();
+            for (int m = 0; m < MATCHES; m++) {
+                matchRows.add(new Object[]{leagueId, 2024, teamIds.get(2 * m), teamIds.get(2 * m + 1)});
+            }
+            jdbcTemplate.batchUpdate("insert into matches (league_id, season, home_team_id, away_team_id, version) values (?, ?, ?, ?, 0)",
+                    matchRows);
+            matches = jdbcTemplate.queryForList("select match_id, home_team_id from matches order by match_id");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+
+        Long matchId(long request) {
+            return (Long) matches.get((int) (request % MATCHES)).get("match_id");
+        }
+
+        List<MatchEventDTO> request(long request) {
+
+            Map<String, Object> match = matches.get((int) (request % MATCHES));
+            List<MatchEventDTO> batch = new ArrayList<>(events);
+            for (int e = 0; e < events; e++) {
+                batch.add(new MatchEventDTO("event-" + sequence.incrementAndGet(), (Long) match.get("match_id"),
+                        MatchEvent.Type.YELLOW_CARD, e % 90, (Long) match.get("home_team_id"), null, null));
+            }
+            return batch;
+        }
+
+    }
+
+    @Benchmark
+    public void buffered(Database state) throws InterruptedException {
+
+        long request = state.sequence.get();
+        List<MatchEventDTO> events = state.request(request);
+
+        while (true) {
+            try {
+                state.matchEventService.ingestEvents(state.matchId(request), events);
+                return;
+            } catch (ApiTooManyRequestsException e) {
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    @Benchmark
+    public MatchEventWriter.Written direct(Database state) {
+        return state.matchEventWriter.write(state.request(state.sequence.get()));
+    }
+
+}
@@ -0,0 +1,83 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import dev.arsalaan.footballclubmanagementsystem.FootballClubManagementSystemApplication;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
+import dev.arsalaan.footballclubmanagementsystem.repository.PlayerRepository;
+import dev.arsalaan.footballclubmanagementsystem.service.PlayerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Creating `players` Players in an in-memory H2, once per invocation.
+// singleInserts creates them one at a time (PlayerService.createPlayer, one transaction and INSERT each),
+// batchInsert in one go (PlayerService.createPlayers, one transaction and one JDBC batch per 500 rows).
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlayerBatchInsertBenchmark {
+
+    @Param({"5000"})
+    private int players;
+
+    private ConfigurableApplicationContext context;
+    private PlayerService playerService;
+    private PlayerRepository playerRepository;
+    private List<PlayerDTO> playersDTO;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        context = new SpringApplicationBuilder(FootballClubManagementSystemApplication.class)
+                .web(WebApplicationType.SERVLET) // CorsConfiguration's @EnableWebMvc needs a ServletContext
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+
+        playerService = context.getBean(PlayerService.class);
+        playerRepository = context.getBean(PlayerRepository.class);
+
+        playersDTO = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            PlayerDTO playerDTO = new PlayerDTO();
+            playerDTO.setName("Player " + i);
+            playerDTO.setPosition("CM");
+            playerDTO.setNationality("England");
+            playerDTO.setAge(20 + i % 15);
+            playersDTO.add(playerDTO);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void deletePlayers() {
+        playerRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleInserts() {
+        playersDTO.forEach(playerService::createPlayer);
+        return players;
+    }
+
+    @Benchmark
+    public List<Long> batchInsert() {
+        return playerService.createPlayers(playersDTO);
+    }
+
+}
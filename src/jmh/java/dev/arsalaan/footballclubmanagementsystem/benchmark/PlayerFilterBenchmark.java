@@ -0,0 +1,146 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import dev.arsalaan.footballclubmanagementsystem.FootballClubManagementSystemApplication;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerFilterDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.SearchPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.service.PlayerService;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// PlayerService.filterPlayers (page + count query) over `players` Players in squads of 25, 10 positions,
+// 50 nationalities and ages 16 to 40, with the composite indexes of schema-indexes.sql (`plan` = indexed)
+// and without them (`plan` = fullScan). The H2 plan of every query is logged once per trial at debug level, e.g. with
+// -Djmh.args="PlayerFilterBenchmark -jvmArgsAppend -Dlogging.level.dev.arsalaan.footballclubmanagementsystem.benchmark=DEBUG".
+// Every invocation filters on other values: H2 hands back the previous result of a statement when neither its
+// parameters nor the table changed, which would hide the scan.
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+@Slf4j
+public class PlayerFilterBenchmark {
+
+    private static final String[] POSITIONS = {"GK", "RB", "CB", "LB", "CDM", "CM", "CAM", "RW", "LW", "ST"};
+
+    @Param({"100000", "1000000"})
+    private int players;
+
+    @Param({"indexed", "fullScan"})
+    private String plan;
+
+    private ConfigurableApplicationContext context;
+    private PlayerService playerService;
+    private final PlayerFilterDTO.CriteriaDTO[] teamAndPosition = new PlayerFilterDTO.CriteriaDTO[VARIANTS];
+    private final PlayerFilterDTO.CriteriaDTO[] nationalityAndAge = new PlayerFilterDTO.CriteriaDTO[VARIANTS];
+    private int invocation;
+
+    private static final int VARIANTS = 1024;
+
+    @Setup
+    public void setup() {
+
+        context = new SpringApplicationBuilder(FootballClubManagementSystemApplication.class)
+                .web(WebApplicationType.SERVLET) // CorsConfiguration's @EnableWebMvc needs a ServletContext
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Long> teamIds = seed(jdbcTemplate);
+
+        if (plan.equals("indexed")) {
+            new ResourceDatabasePopulator(new ClassPathResource("schema-indexes.sql")).execute(context.getBean(DataSource.class));
+        }
+        jdbcTemplate.execute("analyze");
+
+        playerService = context.getBean(PlayerService.class);
+        for (int v = 0; v < VARIANTS; v++) {
+            teamAndPosition[v] = new PlayerFilterDTO.CriteriaDTO(Collections.singletonList(POSITIONS[v % POSITIONS.length]), null,
+                    Collections.singletonList(teamIds.get(v * 7919 % teamIds.size())), null, null);
+            nationalityAndAge[v] = new PlayerFilterDTO.CriteriaDTO(null, Collections.singletonList("Country" + v % 50), null,
+                    16 + v % 20, 18 + v % 20);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Plans ({}):\n{}\n{}\n{}", plan,
+                    plan(jdbcTemplate, "select * from player where team_id = ? and position = ? order by player_id limit 20",
+                            teamIds.get(0), "ST"),
+                    plan(jdbcTemplate, "select * from player where nationality = ? and age between ? and ? order by player_id limit 20",
+                            "Country7", 20, 22),
+                    plan(jdbcTemplate, "select * from player where team_id = ? and position = ? or nationality = ? and age between ? and ? order by player_id limit 20",
+                            teamIds.get(0), "ST", "Country7", 20, 22));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private List<Long> seed(JdbcTemplate jdbcTemplate) {
+
+        jdbcTemplate.update("insert into league (name, country, number_of_teams, version) values ('League', 'Country', 20, 0)");
+        Long leagueId = jdbcTemplate.queryForObject("select max(league_id) from league", Long.class);
+
+        List<Object[]> teams = new ArrayList<>();
+        for (int t = 0; t < players / Fixtures.SQUAD_SIZE; t++) {
+            teams.add(new Object[]{"Team " + t, "City " + t, "Manager " + t, leagueId});
+        }
+        jdbcTemplate.batchUpdate("insert into team (name, city, manager, league_id, version) values (?, ?, ?, ?, 0)", teams);
+        List<Long> teamIds = jdbcTemplate.queryForList("select team_id from team order by team_id", Long.class);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int p = 0; p < players; p++) {
+            rows.add(new Object[]{"Player " + p, POSITIONS[p % POSITIONS.length], "Country" + p % 50, 16 + p / 50 % 25,
+                    teamIds.get(p / Fixtures.SQUAD_SIZE)});
+            if (rows.size() == 10_000 || p == players - 1) {
+                jdbcTemplate.batchUpdate("insert into player (name, position, nationality, age, team_id, version) values (?, ?, ?, ?, ?, 0)", rows);
+                rows.clear();
+            }
+        }
+        return teamIds;
+    }
+
+    private static String plan(JdbcTemplate jdbcTemplate, String sql, Object... args) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, args).replaceAll("\\s+", " ");
+    }
+
+    @Benchmark
+    public SearchPageDTO<PlayerDTO> teamAndPosition() {
+        int v = invocation++ & (VARIANTS - 1);
+        return playerService.filterPlayers(new PlayerFilterDTO(Collections.singletonList(teamAndPosition[v]), null), 0, 20);
+    }
+
+    @Benchmark
+    public SearchPageDTO<PlayerDTO> nationalityAndAgeRange() {
+        int v = invocation++ & (VARIANTS - 1);
+        return playerService.filterPlayers(new PlayerFilterDTO(Collections.singletonList(nationalityAndAge[v]), null), 0, 20);
+    }
+
+    @Benchmark
+    public SearchPageDTO<PlayerDTO> eitherGroup() {
+        int v = invocation++ & (VARIANTS - 1);
+        return playerService.filterPlayers(new PlayerFilterDTO(Arrays.asList(teamAndPosition[v], nationalityAndAge[v]), null), 0, 20);
+    }
+
+}
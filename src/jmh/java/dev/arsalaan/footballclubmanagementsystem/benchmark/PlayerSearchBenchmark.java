@@ -0,0 +1,53 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerSearchCriteria;
+import dev.arsalaan.footballclubmanagementsystem.dto.SearchPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.model.Player;
+import dev.arsalaan.footballclubmanagementsystem.service.PlayerSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// PlayerSearchIndex queries over `size` players with 5,000 surnames, 50 nationalities and 10 positions,
+// from a selective name prefix to a broad facet-only query that has to rank a fifth of the index.
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class PlayerSearchBenchmark {
+
+    private static final String[] POSITIONS = {"GK", "RB", "CB", "LB", "CDM", "CM", "CAM", "RW", "LW", "ST"};
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private final PlayerSearchIndex playerSearchIndex = new PlayerSearchIndex();
+
+    @Setup
+    public void setup() {
+        playerSearchIndex.rebuild(IntStream.range(0, size).mapToObj(p -> new Player((long) p + 1,
+                "Firstname" + p % 800 + " Surname" + p % 5000, POSITIONS[p % POSITIONS.length],
+                "Country" + p % 50, 16 + p % 25, 0L, null)));
+    }
+
+    @Benchmark
+    public SearchPageDTO<PlayerDTO> namePrefix() {
+        return playerSearchIndex.search(new PlayerSearchCriteria("surname123", null, null, null, null), 0, 20);
+    }
+
+    @Benchmark
+    public SearchPageDTO<PlayerDTO> nameAndFacets() {
+        return playerSearchIndex.search(new PlayerSearchCriteria("firstname7 surname4", "Country7", "RW", 18, 30), 0, 20);
+    }
+
+    @Benchmark
+    public SearchPageDTO<PlayerDTO> positionOnly() {
+        return playerSearchIndex.search(new PlayerSearchCriteria(null, null, "CM", null, null), 0, 20);
+    }
+
+}
@@ -0,0 +1,56 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.arsalaan.footballclubmanagementsystem.dto.LeagueDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamDTO;
+import dev.arsalaan.footballclubmanagementsystem.mapper.LeagueMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.mapper.TeamMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of the response bodies, with an ObjectMapper configured the way Spring MVC builds its own
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"25", "500"})
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private TeamDTO teamDTO;
+    private List<TeamDTO> teamDTOs;
+    private List<LeagueDTO> leagueDTOs;
+
+    @Setup
+    public void setup() {
+        teamDTOs = new TeamMapperImpl().toTeamDTOs(Fixtures.teams(size, null));
+        teamDTO = teamDTOs.get(0);
+        leagueDTOs = new LeagueMapperImpl().toLeagueDTOs(Fixtures.leagues(size));
+    }
+
+    @Benchmark
+    public byte[] writeTeamDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(teamDTO);
+    }
+
+    @Benchmark
+    public byte[] writeTeamDTOs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(teamDTOs);
+    }
+
+    @Benchmark
+    public byte[] writeLeagueDTOs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(leagueDTOs);
+    }
+
+}
@@ -0,0 +1,122 @@
+package dev.arsalaan.footballclubmanagementsystem.benchmark;
+
+import dev.arsalaan.footballclubmanagementsystem.FootballClubManagementSystemApplication;
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.LeagueDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamDTO;
+import dev.arsalaan.footballclubmanagementsystem.service.LeagueService;
+import dev.arsalaan.footballclubmanagementsystem.service.PlayerService;
+import dev.arsalaan.footballclubmanagementsystem.service.TeamService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Service reads end to end (repository, Hibernate, mapper) against an in-memory H2 seeded with `teams` Teams,
+// a full squad each, a Stadium and an Owner per Team and 20 Teams per League.
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    @Param({"100", "1000"})
+    private int teams;
+
+    private ConfigurableApplicationContext context;
+    private TeamService teamService;
+    private LeagueService leagueService;
+    private PlayerService playerService;
+    private Long leagueId;
+
+    @Setup
+    public void setup() {
+
+        context = new SpringApplicationBuilder(FootballClubManagementSystemApplication.class)
+                .web(WebApplicationType.SERVLET) // CorsConfiguration's @EnableWebMvc needs a ServletContext
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.sql.init.mode=never",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+
+        seed(context.getBean(JdbcTemplate.class));
+
+        teamService = context.getBean(TeamService.class);
+        leagueService = context.getBean(LeagueService.class);
+        playerService = context.getBean(PlayerService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+
+        List<Object[]> leagues = new ArrayList<>();
+        for (int l = 0; l < (teams + Fixtures.TEAMS_PER_LEAGUE - 1) / Fixtures.TEAMS_PER_LEAGUE; l++) {
+            leagues.add(new Object[]{"League " + l, "Country " + l, Fixtures.TEAMS_PER_LEAGUE});
+        }
+        jdbcTemplate.batchUpdate("insert into league (name, country, number_of_teams, version) values (?, ?, ?, 0)", leagues);
+        List<Long> leagueIds = jdbcTemplate.queryForList("select league_id from league order by league_id", Long.class);
+        leagueId = leagueIds.get(0);
+
+        List<Object[]> teamRows = new ArrayList<>();
+        for (int t = 0; t < teams; t++) {
+            teamRows.add(new Object[]{"Team " + t, "City " + t, "Manager " + t, leagueIds.get(t / Fixtures.TEAMS_PER_LEAGUE)});
+        }
+        jdbcTemplate.batchUpdate("insert into team (name, city, manager, league_id, version) values (?, ?, ?, ?, 0)", teamRows);
+        List<Long> teamIds = jdbcTemplate.queryForList("select team_id from team order by team_id", Long.class);
+
+        List<Object[]> stadiums = new ArrayList<>();
+        List<Object[]> owners = new ArrayList<>();
+        List<Object[]> players = new ArrayList<>();
+        for (Long teamId : teamIds) {
+            stadiums.add(new Object[]{"Stadium " + teamId, 40000, teamId});
+            owners.add(new Object[]{"Owner " + teamId, "$1bn", teamId});
+            for (int p = 0; p < Fixtures.SQUAD_SIZE; p++) {
+                players.add(new Object[]{"Player " + teamId + "-" + p, "CM", "England", 18 + p % 20, teamId});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into stadium (name, capacity, team_id) values (?, ?, ?)", stadiums);
+        jdbcTemplate.batchUpdate("insert into owner (name, net_worth, team_id) values (?, ?, ?)", owners);
+        jdbcTemplate.batchUpdate("insert into player (name, position, nationality, age, team_id, version) values (?, ?, ?, ?, ?, 0)", players);
+    }
+
+    @Benchmark
+    public List<TeamDTO> teamServiceGetAllTeams() {
+        return teamService.getAllTeams();
+    }
+
+    @Benchmark
+    public CursorPageDTO<TeamDTO> teamServiceGetTeamsPage() {
+        return teamService.getTeamsPage(null, 100);
+    }
+
+    @Benchmark
+    public List<TeamDTO> teamServiceViewAllTeamsForLeague() {
+        return teamService.viewAllTeamsForLeague(leagueId);
+    }
+
+    @Benchmark
+    public List<LeagueDTO> leagueServiceGetAllLeagues() {
+        return leagueService.getAllLeagues();
+    }
+
+    @Benchmark
+    public List<PlayerDTO> playerServiceGetAllPlayers() {
+        return playerService.getAllPlayers();
+    }
+
+}
@@ -2,8 +2,14 @@ package dev.arsalaan.footballclubmanagementsystem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC is only used by the reactive read API (reactive.ReactiveReadApplication), this application stays on JDBC/JPA
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcDataAutoConfiguration.class,
+		R2dbcRepositoriesAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class FootballClubManagementSystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,22 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+Times every public method of the classes annotated with @Timed("service.method") - the *Service classes - tagged
+with class and method. Endpoint timers (http.server.requests), Hibernate statistics and HikariCP pool metrics are
+bound by Spring Boot itself; all of them are scraped from /actuator/prometheus (see application.properties).
+ */
+
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+}
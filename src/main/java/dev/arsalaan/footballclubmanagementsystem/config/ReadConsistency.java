@@ -0,0 +1,45 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import java.util.function.Supplier;
+
+/*
+Read-your-writes switch for the replica routing.
+The replica may lag behind the primary, so a read that must see the caller's own writes (e.g. a GET straight after a
+PUT) can ask for the primary instead: clients send the X-Read-Your-Writes: true header, code wraps the call in
+ReadConsistency.onPrimary(...).
+ */
+
+public final class ReadConsistency {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private ReadConsistency() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get();
+    }
+
+    public static <T> T onPrimary(Supplier<T> read) {
+
+        boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_REQUIRED.set(previous);
+        }
+    }
+
+    static void requirePrimary(boolean required) {
+        if (required) {
+            PRIMARY_REQUIRED.set(Boolean.TRUE);
+        } else {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// Pins every read-only transaction of a request to the primary when the client sends X-Read-Your-Writes: true
+
+class ReadConsistencyFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ReadConsistency.requirePrimary(Boolean.parseBoolean(request.getHeader(ReadConsistency.HEADER)));
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadConsistency.requirePrimary(false);
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+Sends connections of read-only transactions (@Transactional(readOnly = true)) to the replica and everything else -
+read-write transactions, statements outside a transaction, schema and seed scripts - to the primary.
+Spring only marks a transaction read-only after it has begun, so this must sit behind a LazyConnectionDataSourceProxy
+that defers picking the physical connection until the first statement.
+ */
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Route.PRIMARY, primary);
+        targets.put(Route.REPLICA, replica);
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    static Route currentRoute() {
+
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !ReadConsistency.isPrimaryRequired()) {
+            return Route.REPLICA;
+        }
+
+        return Route.PRIMARY;
+    }
+
+}
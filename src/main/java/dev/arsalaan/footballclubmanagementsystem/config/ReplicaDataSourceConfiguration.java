@@ -0,0 +1,54 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/*
+Read/write split, switched on by the "replica" profile (application-replica.properties).
+The primary pool is still configured through spring.datasource.*, the replica pool through app.datasource.replica.*
+(any HikariCP property, e.g. app.datasource.replica.maximum-pool-size).
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "jdbc-url")
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        return new HikariDataSource();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadConsistencyFilter> readConsistencyFilter() {
+        return new FilterRegistrationBean<>(new ReadConsistencyFilter());
+    }
+
+}
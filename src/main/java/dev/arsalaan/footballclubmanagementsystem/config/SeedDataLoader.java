@@ -0,0 +1,104 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import dev.arsalaan.footballclubmanagementsystem.repository.BulkInserter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/*
+Seeds the database at startup, once Hibernate has created the tables and before the web server takes requests.
+app.seed.mode picks how:
+    sql       runs the app.seed.scripts SQL files, statement by statement (what spring.sql.init used to do)
+    snapshot  loads app.seed.snapshot, the seed data in binary form (see SeedSnapshot), in one transaction
+    none      leaves the database as it is
+application.properties runs the scripts: loading the snapshot costs a fixed ~150 ms more (cold code paths), which only
+pays off once the seed data grows to thousands of rows (see StartupBenchmark). Without app.seed.mode (the tests) there
+is no seeding. The snapshot is written from the scripts by SeedSnapshotGenerator (in the test sources) and has to be
+generated again whenever they change (SeedSnapshotTest fails until it is).
+ */
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.seed", name = "mode")
+@DependsOn("entityManagerFactory")
+public class SeedDataLoader implements InitializingBean {
+
+    public enum Mode {
+        SNAPSHOT, SQL, NONE
+    }
+
+    private final Mode mode;
+    private final Resource snapshot;
+    private final Resource[] scripts;
+    private final JdbcTemplate jdbcTemplate;
+    private final BulkInserter bulkInserter;
+    private final TransactionTemplate transactionTemplate;
+
+    public SeedDataLoader(@Value("${app.seed.mode}") Mode mode,
+                          @Value("${app.seed.snapshot:classpath:seed.snapshot}") Resource snapshot,
+                          @Value("${app.seed.scripts:}") String[] scripts, ResourceLoader resourceLoader,
+                          JdbcTemplate jdbcTemplate, BulkInserter bulkInserter) {
+        this.mode = mode;
+        this.snapshot = snapshot;
+        this.scripts = Arrays.stream(scripts).map(String::trim).map(resourceLoader::getResource).toArray(Resource[]::new);
+        this.jdbcTemplate = jdbcTemplate;
+        this.bulkInserter = bulkInserter;
+        // plain JDBC, there is no need to start a JPA transaction (and EntityManager) for it
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+
+        long start = System.nanoTime();
+
+        switch (mode) {
+            case SNAPSHOT:
+                Map<String, Long> loaded = transactionTemplate.execute(status -> loadSnapshot());
+                if (loaded.isEmpty()) {
+                    log.info("Seed snapshot {} not loaded, the database holds data already", snapshot.getDescription());
+                } else {
+                    log.info("Loaded seed snapshot {} in {} ms: {}", snapshot.getDescription(), elapsedMillis(start), loaded);
+                }
+                break;
+            case SQL:
+                ResourceDatabasePopulator populator = new ResourceDatabasePopulator(scripts);
+                populator.setSqlScriptEncoding(StandardCharsets.UTF_8.name());
+                populator.execute(jdbcTemplate.getDataSource());
+                log.info("Ran {} seed scripts in {} ms", scripts.length, elapsedMillis(start));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private Map<String, Long> loadSnapshot() {
+
+        try (InputStream in = snapshot.getInputStream()) {
+            return SeedSnapshot.load(in, bulkInserter, jdbcTemplate);
+        } catch (IOException e) {
+            throw new UncheckedIOException("seed snapshot " + snapshot.getDescription() + " could not be read", e);
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+}
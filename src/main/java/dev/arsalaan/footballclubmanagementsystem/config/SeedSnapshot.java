@@ -0,0 +1,364 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import dev.arsalaan.footballclubmanagementsystem.repository.BulkInserter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+The seed data of the application in a compact binary form, loaded at startup instead of running the seed SQL scripts
+(see SeedDataLoader) and written from a database the scripts were run against (see SeedSnapshotGenerator).
+Holds every table with rows, parents before the tables referencing them, each row with its stored ids, gzip compressed:
+
+    magic, version, table count, table names
+    per table: column count, per column (name, java.sql.Types, identity), row count, rows (a null flag, then the value)
+
+Rows go back in through BulkInserter (multi-row INSERTs, COPY on PostgreSQL) and the identity columns are moved past
+the highest stored id afterwards, so rows created later get new ids. Rows are written in primary key order: the same
+scripts always give the same bytes, which keeps the committed snapshot comparable with them.
+ */
+
+public final class SeedSnapshot {
+
+    private static final int MAGIC = 0x46434d53;
+    private static final int VERSION = 1;
+    private static final int ROWS_PER_INSERT = 1000;
+
+    private SeedSnapshot() {
+    }
+
+    public static void write(JdbcTemplate jdbcTemplate, OutputStream target) {
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try {
+                GZIPOutputStream compressed = new GZIPOutputStream(target);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(compressed));
+                List<String> tables = tablesWithRows(connection);
+
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeShort(tables.size());
+                for (String table : tables) {
+                    out.writeUTF(table.toLowerCase());
+                }
+                for (String table : tables) {
+                    writeTable(connection, table, out);
+                }
+
+                // finished rather than closed, the target stays open for the caller
+                out.flush();
+                compressed.finish();
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // the rows stored per table, empty when one of the tables has rows already (nothing is loaded then)
+    public static Map<String, Long> load(InputStream source, BulkInserter bulkInserter, JdbcTemplate jdbcTemplate) {
+
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(source)));
+
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IllegalStateException("not a seed snapshot of version " + VERSION);
+            }
+
+            List<String> tables = new ArrayList<>();
+            for (int count = in.readUnsignedShort(); count > 0; count--) {
+                tables.add(in.readUTF());
+            }
+
+            for (String table : tables) {
+                if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("select exists (select 1 from " + table + ")",
+                        Boolean.class))) {
+                    return Map.of();
+                }
+            }
+
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            Map<String, Long> loaded = new LinkedHashMap<>();
+            for (String table : tables) {
+                loaded.put(table, loadTable(table, in, bulkInserter, jdbcTemplate, product));
+            }
+            return loaded;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeTable(Connection connection, String table, DataOutputStream out) throws SQLException, IOException {
+
+        Set<String> primaryKey = new LinkedHashSet<>();
+        try (ResultSet keys = connection.getMetaData().getPrimaryKeys(null, null, table)) {
+            while (keys.next()) {
+                primaryKey.add(keys.getString("COLUMN_NAME"));
+            }
+        }
+
+        String sql = "select * from " + table + (primaryKey.isEmpty() ? "" : " order by " + String.join(", ", primaryKey));
+        try (Statement statement = connection.createStatement();
+             Statement countStatement = connection.createStatement();
+             ResultSet count = countStatement.executeQuery("select count(*) from " + table);
+             ResultSet rows = statement.executeQuery(sql)) {
+
+            ResultSetMetaData metaData = rows.getMetaData();
+            int[] types = new int[metaData.getColumnCount()];
+
+            out.writeShort(types.length);
+            for (int column = 0; column < types.length; column++) {
+                types[column] = storedType(table, metaData.getColumnName(column + 1), metaData.getColumnType(column + 1));
+                out.writeUTF(metaData.getColumnName(column + 1).toLowerCase());
+                out.writeInt(types[column]);
+                out.writeBoolean(metaData.isAutoIncrement(column + 1));
+            }
+
+            count.next();
+            out.writeLong(count.getLong(1));
+            while (rows.next()) {
+                for (int column = 0; column < types.length; column++) {
+                    writeValue(rows, column + 1, types[column], out);
+                }
+            }
+        }
+    }
+
+    private static long loadTable(String table, DataInputStream in, BulkInserter bulkInserter, JdbcTemplate jdbcTemplate,
+                                  String product) throws IOException {
+
+        List<BulkInserter.Column> columns = new ArrayList<>();
+        List<String> identities = new ArrayList<>();
+        for (int count = in.readUnsignedShort(); count > 0; count--) {
+            BulkInserter.Column column = new BulkInserter.Column(in.readUTF(), in.readInt());
+            columns.add(column);
+            if (in.readBoolean()) {
+                identities.add(column.getName());
+            }
+        }
+
+        BulkInserter.Table target = new BulkInserter.Table(table, columns);
+        long rows = in.readLong();
+        List<Object[]> chunk = new ArrayList<>(ROWS_PER_INSERT);
+
+        for (long row = 0; row < rows; row++) {
+            Object[] values = new Object[columns.size()];
+            for (int column = 0; column < values.length; column++) {
+                values[column] = readValue(in, columns.get(column).getSqlType());
+            }
+            chunk.add(values);
+
+            if (chunk.size() == ROWS_PER_INSERT) {
+                bulkInserter.insert(target, chunk);
+                chunk.clear();
+            }
+        }
+        bulkInserter.insert(target, chunk);
+
+        for (String identity : identities) {
+            restartIdentity(jdbcTemplate, product, table, identity);
+        }
+
+        return rows;
+    }
+
+    // ids were stored as they are, the next generated one has to come after the highest of them
+    private static void restartIdentity(JdbcTemplate jdbcTemplate, String product, String table, String column) {
+
+        long next = jdbcTemplate.queryForObject("select coalesce(max(" + column + "), 0) + 1 from " + table, Long.class);
+
+        if ("PostgreSQL".equalsIgnoreCase(product)) {
+            jdbcTemplate.queryForObject("select setval(pg_get_serial_sequence(?, ?), ?, false)", Long.class, table, column, next);
+        } else if ("H2".equalsIgnoreCase(product)) {
+            jdbcTemplate.execute("alter table " + table + " alter column " + column + " restart with " + next);
+        }
+        // MySQL moves AUTO_INCREMENT past explicitly inserted ids on its own
+    }
+
+    // every table with rows, a table after the tables its foreign keys point to
+    private static List<String> tablesWithRows(Connection connection) throws SQLException {
+
+        DatabaseMetaData metaData = connection.getMetaData();
+        Map<String, Set<String>> parents = new TreeMap<>();
+
+        try (ResultSet tables = metaData.getTables(null, connection.getSchema(), "%", new String[]{"TABLE"})) {
+            while (tables.next()) {
+                parents.put(tables.getString("TABLE_NAME"), new LinkedHashSet<>());
+            }
+        }
+
+        for (Map.Entry<String, Set<String>> table : parents.entrySet()) {
+            try (ResultSet keys = metaData.getImportedKeys(null, connection.getSchema(), table.getKey())) {
+                while (keys.next()) {
+                    table.getValue().add(keys.getString("PKTABLE_NAME"));
+                }
+            }
+        }
+
+        List<String> ordered = new ArrayList<>();
+        Set<String> visited = new LinkedHashSet<>();
+        for (String table : parents.keySet()) {
+            visit(table, parents, visited, ordered);
+        }
+
+        List<String> withRows = new ArrayList<>();
+        for (String table : ordered) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet any = statement.executeQuery("select exists (select 1 from " + table + ")")) {
+                if (any.next() && any.getBoolean(1)) {
+                    withRows.add(table);
+                }
+            }
+        }
+        return withRows;
+    }
+
+    private static void visit(String table, Map<String, Set<String>> parents, Set<String> visited, List<String> ordered) {
+
+        if (!visited.add(table)) {
+            return;
+        }
+        for (String parent : parents.getOrDefault(table, Set.of())) {
+            if (!parent.equals(table)) {
+                visit(parent, parents, visited, ordered);
+            }
+        }
+        ordered.add(table);
+    }
+
+    // the types a value is kept as, the column gets it back through setObject with the same java.sql.Types
+    private static int storedType(String table, String column, int type) {
+
+        switch (type) {
+            case Types.BIGINT:
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+            case Types.BOOLEAN:
+            case Types.DOUBLE:
+            case Types.REAL:
+            case Types.DATE:
+            case Types.TIMESTAMP:
+                return type;
+            case Types.FLOAT:
+                return Types.DOUBLE;
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.CLOB:
+                return Types.VARCHAR;
+            default:
+                throw new IllegalStateException("column " + table + "." + column + " has a type a seed snapshot does not hold: " + type);
+        }
+    }
+
+    private static void writeValue(ResultSet rows, int column, int type, DataOutputStream out) throws SQLException, IOException {
+
+        Object value;
+        switch (type) {
+            case Types.BIGINT:
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                value = rows.getLong(column);
+                break;
+            case Types.BOOLEAN:
+                value = rows.getBoolean(column);
+                break;
+            case Types.DOUBLE:
+            case Types.REAL:
+                value = rows.getDouble(column);
+                break;
+            case Types.DATE:
+                value = rows.getDate(column);
+                break;
+            case Types.TIMESTAMP:
+                value = rows.getTimestamp(column);
+                break;
+            default:
+                value = rows.getString(column);
+        }
+
+        boolean present = !rows.wasNull() && value != null;
+        out.writeBoolean(present);
+        if (!present) {
+            return;
+        }
+
+        if (value instanceof Long) {
+            out.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Double) {
+            out.writeDouble((Double) value);
+        } else if (value instanceof java.sql.Date) {
+            out.writeLong(((java.sql.Date) value).toLocalDate().toEpochDay());
+        } else if (value instanceof java.sql.Timestamp) {
+            java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+            out.writeLong(timestamp.getTime());
+            out.writeInt(timestamp.getNanos());
+        } else {
+            byte[] text = ((String) value).getBytes(StandardCharsets.UTF_8);
+            out.writeInt(text.length);
+            out.write(text);
+        }
+    }
+
+    private static Object readValue(DataInputStream in, int type) throws IOException {
+
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        switch (type) {
+            case Types.BIGINT:
+                return in.readLong();
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                return (int) in.readLong();
+            case Types.BOOLEAN:
+                return in.readBoolean();
+            case Types.DOUBLE:
+            case Types.REAL:
+                return in.readDouble();
+            case Types.DATE:
+                return java.sql.Date.valueOf(java.time.LocalDate.ofEpochDay(in.readLong()));
+            case Types.TIMESTAMP:
+                java.sql.Timestamp timestamp = new java.sql.Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            default:
+                byte[] text = new byte[in.readInt()];
+                in.readFully(text);
+                return new String(text, StandardCharsets.UTF_8);
+        }
+    }
+
+}
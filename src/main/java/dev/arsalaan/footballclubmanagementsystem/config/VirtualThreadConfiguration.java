@@ -0,0 +1,48 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+
+/*
+Virtual thread request execution, switched on by the "virtual-threads" profile (application-virtual-threads.properties)
+and only usable on a Java 21+ runtime (startup fails otherwise).
+Every request gets its own virtual thread instead of one of the server.tomcat.threads.max platform threads, so a
+request blocked on JDBC (or waiting for a pooled connection) no longer holds a platform thread and a slow database
+cannot starve the endpoints that do not need it. The database is still protected by the connection pool size.
+The application task executor (async MVC work such as the NDJSON exports, and @Async) runs on virtual threads too.
+
+A virtual thread blocked inside a synchronized block pins its carrier thread. The request path of this application
+has no synchronized code (the shared state uses java.util.concurrent locks and atomics) and the PostgreSQL driver is
+kept on a version that locks with ReentrantLock; check for regressions with -Djdk.tracePinnedThreads=short.
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.threads", name = "virtual", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+
+        ThreadFactory threads = VirtualThreads.factory("http-virtual-");
+
+        return protocolHandler -> protocolHandler.setExecutor(command -> threads.newThread(command).start());
+    }
+
+    // replaces Boot's ThreadPoolTaskExecutor, which Spring MVC and @Async pick up by this name
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+        executor.setThreadFactory(VirtualThreads.factory("task-virtual-"));
+
+        return executor;
+    }
+
+}
@@ -0,0 +1,54 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/*
+Virtual threads are final in Java 21 but the build still targets Java 17, so the Thread.Builder API is looked up
+reflectively. Nothing here is touched unless the virtual-threads profile is active.
+ */
+
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    // threads are named <prefix><n>, n counting from 0
+    static ThreadFactory factory(String prefix) {
+
+        if (!isSupported()) {
+            throw new IllegalStateException("virtual threads (app.threads.virtual=true) need Java 21 or newer, running on "
+                    + Runtime.version());
+        }
+
+        try {
+            // called through the public Thread.Builder interface, the implementing classes are internal to java.base
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Method name = builderType.getMethod("name", String.class, long.class);
+            Method factory = builderType.getMethod("factory");
+
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) factory.invoke(name.invoke(builder, prefix, 0L));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("cannot create a virtual thread factory", e);
+        }
+    }
+
+    static boolean isVirtual(Thread thread) {
+
+        if (!isSupported()) {
+            return false;
+        }
+
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("cannot tell whether " + thread + " is virtual", e);
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package dev.arsalaan.footballclubmanagementsystem.controller;
+
+import dev.arsalaan.footballclubmanagementsystem.service.SquadResponseCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/*
+Writes a view held by SquadResponseCache as the response body, the bytes as they are cached.
+Compressed bytes go out with Content-Encoding: gzip when the client accepts it and are inflated otherwise.
+ */
+
+final class CachedResponses {
+
+    private CachedResponses() {
+    }
+
+    static ResponseEntity<byte[]> of(SquadResponseCache.SerializedResponse response, String acceptEncoding) {
+
+        if (response.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+
+        if (response.getETag() != null) {
+            builder.eTag(response.getETag());
+        }
+
+        if (!response.isGzipped()) {
+            return builder.body(response.getBody());
+        }
+
+        builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (!acceptsGzip(acceptEncoding)) {
+            return builder.body(response.plainBody());
+        }
+
+        return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.getBody());
+    }
+
+    // "gzip" or "*" listed without q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            boolean refused = parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            if ((name.equalsIgnoreCase("gzip") || name.equals("*")) && !refused) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+}
@@ -1,6 +1,12 @@
 package dev.arsalaan.footballclubmanagementsystem.controller;
 
+import dev.arsalaan.footballclubmanagementsystem.dto.CupBracketDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.CupDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.CupDrawDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.CupSimulationDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.CupTieResultDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.service.CupBracketService;
 import dev.arsalaan.footballclubmanagementsystem.service.CupService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,9 +19,11 @@ import java.util.List;
 public class CupController {
 
     private final CupService cupService;
+    private final CupBracketService cupBracketService;
 
-    public CupController(CupService cupService) {
+    public CupController(CupService cupService, CupBracketService cupBracketService) {
         this.cupService = cupService;
+        this.cupBracketService = cupBracketService;
     }
 
     // [GET] View All Cups
@@ -31,6 +39,13 @@ public class CupController {
         return ResponseEntity.ok(cupsDTO);
     }
 
+    // [GET] View a page of Cups after a cursor (keyset pagination)
+    @GetMapping(value = "/", params = "limit")
+    public ResponseEntity<CursorPageDTO<CupDTO>> getCupsPage(@RequestParam(value = "after", required = false) Long after,
+                                                             @RequestParam("limit") int limit) {
+        return ResponseEntity.ok(cupService.getCupsPage(after, limit));
+    }
+
     // [GET] View a specific Cup by its ID
     @GetMapping("/{cupId}")
     public ResponseEntity<CupDTO> getCupById(@PathVariable("cupId") Long cupId) {
@@ -94,4 +109,46 @@ public class CupController {
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
+    // [GET] View the knockout bracket of a Cup
+    @GetMapping("/{cupId}/bracket")
+    public ResponseEntity<CupBracketDTO> getBracket(@PathVariable("cupId") Long cupId) {
+
+        CupBracketDTO bracketDTO = cupBracketService.getBracket(cupId);
+
+        if (bracketDTO.getTies().isEmpty()) {
+            return new ResponseEntity<>(bracketDTO, HttpStatus.NO_CONTENT);
+        }
+
+        return ResponseEntity.ok(bracketDTO);
+    }
+
+    // [POST] Draw the knockout bracket of a Cup from its Teams (optionally in a given seeding)
+    @PostMapping("/{cupId}/bracket")
+    public ResponseEntity<CupBracketDTO> createBracket(@PathVariable("cupId") Long cupId,
+                                                       @RequestBody(required = false) CupDrawDTO cupDrawDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(cupBracketService.createBracket(cupId, cupDrawDTO));
+    }
+
+    // [DELETE] Remove the knockout bracket of a Cup
+    @DeleteMapping("/{cupId}/bracket")
+    public ResponseEntity deleteBracket(@PathVariable("cupId") Long cupId) {
+        cupBracketService.deleteBracket(cupId);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+
+    // [PUT] Record the result of a Cup tie and move the winner on to the next round
+    @PutMapping("/{cupId}/tie/{cupTieId}/result")
+    public ResponseEntity recordTieResult(@PathVariable("cupId") Long cupId, @PathVariable("cupTieId") Long cupTieId,
+                                          @RequestBody CupTieResultDTO cupTieResultDTO) {
+        cupBracketService.recordTieResult(cupId, cupTieId, cupTieResultDTO);
+        return ResponseEntity.ok().build();
+    }
+
+    // [GET] Each Team's chance of winning the Cup, from simulating the rest of the bracket (Monte Carlo)
+    @GetMapping("/{cupId}/simulation")
+    public ResponseEntity<CupSimulationDTO> simulateCup(@PathVariable("cupId") Long cupId,
+                                                        @RequestParam(value = "iterations", required = false) Integer iterations) {
+        return ResponseEntity.ok(cupBracketService.simulateCup(cupId, iterations));
+    }
+
 }
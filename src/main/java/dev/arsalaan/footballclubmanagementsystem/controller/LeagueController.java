@@ -1,10 +1,20 @@
 package dev.arsalaan.footballclubmanagementsystem.controller;
 
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.FixtureRequestDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.FixtureScheduleDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.LeagueDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.LeagueStandingsDTO;
+import dev.arsalaan.footballclubmanagementsystem.service.FixtureService;
 import dev.arsalaan.footballclubmanagementsystem.service.LeagueService;
+import dev.arsalaan.footballclubmanagementsystem.service.MatchEventService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 
@@ -13,9 +23,13 @@ import java.util.List;
 public class LeagueController {
 
     private final LeagueService leagueService;
+    private final FixtureService fixtureService;
+    private final MatchEventService matchEventService;
 
-    public LeagueController(LeagueService leagueService) {
+    public LeagueController(LeagueService leagueService, FixtureService fixtureService, MatchEventService matchEventService) {
         this.leagueService = leagueService;
+        this.fixtureService = fixtureService;
+        this.matchEventService = matchEventService;
     }
 
     // [GET] View All Leagues
@@ -31,9 +45,22 @@ public class LeagueController {
         return ResponseEntity.ok(leaguesDTO);
     }
 
+    // [GET] View a page of Leagues after a cursor (keyset pagination)
+    @GetMapping(value = "/", params = "limit")
+    public ResponseEntity<CursorPageDTO<LeagueDTO>> getLeaguesPage(@RequestParam(value = "after", required = false) Long after,
+                                                                   @RequestParam("limit") int limit) {
+        return ResponseEntity.ok(leagueService.getLeaguesPage(after, limit));
+    }
+
     // [GET] View a specific League by its ID
     @GetMapping("/{leagueId}")
-    public ResponseEntity<LeagueDTO> getLeagueById(@PathVariable("leagueId") Long leagueId) {
+    public ResponseEntity<LeagueDTO> getLeagueById(@PathVariable("leagueId") Long leagueId, WebRequest webRequest) {
+
+        String eTag = leagueService.getLeagueETag(leagueId);
+
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304 has already been written to the response
+        }
 
         LeagueDTO leagueDTO = leagueService.getLeagueById(leagueId);
 
@@ -41,7 +68,30 @@ public class LeagueController {
             return new ResponseEntity("League with id " + leagueId + " does not exist", HttpStatus.NOT_FOUND);
         }
 
-        return new ResponseEntity<LeagueDTO>(leagueDTO, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(eTag).body(leagueDTO);
+    }
+
+    // [GET] View the table of a League season (the latest one with results by default)
+    @GetMapping("/{leagueId}/standings")
+    public ResponseEntity<LeagueStandingsDTO> getLeagueStandings(@PathVariable("leagueId") Long leagueId,
+                                                                 @RequestParam(value = "season", required = false) Integer season) {
+
+        LeagueStandingsDTO standingsDTO = leagueService.getLeagueStandings(leagueId, season);
+
+        if (standingsDTO.getStandings().isEmpty()) {
+            return new ResponseEntity<>(standingsDTO, HttpStatus.NO_CONTENT);
+        }
+
+        return ResponseEntity.ok(standingsDTO);
+    }
+
+    // [GET] Follow the events and scores of every Match of a League live (Server-Sent Events)
+    @GetMapping("/{leagueId}/live")
+    public ResponseEntity<ResponseBodyEmitter> subscribeToLeague(@PathVariable("leagueId") Long leagueId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noCache())
+                .body(matchEventService.subscribeToLeague(leagueId));
     }
 
     // [POST] Create a League
@@ -51,6 +101,19 @@ public class LeagueController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    // [POST] Generate the double round-robin fixture list of a League season, stored as Matches
+    @PostMapping("/{leagueId}/fixtures")
+    public ResponseEntity<FixtureScheduleDTO> generateFixtures(@PathVariable("leagueId") Long leagueId,
+                                                               @RequestBody FixtureRequestDTO fixtureRequestDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(fixtureService.generateFixtures(leagueId, fixtureRequestDTO));
+    }
+
+    // [POST] Generate the fixture lists of many Leagues for one season (batch mode), one entry per League
+    @PostMapping("/fixtures")
+    public ResponseEntity<List<FixtureScheduleDTO>> generateFixturesForLeagues(@RequestBody FixtureRequestDTO fixtureRequestDTO) {
+        return ResponseEntity.ok(fixtureService.generateFixturesForLeagues(fixtureRequestDTO));
+    }
+
     // [PUT] Update a specific League by its ID
     @PutMapping("/{leagueId}")
     public ResponseEntity updateLeagueById(@PathVariable("leagueId") Long leagueId, @RequestBody LeagueDTO leagueDTO) {
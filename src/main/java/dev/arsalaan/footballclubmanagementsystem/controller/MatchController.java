@@ -0,0 +1,110 @@
+package dev.arsalaan.footballclubmanagementsystem.controller;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchEventDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchResultDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.StatsRebuildDTO;
+import dev.arsalaan.footballclubmanagementsystem.service.MatchEventService;
+import dev.arsalaan.footballclubmanagementsystem.service.MatchService;
+import dev.arsalaan.footballclubmanagementsystem.service.StatisticsService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/match")
+public class MatchController {
+
+    private final MatchService matchService;
+    private final MatchEventService matchEventService;
+    private final StatisticsService statisticsService;
+
+    public MatchController(MatchService matchService, MatchEventService matchEventService,
+                           StatisticsService statisticsService) {
+        this.matchService = matchService;
+        this.matchEventService = matchEventService;
+        this.statisticsService = statisticsService;
+    }
+
+    // [GET] View a specific Match by its ID
+    @GetMapping("/{matchId}")
+    public ResponseEntity<MatchDTO> getMatchById(@PathVariable("matchId") Long matchId) {
+        return ResponseEntity.ok(matchService.getMatchById(matchId));
+    }
+
+    // [GET] View All Matches of a League (of one season with ?season=)
+    @GetMapping("/league/{leagueId}")
+    public ResponseEntity<List<MatchDTO>> viewAllMatchesForLeague(@PathVariable("leagueId") Long leagueId,
+                                                                  @RequestParam(value = "season", required = false) Integer season) {
+
+        List<MatchDTO> matchesDTO = matchService.viewAllMatchesForLeague(leagueId, season);
+
+        if (matchesDTO == null || matchesDTO.isEmpty()) {
+            return new ResponseEntity<>(matchesDTO, HttpStatus.NO_CONTENT);
+        }
+
+        return ResponseEntity.ok(matchesDTO);
+    }
+
+    // [POST] Create a Match
+    @PostMapping("/")
+    public ResponseEntity createMatch(@RequestBody MatchDTO matchDTO) {
+        matchService.createMatch(matchDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    // [PUT] Record or correct the result of a specific Match
+    @PutMapping("/{matchId}/result")
+    public ResponseEntity recordResult(@PathVariable("matchId") Long matchId, @RequestBody MatchResultDTO matchResultDTO) {
+        matchService.recordResult(matchId, matchResultDTO);
+        return ResponseEntity.ok().build();
+    }
+
+    // [GET] View the events (goals, cards, substitutions) of a specific Match
+    @GetMapping("/{matchId}/events")
+    public ResponseEntity<List<MatchEventDTO>> viewEventsForMatch(@PathVariable("matchId") Long matchId) {
+
+        List<MatchEventDTO> eventsDTO = matchEventService.viewEventsForMatch(matchId);
+
+        if (eventsDTO.isEmpty()) {
+            return new ResponseEntity<>(eventsDTO, HttpStatus.NO_CONTENT);
+        }
+
+        return ResponseEntity.ok(eventsDTO);
+    }
+
+    // [POST] Push live events of a specific Match, stored in the background (429 with Retry-After when busy)
+    @PostMapping("/{matchId}/events")
+    public ResponseEntity ingestEvents(@PathVariable("matchId") Long matchId, @RequestBody List<MatchEventDTO> eventsDTO) {
+        matchEventService.ingestEvents(matchId, eventsDTO);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+    }
+
+    // [GET] Follow the events and score of a specific Match live (Server-Sent Events)
+    @GetMapping("/{matchId}/live")
+    public ResponseEntity<ResponseBodyEmitter> subscribeToMatch(@PathVariable("matchId") Long matchId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noCache())
+                .body(matchEventService.subscribeToMatch(matchId));
+    }
+
+    // [POST] Count the Player and Team statistics of a season (every season by default) again from the stored events
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<StatsRebuildDTO> rebuildStats(@RequestParam(value = "season", required = false) Integer season) {
+        return ResponseEntity.ok(statisticsService.rebuildStats(season));
+    }
+
+    // [DELETE] Remove a specific Match by its ID
+    @DeleteMapping("/{matchId}")
+    public ResponseEntity deleteMatchById(@PathVariable("matchId") Long matchId) {
+        matchService.deleteMatchById(matchId);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+
+}
@@ -0,0 +1,38 @@
+package dev.arsalaan.footballclubmanagementsystem.controller;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.ImportReportDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.service.BulkImportService;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.BiFunction;
+
+/*
+Hands the file part of a multipart bulk import to BulkImportService as a stream.
+The servlet container spools the part to disk (spring.servlet.multipart.file-size-threshold=0), it is read from there.
+ */
+
+final class MultipartImports {
+
+    private MultipartImports() {
+    }
+
+    static ImportReportDTO run(MultipartFile file, String format,
+                               BiFunction<InputStream, BulkImportService.Format, ImportReportDTO> importer) {
+
+        if (file == null || file.isEmpty()) {
+            throw new ApiRequestException("the upload (file) is empty");
+        }
+
+        BulkImportService.Format resolved = BulkImportService.Format.resolve(format, file.getContentType(), file.getOriginalFilename());
+
+        try (InputStream upload = file.getInputStream()) {
+            return importer.apply(upload, resolved);
+        } catch (IOException e) {
+            throw new ApiRequestException("the upload could not be read: " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package dev.arsalaan.footballclubmanagementsystem.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/*
+Builds application/x-ndjson (one JSON document per line) streaming responses.
+The producer pushes elements into the sink one at a time, each is serialized straight onto the response
+and the output is flushed every FLUSH_INTERVAL lines, so nothing but the current element is held in memory.
+ */
+
+final class NdjsonResponses {
+
+    static final int FLUSH_INTERVAL = 500;
+
+    private NdjsonResponses() {
+    }
+
+    static <T> StreamingResponseBody stream(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+
+                int[] lines = {0};
+                producer.accept(element -> {
+                    try {
+                        writer.writeValue(generator, element);
+                        generator.writeRaw('\n');
+                        if (++lines[0] % FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+    }
+
+}
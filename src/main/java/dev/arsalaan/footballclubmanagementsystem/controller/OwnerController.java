@@ -1,10 +1,15 @@
 package dev.arsalaan.footballclubmanagementsystem.controller;
 
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.ImportReportDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.OwnerDTO;
+import dev.arsalaan.footballclubmanagementsystem.service.BulkImportService;
 import dev.arsalaan.footballclubmanagementsystem.service.OwnerService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -13,9 +18,11 @@ import java.util.List;
 public class OwnerController {
 
     private final OwnerService ownerService;
+    private final BulkImportService bulkImportService;
 
-    public OwnerController(OwnerService ownerService) {
+    public OwnerController(OwnerService ownerService, BulkImportService bulkImportService) {
         this.ownerService = ownerService;
+        this.bulkImportService = bulkImportService;
     }
 
     // [GET] View All Owners
@@ -31,6 +38,13 @@ public class OwnerController {
         return ResponseEntity.ok(ownersDTO);
     }
 
+    // [GET] View a page of Owners after a cursor (keyset pagination)
+    @GetMapping(value = "/", params = "limit")
+    public ResponseEntity<CursorPageDTO<OwnerDTO>> getOwnersPage(@RequestParam(value = "after", required = false) Long after,
+                                                                 @RequestParam("limit") int limit) {
+        return ResponseEntity.ok(ownerService.getOwnersPage(after, limit));
+    }
+
     // [GET] View a specific Owner by its ID
     @GetMapping("/{ownerId}")
     public ResponseEntity<OwnerDTO> getOwnerById(@PathVariable("ownerId") Long ownerId) {
@@ -51,6 +65,13 @@ public class OwnerController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    // [POST] Import Owners from a CSV, JSON or NDJSON upload, rows failing validation are reported and skipped
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReportDTO> importOwners(@RequestParam("file") MultipartFile file,
+                                                        @RequestParam(value = "format", required = false) String format) {
+        return ResponseEntity.ok(MultipartImports.run(file, format, bulkImportService::importOwners));
+    }
+
     // [PUT] Update a specific Owner by its ID
     @PutMapping("/{ownerId}")
     public ResponseEntity updateOwnerById(@PathVariable("ownerId") Long ownerId, @RequestBody OwnerDTO ownerDTO) {
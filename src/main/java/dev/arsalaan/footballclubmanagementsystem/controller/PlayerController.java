@@ -1,10 +1,26 @@
 package dev.arsalaan.footballclubmanagementsystem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.arsalaan.footballclubmanagementsystem.config.ReadConsistency;
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.ImportReportDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerFilterDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerSearchCriteria;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerStatsDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.SearchPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.service.BulkImportService;
 import dev.arsalaan.footballclubmanagementsystem.service.PlayerService;
+import dev.arsalaan.footballclubmanagementsystem.service.SquadResponseCache;
+import dev.arsalaan.footballclubmanagementsystem.service.StatisticsService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -13,9 +29,19 @@ import java.util.List;
 public class PlayerController {
 
     private final PlayerService playerService;
-
-    public PlayerController(PlayerService playerService) {
+    private final StatisticsService statisticsService;
+    private final SquadResponseCache squadResponseCache;
+    private final BulkImportService bulkImportService;
+    private final ObjectMapper objectMapper;
+
+    public PlayerController(PlayerService playerService, StatisticsService statisticsService,
+                            SquadResponseCache squadResponseCache, BulkImportService bulkImportService,
+                            ObjectMapper objectMapper) {
         this.playerService = playerService;
+        this.statisticsService = statisticsService;
+        this.squadResponseCache = squadResponseCache;
+        this.bulkImportService = bulkImportService;
+        this.objectMapper = objectMapper;
     }
 
     // [GET] View All Players
@@ -31,9 +57,54 @@ public class PlayerController {
         return ResponseEntity.ok(playersDTO);
     }
 
+    // [GET] View a page of Players after a cursor (keyset pagination)
+    @GetMapping(value = "/", params = "limit")
+    public ResponseEntity<CursorPageDTO<PlayerDTO>> getPlayersPage(@RequestParam(value = "after", required = false) Long after,
+                                                                   @RequestParam("limit") int limit) {
+        return ResponseEntity.ok(playerService.getPlayersPage(after, limit));
+    }
+
+    // [GET] Export All Players as a stream of newline delimited JSON
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPlayers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonResponses.stream(objectMapper, playerService::exportPlayers));
+    }
+
+    // [POST] Import Players from a CSV, JSON or NDJSON upload, rows failing validation are reported and skipped
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReportDTO> importPlayers(@RequestParam("file") MultipartFile file,
+                                                         @RequestParam(value = "format", required = false) String format) {
+        return ResponseEntity.ok(MultipartImports.run(file, format, bulkImportService::importPlayers));
+    }
+
+    // [GET] Search Players by name (q), nationality, position and age range, ranked and paginated
+    @GetMapping("/search")
+    public ResponseEntity<SearchPageDTO<PlayerDTO>> searchPlayers(PlayerSearchCriteria criteria,
+                                                                  @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                  @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(playerService.searchPlayers(criteria, page, size));
+    }
+
+    // [POST] Filter Players by any combination (AND within a group, OR across groups) of position, nationality,
+    // age range and Team, sorted and paginated
+    @PostMapping("/filter")
+    public ResponseEntity<SearchPageDTO<PlayerDTO>> filterPlayers(@RequestBody PlayerFilterDTO filter,
+                                                                  @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                  @RequestParam(value = "size", defaultValue = "20") int size) {
+        return ResponseEntity.ok(playerService.filterPlayers(filter, page, size));
+    }
+
     // [GET] View a specific Player by its ID
     @GetMapping("/{playerId}")
-    public ResponseEntity<PlayerDTO> getPlayerById(@PathVariable("playerId") Long playerId) {
+    public ResponseEntity<PlayerDTO> getPlayerById(@PathVariable("playerId") Long playerId, WebRequest webRequest) {
+
+        String eTag = playerService.getPlayerETag(playerId);
+
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // 304 has already been written to the response
+        }
 
         PlayerDTO playerDTO = playerService.getPlayerById(playerId);
 
@@ -41,7 +112,15 @@ public class PlayerController {
             return new ResponseEntity("Player with id " + playerId + " does not exist", HttpStatus.NOT_FOUND);
         }
 
-        return new ResponseEntity<PlayerDTO>(playerDTO, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(eTag).body(playerDTO);
+    }
+
+    // [GET] View the statistics of a Player for a season (the latest by default), in total and over its last Matches
+    @GetMapping("/{playerId}/stats")
+    public ResponseEntity<PlayerStatsDTO> getPlayerStats(@PathVariable("playerId") Long playerId,
+                                                         @RequestParam(value = "season", required = false) Integer season,
+                                                         @RequestParam(value = "last", required = false) Integer last) {
+        return ResponseEntity.ok(statisticsService.getPlayerStats(playerId, season, last));
     }
 
     // [POST] Create a Player
@@ -51,6 +130,12 @@ public class PlayerController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    // [POST] Create many Players in one transaction, returns their generated ID's in request order
+    @PostMapping("/batch")
+    public ResponseEntity<List<Long>> createPlayers(@RequestBody List<PlayerDTO> playerDTOs) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(playerService.createPlayers(playerDTOs));
+    }
+
     // [PUT] Update a specific Player by its ID
     @PutMapping("/{playerId}")
     public ResponseEntity updatePlayerById(@PathVariable("playerId") Long playerId, @RequestBody PlayerDTO playerDTO) {
@@ -65,17 +150,22 @@ public class PlayerController {
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
-    // [GET] View All Players for Team ID
+    // [GET] View All Players for Team ID, answered from SquadResponseCache once loaded
     @GetMapping("/team/{teamId}")
-    public ResponseEntity<List<PlayerDTO>> viewAllPlayersForTeam(@PathVariable("teamId") Long teamId) {
+    public ResponseEntity<byte[]> viewAllPlayersForTeam(@PathVariable("teamId") Long teamId,
+                                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
-        List<PlayerDTO> playersDTO = playerService.viewAllPlayersForTeam(teamId);
+        SquadResponseCache.SerializedResponse response = squadResponseCache.get(SquadResponseCache.View.PLAYERS, teamId);
 
-        if (playersDTO == null || playersDTO.isEmpty()) {
-            return new ResponseEntity<>(playersDTO, HttpStatus.NO_CONTENT);
+        if (response == null) {
+            long generation = squadResponseCache.generation(teamId);
+            // from the primary, a replica lagging behind the write that invalidated the view would be cached
+            List<PlayerDTO> playersDTO = ReadConsistency.onPrimary(() -> playerService.viewAllPlayersForTeam(teamId));
+            response = squadResponseCache.put(SquadResponseCache.View.PLAYERS, teamId, generation, null, playersDTO,
+                    playersDTO == null || playersDTO.isEmpty());
         }
 
-        return ResponseEntity.ok(playersDTO);
+        return CachedResponses.of(response, acceptEncoding);
     }
 
     // [POST] Add a Player to a specific Team
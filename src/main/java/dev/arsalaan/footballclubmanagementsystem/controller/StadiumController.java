@@ -1,10 +1,15 @@
 package dev.arsalaan.footballclubmanagementsystem.controller;
 
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.ImportReportDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.StadiumDTO;
+import dev.arsalaan.footballclubmanagementsystem.service.BulkImportService;
 import dev.arsalaan.footballclubmanagementsystem.service.StadiumService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -13,9 +18,11 @@ import java.util.List;
 public class StadiumController {
 
     private final StadiumService stadiumService;
+    private final BulkImportService bulkImportService;
 
-    public StadiumController(StadiumService stadiumService) {
+    public StadiumController(StadiumService stadiumService, BulkImportService bulkImportService) {
         this.stadiumService = stadiumService;
+        this.bulkImportService = bulkImportService;
     }
 
     // [GET] View All Stadiums
@@ -31,6 +38,13 @@ public class StadiumController {
         return ResponseEntity.ok(stadiumsDTO);
     }
 
+    // [GET] View a page of Stadiums after a cursor (keyset pagination)
+    @GetMapping(value = "/", params = "limit")
+    public ResponseEntity<CursorPageDTO<StadiumDTO>> getStadiumsPage(@RequestParam(value = "after", required = false) Long after,
+                                                                     @RequestParam("limit") int limit) {
+        return ResponseEntity.ok(stadiumService.getStadiumsPage(after, limit));
+    }
+
     // [GET] View a specific Stadium by its ID
     @GetMapping("/{stadiumId}")
     public ResponseEntity<StadiumDTO> getStadiumById(@PathVariable("stadiumId") Long stadiumId) {
@@ -51,6 +65,13 @@ public class StadiumController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    // [POST] Import Stadiums from a CSV, JSON or NDJSON upload, rows failing validation are reported and skipped
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReportDTO> importStadiums(@RequestParam("file") MultipartFile file,
+                                                          @RequestParam(value = "format", required = false) String format) {
+        return ResponseEntity.ok(MultipartImports.run(file, format, bulkImportService::importStadiums));
+    }
+
     // [PUT] Update a specific Stadium by its ID
     @PutMapping("/{stadiumId}")
     public ResponseEntity updateStadiumById(@PathVariable("stadiumId") Long stadiumId, @RequestBody StadiumDTO stadiumDTO) {
@@ -1,15 +1,30 @@
 package dev.arsalaan.footballclubmanagementsystem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.arsalaan.footballclubmanagementsystem.config.ReadConsistency;
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.ImportReportDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.RosterUpdateDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.TeamDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamStatsDTO;
+import dev.arsalaan.footballclubmanagementsystem.service.BulkImportService;
+import dev.arsalaan.footballclubmanagementsystem.service.SquadResponseCache;
+import dev.arsalaan.footballclubmanagementsystem.service.StatisticsService;
 import dev.arsalaan.footballclubmanagementsystem.service.TeamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -20,9 +35,19 @@ import java.util.List;
 public class TeamController {
 
     private final TeamService teamService;
-
-    public TeamController(TeamService teamService) {
+    private final StatisticsService statisticsService;
+    private final SquadResponseCache squadResponseCache;
+    private final BulkImportService bulkImportService;
+    private final ObjectMapper objectMapper;
+
+    public TeamController(TeamService teamService, StatisticsService statisticsService,
+                          SquadResponseCache squadResponseCache, BulkImportService bulkImportService,
+                          ObjectMapper objectMapper) {
         this.teamService = teamService;
+        this.statisticsService = statisticsService;
+        this.squadResponseCache = squadResponseCache;
+        this.bulkImportService = bulkImportService;
+        this.objectMapper = objectMapper;
     }
 
     // [GET] View All Teams
@@ -46,25 +71,99 @@ public class TeamController {
         return ResponseEntity.ok(teamsDTO);
     }
 
-    // [GET] View a specific Team by its ID
+    // [GET] View a page of Teams after a cursor (keyset pagination)
+    @Operation(summary = "This is to view a page of Teams after the given cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fetched a page of Teams from Db", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Limit is out of range", content = {@Content(mediaType = "application/json")})
+    })
+    @GetMapping(value = "/", params = "limit")
+    public ResponseEntity<CursorPageDTO<TeamDTO>> getTeamsPage(@RequestParam(value = "after", required = false) Long after,
+                                                               @RequestParam("limit") int limit) {
+
+        log.info("Received GET /api/v1/team/?after={}&limit={} request.", after, limit);
+
+        CursorPageDTO<TeamDTO> teamsPage = teamService.getTeamsPage(after, limit);
+
+        log.debug("Posted service response for getTeamsPage.");
+        return ResponseEntity.ok(teamsPage);
+    }
+
+    // [GET] Export All Teams as a stream of newline delimited JSON
+    @Operation(summary = "This is to export all the Teams, with their League ID and Player ID's, as NDJSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streamed All the Teams from Db", content = {@Content(mediaType = "application/x-ndjson")})
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTeams() {
+
+        log.info("Received GET /api/v1/team/export request.");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonResponses.stream(objectMapper, teamService::exportTeams));
+    }
+
+    // [GET] View a specific Team by its ID, answered from SquadResponseCache once loaded
     @Operation(summary = "This is to view a Team by its ID")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Fetched the Team from Db", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "200", description = "Fetched the Team from Db or the cache", content = {@Content(mediaType = "application/json", schema = @Schema(implementation = TeamDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Team matches the If-None-Match ETag", content = {@Content}),
             @ApiResponse(responseCode = "400", description = "Team with ID does not exist", content = {@Content(mediaType = "application/json")})
     })
     @GetMapping("/{teamId}")
-    public ResponseEntity<TeamDTO> getTeamById(@PathVariable("teamId") Long teamId) {
+    public ResponseEntity<byte[]> getTeamById(@PathVariable("teamId") Long teamId, WebRequest webRequest) {
 
         log.info("Received GET /api/v1/team/{} request.", teamId);
 
-        TeamDTO teamDTO = teamService.getTeamById(teamId);
+        SquadResponseCache.SerializedResponse response = squadResponseCache.get(SquadResponseCache.View.TEAM, teamId);
+
+        if (response == null) {
+
+            long generation = squadResponseCache.generation(teamId);
+
+            // read before the Team itself, so a concurrent update can only leave the ETag older than the body, never newer;
+            // both from the primary, a replica lagging behind the write that invalidated the views would be cached
+            String eTag = ReadConsistency.onPrimary(() -> teamService.getTeamETag(teamId));
+
+            if (webRequest.checkNotModified(eTag)) {
+                log.debug("Team with id {} not modified.", teamId);
+                return null; // 304 has already been written to the response
+            }
+
+            TeamDTO teamDTO = ReadConsistency.onPrimary(() -> teamService.getTeamById(teamId));
+
+            if (teamDTO == null) {
+                return new ResponseEntity("Team with id " + teamId + " is empty", HttpStatus.NOT_FOUND);
+            }
 
-        if (teamDTO == null) {
-            return new ResponseEntity("Team with id " + teamId + " is empty", HttpStatus.NOT_FOUND);
+            response = squadResponseCache.put(SquadResponseCache.View.TEAM, teamId, generation, eTag, teamDTO, false);
+        } else if (webRequest.checkNotModified(response.getETag())) {
+            log.debug("Team with id {} not modified.", teamId);
+            return null; // 304 has already been written to the response
         }
 
         log.debug("Posted service response for getTeamById.");
-        return new ResponseEntity<TeamDTO>(teamDTO, HttpStatus.OK);
+        return CachedResponses.of(response, webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    // [GET] View the statistics of a Team for a season, in total and over its last Matches
+    @Operation(summary = "This is to view the goals and cards of a Team for a season (the latest by default), in total and over its last Matches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fetched the statistics of the Team from Db", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Team with ID does not exist or last is out of range", content = {@Content(mediaType = "application/json")})
+    })
+    @GetMapping("/{teamId}/stats")
+    public ResponseEntity<TeamStatsDTO> getTeamStats(@PathVariable("teamId") Long teamId,
+                                                     @RequestParam(value = "season", required = false) Integer season,
+                                                     @RequestParam(value = "last", required = false) Integer last) {
+
+        log.info("Received GET /api/v1/team/{}/stats request.", teamId);
+
+        TeamStatsDTO teamStatsDTO = statisticsService.getTeamStats(teamId, season, last);
+
+        log.debug("Posted service response for getTeamStats.");
+        return ResponseEntity.ok(teamStatsDTO);
     }
 
     // [POST] Create a Team
@@ -84,6 +183,24 @@ public class TeamController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    // [POST] Import Teams from a CSV, JSON or NDJSON upload, rows failing validation are reported and skipped
+    @Operation(summary = "This is to import Teams in bulk from a CSV, JSON or NDJSON file")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Imported the valid rows, the report lists the rejected ones", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "The upload is empty, unreadable or of an unknown format", content = {@Content(mediaType = "application/json")})
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReportDTO> importTeams(@RequestParam("file") MultipartFile file,
+                                                       @RequestParam(value = "format", required = false) String format) {
+
+        log.info("Received POST /api/v1/team/import request.");
+
+        ImportReportDTO report = MultipartImports.run(file, format, bulkImportService::importTeams);
+
+        log.debug("Posted service response for importTeams.");
+        return ResponseEntity.ok(report);
+    }
+
     // [PUT] Update a specific Team by its ID
     @Operation(summary = "This is to update a Team by its ID")
     @ApiResponses(value = {
@@ -123,13 +240,21 @@ public class TeamController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Fetched the Teams from League with ID from Db", content = {@Content(mediaType = "application/json")}),
             @ApiResponse(responseCode = "204", description = "No Teams from League with ID from Db", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "304", description = "Teams match the If-None-Match ETag", content = {@Content}),
             @ApiResponse(responseCode = "400", description = "League with ID does not exist", content = {@Content(mediaType = "application/json")})
     })
     @GetMapping("/league/{leagueId}")
-    public ResponseEntity<List<TeamDTO>> viewAllTeamsForLeague(@PathVariable("leagueId") Long leagueId) {
+    public ResponseEntity<List<TeamDTO>> viewAllTeamsForLeague(@PathVariable("leagueId") Long leagueId, WebRequest webRequest) {
 
         log.info("Received GET /api/v1/team/league/{} request.", leagueId);
 
+        String eTag = teamService.getTeamsForLeagueETag(leagueId);
+
+        if (webRequest.checkNotModified(eTag)) {
+            log.debug("Teams for League with id {} not modified.", leagueId);
+            return null; // 304 has already been written to the response
+        }
+
         List<TeamDTO> teamsDTO = teamService.viewAllTeamsForLeague(leagueId);
 
         if (teamsDTO == null || teamsDTO.isEmpty()) {
@@ -137,7 +262,7 @@ public class TeamController {
         }
 
         log.debug("Posted service response for viewAllTeamsForLeague.");
-        return ResponseEntity.ok(teamsDTO);
+        return ResponseEntity.ok().eTag(eTag).body(teamsDTO);
     }
 
     // [PUT] Add a Team to a specific League
@@ -176,4 +301,40 @@ public class TeamController {
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
+    // [PUT] Assign many Players to a specific Team
+    @Operation(summary = "This is to assign many Players to a Team by their ID's")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Assigned the eligible Players, rejected ID's are listed with a reason", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Team with ID does not exist or the list of Player ID's is invalid", content = {@Content(mediaType = "application/json")})
+    })
+    @PutMapping("/{teamId}/players")
+    public ResponseEntity<RosterUpdateDTO> assignPlayersToTeam(@PathVariable("teamId") Long teamId,
+                                                               @RequestBody List<Long> playerIds) {
+
+        log.info("Received PUT /api/v1/team/{}/players request.", teamId);
+
+        RosterUpdateDTO rosterUpdateDTO = teamService.assignPlayersToTeam(teamId, playerIds);
+
+        log.debug("Posted service response for assignPlayersToTeam.");
+        return ResponseEntity.ok(rosterUpdateDTO);
+    }
+
+    // [DELETE] Remove many Players from a specific Team
+    @Operation(summary = "This is to remove many Players from a Team by their ID's")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Removed the eligible Players, rejected ID's are listed with a reason", content = {@Content(mediaType = "application/json")}),
+            @ApiResponse(responseCode = "400", description = "Team with ID does not exist or the list of Player ID's is invalid", content = {@Content(mediaType = "application/json")})
+    })
+    @DeleteMapping("/{teamId}/players")
+    public ResponseEntity<RosterUpdateDTO> removePlayersFromTeam(@PathVariable("teamId") Long teamId,
+                                                                 @RequestBody List<Long> playerIds) {
+
+        log.info("Received DELETE /api/v1/team/{}/players request.", teamId);
+
+        RosterUpdateDTO rosterUpdateDTO = teamService.removePlayersFromTeam(teamId, playerIds);
+
+        log.debug("Posted service response for removePlayersFromTeam.");
+        return ResponseEntity.ok(rosterUpdateDTO);
+    }
+
 }
@@ -0,0 +1,18 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+// every tie of a Cup's bracket in round and slot order, rounds is 0 before the bracket is drawn
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CupBracketDTO implements Serializable {
+    private Long cupId;
+    private Integer rounds;
+    private List<CupTieDTO> ties;
+}
@@ -0,0 +1,20 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/*
+Optional body of POST /api/v1/cup/{cupId}/bracket: the Teams of the Cup from the first seed to the last. Without it
+the Teams are seeded in Team id order. Top seeds are kept apart until the late rounds and get the byes.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CupDrawDTO implements Serializable {
+    private List<Long> seeds;
+}
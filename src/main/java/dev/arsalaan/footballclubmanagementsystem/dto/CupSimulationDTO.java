@@ -0,0 +1,28 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+// share of the simulated runs of the rest of the bracket each Team won the Cup in, most likely winner first
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CupSimulationDTO implements Serializable {
+
+    private Long cupId;
+    private Integer iterations;
+    private List<TeamProbabilityDTO> teams;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TeamProbabilityDTO implements Serializable {
+        private Long teamId;
+        private Double probability;
+    }
+
+}
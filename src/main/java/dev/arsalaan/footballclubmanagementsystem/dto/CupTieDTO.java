@@ -0,0 +1,23 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CupTieDTO implements Serializable {
+    private Long cupTieId;
+    private Integer round;
+    private Integer slot;
+    private Long homeTeamId;
+    private Long awayTeamId;
+    private Integer homeGoals;
+    private Integer awayGoals;
+    private Long winnerTeamId;
+}
@@ -0,0 +1,21 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/*
+Body of PUT /api/v1/cup/{cupId}/tie/{cupTieId}/result. A tie needs a winner, so a level score must name the
+Team that went through (after extra time or on penalties) in winnerTeamId.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CupTieResultDTO implements Serializable {
+    private Integer homeGoals;
+    private Integer awayGoals;
+    private Long winnerTeamId;
+}
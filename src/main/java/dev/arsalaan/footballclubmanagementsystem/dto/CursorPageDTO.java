@@ -0,0 +1,38 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/*
+One page of a keyset (cursor) paginated list.
+nextCursor is the id of the last element on this page - pass it back as ?after= to fetch the next page.
+It is null once the last page has been reached.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> implements Serializable {
+
+    private List<T> content;
+    private Integer limit;
+    private Long nextCursor;
+
+    // rows are expected to hold up to limit + 1 elements, the extra one only signals that another page exists
+    public static <T> CursorPageDTO<T> of(List<T> rows, int limit, Function<T, Long> idExtractor) {
+
+        if (rows.size() <= limit) {
+            return new CursorPageDTO<>(rows, limit, null);
+        }
+
+        List<T> content = new ArrayList<>(rows.subList(0, limit));
+        return new CursorPageDTO<>(content, limit, idExtractor.apply(content.get(limit - 1)));
+    }
+
+}
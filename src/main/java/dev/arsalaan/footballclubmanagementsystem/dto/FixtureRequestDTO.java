@@ -0,0 +1,27 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*
+Body of POST /api/v1/league/{leagueId}/fixtures and of POST /api/v1/league/fixtures (which also needs leagueIds).
+Round n kicks off daysBetweenRounds * (n - 1) days after firstKickOff; without firstKickOff the Matches get no
+kick-off time, only their matchday.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FixtureRequestDTO implements Serializable {
+    private Integer season;
+    private LocalDateTime firstKickOff;
+    private Integer daysBetweenRounds;
+    private List<Long> leagueIds;
+}
@@ -0,0 +1,21 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// the fixture list generated for one League, or (in a batch) why none was generated
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FixtureScheduleDTO implements Serializable {
+    private Long leagueId;
+    private Integer season;
+    private Integer rounds;
+    private Integer matches;
+    private String error;
+}
@@ -0,0 +1,33 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+// the outcome of a bulk import: rows read, stored and rejected, with the reason of the first rejections
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO implements Serializable {
+
+    private String entity;
+    private Long rows;
+    private Long imported;
+    private Long rejected;
+    private List<RowErrorDTO> errors;
+    // more rows were rejected than are listed in errors
+    private Boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowErrorDTO implements Serializable {
+        // the position of the record in the upload, from 1 (a CSV header row is not counted)
+        private Long row;
+        private String message;
+    }
+
+}
@@ -0,0 +1,17 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeagueStandingsDTO implements Serializable {
+    private Long leagueId;
+    private Integer season;
+    private List<StandingDTO> standings;
+}
@@ -0,0 +1,26 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/*
+The live score of a Match, counted from its GOAL and OWN_GOAL events, as sent on the live feeds
+(GET /api/v1/match/{matchId}/live and GET /api/v1/league/{leagueId}/live) whenever events of the Match are stored.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LiveScoreDTO implements Serializable {
+    private Long matchId;
+    private Long leagueId;
+    private Long homeTeamId;
+    private Long awayTeamId;
+    private Integer homeGoals;
+    private Integer awayGoals;
+}
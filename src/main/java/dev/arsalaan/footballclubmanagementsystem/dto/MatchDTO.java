@@ -0,0 +1,25 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MatchDTO implements Serializable {
+    private Long matchId;
+    private Long leagueId;
+    private Integer season;
+    private Integer matchday;
+    private Long homeTeamId;
+    private Long awayTeamId;
+    private LocalDateTime kickOff;
+    private Integer homeGoals;
+    private Integer awayGoals;
+}
@@ -0,0 +1,28 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import dev.arsalaan.footballclubmanagementsystem.model.MatchEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/*
+An event of a Match as pushed to POST /api/v1/match/{matchId}/events and read back from GET on the same path.
+The match id is taken from the path, eventId is chosen by the client (a UUID, say) and makes retries safe.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MatchEventDTO implements Serializable {
+    private String eventId;
+    private Long matchId;
+    private MatchEvent.Type type;
+    private Integer minute;
+    private Long teamId;
+    private Long playerId;
+    private Long relatedPlayerId;
+}
@@ -0,0 +1,19 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/*
+Body of PUT /api/v1/match/{matchId}/result, recording the final score of a Match or correcting it.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchResultDTO implements Serializable {
+    private Integer homeGoals;
+    private Integer awayGoals;
+}
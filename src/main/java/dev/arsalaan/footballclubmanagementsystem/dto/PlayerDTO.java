@@ -1,8 +1,12 @@
 package dev.arsalaan.footballclubmanagementsystem.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor // for JPQL constructor expressions, see PlayerRepository.streamAfter
 public class PlayerDTO {
     private Long playerId;
     private String name;
@@ -0,0 +1,37 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/*
+Request body of POST /api/v1/player/filter.
+A Player matches when it matches any of the groups in anyOf (OR), and it matches a group when it matches every
+criterion that is set on it (AND). A list inside a group matches any of its values, so
+{"anyOf": [{"positions": ["ST", "CF"], "minAge": 30}, {"teamIds": [4]}]} reads as
+"(position in (ST, CF) and age >= 30) or team = 4". No groups at all matches every Player.
+sort holds "property" or "property,asc|desc" entries, property being one of name, position, nationality, age,
+teamId or playerId; ties are always broken by playerId.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerFilterDTO implements Serializable {
+    private List<CriteriaDTO> anyOf;
+    private List<String> sort;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CriteriaDTO implements Serializable {
+        private List<String> positions;
+        private List<String> nationalities;
+        private List<Long> teamIds;
+        private Integer minAge;
+        private Integer maxAge;
+    }
+}
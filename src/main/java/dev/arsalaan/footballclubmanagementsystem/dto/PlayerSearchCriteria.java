@@ -0,0 +1,23 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+Query parameters of GET /api/v1/player/search, every one of them is optional.
+q matches the start of any word of the Player name (case and accent insensitive), the other filters match exactly.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerSearchCriteria {
+
+    private String q;
+    private String nationality;
+    private String position;
+    private Integer minAge;
+    private Integer maxAge;
+
+}
@@ -0,0 +1,34 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// a Player's statistics of a season, in total and over the latest Matches played (at most `last` of them)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerStatsDTO implements Serializable {
+
+    private Long playerId;
+    private Integer season;
+    private Integer last;
+    private TotalsDTO seasonToDate;
+    private TotalsDTO lastMatches;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TotalsDTO implements Serializable {
+        private Long matches;
+        private Long goals;
+        private Long assists;
+        private Long ownGoals;
+        private Long yellowCards;
+        private Long redCards;
+        private Long minutes;
+    }
+
+}
@@ -0,0 +1,31 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/*
+Outcome of a bulk roster change on a Team.
+updated holds the Player ID's that were assigned to (or removed from) the Team, rejected the ones that were left
+untouched together with the reason why.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterUpdateDTO implements Serializable {
+    private Long teamId;
+    private List<Long> updated;
+    private List<RejectedPlayerDTO> rejected;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RejectedPlayerDTO implements Serializable {
+        private Long playerId;
+        private String reason;
+    }
+}
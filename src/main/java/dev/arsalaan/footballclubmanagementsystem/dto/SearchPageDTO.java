@@ -0,0 +1,24 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/*
+One page of a ranked search result. Unlike the keyset paginated lists (CursorPageDTO) the order is by relevance,
+so pages are addressed by number (zero based) and totalElements counts every match.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPageDTO<T> {
+
+    private List<T> content;
+    private Integer page;
+    private Integer size;
+    private Long totalElements;
+
+}
@@ -0,0 +1,43 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/*
+One row of a League table, built straight from a JPQL constructor expression (see StandingRepository).
+ */
+
+@Data
+@NoArgsConstructor
+public class StandingDTO implements Serializable {
+
+    private Integer position;
+    private Long teamId;
+    private String teamName;
+    private int played;
+    private int won;
+    private int drawn;
+    private int lost;
+    private int goalsFor;
+    private int goalsAgainst;
+    private int goalDifference;
+    private int points;
+
+    public StandingDTO(Integer position, Long teamId, String teamName, int played, int won, int drawn, int lost,
+                       int goalsFor, int goalsAgainst, int points) {
+        this.position = position;
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.played = played;
+        this.won = won;
+        this.drawn = drawn;
+        this.lost = lost;
+        this.goalsFor = goalsFor;
+        this.goalsAgainst = goalsAgainst;
+        this.goalDifference = goalsFor - goalsAgainst;
+        this.points = points;
+    }
+
+}
@@ -0,0 +1,19 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// the statistics rows written by a rebuild of one season (of every season when null)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsRebuildDTO implements Serializable {
+
+    private Integer season;
+    private Integer playerRows;
+    private Integer teamRows;
+
+}
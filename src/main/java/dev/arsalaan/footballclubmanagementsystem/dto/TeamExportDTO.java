@@ -0,0 +1,33 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/*
+Flat representation of a Team used by the NDJSON bulk export.
+Built straight from a JPQL constructor expression, so no Team entities (and their eager associations) are loaded.
+ */
+
+@Data
+@NoArgsConstructor
+public class TeamExportDTO implements Serializable {
+
+    private Long teamId;
+    private String name;
+    private String city;
+    private String manager;
+    private Long leagueId;
+    private List<Long> playerIds;
+
+    public TeamExportDTO(Long teamId, String name, String city, String manager, Long leagueId) {
+        this.teamId = teamId;
+        this.name = name;
+        this.city = city;
+        this.manager = manager;
+        this.leagueId = leagueId;
+    }
+
+}
@@ -0,0 +1,32 @@
+package dev.arsalaan.footballclubmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// a Team's statistics of a season, in total and over the latest Matches played (at most `last` of them)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamStatsDTO implements Serializable {
+
+    private Long teamId;
+    private Integer season;
+    private Integer last;
+    private TotalsDTO seasonToDate;
+    private TotalsDTO lastMatches;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TotalsDTO implements Serializable {
+        private Long matches;
+        private Long goalsFor;
+        private Long goalsAgainst;
+        private Long yellowCards;
+        private Long redCards;
+    }
+
+}
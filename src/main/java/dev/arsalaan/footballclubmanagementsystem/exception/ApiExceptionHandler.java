@@ -27,6 +27,8 @@ not just to an individual controller.
 @Slf4j
 public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     /* Provides handling for exceptions throughout this service.
     * Created to encapsulate errors with more detail and essentially replace javax.persistence.EntityNotFoundException
     * ApiRequestException ~= EntityNotFoundException */
@@ -48,6 +50,23 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(apiException, HttpStatus.BAD_REQUEST);
     }
 
+    /* Tells the client to back off and send the same request again, after Retry-After seconds. */
+    @ExceptionHandler(value = {ApiTooManyRequestsException.class})
+    public ResponseEntity<Object> handleApiTooManyRequestsException(ApiTooManyRequestsException ex) {
+
+        ApiException apiException = new ApiException(
+                ex.getMessage(),
+                HttpStatus.TOO_MANY_REQUESTS,
+                ZonedDateTime.now(ZoneId.of("Z")));
+
+        // expected under load, and logged once per rejected request
+        log.warn("Request rejected with message: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(apiException);
+    }
+
     /* Handle MethodArgumentNotValidException. Triggered when an object fails @Valid validation. */
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
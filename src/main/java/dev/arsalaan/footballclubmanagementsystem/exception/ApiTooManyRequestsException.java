@@ -0,0 +1,13 @@
+package dev.arsalaan.footballclubmanagementsystem.exception;
+
+/*
+Thrown when the API cannot take on more work right now (a full buffer, say) and the client should send the same
+request again later. Answered with 429 Too Many Requests and a Retry-After header.
+ */
+
+public class ApiTooManyRequestsException extends RuntimeException {
+
+    public ApiTooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package dev.arsalaan.footballclubmanagementsystem.mapper;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.CupTieDTO;
+import dev.arsalaan.footballclubmanagementsystem.model.CupTie;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+// only reads the ids of the (lazy) Teams, which does not initialise them
+@Mapper(componentModel = "spring")
+public interface CupTieMapper {
+
+    @Mapping(source = "homeTeam.teamId", target = "homeTeamId")
+    @Mapping(source = "awayTeam.teamId", target = "awayTeamId")
+    @Mapping(source = "winner.teamId", target = "winnerTeamId")
+    CupTieDTO toCupTieDTO(CupTie cupTie);
+
+    List<CupTieDTO> toCupTieDTOs(List<CupTie> cupTies);
+
+}
@@ -0,0 +1,22 @@
+package dev.arsalaan.footballclubmanagementsystem.mapper;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchEventDTO;
+import dev.arsalaan.footballclubmanagementsystem.model.MatchEvent;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+// only reads the ids of the (lazy) Match, Team and Players, which does not initialise them
+@Mapper(componentModel = "spring")
+public interface MatchEventMapper {
+
+    @Mapping(source = "match.matchId", target = "matchId")
+    @Mapping(source = "team.teamId", target = "teamId")
+    @Mapping(source = "player.playerId", target = "playerId")
+    @Mapping(source = "relatedPlayer.playerId", target = "relatedPlayerId")
+    MatchEventDTO toMatchEventDTO(MatchEvent matchEvent);
+
+    List<MatchEventDTO> toMatchEventDTOs(List<MatchEvent> matchEvents);
+
+}
@@ -0,0 +1,21 @@
+package dev.arsalaan.footballclubmanagementsystem.mapper;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchDTO;
+import dev.arsalaan.footballclubmanagementsystem.model.Match;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+// only reads the ids of the (lazy) League and Teams, which does not initialise them
+@Mapper(componentModel = "spring")
+public interface MatchMapper {
+
+    @Mapping(source = "league.leagueId", target = "leagueId")
+    @Mapping(source = "homeTeam.teamId", target = "homeTeamId")
+    @Mapping(source = "awayTeam.teamId", target = "awayTeamId")
+    MatchDTO toMatchDTO(Match match);
+
+    List<MatchDTO> toMatchDTOs(List<Match> matches);
+
+}
@@ -1,6 +1,8 @@
 package dev.arsalaan.footballclubmanagementsystem.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.List;
@@ -10,6 +12,8 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cup")
 public class Cup {
 
     @Id
@@ -24,6 +28,7 @@ public class Cup {
             joinColumns = @JoinColumn(name = "cup_id", referencedColumnName = "cupId"),
             inverseJoinColumns = @JoinColumn(name = "team_id", referencedColumnName = "teamId")
     ) // both fk's for intermediate table
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cup-teams")
     private List<Team> teams;
 
 }
@@ -0,0 +1,60 @@
+package dev.arsalaan.footballclubmanagementsystem.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/*
+One tie of a Cup's knockout bracket. The whole tree is stored when the bracket is drawn: round 1 holds the first
+ties, each round has half the ties of the one before, and the winner of slot s goes on to slot s / 2 of the next
+round (home from an even slot, away from an odd one). Teams of later rounds are filled in as winners advance.
+A first round tie without an away Team is a bye, its home Team goes through without playing.
+ */
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "cup_tie", uniqueConstraints = @UniqueConstraint(name = "uk_cup_tie_cup_round_slot",
+        columnNames = {"cup_id", "round", "slot"}))
+public class CupTie {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long cupTieId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "cup_id", nullable = false) //fk
+    private Cup cup;
+
+    @Column(nullable = false)
+    private Integer round;
+
+    @Column(nullable = false)
+    private Integer slot;
+
+    // null until the Team has won its way here
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "home_team_id") //fk
+    private Team homeTeam;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "away_team_id") //fk
+    private Team awayTeam;
+
+    // both null until the result is recorded
+    private Integer homeGoals;
+    private Integer awayGoals;
+
+    // null until decided, the home Team of a bye straight away
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "winner_team_id") //fk
+    private Team winner;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+}
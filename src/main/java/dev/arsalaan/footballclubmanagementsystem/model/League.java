@@ -1,6 +1,8 @@
 package dev.arsalaan.footballclubmanagementsystem.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.List;
@@ -11,6 +13,8 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "league")
 public class League {
 
     @Id
@@ -20,7 +24,12 @@ public class League {
     private String country;
     private Integer numberOfTeams;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @OneToMany(mappedBy = "league")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "league-teams")
     private List<Team> teams;
 
 }
@@ -0,0 +1,54 @@
+package dev.arsalaan.footballclubmanagementsystem.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "matches") // "match" is a reserved word in SQL
+public class Match {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long matchId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "league_id", nullable = false) //fk
+    private League league;
+
+    // the year the season starts in, e.g. 2024 for 2024/25
+    @Column(nullable = false)
+    private Integer season;
+
+    // the round of the season the Match belongs to, null when it is not part of a generated fixture list
+    private Integer matchday;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "home_team_id", nullable = false) //fk
+    private Team homeTeam;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "away_team_id", nullable = false) //fk
+    private Team awayTeam;
+
+    private LocalDateTime kickOff;
+
+    // both null until the result is recorded
+    private Integer homeGoals;
+    private Integer awayGoals;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    public boolean hasResult() {
+        return homeGoals != null && awayGoals != null;
+    }
+
+}
@@ -0,0 +1,61 @@
+package dev.arsalaan.footballclubmanagementsystem.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/*
+Something that happened in a Match: a goal, a card or a substitution, pushed live while the Match is played
+(POST /api/v1/match/{matchId}/events). The event id is given by the client and unique, so an event that is sent
+again is stored only once. Events of a Match are stored in the order they arrived, which is the order of their ids.
+ */
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "match_event", uniqueConstraints = @UniqueConstraint(name = "uk_match_event_event_id",
+        columnNames = "event_id"))
+public class MatchEvent {
+
+    public enum Type {
+        GOAL, OWN_GOAL, YELLOW_CARD, RED_CARD, SUBSTITUTION
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long matchEventId;
+
+    @Column(name = "event_id", nullable = false, length = 64)
+    private String eventId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "match_id", nullable = false) //fk
+    private Match match;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    // the minute of play, stoppage time counted on (a goal in the 3rd minute of first half stoppage time is 48)
+    @Column(name = "match_minute", nullable = false) // "minute" is a reserved word in SQL
+    private Integer minute;
+
+    // the Team the event counts for: the scoring Team for a goal (an own goal counts for the other side)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "team_id", nullable = false) //fk
+    private Team team;
+
+    // the scorer, the booked Player or the Player coming off
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "player_id") //fk
+    private Player player;
+
+    // the Player who assisted a goal or came on in a substitution
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "related_player_id") //fk
+    private Player relatedPlayer;
+
+}
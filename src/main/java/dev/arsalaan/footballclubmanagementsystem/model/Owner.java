@@ -17,7 +17,8 @@ public class Owner {
     private String name;
     private String netWorth;
 
-    @OneToOne
+    // lazy so reading an owner/stadium does not also load its team (and that team's league, stadium and owner)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id", referencedColumnName = "teamId") //fk
     private Team team;
 
@@ -19,7 +19,11 @@ public class Player {
     private String nationality;
     private Integer age;
 
-    @ManyToOne
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id", referencedColumnName = "teamId") //fk
     private Team team;
 
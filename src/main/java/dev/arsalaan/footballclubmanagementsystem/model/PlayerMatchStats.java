@@ -0,0 +1,61 @@
+package dev.arsalaan.footballclubmanagementsystem.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/*
+What one Player did in one Match: the counters of the Player's events, kept up to date as the events are stored
+(see service.MatchStatistics), so the season to date and the last Matches of a Player are summed from these rows
+rather than from the events. Only Players with an event in the Match have a row.
+
+The ids are plain columns: the rows are written in batches over JDBC and only read back as sums.
+ */
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "player_match_stats", uniqueConstraints = @UniqueConstraint(name = "uk_player_match_stats_player_match",
+        columnNames = {"player_id", "match_id"}))
+public class PlayerMatchStats {
+
+    // minutes of a Match without stoppage time, the minutes played by a Player who neither came on nor went off
+    public static final int FULL_MATCH_MINUTES = 90;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long playerMatchStatsId;
+
+    @Column(name = "player_id", nullable = false)
+    private Long playerId;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Column(nullable = false)
+    private Integer season;
+
+    private int goals;
+    private int assists;
+    private int ownGoals;
+    private int yellowCards;
+    private int redCards;
+
+    // the minute the Player came on, null for a starter
+    private Integer onMinute;
+
+    // the minute the Player went off (substituted or sent off), null when the Player played on to the end
+    private Integer offMinute;
+
+    private int minutes;
+
+    public void updateMinutes() {
+        int off = offMinute != null ? offMinute : FULL_MATCH_MINUTES;
+        int on = onMinute != null ? onMinute : 0;
+        minutes = Math.max(0, off - on);
+    }
+
+}
@@ -1,6 +1,8 @@
 package dev.arsalaan.footballclubmanagementsystem.model;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -9,6 +11,8 @@ import javax.persistence.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "stadium")
 public class Stadium {
 
     @Id
@@ -17,7 +21,8 @@ public class Stadium {
     private String name;
     private Integer capacity;
 
-    @OneToOne
+    // lazy so reading an owner/stadium does not also load its team (and that team's league, stadium and owner)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id", referencedColumnName = "teamId") //fk
     private Team team;
 
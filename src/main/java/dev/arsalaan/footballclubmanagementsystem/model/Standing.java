@@ -0,0 +1,51 @@
+package dev.arsalaan.footballclubmanagementsystem.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/*
+One Team's row in the table of a League season. Kept up to date as results are recorded, corrected or removed
+(see service.LeagueStandings), so the table is never recomputed from the Matches.
+ */
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "standing", uniqueConstraints = @UniqueConstraint(name = "uk_standing_league_season_team",
+        columnNames = {"league_id", "season", "team_id"}))
+public class Standing {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long standingId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "league_id", nullable = false) //fk
+    private League league;
+
+    @Column(nullable = false)
+    private Integer season;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "team_id", nullable = false) //fk
+    private Team team;
+
+    private Integer position;
+
+    private int played;
+    private int won;
+    private int drawn;
+    private int lost;
+    private int goalsFor;
+    private int goalsAgainst;
+    private int points;
+
+    public int getGoalDifference() {
+        return goalsFor - goalsAgainst;
+    }
+
+}
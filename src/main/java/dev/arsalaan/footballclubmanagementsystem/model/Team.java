@@ -27,6 +27,12 @@ public class Team {
     @Column(name = "manager")
     private String manager;
 
+    // optimistic lock version, also the source of the ETag for conditional GETs
+    // (defaults to 0 in the column definition so rows seeded by SQL scripts get a version too)
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "league_id", referencedColumnName = "leagueId") //fk
     private League league;
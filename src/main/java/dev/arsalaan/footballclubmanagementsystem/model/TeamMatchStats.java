@@ -0,0 +1,41 @@
+package dev.arsalaan.footballclubmanagementsystem.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/*
+What one Team did in one Match, counted from the Match events as they are stored (see service.MatchStatistics), the
+Team-wide counterpart of PlayerMatchStats. Both Teams of a Match get a row with its first event.
+ */
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "team_match_stats", uniqueConstraints = @UniqueConstraint(name = "uk_team_match_stats_team_match",
+        columnNames = {"team_id", "match_id"}))
+public class TeamMatchStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long teamMatchStatsId;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Column(nullable = false)
+    private Integer season;
+
+    // own goals of the other Team included
+    private int goalsFor;
+    private int goalsAgainst;
+    private int yellowCards;
+    private int redCards;
+
+}
@@ -0,0 +1,76 @@
+package dev.arsalaan.footballclubmanagementsystem.reactive;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/*
+Non-blocking read API (WebFlux on Netty, R2DBC) for the public read traffic, run as its own application next to the
+MVC one (FootballClubManagementSystemApplication) and sharing its DTOs and database. It serves the same GET paths
+as the MVC controllers for Teams, Players by Team, Cups by Team and Leagues; writes stay on the MVC application.
+
+Configured by reactive.properties (and reactive-<profile>.properties, e.g. reactive-prod.properties) rather than
+application.properties, start with:
+    java -cp <jar> -Dloader.main=dev.arsalaan.footballclubmanagementsystem.reactive.ReactiveReadApplication org.springframework.boot.loader.PropertiesLauncher
+The "reactive" profile keeps this class (and with it every bean below) out of the MVC application, whose component
+scan covers this package too.
+ */
+
+@Profile(ReactiveReadApplication.PROFILE)
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+public class ReactiveReadApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        builder().run(args);
+    }
+
+    public static SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(ReactiveReadApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE)
+                .properties("spring.config.name=reactive");
+    }
+
+    // Netty (an event loop per core) rather than Tomcat, which the MVC application puts on the classpath too and
+    // would otherwise be preferred
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public ReactiveReadQueries reactiveReadQueries(DatabaseClient databaseClient) {
+        return new ReactiveReadQueries(databaseClient);
+    }
+
+    @Bean
+    public ReactiveReadHandler reactiveReadHandler(ReactiveReadQueries reactiveReadQueries) {
+        return new ReactiveReadHandler(reactiveReadQueries);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveReadRoutes(ReactiveReadHandler handler) {
+        return route(GET("/api/v1/team/"), handler::getAllTeams)
+                .andRoute(GET("/api/v1/team/{teamId}"), handler::getTeamById)
+                .andRoute(GET("/api/v1/player/team/{teamId}"), handler::viewAllPlayersForTeam)
+                .andRoute(GET("/api/v1/cup/team/{teamId}"), handler::viewAllCupsForTeam)
+                .andRoute(GET("/api/v1/league/"), handler::getAllLeagues)
+                .andRoute(GET("/api/v1/league/{leagueId}"), handler::getLeagueById);
+    }
+
+}
@@ -0,0 +1,99 @@
+package dev.arsalaan.footballclubmanagementsystem.reactive;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.CupDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.LeagueDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/*
+Handlers of the reactive read routes, answering like their MVC counterparts: 204 for an empty list and 400 with an
+ApiException body for an unknown ID.
+Lists are sent as a JSON array by default (collected first, so an empty list can still become a 204). Clients that
+accept application/x-ndjson get one DTO per line instead, written as the rows arrive and only as fast as the client
+reads: the database is not asked for more rows than the response can take.
+ */
+
+public class ReactiveReadHandler {
+
+    private final ReactiveReadQueries queries;
+
+    public ReactiveReadHandler(ReactiveReadQueries queries) {
+        this.queries = queries;
+    }
+
+    public Mono<ServerResponse> getAllTeams(ServerRequest request) {
+        return list(request, queries.findAllTeams(), TeamDTO.class);
+    }
+
+    public Mono<ServerResponse> getTeamById(ServerRequest request) {
+
+        Long teamId = id(request, "teamId");
+
+        return queries.findTeamById(teamId)
+                .flatMap(teamDTO -> ServerResponse.ok().bodyValue(teamDTO))
+                .switchIfEmpty(Mono.defer(() -> badRequest("team with id " + teamId + " does not exist")));
+    }
+
+    public Mono<ServerResponse> viewAllPlayersForTeam(ServerRequest request) {
+
+        Long teamId = id(request, "teamId");
+
+        return ifTeamExists(teamId, list(request, queries.findPlayersByTeamId(teamId), PlayerDTO.class));
+    }
+
+    public Mono<ServerResponse> viewAllCupsForTeam(ServerRequest request) {
+
+        Long teamId = id(request, "teamId");
+
+        return ifTeamExists(teamId, list(request, queries.findCupsByTeamId(teamId), CupDTO.class));
+    }
+
+    public Mono<ServerResponse> getAllLeagues(ServerRequest request) {
+        return list(request, queries.findAllLeagues(), LeagueDTO.class);
+    }
+
+    public Mono<ServerResponse> getLeagueById(ServerRequest request) {
+
+        Long leagueId = id(request, "leagueId");
+
+        return queries.findLeagueById(leagueId)
+                .flatMap(leagueDTO -> ServerResponse.ok().bodyValue(leagueDTO))
+                .switchIfEmpty(Mono.defer(() -> badRequest("league with id " + leagueId + " does not exist")));
+    }
+
+    private Mono<ServerResponse> ifTeamExists(Long teamId, Mono<ServerResponse> response) {
+        return queries.teamExists(teamId)
+                .flatMap(exists -> exists ? response : badRequest("Team with id " + teamId + " does not exist"));
+    }
+
+    private static <T> Mono<ServerResponse> list(ServerRequest request, Flux<T> elements, Class<T> elementType) {
+
+        if (request.headers().accept().contains(MediaType.APPLICATION_NDJSON)) {
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(elements, elementType);
+        }
+
+        return elements.collectList().flatMap(list -> list.isEmpty()
+                ? ServerResponse.noContent().build()
+                : ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(list));
+    }
+
+    private static Long id(ServerRequest request, String name) {
+        return Long.valueOf(request.pathVariable(name));
+    }
+
+    private static Mono<ServerResponse> badRequest(String message) {
+        return ServerResponse.badRequest().contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ApiException(message, HttpStatus.BAD_REQUEST, ZonedDateTime.now(ZoneId.of("Z"))));
+    }
+
+}
@@ -0,0 +1,176 @@
+package dev.arsalaan.footballclubmanagementsystem.reactive;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.CupDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.LeagueDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamDTO;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/*
+The reads behind the reactive API, plain SQL over R2DBC mapped straight into the shared DTOs (no entities).
+A Team (League) and its Players (Teams) come from one left join ordered by the parent id, and consecutive rows of
+the same parent are folded into one DTO. Every Flux is pulled from the database as the subscriber requests more,
+so streaming a whole table holds one parent's rows in memory at a time.
+ */
+
+public class ReactiveReadQueries {
+
+    private static final String TEAMS = "select t.team_id, t.name, t.city, t.manager, p.name as player_name " +
+            "from team t left join player p on p.team_id = t.team_id ";
+
+    private static final String LEAGUES = "select l.league_id, l.name, l.country, l.number_of_teams, " +
+            "t.team_id, t.name as team_name from league l left join team t on t.league_id = l.league_id ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveReadQueries(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<TeamDTO> findAllTeams() {
+        return teams(databaseClient.sql(TEAMS + "order by t.team_id, p.player_id"));
+    }
+
+    public Mono<TeamDTO> findTeamById(Long teamId) {
+        return teams(databaseClient.sql(TEAMS + "where t.team_id = :teamId order by p.player_id").bind("teamId", teamId)).next();
+    }
+
+    public Mono<Boolean> teamExists(Long teamId) {
+        return databaseClient.sql("select team_id from team where team_id = :teamId").bind("teamId", teamId)
+                .map((row, metadata) -> row.get("team_id", Long.class))
+                .first()
+                .hasElement();
+    }
+
+    public Flux<PlayerDTO> findPlayersByTeamId(Long teamId) {
+        return databaseClient.sql("select player_id, name, position, nationality, age from player " +
+                        "where team_id = :teamId order by player_id")
+                .bind("teamId", teamId)
+                .map((row, metadata) -> {
+                    PlayerDTO playerDTO = new PlayerDTO();
+                    playerDTO.setPlayerId(row.get("player_id", Long.class));
+                    playerDTO.setName(row.get("name", String.class));
+                    playerDTO.setPosition(row.get("position", String.class));
+                    playerDTO.setNationality(row.get("nationality", String.class));
+                    playerDTO.setAge(row.get("age", Integer.class));
+                    return playerDTO;
+                })
+                .all();
+    }
+
+    public Flux<CupDTO> findCupsByTeamId(Long teamId) {
+        return databaseClient.sql("select c.cup_id, c.name, c.number_of_teams from cup c " +
+                        "join team_cup_map m on m.cup_id = c.cup_id where m.team_id = :teamId order by c.cup_id")
+                .bind("teamId", teamId)
+                .map((row, metadata) -> {
+                    CupDTO cupDTO = new CupDTO();
+                    cupDTO.setCupId(row.get("cup_id", Long.class));
+                    cupDTO.setName(row.get("name", String.class));
+                    cupDTO.setNumberOfTeams(row.get("number_of_teams", Integer.class));
+                    return cupDTO;
+                })
+                .all();
+    }
+
+    public Flux<LeagueDTO> findAllLeagues() {
+        return leagues(databaseClient.sql(LEAGUES + "order by l.league_id, t.team_id"));
+    }
+
+    public Mono<LeagueDTO> findLeagueById(Long leagueId) {
+        return leagues(databaseClient.sql(LEAGUES + "where l.league_id = :leagueId order by t.team_id").bind("leagueId", leagueId)).next();
+    }
+
+    private static Flux<TeamDTO> teams(DatabaseClient.GenericExecuteSpec query) {
+        return query.map((row, metadata) -> TeamRow.of(row))
+                .all()
+                .bufferUntilChanged(teamRow -> teamRow.teamId)
+                .map(ReactiveReadQueries::toTeamDTO);
+    }
+
+    private static Flux<LeagueDTO> leagues(DatabaseClient.GenericExecuteSpec query) {
+        return query.map((row, metadata) -> LeagueRow.of(row))
+                .all()
+                .bufferUntilChanged(leagueRow -> leagueRow.leagueId)
+                .map(ReactiveReadQueries::toLeagueDTO);
+    }
+
+    private static TeamDTO toTeamDTO(List<TeamRow> rows) {
+
+        TeamRow team = rows.get(0);
+        List<TeamDTO.PlayerDTO> players = rows.stream()
+                .map(row -> row.playerName)
+                .filter(Objects::nonNull) // a Team without Players still has its one left joined row
+                .map(TeamDTO.PlayerDTO::new)
+                .collect(Collectors.toList());
+
+        return new TeamDTO(team.teamId, team.name, team.city, team.manager, players);
+    }
+
+    private static LeagueDTO toLeagueDTO(List<LeagueRow> rows) {
+
+        LeagueRow league = rows.get(0);
+        List<LeagueDTO.TeamDTO> teams = rows.stream()
+                .filter(row -> row.teamId != null)
+                .map(row -> new LeagueDTO.TeamDTO(row.teamId, row.teamName))
+                .collect(Collectors.toList());
+
+        return new LeagueDTO(league.leagueId, league.name, league.country, league.numberOfTeams, teams);
+    }
+
+    private static final class TeamRow {
+
+        private final Long teamId;
+        private final String name;
+        private final String city;
+        private final String manager;
+        private final String playerName;
+
+        private TeamRow(Long teamId, String name, String city, String manager, String playerName) {
+            this.teamId = teamId;
+            this.name = name;
+            this.city = city;
+            this.manager = manager;
+            this.playerName = playerName;
+        }
+
+        static TeamRow of(Row row) {
+            return new TeamRow(row.get("team_id", Long.class), row.get("name", String.class), row.get("city", String.class),
+                    row.get("manager", String.class), row.get("player_name", String.class));
+        }
+
+    }
+
+    private static final class LeagueRow {
+
+        private final Long leagueId;
+        private final String name;
+        private final String country;
+        private final Integer numberOfTeams;
+        private final Long teamId;
+        private final String teamName;
+
+        private LeagueRow(Long leagueId, String name, String country, Integer numberOfTeams, Long teamId, String teamName) {
+            this.leagueId = leagueId;
+            this.name = name;
+            this.country = country;
+            this.numberOfTeams = numberOfTeams;
+            this.teamId = teamId;
+            this.teamName = teamName;
+        }
+
+        static LeagueRow of(Row row) {
+            return new LeagueRow(row.get("league_id", Long.class), row.get("name", String.class),
+                    row.get("country", String.class), row.get("number_of_teams", Integer.class),
+                    row.get("team_id", Long.class), row.get("team_name", String.class));
+        }
+
+    }
+
+}
@@ -0,0 +1,164 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+Appends rows to a table by the fastest route the database offers, for the bulk imports (see BulkImportService).
+On PostgreSQL the rows are streamed through COPY ... FROM STDIN in CSV form, on every other database (H2, MySQL)
+they go out as multi-row INSERTs of ROWS_PER_STATEMENT rows each, sent together as one JDBC batch.
+Which one applies is read from the database product name once, so the prod profile gets COPY without configuration.
+Runs on the connection of the surrounding Spring transaction, no generated ids are read back.
+ */
+
+@Repository
+public class BulkInserter {
+
+    static final int ROWS_PER_STATEMENT = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public BulkInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(Table table, List<Object[]> rows) {
+
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (isPostgres(connection)) {
+                copy(connection, table, rows);
+            } else {
+                insertValues(connection, table, rows);
+            }
+            return null;
+        });
+    }
+
+    private boolean isPostgres(Connection connection) throws SQLException {
+
+        Boolean detected = postgres;
+
+        if (detected == null) {
+            detected = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            postgres = detected;
+        }
+
+        return detected;
+    }
+
+    private void insertValues(Connection connection, Table table, List<Object[]> rows) throws SQLException {
+
+        int full = rows.size() / ROWS_PER_STATEMENT * ROWS_PER_STATEMENT;
+
+        if (full > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(table.insertSql(ROWS_PER_STATEMENT))) {
+                for (int from = 0; from < full; from += ROWS_PER_STATEMENT) {
+                    bind(statement, table, rows.subList(from, from + ROWS_PER_STATEMENT));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+
+        if (full < rows.size()) {
+            try (PreparedStatement statement = connection.prepareStatement(table.insertSql(rows.size() - full))) {
+                bind(statement, table, rows.subList(full, rows.size()));
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Table table, List<Object[]> rows) throws SQLException {
+
+        int index = 1;
+        for (Object[] row : rows) {
+            for (int column = 0; column < row.length; column++) {
+                statement.setObject(index++, row[column], table.getColumns().get(column).getSqlType());
+            }
+        }
+    }
+
+    private static void copy(Connection connection, Table table, List<Object[]> rows) throws SQLException {
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(table.copySql(), new StringReader(toCsv(rows)));
+        } catch (IOException e) {
+            throw new SQLException("COPY into " + table.getName() + " failed", e);
+        }
+    }
+
+    static String toCsv(List<Object[]> rows) {
+
+        StringBuilder csv = new StringBuilder(rows.size() * 64);
+        for (Object[] row : rows) {
+            for (int column = 0; column < row.length; column++) {
+                if (column > 0) {
+                    csv.append(',');
+                }
+                appendCsv(csv, row[column]);
+            }
+            csv.append('\n');
+        }
+
+        return csv.toString();
+    }
+
+    // COPY csv format: an unquoted empty field is NULL, text is always quoted so an empty string stays one
+    static void appendCsv(StringBuilder csv, Object value) {
+
+        if (value == null) {
+            return;
+        }
+
+        if (!(value instanceof String)) {
+            csv.append(value);
+            return;
+        }
+
+        csv.append('"').append(((String) value).replace("\"", "\"\"")).append('"');
+    }
+
+    @lombok.Value
+    public static class Column {
+        String name;
+        // java.sql.Types, for binding nulls
+        int sqlType;
+    }
+
+    @lombok.Value
+    public static class Table {
+
+        String name;
+        List<Column> columns;
+
+        String insertSql(int rows) {
+            String values = columns.stream().map(column -> "?").collect(Collectors.joining(", ", "(", ")"));
+            return "insert into " + name + " (" + columnList() + ") values "
+                    + String.join(", ", Collections.nCopies(rows, values));
+        }
+
+        String copySql() {
+            return "copy " + name + " (" + columnList() + ") from stdin with (format csv)";
+        }
+
+        private String columnList() {
+            return columns.stream().map(Column::getName).collect(Collectors.joining(", "));
+        }
+    }
+
+}
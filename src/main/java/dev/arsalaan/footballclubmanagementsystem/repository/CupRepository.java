@@ -1,12 +1,29 @@
 package dev.arsalaan.footballclubmanagementsystem.repository;
 
 import dev.arsalaan.footballclubmanagementsystem.model.Cup;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import java.util.List;
 import java.util.Optional;
 
 public interface CupRepository extends JpaRepository<Cup, Long> {
 
     Optional<Cup> findCupByName(String name);
 
+    List<Cup> findByCupIdGreaterThanOrderByCupIdAsc(Long cupId, Pageable pageable);
+
+    // serialises the bracket changes of a Cup, see CupBracketService
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Cup c where c.cupId = :cupId")
+    Optional<Cup> findLockedByCupId(@Param("cupId") Long cupId);
+
+    // the Teams entered in the Cup, without loading them (and their eager associations)
+    @Query("select t.teamId from Cup c join c.teams t where c.cupId = :cupId order by t.teamId")
+    List<Long> findTeamIdsByCupId(@Param("cupId") Long cupId);
+
 }
@@ -0,0 +1,27 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.CupTie;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CupTieRepository extends JpaRepository<CupTie, Long> {
+
+    @Query("select t from CupTie t where t.cup.cupId = :cupId order by t.round, t.slot")
+    List<CupTie> findBracket(@Param("cupId") Long cupId);
+
+    @Query("select t from CupTie t where t.cup.cupId = :cupId and t.round = :round and t.slot = :slot")
+    Optional<CupTie> findTie(@Param("cupId") Long cupId, @Param("round") Integer round, @Param("slot") Integer slot);
+
+    @Query("select count(t) > 0 from CupTie t where t.cup.cupId = :cupId")
+    boolean existsByCupId(@Param("cupId") Long cupId);
+
+    @Modifying
+    @Query("delete from CupTie t where t.cup.cupId = :cupId")
+    int deleteBracket(@Param("cupId") Long cupId);
+
+}
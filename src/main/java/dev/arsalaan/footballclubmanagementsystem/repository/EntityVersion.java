@@ -0,0 +1,13 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+/*
+Projection of an entity's id and @Version, used to build ETags without loading the entities themselves.
+ */
+
+public interface EntityVersion {
+
+    Long getId();
+
+    Long getVersion();
+
+}
@@ -1,12 +1,56 @@
 package dev.arsalaan.footballclubmanagementsystem.repository;
 
 import dev.arsalaan.footballclubmanagementsystem.model.League;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+
 public interface LeagueRepository extends JpaRepository<League, Long> {
 
     Optional<League> findLeagueByName(String name);
 
+    // serialises the standings updates of a League, see LeagueStandings
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from League l where l.leagueId = :leagueId")
+    Optional<League> findLockedByLeagueId(@Param("leagueId") Long leagueId);
+
+    // locked in id order, so two batches of fixture generation for overlapping Leagues cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from League l where l.leagueId in :leagueIds order by l.leagueId")
+    List<League> findLockedByLeagueIdIn(@Param("leagueIds") Collection<Long> leagueIds);
+
+    @Query("select l.version from League l where l.leagueId = :leagueId")
+    Optional<Long> findVersionByLeagueId(@Param("leagueId") Long leagueId);
+
+    // which of the given ids exist, checked once per chunk of a bulk import
+    @Query("select l.leagueId from League l where l.leagueId in :leagueIds")
+    List<Long> findExistingLeagueIds(@Param("leagueIds") Collection<Long> leagueIds);
+
+    // teams are left out so the LIMIT can still be applied by the database, see fetchTeams
+    List<League> findByLeagueIdGreaterThanOrderByLeagueIdAsc(Long leagueId, Pageable pageable);
+
+    // loads the teams embedded in the DTO (and their eager stadium and owner) in the same select
+    @EntityGraph(attributePaths = {"teams", "teams.stadium", "teams.owner"})
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct l from League l order by l.leagueId")
+    List<League> findAllWithTeams();
+
+    // initialises the teams of leagues already in the persistence context with a single select
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct l from League l left join fetch l.teams t left join fetch t.stadium left join fetch t.owner "
+            + "where l.leagueId in :leagueIds")
+    List<League> fetchTeams(@Param("leagueIds") Collection<Long> leagueIds);
+
 }
@@ -0,0 +1,16 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.Match;
+
+import java.util.List;
+
+/*
+Custom fragment of MatchRepository for bulk inserts that bypass the persistence context.
+ */
+
+public interface MatchBatchRepository {
+
+    // only the ids of the League and Teams of the Matches are read, the generated Match ids are not read back
+    void insertAll(List<Match> matches);
+
+}
@@ -0,0 +1,42 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.Match;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/*
+Generated fixture lists are inserted as JDBC statement batches (see PlayerBatchRepositoryImpl for why Hibernate
+cannot batch IDENTITY inserts), one round trip per BATCH_SIZE Matches whatever the number of Leagues.
+Runs on the connection of the surrounding Spring transaction.
+ */
+
+public class MatchBatchRepositoryImpl implements MatchBatchRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_MATCH = "insert into matches (league_id, season, matchday, home_team_id, away_team_id, "
+            + "kick_off, version) values (?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Match> matches) {
+
+        jdbcTemplate.batchUpdate(INSERT_MATCH, matches, BATCH_SIZE, (statement, match) -> {
+            statement.setLong(1, match.getLeague().getLeagueId());
+            statement.setInt(2, match.getSeason());
+            statement.setObject(3, match.getMatchday(), Types.INTEGER);
+            statement.setLong(4, match.getHomeTeam().getTeamId());
+            statement.setLong(5, match.getAwayTeam().getTeamId());
+            statement.setTimestamp(6, match.getKickOff() == null ? null : Timestamp.valueOf(match.getKickOff()));
+        });
+    }
+
+}
@@ -0,0 +1,16 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchEventDTO;
+
+import java.util.List;
+
+/*
+Custom fragment of MatchEventRepository for bulk inserts that bypass the persistence context.
+ */
+
+public interface MatchEventBatchRepository {
+
+    // in list order, the generated ids are not read back
+    void insertAll(List<MatchEventDTO> events);
+
+}
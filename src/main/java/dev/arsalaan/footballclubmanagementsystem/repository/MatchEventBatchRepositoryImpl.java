@@ -0,0 +1,42 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchEventDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.List;
+
+/*
+Ingested Match events are inserted as JDBC statement batches (see PlayerBatchRepositoryImpl for why Hibernate
+cannot batch IDENTITY inserts), one round trip per BATCH_SIZE events.
+Runs on the connection of the surrounding Spring transaction.
+ */
+
+public class MatchEventBatchRepositoryImpl implements MatchEventBatchRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_MATCH_EVENT = "insert into match_event (event_id, match_id, type, match_minute, team_id, "
+            + "player_id, related_player_id) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchEventBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<MatchEventDTO> events) {
+
+        jdbcTemplate.batchUpdate(INSERT_MATCH_EVENT, events, BATCH_SIZE, (statement, event) -> {
+            statement.setString(1, event.getEventId());
+            statement.setLong(2, event.getMatchId());
+            statement.setString(3, event.getType().name());
+            statement.setInt(4, event.getMinute());
+            statement.setLong(5, event.getTeamId());
+            statement.setObject(6, event.getPlayerId(), Types.BIGINT);
+            statement.setObject(7, event.getRelatedPlayerId(), Types.BIGINT);
+        });
+    }
+
+}
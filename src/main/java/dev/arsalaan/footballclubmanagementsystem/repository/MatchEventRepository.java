@@ -0,0 +1,40 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.MatchEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MatchEventRepository extends JpaRepository<MatchEvent, Long>, MatchEventBatchRepository {
+
+    // in the order they arrived
+    @Query("select e from MatchEvent e where e.match.matchId = :matchId order by e.matchEventId")
+    List<MatchEvent> findByMatchId(@Param("matchId") Long matchId);
+
+    // the given event ids that are already stored
+    @Query("select e.eventId from MatchEvent e where e.eventId in :eventIds")
+    List<String> findExistingEventIds(@Param("eventIds") Collection<String> eventIds);
+
+    // goals per Team in the given Matches, an own goal counts for the Team it was credited to
+    @Query("select e.match.matchId as matchId, e.team.teamId as teamId, count(e) as goals from MatchEvent e "
+            + "where e.match.matchId in :matchIds and e.type in ("
+            + "dev.arsalaan.footballclubmanagementsystem.model.MatchEvent$Type.GOAL, "
+            + "dev.arsalaan.footballclubmanagementsystem.model.MatchEvent$Type.OWN_GOAL) "
+            + "group by e.match.matchId, e.team.teamId")
+    List<TeamGoals> countGoalsByMatchIds(@Param("matchIds") Collection<Long> matchIds);
+
+    @Modifying
+    @Query("delete from MatchEvent e where e.match.matchId = :matchId")
+    int deleteByMatchId(@Param("matchId") Long matchId);
+
+    interface TeamGoals {
+        Long getMatchId();
+        Long getTeamId();
+        long getGoals();
+    }
+
+}
@@ -0,0 +1,50 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.Match;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface MatchRepository extends JpaRepository<Match, Long>, MatchBatchRepository {
+
+    // held until the result change (and the standings update) commits, so concurrent corrections of the same
+    // Match are applied one after the other, each to the score the previous one left
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select m from Match m where m.matchId = :matchId")
+    Optional<Match> findLockedByMatchId(@Param("matchId") Long matchId);
+
+    @Query("select m from Match m where m.league.leagueId = :leagueId order by m.kickOff, m.matchId")
+    List<Match> findByLeagueId(@Param("leagueId") Long leagueId);
+
+    @Query("select m from Match m where m.league.leagueId = :leagueId and m.season = :season order by m.kickOff, m.matchId")
+    List<Match> findByLeagueIdAndSeason(@Param("leagueId") Long leagueId, @Param("season") Integer season);
+
+    // the played Matches between the given Teams in a League season, for head-to-head tie-breakers
+    @Query("select m from Match m where m.league.leagueId = :leagueId and m.season = :season "
+            + "and m.homeTeam.teamId in :teamIds and m.awayTeam.teamId in :teamIds and m.homeGoals is not null")
+    List<Match> findResultsBetween(@Param("leagueId") Long leagueId, @Param("season") Integer season,
+                                   @Param("teamIds") Collection<Long> teamIds);
+
+    // the given Leagues that already have Matches in the season
+    @Query("select distinct m.league.leagueId from Match m where m.league.leagueId in :leagueIds and m.season = :season")
+    List<Long> findLeagueIdsWithMatchesInSeason(@Param("leagueIds") Collection<Long> leagueIds, @Param("season") Integer season);
+
+    @Query("select m.matchId as matchId, m.league.leagueId as leagueId, m.season as season, m.homeTeam.teamId as homeTeamId, "
+            + "m.awayTeam.teamId as awayTeamId from Match m where m.matchId in :matchIds")
+    List<MatchTeams> findTeamsByMatchIds(@Param("matchIds") Collection<Long> matchIds);
+
+    interface MatchTeams {
+        Long getMatchId();
+        Long getLeagueId();
+        Integer getSeason();
+        Long getHomeTeamId();
+        Long getAwayTeamId();
+    }
+
+}
@@ -1,12 +1,21 @@
 package dev.arsalaan.footballclubmanagementsystem.repository;
 
 import dev.arsalaan.footballclubmanagementsystem.model.Owner;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface OwnerRepository extends JpaRepository<Owner, Long> {
 
+    List<Owner> findByOwnerIdGreaterThanOrderByOwnerIdAsc(Long ownerId, Pageable pageable);
 
+    // which of the given Teams already have an Owner, checked once per chunk of a bulk import
+    @Query("select o.team.teamId from Owner o where o.team.teamId in :teamIds")
+    List<Long> findTeamIdsWithOwner(@Param("teamIds") Collection<Long> teamIds);
 
 }
@@ -0,0 +1,16 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.Player;
+
+import java.util.List;
+
+/*
+Custom fragment of PlayerRepository for bulk inserts that bypass the persistence context.
+ */
+
+public interface PlayerBatchRepository {
+
+    // returns the generated ids in the same order as the given players
+    List<Long> insertAll(List<Player> players);
+
+}
@@ -0,0 +1,68 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.Player;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+Hibernate cannot batch inserts for entities with GenerationType.IDENTITY ids, as it needs each generated id
+straight after its INSERT. Here the rows are sent as real JDBC statement batches instead and the generated ids
+are read back from getGeneratedKeys() once per batch, so Player keeps its IDENTITY column (and the seed scripts
+keep working) while the bulk path costs one round trip per BATCH_SIZE rows.
+Runs on the connection of the surrounding Spring transaction.
+ */
+
+public class PlayerBatchRepositoryImpl implements PlayerBatchRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_PLAYER =
+            "insert into player (name, position, nationality, age, version) values (?, ?, ?, ?, 0)";
+    // asked for by name, RETURN_GENERATED_KEYS is RETURNING * on PostgreSQL and leaves the column order to the table
+    private static final String[] GENERATED_KEYS = {"player_id"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlayerBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> insertAll(List<Player> players) {
+
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+
+            List<Long> ids = new ArrayList<>(players.size());
+
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_PLAYER, GENERATED_KEYS)) {
+                for (int from = 0; from < players.size(); from += BATCH_SIZE) {
+
+                    for (Player player : players.subList(from, Math.min(from + BATCH_SIZE, players.size()))) {
+                        statement.setString(1, player.getName());
+                        statement.setString(2, player.getPosition());
+                        statement.setString(3, player.getNationality());
+                        statement.setObject(4, player.getAge(), Types.INTEGER);
+                        statement.addBatch();
+                    }
+
+                    statement.executeBatch();
+
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(GENERATED_KEYS[0]));
+                        }
+                    }
+                }
+            }
+
+            return ids;
+        });
+    }
+
+}
@@ -0,0 +1,24 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.PlayerMatchStats;
+
+import java.util.List;
+
+/*
+Custom fragment of PlayerMatchStatsRepository for the batched writes of service.MatchStatistics, bypassing the
+persistence context.
+ */
+
+public interface PlayerMatchStatsBatchRepository {
+
+    // the generated ids are not read back
+    void insertAll(List<PlayerMatchStats> rows);
+
+    // throws OptimisticLockingFailureException when one of the rows is gone (removed by a rebuild meanwhile)
+    void updateAll(List<PlayerMatchStats> rows);
+
+    // replaces the rows of a season (of every season when null) with rows counted from the stored Match events,
+    // returns the number of rows
+    int rebuild(Integer season);
+
+}
@@ -0,0 +1,110 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.PlayerMatchStats;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.List;
+
+/*
+Player Match statistics written as JDBC statement batches (see PlayerBatchRepositoryImpl for why Hibernate cannot
+batch IDENTITY inserts), one round trip per BATCH_SIZE rows, and rebuilt from the Match events with one
+INSERT ... SELECT. The rebuild counts the same way service.MatchStatistics does as the events come in.
+Runs on the connection of the surrounding Spring transaction.
+ */
+
+public class PlayerMatchStatsBatchRepositoryImpl implements PlayerMatchStatsBatchRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_PLAYER_MATCH_STATS = "insert into player_match_stats (player_id, match_id, season, "
+            + "goals, assists, own_goals, yellow_cards, red_cards, on_minute, off_minute, minutes) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_PLAYER_MATCH_STATS = "update player_match_stats set goals = ?, assists = ?, "
+            + "own_goals = ?, yellow_cards = ?, red_cards = ?, on_minute = ?, off_minute = ?, minutes = ? "
+            + "where player_match_stats_id = ?";
+
+    // one line per Player an event names: the scorer, booked or substituted Player, and the assisting or incoming one
+    private static final String REBUILD_PLAYER_MATCH_STATS = "insert into player_match_stats (player_id, match_id, season, "
+            + "goals, assists, own_goals, yellow_cards, red_cards, on_minute, off_minute, minutes) "
+            + "select e.player_id, e.match_id, m.season, sum(e.goals), sum(e.assists), sum(e.own_goals), "
+            + "sum(e.yellow_cards), sum(e.red_cards), min(e.on_minute), min(e.off_minute), "
+            + "greatest(coalesce(min(e.off_minute), " + PlayerMatchStats.FULL_MATCH_MINUTES + ") - coalesce(min(e.on_minute), 0), 0) "
+            + "from (select player_id, match_id, "
+            + "case when type = 'GOAL' then 1 else 0 end as goals, 0 as assists, "
+            + "case when type = 'OWN_GOAL' then 1 else 0 end as own_goals, "
+            + "case when type = 'YELLOW_CARD' then 1 else 0 end as yellow_cards, "
+            + "case when type = 'RED_CARD' then 1 else 0 end as red_cards, "
+            + "cast(null as integer) as on_minute, "
+            + "case when type in ('SUBSTITUTION', 'RED_CARD') then match_minute end as off_minute "
+            + "from match_event where player_id is not null "
+            + "union all "
+            + "select related_player_id, match_id, 0, case when type = 'GOAL' then 1 else 0 end, 0, 0, 0, "
+            + "case when type = 'SUBSTITUTION' then match_minute end, cast(null as integer) "
+            + "from match_event where related_player_id is not null) e "
+            + "join matches m on m.match_id = e.match_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlayerMatchStatsBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<PlayerMatchStats> rows) {
+
+        jdbcTemplate.batchUpdate(INSERT_PLAYER_MATCH_STATS, rows, BATCH_SIZE, (statement, row) -> {
+            statement.setLong(1, row.getPlayerId());
+            statement.setLong(2, row.getMatchId());
+            statement.setInt(3, row.getSeason());
+            statement.setInt(4, row.getGoals());
+            statement.setInt(5, row.getAssists());
+            statement.setInt(6, row.getOwnGoals());
+            statement.setInt(7, row.getYellowCards());
+            statement.setInt(8, row.getRedCards());
+            statement.setObject(9, row.getOnMinute(), Types.INTEGER);
+            statement.setObject(10, row.getOffMinute(), Types.INTEGER);
+            statement.setInt(11, row.getMinutes());
+        });
+    }
+
+    @Override
+    public void updateAll(List<PlayerMatchStats> rows) {
+
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_PLAYER_MATCH_STATS, rows, BATCH_SIZE, (statement, row) -> {
+            statement.setInt(1, row.getGoals());
+            statement.setInt(2, row.getAssists());
+            statement.setInt(3, row.getOwnGoals());
+            statement.setInt(4, row.getYellowCards());
+            statement.setInt(5, row.getRedCards());
+            statement.setObject(6, row.getOnMinute(), Types.INTEGER);
+            statement.setObject(7, row.getOffMinute(), Types.INTEGER);
+            statement.setInt(8, row.getMinutes());
+            statement.setLong(9, row.getPlayerMatchStatsId());
+        });
+
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    throw new OptimisticLockingFailureException("player match statistics were removed while being updated");
+                }
+            }
+        }
+    }
+
+    @Override
+    public int rebuild(Integer season) {
+
+        if (season == null) {
+            jdbcTemplate.update("delete from player_match_stats");
+            return jdbcTemplate.update(REBUILD_PLAYER_MATCH_STATS + "group by e.player_id, e.match_id, m.season");
+        }
+
+        jdbcTemplate.update("delete from player_match_stats where season = ?", season);
+        return jdbcTemplate.update(REBUILD_PLAYER_MATCH_STATS + "where m.season = ? group by e.player_id, e.match_id, m.season",
+                season);
+    }
+
+}
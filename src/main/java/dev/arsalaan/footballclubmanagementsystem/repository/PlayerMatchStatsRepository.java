@@ -0,0 +1,53 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.PlayerMatchStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface PlayerMatchStatsRepository extends JpaRepository<PlayerMatchStats, Long>, PlayerMatchStatsBatchRepository {
+
+    // not dirty-checked, changes are written back with updateAll
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query("select s from PlayerMatchStats s where s.matchId in :matchIds")
+    List<PlayerMatchStats> findByMatchIds(@Param("matchIds") Collection<Long> matchIds);
+
+    @Query("select count(s) as matches, coalesce(sum(s.goals), 0) as goals, coalesce(sum(s.assists), 0) as assists, "
+            + "coalesce(sum(s.ownGoals), 0) as ownGoals, coalesce(sum(s.yellowCards), 0) as yellowCards, "
+            + "coalesce(sum(s.redCards), 0) as redCards, coalesce(sum(s.minutes), 0) as minutes "
+            + "from PlayerMatchStats s where s.playerId = :playerId and s.season = :season")
+    PlayerTotals sumSeason(@Param("playerId") Long playerId, @Param("season") Integer season);
+
+    // the latest Matches first
+    @Query("select s from PlayerMatchStats s, Match m where m.matchId = s.matchId and s.playerId = :playerId "
+            + "and s.season = :season order by m.kickOff desc nulls last, m.matchId desc")
+    List<PlayerMatchStats> findLatest(@Param("playerId") Long playerId, @Param("season") Integer season, Pageable pageable);
+
+    @Query("select max(s.season) from PlayerMatchStats s where s.playerId = :playerId")
+    Optional<Integer> findLatestSeason(@Param("playerId") Long playerId);
+
+    @Modifying
+    @Query("delete from PlayerMatchStats s where s.matchId = :matchId")
+    int deleteByMatchId(@Param("matchId") Long matchId);
+
+    interface PlayerTotals {
+        long getMatches();
+        long getGoals();
+        long getAssists();
+        long getOwnGoals();
+        long getYellowCards();
+        long getRedCards();
+        long getMinutes();
+    }
+
+}
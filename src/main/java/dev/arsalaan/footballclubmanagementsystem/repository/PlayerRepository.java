@@ -1,12 +1,72 @@
 package dev.arsalaan.footballclubmanagementsystem.repository;
 
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
 import dev.arsalaan.footballclubmanagementsystem.model.Player;
+import dev.arsalaan.footballclubmanagementsystem.model.Team;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface PlayerRepository extends JpaRepository<Player, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
+public interface PlayerRepository extends JpaRepository<Player, Long>, JpaSpecificationExecutor<Player>, PlayerBatchRepository {
 
+    List<Player> findByPlayerIdGreaterThanOrderByPlayerIdAsc(Long playerId, Pageable pageable);
+
+    // must be consumed inside a transaction; rows are pulled from the JDBC cursor in fetch-size chunks
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select p from Player p order by p.playerId")
+    Stream<Player> streamAll();
+
+    // the Players added after the given id, such as by a bulk import; must be consumed inside a transaction and
+    // projects straight into the DTO, so no entities are managed
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO(p.playerId, p.name, p.position, p.nationality, p.age) "
+            + "from Player p where p.playerId > :playerId order by p.playerId")
+    Stream<PlayerDTO> streamAfter(@Param("playerId") Long playerId);
+
+    @Query("select coalesce(max(p.playerId), 0) from Player p")
+    Long findMaxPlayerId();
+
+    @Query("select p.team.teamId as teamId, p.playerId as playerId from Player p where p.team.teamId in :teamIds order by p.playerId")
+    List<TeamPlayerId> findPlayerIdsByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    // left join so that unassigned players come back with a null team id instead of being dropped
+    @Query("select p.playerId as playerId, t.teamId as teamId from Player p left join p.team t where p.playerId in :playerIds")
+    List<TeamPlayerId> findTeamIdsByPlayerIds(@Param("playerIds") Collection<Long> playerIds);
+
+    // bulk updates skip @Version, so the version is bumped by hand to keep ETags honest
+    @Modifying
+    @Query("update Player p set p.team = :team, p.version = p.version + 1 where p.playerId in :playerIds and p.team is null")
+    int assignTeam(@Param("team") Team team, @Param("playerIds") Collection<Long> playerIds);
+
+    @Modifying
+    @Query("update Player p set p.team = null, p.version = p.version + 1 where p.playerId in :playerIds and p.team = :team")
+    int unassignTeam(@Param("team") Team team, @Param("playerIds") Collection<Long> playerIds);
+
+    @Query("select p.version from Player p where p.playerId = :playerId")
+    Optional<Long> findVersionByPlayerId(@Param("playerId") Long playerId);
+
+    @Query("select p.playerId as id, p.version as version from Player p where p.team.teamId = :teamId order by p.playerId")
+    List<EntityVersion> findVersionsByTeamId(@Param("teamId") Long teamId);
+
+    @Query("select p.playerId as id, p.version as version from Player p where p.team.league.leagueId = :leagueId order by p.playerId")
+    List<EntityVersion> findVersionsByLeagueId(@Param("leagueId") Long leagueId);
+
+    interface TeamPlayerId {
+        Long getTeamId();
+        Long getPlayerId();
+    }
 
 }
@@ -0,0 +1,93 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerFilterDTO;
+import dev.arsalaan.footballclubmanagementsystem.model.Player;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+/*
+Specifications behind the Player filter (PlayerRepository is a JpaSpecificationExecutor).
+The predicates are plain column comparisons so that they line up with the indexes: team and position hit the
+foreign key index of team_id, nationality and age hit (nationality, age), position and age hit (position, age), the
+composite ones in schema-indexes.sql. The team is compared through its foreign key, never through a join.
+ */
+
+public final class PlayerSpecifications {
+
+    private PlayerSpecifications() {
+    }
+
+    public static Specification<Player> matchingAny(List<PlayerFilterDTO.CriteriaDTO> anyOf) {
+
+        if (anyOf == null || anyOf.isEmpty()) {
+            return all();
+        }
+
+        Specification<Player> spec = matching(anyOf.get(0));
+        for (PlayerFilterDTO.CriteriaDTO criteria : anyOf.subList(1, anyOf.size())) {
+            spec = spec.or(matching(criteria));
+        }
+        return spec;
+    }
+
+    public static Specification<Player> matching(PlayerFilterDTO.CriteriaDTO criteria) {
+
+        // an empty group has no restriction, so it matches every Player (and makes the whole OR match everything)
+        Specification<Player> spec = Specification.where(null);
+        boolean restricted = false;
+
+        if (isSet(criteria.getPositions())) {
+            spec = spec.and(positionIn(criteria.getPositions()));
+            restricted = true;
+        }
+        if (isSet(criteria.getNationalities())) {
+            spec = spec.and(nationalityIn(criteria.getNationalities()));
+            restricted = true;
+        }
+        if (isSet(criteria.getTeamIds())) {
+            spec = spec.and(teamIdIn(criteria.getTeamIds()));
+            restricted = true;
+        }
+        if (criteria.getMinAge() != null || criteria.getMaxAge() != null) {
+            spec = spec.and(ageBetween(criteria.getMinAge(), criteria.getMaxAge()));
+            restricted = true;
+        }
+        return restricted ? spec : all();
+    }
+
+    public static Specification<Player> positionIn(Collection<String> positions) {
+        return (root, query, cb) -> root.get("position").in(positions);
+    }
+
+    public static Specification<Player> nationalityIn(Collection<String> nationalities) {
+        return (root, query, cb) -> root.get("nationality").in(nationalities);
+    }
+
+    public static Specification<Player> teamIdIn(Collection<Long> teamIds) {
+        return (root, query, cb) -> root.get("team").get("teamId").in(teamIds);
+    }
+
+    // either bound may be null (open range)
+    public static Specification<Player> ageBetween(Integer minAge, Integer maxAge) {
+        return (root, query, cb) -> {
+            if (minAge == null) {
+                return cb.le(root.get("age"), maxAge);
+            }
+            if (maxAge == null) {
+                return cb.ge(root.get("age"), minAge);
+            }
+            return cb.between(root.get("age"), minAge, maxAge);
+        };
+    }
+
+    private static Specification<Player> all() {
+        return (root, query, cb) -> cb.conjunction();
+    }
+
+    private static boolean isSet(Collection<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+}
@@ -1,12 +1,26 @@
 package dev.arsalaan.footballclubmanagementsystem.repository;
 
 import dev.arsalaan.footballclubmanagementsystem.model.Stadium;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface StadiumRepository extends JpaRepository<Stadium, Long> {
 
     Optional<Stadium> findStadiumByName(String name);
 
+    List<Stadium> findByStadiumIdGreaterThanOrderByStadiumIdAsc(Long stadiumId, Pageable pageable);
+
+    // which of the given names / Teams are already taken, checked once per chunk of a bulk import
+    @Query("select s.name from Stadium s where s.name in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    @Query("select s.team.teamId from Stadium s where s.team.teamId in :teamIds")
+    List<Long> findTeamIdsWithStadium(@Param("teamIds") Collection<Long> teamIds);
+
 }
@@ -0,0 +1,47 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.StandingDTO;
+import dev.arsalaan.footballclubmanagementsystem.model.Standing;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StandingRepository extends JpaRepository<Standing, Long> {
+
+    @Query("select s from Standing s where s.league.leagueId = :leagueId and s.season = :season order by s.position")
+    List<Standing> findTable(@Param("leagueId") Long leagueId, @Param("season") Integer season);
+
+    // projects straight into the DTO with the Team names, so no Team entities (and their eager associations) are loaded
+    @Query("select new dev.arsalaan.footballclubmanagementsystem.dto.StandingDTO(s.position, t.teamId, t.name, "
+            + "s.played, s.won, s.drawn, s.lost, s.goalsFor, s.goalsAgainst, s.points) "
+            + "from Standing s join s.team t where s.league.leagueId = :leagueId and s.season = :season order by s.position")
+    List<StandingDTO> findStandings(@Param("leagueId") Long leagueId, @Param("season") Integer season);
+
+    @Query("select max(s.season) from Standing s where s.league.leagueId = :leagueId")
+    Optional<Integer> findLatestSeason(@Param("leagueId") Long leagueId);
+
+    // starts the table of a new season with a row for every Team of the League in one statement,
+    // all on zero points and so ordered by Team id
+    @Modifying
+    @Query(value = "insert into standing (league_id, season, team_id, position, played, won, drawn, lost, goals_for, goals_against, points) "
+            + "select t.league_id, :season, t.team_id, row_number() over (order by t.team_id), 0, 0, 0, 0, 0, 0, 0 "
+            + "from team t where t.league_id = :leagueId", nativeQuery = true)
+    int insertTableForLeagueTeams(@Param("leagueId") Long leagueId, @Param("season") Integer season);
+
+    // each Team's row in the latest season it has a table for
+    @Query("select s.team.teamId as teamId, s.played as played, s.points as points from Standing s "
+            + "where s.team.teamId in :teamIds and s.season = (select max(o.season) from Standing o where o.team = s.team)")
+    List<TeamForm> findLatestFormByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    interface TeamForm {
+        Long getTeamId();
+        int getPlayed();
+        int getPoints();
+    }
+
+}
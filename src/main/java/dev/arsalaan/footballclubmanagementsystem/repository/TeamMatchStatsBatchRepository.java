@@ -0,0 +1,24 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.TeamMatchStats;
+
+import java.util.List;
+
+/*
+Custom fragment of TeamMatchStatsRepository for the batched writes of service.MatchStatistics, bypassing the
+persistence context.
+ */
+
+public interface TeamMatchStatsBatchRepository {
+
+    // the generated ids are not read back
+    void insertAll(List<TeamMatchStats> rows);
+
+    // throws OptimisticLockingFailureException when one of the rows is gone (removed by a rebuild meanwhile)
+    void updateAll(List<TeamMatchStats> rows);
+
+    // replaces the rows of a season (of every season when null) with rows counted from the stored Match events,
+    // returns the number of rows
+    int rebuild(Integer season);
+
+}
@@ -0,0 +1,90 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.TeamMatchStats;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/*
+Team Match statistics written as JDBC statement batches, one round trip per BATCH_SIZE rows, and rebuilt from the
+Match events with one INSERT ... SELECT: a row for both Teams of every Match with events, as service.MatchStatistics
+writes them. Runs on the connection of the surrounding Spring transaction.
+ */
+
+public class TeamMatchStatsBatchRepositoryImpl implements TeamMatchStatsBatchRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_TEAM_MATCH_STATS = "insert into team_match_stats (team_id, match_id, season, "
+            + "goals_for, goals_against, yellow_cards, red_cards) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_TEAM_MATCH_STATS = "update team_match_stats set goals_for = ?, goals_against = ?, "
+            + "yellow_cards = ?, red_cards = ? where team_match_stats_id = ?";
+
+    // an event counts for its Team (a goal against the other one), both sides of a Match through the union
+    private static final String REBUILD_TEAM_MATCH_STATS = "insert into team_match_stats (team_id, match_id, season, "
+            + "goals_for, goals_against, yellow_cards, red_cards) "
+            + "select s.team_id, s.match_id, s.season, "
+            + "sum(case when e.type in ('GOAL', 'OWN_GOAL') and e.team_id = s.team_id then 1 else 0 end), "
+            + "sum(case when e.type in ('GOAL', 'OWN_GOAL') and e.team_id <> s.team_id then 1 else 0 end), "
+            + "sum(case when e.type = 'YELLOW_CARD' and e.team_id = s.team_id then 1 else 0 end), "
+            + "sum(case when e.type = 'RED_CARD' and e.team_id = s.team_id then 1 else 0 end) "
+            + "from (select match_id, season, home_team_id as team_id from matches "
+            + "union all select match_id, season, away_team_id from matches) s "
+            + "join match_event e on e.match_id = s.match_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TeamMatchStatsBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<TeamMatchStats> rows) {
+
+        jdbcTemplate.batchUpdate(INSERT_TEAM_MATCH_STATS, rows, BATCH_SIZE, (statement, row) -> {
+            statement.setLong(1, row.getTeamId());
+            statement.setLong(2, row.getMatchId());
+            statement.setInt(3, row.getSeason());
+            statement.setInt(4, row.getGoalsFor());
+            statement.setInt(5, row.getGoalsAgainst());
+            statement.setInt(6, row.getYellowCards());
+            statement.setInt(7, row.getRedCards());
+        });
+    }
+
+    @Override
+    public void updateAll(List<TeamMatchStats> rows) {
+
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_TEAM_MATCH_STATS, rows, BATCH_SIZE, (statement, row) -> {
+            statement.setInt(1, row.getGoalsFor());
+            statement.setInt(2, row.getGoalsAgainst());
+            statement.setInt(3, row.getYellowCards());
+            statement.setInt(4, row.getRedCards());
+            statement.setLong(5, row.getTeamMatchStatsId());
+        });
+
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    throw new OptimisticLockingFailureException("team match statistics were removed while being updated");
+                }
+            }
+        }
+    }
+
+    @Override
+    public int rebuild(Integer season) {
+
+        if (season == null) {
+            jdbcTemplate.update("delete from team_match_stats");
+            return jdbcTemplate.update(REBUILD_TEAM_MATCH_STATS + "group by s.team_id, s.match_id, s.season");
+        }
+
+        jdbcTemplate.update("delete from team_match_stats where season = ?", season);
+        return jdbcTemplate.update(REBUILD_TEAM_MATCH_STATS + "where s.season = ? group by s.team_id, s.match_id, s.season",
+                season);
+    }
+
+}
@@ -0,0 +1,51 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.model.TeamMatchStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface TeamMatchStatsRepository extends JpaRepository<TeamMatchStats, Long>, TeamMatchStatsBatchRepository {
+
+    // not dirty-checked, changes are written back with updateAll
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query("select s from TeamMatchStats s where s.matchId in :matchIds")
+    List<TeamMatchStats> findByMatchIds(@Param("matchIds") Collection<Long> matchIds);
+
+    @Query("select count(s) as matches, coalesce(sum(s.goalsFor), 0) as goalsFor, "
+            + "coalesce(sum(s.goalsAgainst), 0) as goalsAgainst, coalesce(sum(s.yellowCards), 0) as yellowCards, "
+            + "coalesce(sum(s.redCards), 0) as redCards "
+            + "from TeamMatchStats s where s.teamId = :teamId and s.season = :season")
+    TeamTotals sumSeason(@Param("teamId") Long teamId, @Param("season") Integer season);
+
+    // the latest Matches first
+    @Query("select s from TeamMatchStats s, Match m where m.matchId = s.matchId and s.teamId = :teamId "
+            + "and s.season = :season order by m.kickOff desc nulls last, m.matchId desc")
+    List<TeamMatchStats> findLatest(@Param("teamId") Long teamId, @Param("season") Integer season, Pageable pageable);
+
+    @Query("select max(s.season) from TeamMatchStats s where s.teamId = :teamId")
+    Optional<Integer> findLatestSeason(@Param("teamId") Long teamId);
+
+    @Modifying
+    @Query("delete from TeamMatchStats s where s.matchId = :matchId")
+    int deleteByMatchId(@Param("matchId") Long matchId);
+
+    interface TeamTotals {
+        long getMatches();
+        long getGoalsFor();
+        long getGoalsAgainst();
+        long getYellowCards();
+        long getRedCards();
+    }
+
+}
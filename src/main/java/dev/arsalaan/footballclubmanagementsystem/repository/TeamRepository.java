@@ -1,12 +1,86 @@
 package dev.arsalaan.footballclubmanagementsystem.repository;
 
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamExportDTO;
 import dev.arsalaan.footballclubmanagementsystem.model.Team;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
 
     Optional<Team> findTeamByName(String name);
 
+    // fetch plans below load the eager to-one associations (and players where the DTO needs them) in the same
+    // select, instead of one extra select per team. "distinct" only de-duplicates the joined rows in memory.
+
+    @EntityGraph(attributePaths = {"league", "stadium", "owner", "players"})
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct t from Team t order by t.teamId")
+    List<Team> findAllWithPlayers();
+
+    @EntityGraph(attributePaths = {"league", "stadium", "owner", "players"})
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct t from Team t where t.league.leagueId = :leagueId order by t.teamId")
+    List<Team> findAllWithPlayersByLeagueId(@Param("leagueId") Long leagueId);
+
+    // players are left out so the LIMIT can still be applied by the database, see fetchPlayers
+    @EntityGraph(attributePaths = {"league", "stadium", "owner"})
+    List<Team> findByTeamIdGreaterThanOrderByTeamIdAsc(Long teamId, Pageable pageable);
+
+    // initialises the players of teams already in the persistence context with a single select
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    @Query("select distinct t from Team t left join fetch t.players where t.teamId in :teamIds")
+    List<Team> fetchPlayers(@Param("teamIds") Collection<Long> teamIds);
+
+    @Query("select t.version from Team t where t.teamId = :teamId")
+    Optional<Long> findVersionByTeamId(@Param("teamId") Long teamId);
+
+    @Query("select t.teamId as id, t.version as version from Team t where t.league.leagueId = :leagueId order by t.teamId")
+    List<EntityVersion> findVersionsByLeagueId(@Param("leagueId") Long leagueId);
+
+    // the League of each Team, without loading the Teams (and their eager associations); null when not in one
+    @Query("select t.teamId as teamId, l.leagueId as leagueId from Team t left join t.league l where t.teamId in :teamIds")
+    List<TeamLeagueId> findLeagueIdsByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    // the Teams of the given Leagues with the name of their Stadium (null without one), for fixture generation
+    @Query("select t.teamId as teamId, l.leagueId as leagueId, s.name as stadiumName from Team t join t.league l "
+            + "left join t.stadium s where l.leagueId in :leagueIds order by t.teamId")
+    List<TeamStadium> findStadiumsByLeagueIds(@Param("leagueIds") Collection<Long> leagueIds);
+
+    // must be consumed inside a transaction; projects straight into the export DTO so no entities are managed
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new dev.arsalaan.footballclubmanagementsystem.dto.TeamExportDTO(t.teamId, t.name, t.city, t.manager, l.leagueId) "
+            + "from Team t left join t.league l order by t.teamId")
+    Stream<TeamExportDTO> streamAllForExport();
+
+    // which of the given ids / names are already taken, checked once per chunk of a bulk import
+    @Query("select t.teamId from Team t where t.teamId in :teamIds")
+    List<Long> findExistingTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    @Query("select t.name from Team t where t.name in :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    interface TeamLeagueId {
+        Long getTeamId();
+        Long getLeagueId();
+    }
+
+    interface TeamStadium {
+        Long getTeamId();
+        Long getLeagueId();
+        String getStadiumName();
+    }
+
 }
@@ -0,0 +1,499 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.arsalaan.footballclubmanagementsystem.dto.ImportReportDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.model.League;
+import dev.arsalaan.footballclubmanagementsystem.repository.BulkInserter;
+import dev.arsalaan.footballclubmanagementsystem.repository.LeagueRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.OwnerRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.PlayerRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.StadiumRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+Bulk imports of Players, Teams, Stadiums and Owners from CSV, JSON (an array of objects) or NDJSON uploads, with the
+fields of the DTOs (name, position, nationality, age, teamId / name, city, manager, leagueId / name, capacity, teamId /
+name, netWorth, teamId); ids in the upload are ignored, and so are other fields, so an NDJSON export can be imported.
+
+The upload is read a record at a time and stored in chunks of app.import.chunk-size rows, one transaction each:
+a chunk is validated with one query per reference it checks (Team and League ids, taken names) and written by
+BulkInserter, COPY on PostgreSQL and multi-row INSERTs elsewhere. Rows failing validation are reported and left out,
+the rest of the chunk is stored; should the database still refuse a chunk, its rows are retried one by one so only
+the offending ones are rejected. Memory stays bounded by a chunk and app.import.max-errors reported errors, however
+big the upload. Chunks committed before a failure to read the upload stay imported.
+ */
+
+@Service
+@Timed("service.method")
+@Slf4j
+public class BulkImportService {
+
+    public enum Format {
+        CSV, JSON, NDJSON;
+
+        // the format parameter first, then the content type of the upload, then its file extension
+        public static Format resolve(String format, String contentType, String filename) {
+
+            if (format != null && !format.isBlank()) {
+                try {
+                    return valueOf(format.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new ApiRequestException("format must be one of csv, json or ndjson");
+                }
+            }
+
+            String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+            String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+
+            if (type.startsWith("text/csv") || name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            if (type.startsWith("application/json") || name.endsWith(".json")) {
+                return JSON;
+            }
+
+            throw new ApiRequestException("the format of the upload could not be told from its type or name, "
+                    + "pass format=csv, json or ndjson");
+        }
+    }
+
+    static final int MAX_TEXT_LENGTH = 255;
+    static final int MAX_AGE = 100;
+
+    private static final String LEAGUE_TEAMS = League.class.getName() + ".teams";
+
+    private static final BulkInserter.Table PLAYER = new BulkInserter.Table("player", List.of(
+            new BulkInserter.Column("name", Types.VARCHAR), new BulkInserter.Column("position", Types.VARCHAR),
+            new BulkInserter.Column("nationality", Types.VARCHAR), new BulkInserter.Column("age", Types.INTEGER),
+            new BulkInserter.Column("team_id", Types.BIGINT), new BulkInserter.Column("version", Types.BIGINT)));
+    private static final BulkInserter.Table TEAM = new BulkInserter.Table("team", List.of(
+            new BulkInserter.Column("name", Types.VARCHAR), new BulkInserter.Column("city", Types.VARCHAR),
+            new BulkInserter.Column("manager", Types.VARCHAR), new BulkInserter.Column("league_id", Types.BIGINT),
+            new BulkInserter.Column("version", Types.BIGINT)));
+    private static final BulkInserter.Table STADIUM = new BulkInserter.Table("stadium", List.of(
+            new BulkInserter.Column("name", Types.VARCHAR), new BulkInserter.Column("capacity", Types.INTEGER),
+            new BulkInserter.Column("team_id", Types.BIGINT)));
+    private static final BulkInserter.Table OWNER = new BulkInserter.Table("owner", List.of(
+            new BulkInserter.Column("name", Types.VARCHAR), new BulkInserter.Column("net_worth", Types.VARCHAR),
+            new BulkInserter.Column("team_id", Types.BIGINT)));
+
+    private final BulkInserter bulkInserter;
+    private final PlayerRepository playerRepository;
+    private final TeamRepository teamRepository;
+    private final LeagueRepository leagueRepository;
+    private final StadiumRepository stadiumRepository;
+    private final OwnerRepository ownerRepository;
+    private final PlayerService playerService;
+    private final SquadResponseCache squadResponseCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public BulkImportService(BulkInserter bulkInserter, PlayerRepository playerRepository, TeamRepository teamRepository,
+                             LeagueRepository leagueRepository, StadiumRepository stadiumRepository,
+                             OwnerRepository ownerRepository,
+                             PlayerService playerService, SquadResponseCache squadResponseCache,
+                             EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.import.chunk-size:500}") int chunkSize,
+                             @Value("${app.import.max-errors:1000}") int maxErrors) {
+        this.bulkInserter = bulkInserter;
+        this.playerRepository = playerRepository;
+        this.teamRepository = teamRepository;
+        this.leagueRepository = leagueRepository;
+        this.stadiumRepository = stadiumRepository;
+        this.ownerRepository = ownerRepository;
+        this.playerService = playerService;
+        this.squadResponseCache = squadResponseCache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    // [POST] Import Players, their Team (teamId) must exist
+    public ImportReportDTO importPlayers(InputStream upload, Format format) {
+
+        // ids only grow, the imported Players are the ones after it (others written meanwhile are indexed twice)
+        Long lastPlayerId = playerRepository.findMaxPlayerId();
+
+        ImportReportDTO report = importRows("player", PLAYER, upload, format, this::validatePlayers);
+
+        if (report.getImported() > 0) {
+            playerService.indexPlayersAfter(lastPlayerId);
+        }
+
+        return report;
+    }
+
+    // [POST] Import Teams, names must not be taken and their League (leagueId) must exist
+    public ImportReportDTO importTeams(InputStream upload, Format format) {
+        return importRows("team", TEAM, upload, format, this::validateTeams);
+    }
+
+    // [POST] Import Stadiums, names must not be taken and their Team (teamId) must exist without a Stadium
+    public ImportReportDTO importStadiums(InputStream upload, Format format) {
+        return importRows("stadium", STADIUM, upload, format, this::validateStadiums);
+    }
+
+    // [POST] Import Owners, their Team (teamId) must exist without an Owner
+    public ImportReportDTO importOwners(InputStream upload, Format format) {
+        return importRows("owner", OWNER, upload, format, this::validateOwners);
+    }
+
+    private ImportReportDTO importRows(String entity, BulkInserter.Table table, InputStream upload, Format format,
+                                       Function<List<Candidate>, List<Row>> validator) {
+
+        Report report = new Report(entity, maxErrors);
+
+        try (ImportRecordReader reader = ImportRecordReader.open(upload, format, objectMapper.getFactory())) {
+
+            List<Candidate> chunk = new ArrayList<>(chunkSize);
+            ImportRecordReader.Record record;
+
+            while ((record = reader.next()) != null) {
+
+                report.rows++;
+                // a malformed record goes along with its chunk too, so the errors are listed in row order
+                chunk.add(new Candidate(record.getNumber(), record.getFields(), record.getError()));
+
+                if (chunk.size() == chunkSize) {
+                    store(table, chunk, validator, report);
+                    chunk.clear();
+                }
+            }
+
+            store(table, chunk, validator, report);
+        } catch (IOException e) {
+            log.warn("Bulk import of {} stopped after {} rows: {}", entity, report.rows, e.getMessage());
+            throw new ApiRequestException("the upload could not be read after row " + report.rows + " ("
+                    + report.imported + " rows imported): " + e.getMessage());
+        } finally {
+            if (report.imported > 0) {
+                squadResponseCache.invalidateAll();
+                // Teams written past Hibernate, the cached Team lists of their Leagues are stale
+                entityManagerFactory.unwrap(SessionFactory.class).getCache().evictCollectionData(LEAGUE_TEAMS);
+            }
+        }
+
+        log.info("Bulk import of {}: {} rows, {} imported, {} rejected", entity, report.rows, report.imported, report.rejected);
+
+        return report.toDTO();
+    }
+
+    private void store(BulkInserter.Table table, List<Candidate> chunk, Function<List<Candidate>, List<Row>> validator,
+                       Report report) {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<Row> rows = new ArrayList<>(chunk.size());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                rows.clear();
+                rows.addAll(validator.apply(chunk));
+                bulkInserter.insert(table, rows.stream()
+                        .filter(row -> row.error == null).map(row -> row.values).collect(Collectors.toList()));
+            });
+        } catch (DataAccessException e) {
+            if (rows.size() != chunk.size()) {
+                throw e; // failed validating, not storing
+            }
+            log.warn("Bulk import of {} refused a chunk, retrying its rows one by one: {}", table.getName(), e.getMessage());
+            storeOneByOne(table, rows, report);
+            return;
+        }
+
+        for (Row row : rows) {
+            if (row.error == null) {
+                report.imported++;
+            } else {
+                report.reject(row.number, row.error);
+            }
+        }
+    }
+
+    private void storeOneByOne(BulkInserter.Table table, List<Row> rows, Report report) {
+
+        for (Row row : rows) {
+
+            if (row.error != null) {
+                report.reject(row.number, row.error);
+                continue;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> bulkInserter.insert(table, List.<Object[]>of(row.values)));
+                report.imported++;
+            } catch (DataAccessException e) {
+                report.reject(row.number, "could not be stored: " + Objects.requireNonNullElse(
+                        e.getMostSpecificCause().getMessage(), e.getMessage()));
+            }
+        }
+    }
+
+    private List<Row> validatePlayers(List<Candidate> chunk) {
+
+        Set<Long> teamIds = existing(chunk, "teamId", teamRepository::findExistingTeamIds);
+
+        return chunk.stream().map(candidate -> {
+
+            String name = candidate.text("name", true);
+            String position = candidate.text("position", false);
+            String nationality = candidate.text("nationality", false);
+            Integer age = candidate.integer("age", 1, MAX_AGE);
+            Long teamId = candidate.reference("teamId", teamIds, "team");
+
+            return candidate.row(name, position, nationality, age, teamId, 0L);
+        }).collect(Collectors.toList());
+    }
+
+    private List<Row> validateTeams(List<Candidate> chunk) {
+
+        Set<Long> leagueIds = existing(chunk, "leagueId", leagueRepository::findExistingLeagueIds);
+        Set<String> takenNames = taken(chunk, teamRepository::findExistingNames);
+
+        return chunk.stream().map(candidate -> {
+
+            String name = candidate.unique(candidate.text("name", true), takenNames, "team name");
+            String city = candidate.text("city", true);
+            String manager = candidate.text("manager", false);
+            Long leagueId = candidate.reference("leagueId", leagueIds, "league");
+
+            return candidate.row(name, city, manager, leagueId, 0L);
+        }).collect(Collectors.toList());
+    }
+
+    private List<Row> validateStadiums(List<Candidate> chunk) {
+
+        Set<Long> teamIds = existing(chunk, "teamId", teamRepository::findExistingTeamIds);
+        Set<Long> takenTeams = takenTeams(teamIds, stadiumRepository::findTeamIdsWithStadium);
+        Set<String> takenNames = taken(chunk, stadiumRepository::findExistingNames);
+
+        return chunk.stream().map(candidate -> {
+
+            String name = candidate.unique(candidate.text("name", true), takenNames, "stadium name");
+            Integer capacity = candidate.integer("capacity", 0, Integer.MAX_VALUE);
+            Long teamId = candidate.unique(candidate.reference("teamId", teamIds, "team"), takenTeams, "a stadium of team");
+
+            return candidate.row(name, capacity, teamId);
+        }).collect(Collectors.toList());
+    }
+
+    private List<Row> validateOwners(List<Candidate> chunk) {
+
+        Set<Long> teamIds = existing(chunk, "teamId", teamRepository::findExistingTeamIds);
+        Set<Long> takenTeams = takenTeams(teamIds, ownerRepository::findTeamIdsWithOwner);
+
+        return chunk.stream().map(candidate -> {
+
+            String name = candidate.text("name", true);
+            String netWorth = candidate.text("netWorth", false);
+            Long teamId = candidate.unique(candidate.reference("teamId", teamIds, "team"), takenTeams, "an owner of team");
+
+            return candidate.row(name, netWorth, teamId);
+        }).collect(Collectors.toList());
+    }
+
+    // the ids referenced by the chunk that exist, one query for the whole chunk
+    private static Set<Long> existing(List<Candidate> chunk, String field, Function<Collection<Long>, List<Long>> query) {
+
+        Set<Long> ids = new HashSet<>();
+        for (Candidate candidate : chunk) {
+            Long id = Candidate.parseId(candidate.fields.get(field));
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+
+        return ids.isEmpty() ? ids : new HashSet<>(query.apply(ids));
+    }
+
+    // the names of the chunk already taken, one query for the whole chunk
+    private static Set<String> taken(List<Candidate> chunk, Function<Collection<String>, List<String>> query) {
+
+        Set<String> names = new HashSet<>();
+        for (Candidate candidate : chunk) {
+            String name = candidate.fields.get("name");
+            if (name != null && !name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+
+        return names.isEmpty() ? names : new HashSet<>(query.apply(names));
+    }
+
+    private static Set<Long> takenTeams(Set<Long> teamIds, Function<Collection<Long>, List<Long>> query) {
+        return teamIds.isEmpty() ? new HashSet<>() : new HashSet<>(query.apply(teamIds));
+    }
+
+    // a record of the upload being turned into a row, keeping the first error found
+    private static final class Candidate {
+
+        private final long number;
+        private final Map<String, String> fields;
+        private String error;
+
+        private Candidate(long number, Map<String, String> fields, String error) {
+            this.number = number;
+            this.fields = fields;
+            this.error = error;
+        }
+
+        String text(String field, boolean required) {
+
+            String value = fields.get(field);
+            value = value == null || value.isBlank() ? null : value.trim();
+
+            if (value == null && required) {
+                fail(field + " is required");
+            } else if (value != null && value.length() > MAX_TEXT_LENGTH) {
+                fail(field + " is longer than " + MAX_TEXT_LENGTH + " characters");
+            }
+
+            return value;
+        }
+
+        Integer integer(String field, int min, int max) {
+
+            String value = text(field, false);
+
+            if (value == null) {
+                return null;
+            }
+
+            try {
+                int number = Integer.parseInt(value);
+                if (number < min || number > max) {
+                    fail(field + " must be between " + min + " and " + max);
+                }
+                return number;
+            } catch (NumberFormatException e) {
+                fail(field + " must be a whole number");
+                return null;
+            }
+        }
+
+        // an optional id, which must be among the existing ones
+        Long reference(String field, Set<Long> existing, String entity) {
+
+            String value = text(field, false);
+
+            if (value == null) {
+                return null;
+            }
+
+            Long id = parseId(value);
+
+            if (id == null) {
+                fail(field + " must be a positive whole number");
+            } else if (!existing.contains(id)) {
+                fail(entity + " with id " + id + " does not exist");
+            }
+
+            return id;
+        }
+
+        // `taken` holds the values stored before and is added to, so a value can only appear once in an upload
+        <T> T unique(T value, Set<T> taken, String what) {
+
+            if (value != null && error == null && !taken.add(value)) {
+                fail(what + " " + value + " already exists");
+            }
+
+            return value;
+        }
+
+        Row row(Object... values) {
+            return new Row(number, error == null ? values : null, error);
+        }
+
+        private void fail(String message) {
+            if (error == null) {
+                error = message;
+            }
+        }
+
+        static Long parseId(String value) {
+
+            if (value == null) {
+                return null;
+            }
+
+            try {
+                long id = Long.parseLong(value.trim());
+                return id > 0 ? id : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class Row {
+        final long number;
+        // null when rejected
+        final Object[] values;
+        final String error;
+    }
+
+    private static final class Report {
+
+        private final String entity;
+        private final int maxErrors;
+        private final List<ImportReportDTO.RowErrorDTO> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long rejected;
+
+        private Report(String entity, int maxErrors) {
+            this.entity = entity;
+            this.maxErrors = maxErrors;
+        }
+
+        void reject(long row, String message) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportReportDTO.RowErrorDTO(row, message));
+            }
+        }
+
+        ImportReportDTO toDTO() {
+            return new ImportReportDTO(entity, rows, imported, rejected, errors, rejected > errors.size());
+        }
+    }
+
+}
@@ -0,0 +1,277 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.CupBracketDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.CupDrawDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.CupSimulationDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.CupTieResultDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.mapper.CupTieMapper;
+import dev.arsalaan.footballclubmanagementsystem.model.Cup;
+import dev.arsalaan.footballclubmanagementsystem.model.CupTie;
+import dev.arsalaan.footballclubmanagementsystem.model.Team;
+import dev.arsalaan.footballclubmanagementsystem.repository.CupRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.CupTieRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.StandingRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+Knockout brackets of the Cups: drawn from the Teams entered in the Cup (see KnockoutBracket for the seeding), the
+results recorded tie by tie with the winner moving on to the next round, and the chance of every Team still in it to
+win the Cup estimated by simulating the open ties many times.
+
+A Team's strength for the simulation is its points per game in the latest League table it is in, smoothed as
+(points + 1) / (played + 1) so that a Team without a table (or without a game) counts as 1.
+Changes to a bracket lock the Cup row first, so they are applied one after the other.
+ */
+
+@Service
+@Timed("service.method")
+@Slf4j
+public class CupBracketService {
+
+    static final int DEFAULT_ITERATIONS = 10_000;
+    static final int MAX_ITERATIONS = 1_000_000;
+
+    private final CupRepository cupRepository;
+    private final CupTieRepository cupTieRepository;
+    private final TeamRepository teamRepository;
+    private final StandingRepository standingRepository;
+    private final CupTieMapper cupTieMapper;
+    private final KnockoutBracket knockoutBracket;
+
+    public CupBracketService(CupRepository cupRepository, CupTieRepository cupTieRepository, TeamRepository teamRepository,
+                             StandingRepository standingRepository, CupTieMapper cupTieMapper, KnockoutBracket knockoutBracket) {
+        this.cupRepository = cupRepository;
+        this.cupTieRepository = cupTieRepository;
+        this.teamRepository = teamRepository;
+        this.standingRepository = standingRepository;
+        this.cupTieMapper = cupTieMapper;
+        this.knockoutBracket = knockoutBracket;
+    }
+
+    // [GET] View the bracket of a Cup
+    @Transactional(readOnly = true)
+    public CupBracketDTO getBracket(Long cupId) {
+
+        if (!cupRepository.existsById(cupId)) {
+            throw new ApiRequestException("cup with id " + cupId + " does not exist");
+        }
+
+        return toBracketDTO(cupId, cupTieRepository.findBracket(cupId));
+    }
+
+    // [POST] Draw the bracket of a Cup from its Teams, in the given seeding or by Team id
+    @Transactional
+    public CupBracketDTO createBracket(Long cupId, CupDrawDTO cupDrawDTO) {
+
+        Cup cup = cupRepository.findLockedByCupId(cupId).orElseThrow(
+                () -> new ApiRequestException("cup with id " + cupId + " does not exist"));
+
+        if (cupTieRepository.existsByCupId(cupId)) {
+            throw new ApiRequestException("Cup with id " + cupId + " already has a bracket");
+        }
+
+        List<Long> teamIds = cupRepository.findTeamIdsByCupId(cupId);
+
+        if (teamIds.size() < 2) {
+            throw new ApiRequestException("Cup with id " + cupId + " needs at least two Teams for a bracket");
+        }
+
+        List<Long> seeds = teamIds;
+        if (cupDrawDTO != null && cupDrawDTO.getSeeds() != null) {
+            seeds = cupDrawDTO.getSeeds();
+            if (seeds.size() != teamIds.size() || !new HashSet<>(seeds).equals(new HashSet<>(teamIds))) {
+                throw new ApiRequestException("seeds must list every Team of Cup with id " + cupId + " exactly once");
+            }
+        }
+
+        int size = KnockoutBracket.size(seeds.size());
+        int rounds = KnockoutBracket.rounds(size);
+        int[] seedOrder = KnockoutBracket.seedOrder(size);
+
+        // by tie number (see KnockoutBracket), from the final to the first round
+        CupTie[] ties = new CupTie[size];
+        for (int round = rounds; round >= 1; round--) {
+            for (int slot = 0; slot < size >> round; slot++) {
+                ties[KnockoutBracket.tie(size, round, slot)] = CupTie.builder().cup(cup).round(round).slot(slot).build();
+            }
+        }
+
+        for (int slot = 0; slot < size / 2; slot++) {
+
+            CupTie tie = ties[KnockoutBracket.tie(size, 1, slot)];
+            tie.setHomeTeam(teamRepository.getReferenceById(seeds.get(seedOrder[2 * slot] - 1)));
+
+            if (seedOrder[2 * slot + 1] <= seeds.size()) {
+                tie.setAwayTeam(teamRepository.getReferenceById(seeds.get(seedOrder[2 * slot + 1] - 1)));
+            } else {
+                // a bye, the better seed goes through
+                tie.setWinner(tie.getHomeTeam());
+                advance(ties[KnockoutBracket.tie(size, 2, slot / 2)], slot, tie.getHomeTeam());
+            }
+        }
+
+        List<CupTie> bracket = new ArrayList<>(Arrays.asList(ties).subList(1, size));
+        bracket.sort(Comparator.comparing(CupTie::getRound).thenComparing(CupTie::getSlot));
+        cupTieRepository.saveAll(bracket);
+
+        log.info("In DB, Drew bracket of {} rounds for Cup with id: {}", rounds, cupId);
+        return toBracketDTO(cupId, bracket);
+    }
+
+    // [PUT] Record the result of a Cup tie, or correct it while the next round tie is still to be played,
+    // and move the winner on
+    @Transactional
+    public void recordTieResult(Long cupId, Long cupTieId, CupTieResultDTO cupTieResultDTO) {
+
+        Integer homeGoals = cupTieResultDTO.getHomeGoals();
+        Integer awayGoals = cupTieResultDTO.getAwayGoals();
+
+        if (homeGoals == null || awayGoals == null || homeGoals < 0 || awayGoals < 0) {
+            throw new ApiRequestException("home goals and away goals must both be given and not be negative");
+        }
+
+        cupRepository.findLockedByCupId(cupId).orElseThrow(
+                () -> new ApiRequestException("cup with id " + cupId + " does not exist"));
+
+        CupTie tie = cupTieRepository.findById(cupTieId)
+                .filter(found -> found.getCup().getCupId().equals(cupId))
+                .orElseThrow(() -> new ApiRequestException("cup tie with id " + cupTieId + " does not exist in Cup with id " + cupId));
+
+        if (tie.getHomeTeam() == null || tie.getAwayTeam() == null) {
+            throw new ApiRequestException("cup tie with id " + cupTieId + " does not have both Teams yet");
+        }
+
+        Team winner;
+        if (!homeGoals.equals(awayGoals)) {
+            winner = homeGoals > awayGoals ? tie.getHomeTeam() : tie.getAwayTeam();
+        } else if (Objects.equals(cupTieResultDTO.getWinnerTeamId(), tie.getHomeTeam().getTeamId())) {
+            winner = tie.getHomeTeam();
+        } else if (Objects.equals(cupTieResultDTO.getWinnerTeamId(), tie.getAwayTeam().getTeamId())) {
+            winner = tie.getAwayTeam();
+        } else {
+            throw new ApiRequestException("a level cup tie needs the id of the Team that went through as winner team id");
+        }
+
+        boolean winnerChanged = tie.getWinner() == null || !tie.getWinner().getTeamId().equals(winner.getTeamId());
+
+        if (winnerChanged) {
+            cupTieRepository.findTie(cupId, tie.getRound() + 1, tie.getSlot() / 2).ifPresent(next -> {
+                if (next.getWinner() != null) {
+                    throw new ApiRequestException("cup tie with id " + next.getCupTieId()
+                            + " of the next round has already been decided");
+                }
+                advance(next, tie.getSlot(), winner);
+            });
+        }
+
+        tie.setHomeGoals(homeGoals);
+        tie.setAwayGoals(awayGoals);
+        tie.setWinner(winner);
+        log.info("In DB, Recorded result {}-{} for Cup tie with id: {}", homeGoals, awayGoals, cupTieId);
+    }
+
+    // [DELETE] Remove the bracket of a Cup, with every result in it
+    @Transactional
+    public void deleteBracket(Long cupId) {
+
+        cupRepository.findLockedByCupId(cupId).orElseThrow(
+                () -> new ApiRequestException("cup with id " + cupId + " does not exist"));
+
+        int ties = cupTieRepository.deleteBracket(cupId);
+        log.info("From DB, Deleted {} ties of the bracket of Cup with id: {}", ties, cupId);
+    }
+
+    // [GET] Estimate each Team's chance of winning the Cup by simulating the open ties of its bracket
+    @Transactional(readOnly = true)
+    public CupSimulationDTO simulateCup(Long cupId, Integer iterations) {
+
+        int runs = iterations == null ? DEFAULT_ITERATIONS : iterations;
+
+        if (runs < 1 || runs > MAX_ITERATIONS) {
+            throw new ApiRequestException("iterations must be between 1 and " + MAX_ITERATIONS);
+        }
+
+        if (!cupRepository.existsById(cupId)) {
+            throw new ApiRequestException("cup with id " + cupId + " does not exist");
+        }
+
+        List<CupTie> bracket = cupTieRepository.findBracket(cupId);
+
+        if (bracket.isEmpty()) {
+            throw new ApiRequestException("Cup with id " + cupId + " has no bracket yet");
+        }
+
+        int size = bracket.size() + 1;
+        Map<Long, Integer> indexOfTeam = new HashMap<>();
+        List<Long> teamIds = new ArrayList<>();
+        int[] home = new int[size];
+        int[] away = new int[size];
+        int[] winner = new int[size];
+
+        for (CupTie tie : bracket) {
+            int k = KnockoutBracket.tie(size, tie.getRound(), tie.getSlot());
+            home[k] = index(tie.getHomeTeam(), indexOfTeam, teamIds);
+            away[k] = index(tie.getAwayTeam(), indexOfTeam, teamIds);
+            winner[k] = index(tie.getWinner(), indexOfTeam, teamIds);
+        }
+
+        double[] strengths = new double[teamIds.size()];
+        Arrays.fill(strengths, 1.0);
+        for (StandingRepository.TeamForm form : standingRepository.findLatestFormByTeamIds(teamIds)) {
+            strengths[indexOfTeam.get(form.getTeamId())] = (form.getPoints() + 1.0) / (form.getPlayed() + 1.0);
+        }
+
+        long[] wins = knockoutBracket.simulate(home, away, winner, strengths, runs, ThreadLocalRandom.current().nextLong());
+
+        List<CupSimulationDTO.TeamProbabilityDTO> probabilities = new ArrayList<>(teamIds.size());
+        for (int i = 0; i < teamIds.size(); i++) {
+            probabilities.add(new CupSimulationDTO.TeamProbabilityDTO(teamIds.get(i), (double) wins[i] / runs));
+        }
+        probabilities.sort(Comparator.comparing(CupSimulationDTO.TeamProbabilityDTO::getProbability).reversed()
+                .thenComparing(CupSimulationDTO.TeamProbabilityDTO::getTeamId));
+
+        return new CupSimulationDTO(cupId, runs, probabilities);
+    }
+
+    // the winner of slot s goes to the home side of the next tie from an even slot, to the away side from an odd one
+    private static void advance(CupTie next, int slot, Team team) {
+        if (slot % 2 == 0) {
+            next.setHomeTeam(team);
+        } else {
+            next.setAwayTeam(team);
+        }
+    }
+
+    private static int index(Team team, Map<Long, Integer> indexOfTeam, List<Long> teamIds) {
+
+        if (team == null) {
+            return -1;
+        }
+
+        return indexOfTeam.computeIfAbsent(team.getTeamId(), teamId -> {
+            teamIds.add(teamId);
+            return teamIds.size() - 1;
+        });
+    }
+
+    private CupBracketDTO toBracketDTO(Long cupId, List<CupTie> bracket) {
+        int rounds = bracket.isEmpty() ? 0 : bracket.get(bracket.size() - 1).getRound();
+        return new CupBracketDTO(cupId, rounds, cupTieMapper.toCupTieDTOs(bracket));
+    }
+
+}
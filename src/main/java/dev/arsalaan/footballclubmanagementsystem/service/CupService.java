@@ -1,21 +1,24 @@
 package dev.arsalaan.footballclubmanagementsystem.service;
 
 import dev.arsalaan.footballclubmanagementsystem.dto.CupDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
 import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
 import dev.arsalaan.footballclubmanagementsystem.mapper.CupMapper;
 import dev.arsalaan.footballclubmanagementsystem.model.Cup;
 import dev.arsalaan.footballclubmanagementsystem.model.Team;
 import dev.arsalaan.footballclubmanagementsystem.repository.CupRepository;
 import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
 
 @Service
+@Timed("service.method")
 public class CupService {
 
     private final CupRepository cupRepository;
@@ -28,11 +31,20 @@ public class CupService {
         this.cupMapper = cupMapper;
     }
 
+    @Transactional(readOnly = true)
     public List<CupDTO> getAllCups() {
         List<Cup> cups = cupRepository.findAll();
         return cupMapper.toCupDTOs(cups);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CupDTO> getCupsPage(Long after, int limit) {
+        List<Cup> cups = cupRepository.findByCupIdGreaterThanOrderByCupIdAsc(
+                CursorPaging.after(after), CursorPaging.seek(limit));
+        return CursorPageDTO.of(cupMapper.toCupDTOs(cups), limit, CupDTO::getCupId);
+    }
+
+    @Transactional(readOnly = true)
     public CupDTO getCupById(Long cupId) {
 
         Cup cup = cupRepository.findById(cupId).orElseThrow(
@@ -82,6 +94,7 @@ public class CupService {
         cupRepository.deleteById(cupId);
     }
 
+    @Transactional(readOnly = true)
     public List<CupDTO> viewAllCupsForTeam(Long teamId) {
 
         Team team = teamRepository.findById(teamId).orElseThrow(
@@ -0,0 +1,34 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/*
+Shared helpers for the keyset (cursor) paginated list endpoints.
+Pages are always requested as "first limit + 1 rows with id > after", so the database can seek straight
+to the cursor on the primary key index instead of skipping over OFFSET rows.
+ */
+
+final class CursorPaging {
+
+    static final int MAX_LIMIT = 1000;
+
+    private CursorPaging() {
+    }
+
+    static long after(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    static Pageable seek(int limit) {
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ApiRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        // one extra row tells us whether there is a next page without a count query
+        return PageRequest.of(0, limit + 1);
+    }
+
+}
@@ -0,0 +1,45 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.repository.EntityVersion;
+import org.springframework.util.DigestUtils;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/*
+Builds strong ETags from @Version columns.
+A DTO that embeds other entities (e.g. TeamDTO and its players) is only unchanged if none of the embedded rows
+were added, removed or updated either, so their (id, version) pairs are digested together with the root version.
+ */
+
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    @SafeVarargs
+    static String of(Long version, List<EntityVersion>... embedded) {
+
+        int rows = 0;
+        for (List<EntityVersion> part : embedded) {
+            rows += part.size();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * (1 + embedded.length + 2 * rows));
+        buffer.putLong(version);
+        for (List<EntityVersion> part : embedded) {
+            buffer.putLong(part.size());
+            for (EntityVersion row : part) {
+                buffer.putLong(row.getId());
+                buffer.putLong(row.getVersion());
+            }
+        }
+
+        return "\"" + DigestUtils.md5DigestAsHex(buffer.array()) + "\"";
+    }
+
+}
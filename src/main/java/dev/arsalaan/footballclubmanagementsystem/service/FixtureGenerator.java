@@ -0,0 +1,180 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/*
+Double round-robin fixture lists, built with the circle method: one slot stays put while the others rotate by one
+place a round, so every Team meets every other Team exactly once in the first n - 1 rounds and plays at most once a
+round (with an odd number of Teams one slot is a bye). The second half repeats the first with the venues swapped,
+so every pairing is played once at each ground and every Team has as many home as away Matches.
+
+Home and away alternate as far as possible (the canonical orientation: 3n - 6 breaks, i.e. two home or two away
+Matches in a row, over the season for n Teams, the fewest a mirrored double round-robin allows), except where two
+Teams of the League share a Stadium: in every round those two must not both be at home, and since the second half
+swaps the venues not both away either. Turning a Match round changes the venue of both of its Teams, so the rule
+links the Matches of the two Teams; each Team shares with at most one other, so the linked Matches form chains and
+cycles that can always be oriented (every Match adds one home and one away Team), keeping as much of the
+alternating pattern as possible.
+
+Building one fixture list is pure CPU work on ids, the lists of many Leagues are built in parallel on a dedicated
+fork-join pool (app.fixtures.parallelism threads, the number of processors by default).
+ */
+
+@Component
+public class FixtureGenerator {
+
+    // below this many Leagues handing the work to the pool costs more than it saves
+    static final int PARALLEL_THRESHOLD = 4;
+
+    private final ForkJoinPool pool;
+
+    public FixtureGenerator(@Value("${app.fixtures.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    // the fixture list of every League, keyed like the given Team ids (which must be in a stable order, e.g. by id)
+    public Map<Long, List<Fixture>> generateAll(Map<Long, List<Long>> teamIdsByLeagueId, Map<Long, Long> stadiumPartners) {
+
+        if (teamIdsByLeagueId.size() < PARALLEL_THRESHOLD) {
+            Map<Long, List<Fixture>> fixtures = new LinkedHashMap<>();
+            teamIdsByLeagueId.forEach((leagueId, teamIds) -> fixtures.put(leagueId, doubleRoundRobin(teamIds, stadiumPartners)));
+            return fixtures;
+        }
+
+        return pool.submit(() -> teamIdsByLeagueId.entrySet().parallelStream()
+                .collect(Collectors.toMap(Map.Entry::getKey, league -> doubleRoundRobin(league.getValue(), stadiumPartners),
+                        (first, second) -> first, LinkedHashMap::new))).join();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    /*
+    `stadiumPartners` maps each Team that shares its Stadium with another Team of the League to that Team (both ways),
+    Teams of other Leagues in it are ignored. Rounds are numbered from 1, the fixtures come in round order.
+     */
+    public static List<Fixture> doubleRoundRobin(List<Long> teamIds, Map<Long, Long> stadiumPartners) {
+
+        int slots = teamIds.size() + teamIds.size() % 2;
+        int rounds = slots - 1;
+        Long[] teams = Arrays.copyOf(teamIds.toArray(new Long[0]), slots); // the bye slot stays null
+
+        List<Fixture> firstHalf = new ArrayList<>(rounds * slots / 2);
+        List<Fixture> secondHalf = new ArrayList<>(rounds * slots / 2);
+
+        for (int round = 0; round < rounds; round++) {
+
+            List<Long[]> pairings = new ArrayList<>(slots / 2);
+
+            // the fixed slot against the one rotating past it, then the pairs either side of it
+            pair(pairings, teams[rounds], teams[round], round % 2 == 1);
+            for (int offset = 1; offset < slots / 2; offset++) {
+                pair(pairings, teams[(round + offset) % rounds], teams[(round - offset + rounds) % rounds], offset % 2 == 1);
+            }
+
+            separateSharedStadiums(pairings, stadiumPartners);
+
+            for (Long[] pairing : pairings) {
+                firstHalf.add(new Fixture(round + 1, pairing[0], pairing[1]));
+                secondHalf.add(new Fixture(round + 1 + rounds, pairing[1], pairing[0]));
+            }
+        }
+
+        firstHalf.addAll(secondHalf);
+        return firstHalf;
+    }
+
+    // home team first, nothing for the Team that has the bye
+    private static void pair(List<Long[]> pairings, Long first, Long second, boolean firstAtHome) {
+        if (first != null && second != null) {
+            pairings.add(firstAtHome ? new Long[]{first, second} : new Long[]{second, first});
+        }
+    }
+
+    // turns Matches of the round so that no two Teams sharing a Stadium are both at home (or both away) in it
+    private static void separateSharedStadiums(List<Long[]> pairings, Map<Long, Long> stadiumPartners) {
+
+        if (stadiumPartners.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> pairingOfTeam = new HashMap<>(pairings.size() * 4);
+        for (int i = 0; i < pairings.size(); i++) {
+            pairingOfTeam.put(pairings.get(i)[0], i);
+            pairingOfTeam.put(pairings.get(i)[1], i);
+        }
+
+        boolean[] visited = new boolean[pairings.size()];
+        boolean[] turned = new boolean[pairings.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        for (int start = 0; start < pairings.size(); start++) {
+
+            if (visited[start]) {
+                continue;
+            }
+
+            List<Integer> linked = new ArrayList<>();
+            visited[start] = true;
+            queue.add(start);
+
+            while (!queue.isEmpty()) {
+                int current = queue.poll();
+                linked.add(current);
+
+                for (Long team : pairings.get(current)) {
+                    Long partner = stadiumPartners.get(team);
+                    Integer other = partner == null ? null : pairingOfTeam.get(partner);
+
+                    if (other == null || other == current || visited[other]) {
+                        continue;
+                    }
+
+                    visited[other] = true;
+                    boolean teamAtHome = pairings.get(current)[0].equals(team);
+                    boolean partnerAtHome = pairings.get(other)[0].equals(partner);
+                    if (teamAtHome == partnerAtHome) {
+                        turn(pairings.get(other));
+                        turned[other] = true;
+                    }
+                    queue.add(other);
+                }
+            }
+
+            // turning all the linked Matches keeps them apart as well, so turn back the bigger share
+            long turnedCount = linked.stream().filter(i -> turned[i]).count();
+            if (turnedCount * 2 > linked.size()) {
+                linked.forEach(i -> turn(pairings.get(i)));
+            }
+        }
+    }
+
+    private static void turn(Long[] pairing) {
+        Long home = pairing[0];
+        pairing[0] = pairing[1];
+        pairing[1] = home;
+    }
+
+    @lombok.Value
+    public static class Fixture {
+        int round;
+        Long homeTeamId;
+        Long awayTeamId;
+    }
+
+}
@@ -0,0 +1,191 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.FixtureRequestDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.FixtureScheduleDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.model.League;
+import dev.arsalaan.footballclubmanagementsystem.model.Match;
+import dev.arsalaan.footballclubmanagementsystem.model.Team;
+import dev.arsalaan.footballclubmanagementsystem.repository.LeagueRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.MatchRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+Generates and stores the double round-robin fixture list of a League season (see FixtureGenerator).
+A batch of Leagues costs the same few statements as a single one: the Leagues are locked and the Teams with their
+Stadiums read in one select each, the fixture lists are built in parallel and all Matches go out as JDBC batches.
+ */
+
+@Service
+@Timed("service.method")
+@Slf4j
+public class FixtureService {
+
+    static final int MAX_LEAGUES = 1000;
+    static final int DEFAULT_DAYS_BETWEEN_ROUNDS = 7;
+
+    private final LeagueRepository leagueRepository;
+    private final TeamRepository teamRepository;
+    private final MatchRepository matchRepository;
+    private final FixtureGenerator fixtureGenerator;
+
+    public FixtureService(LeagueRepository leagueRepository, TeamRepository teamRepository,
+                          MatchRepository matchRepository, FixtureGenerator fixtureGenerator) {
+        this.leagueRepository = leagueRepository;
+        this.teamRepository = teamRepository;
+        this.matchRepository = matchRepository;
+        this.fixtureGenerator = fixtureGenerator;
+    }
+
+    // [POST] Generate and store the fixture list of a League season
+    @Transactional
+    public FixtureScheduleDTO generateFixtures(Long leagueId, FixtureRequestDTO fixtureRequestDTO) {
+
+        FixtureScheduleDTO schedule = generate(List.of(leagueId), fixtureRequestDTO).get(0);
+
+        if (schedule.getError() != null) {
+            throw new ApiRequestException(schedule.getError());
+        }
+
+        return schedule;
+    }
+
+    // [POST] Generate and store the fixture lists of many Leagues for one season, skipping (and reporting) the
+    // Leagues that cannot get one
+    @Transactional
+    public List<FixtureScheduleDTO> generateFixturesForLeagues(FixtureRequestDTO fixtureRequestDTO) {
+
+        List<Long> leagueIds = fixtureRequestDTO.getLeagueIds();
+
+        if (leagueIds == null || leagueIds.isEmpty()) {
+            throw new ApiRequestException("at least one league id is required");
+        }
+
+        if (leagueIds.size() > MAX_LEAGUES) {
+            throw new ApiRequestException("fixtures can be generated for at most " + MAX_LEAGUES + " leagues at once");
+        }
+
+        return generate(leagueIds.stream().distinct().collect(Collectors.toList()), fixtureRequestDTO);
+    }
+
+    private List<FixtureScheduleDTO> generate(List<Long> leagueIds, FixtureRequestDTO request) {
+
+        Integer season = request.getSeason();
+        int daysBetweenRounds = request.getDaysBetweenRounds() == null
+                ? DEFAULT_DAYS_BETWEEN_ROUNDS : request.getDaysBetweenRounds();
+
+        if (season == null) {
+            throw new ApiRequestException("season is required");
+        }
+
+        if (daysBetweenRounds < 1) {
+            throw new ApiRequestException("days between rounds must be at least 1");
+        }
+
+        Set<Long> existing = leagueRepository.findLockedByLeagueIdIn(leagueIds).stream()
+                .map(League::getLeagueId).collect(Collectors.toSet());
+        Set<Long> alreadyScheduled = new HashSet<>(matchRepository.findLeagueIdsWithMatchesInSeason(leagueIds, season));
+        Map<Long, List<TeamRepository.TeamStadium>> teamsByLeagueId = teamRepository.findStadiumsByLeagueIds(leagueIds).stream()
+                .collect(Collectors.groupingBy(TeamRepository.TeamStadium::getLeagueId));
+
+        Map<Long, String> errors = new HashMap<>();
+        Map<Long, List<Long>> teamIdsByLeagueId = new LinkedHashMap<>();
+        Map<Long, Long> stadiumPartners = new HashMap<>();
+
+        for (Long leagueId : leagueIds) {
+
+            List<TeamRepository.TeamStadium> teams = teamsByLeagueId.getOrDefault(leagueId, List.of());
+            String error;
+
+            if (!existing.contains(leagueId)) {
+                error = "League with id " + leagueId + " does not exist";
+            } else if (alreadyScheduled.contains(leagueId)) {
+                error = "League with id " + leagueId + " already has Matches in season " + season;
+            } else if (teams.size() < 2) {
+                error = "League with id " + leagueId + " needs at least two Teams to generate fixtures";
+            } else {
+                error = pairSharedStadiums(leagueId, teams, stadiumPartners);
+            }
+
+            if (error != null) {
+                errors.put(leagueId, error);
+            } else {
+                teamIdsByLeagueId.put(leagueId, teams.stream().map(TeamRepository.TeamStadium::getTeamId).collect(Collectors.toList()));
+            }
+        }
+
+        Map<Long, List<FixtureGenerator.Fixture>> fixturesByLeagueId = fixtureGenerator.generateAll(teamIdsByLeagueId, stadiumPartners);
+
+        List<Match> matches = new ArrayList<>();
+        fixturesByLeagueId.forEach((leagueId, fixtures) -> {
+            League league = League.builder().leagueId(leagueId).build();
+            for (FixtureGenerator.Fixture fixture : fixtures) {
+                matches.add(Match.builder()
+                        .league(league)
+                        .season(season)
+                        .matchday(fixture.getRound())
+                        .homeTeam(Team.builder().teamId(fixture.getHomeTeamId()).build())
+                        .awayTeam(Team.builder().teamId(fixture.getAwayTeamId()).build())
+                        .kickOff(kickOff(request.getFirstKickOff(), daysBetweenRounds, fixture.getRound()))
+                        .build());
+            }
+        });
+
+        if (!matches.isEmpty()) {
+            matchRepository.insertAll(matches);
+        }
+        log.info("In DB, Created {} Matches for {} Leagues in season {}", matches.size(), fixturesByLeagueId.size(), season);
+
+        List<FixtureScheduleDTO> schedules = new ArrayList<>(leagueIds.size());
+        for (Long leagueId : leagueIds) {
+            List<FixtureGenerator.Fixture> fixtures = fixturesByLeagueId.get(leagueId);
+            schedules.add(fixtures == null
+                    ? FixtureScheduleDTO.builder().leagueId(leagueId).season(season).error(errors.get(leagueId)).build()
+                    : FixtureScheduleDTO.builder().leagueId(leagueId).season(season)
+                            .rounds(fixtures.get(fixtures.size() - 1).getRound()).matches(fixtures.size()).build());
+        }
+
+        return schedules;
+    }
+
+    // Teams of the League playing at a Stadium of the same name share it, at most two can (there are only two
+    // ways round to play at home)
+    private static String pairSharedStadiums(Long leagueId, List<TeamRepository.TeamStadium> teams, Map<Long, Long> stadiumPartners) {
+
+        Map<String, List<TeamRepository.TeamStadium>> teamsByStadium = teams.stream()
+                .filter(team -> team.getStadiumName() != null && !team.getStadiumName().isBlank())
+                .collect(Collectors.groupingBy(team -> team.getStadiumName().trim().toLowerCase(Locale.ROOT)));
+
+        for (List<TeamRepository.TeamStadium> sharing : teamsByStadium.values()) {
+            if (sharing.size() > 2) {
+                return "Stadium " + sharing.get(0).getStadiumName() + " is shared by more than two Teams of League with id " + leagueId;
+            }
+            if (sharing.size() == 2) {
+                stadiumPartners.put(sharing.get(0).getTeamId(), sharing.get(1).getTeamId());
+                stadiumPartners.put(sharing.get(1).getTeamId(), sharing.get(0).getTeamId());
+            }
+        }
+
+        return null;
+    }
+
+    private static LocalDateTime kickOff(LocalDateTime firstKickOff, int daysBetweenRounds, int round) {
+        return firstKickOff == null ? null : firstKickOff.plusDays((long) daysBetweenRounds * (round - 1));
+    }
+
+}
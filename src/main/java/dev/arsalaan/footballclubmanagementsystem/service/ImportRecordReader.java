@@ -0,0 +1,341 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+Reads the records of a bulk import upload one at a time as field name -> text, so whatever the size of the upload
+only the record being read is held in memory. Nested JSON values (such as the playerIds of a Team export) are skipped.
+A malformed record comes back with an error and reading carries on with the next one, except inside a JSON array
+where the parser cannot find its way back: the error ends the upload there.
+Records are numbered from 1 in the order they appear, the CSV header row is not counted.
+ */
+
+abstract class ImportRecordReader implements Closeable {
+
+    // a longer field or NDJSON line is rejected without being kept, so one huge value cannot exhaust memory
+    static final int MAX_RECORD_LENGTH = 16_384;
+
+    final Reader reader;
+    private long number;
+
+    private ImportRecordReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    static ImportRecordReader open(InputStream in, BulkImportService.Format format, JsonFactory jsonFactory) throws IOException {
+        switch (format) {
+            case CSV:
+                return new Csv(in);
+            case JSON:
+                return new JsonArray(in, jsonFactory);
+            default:
+                return new Ndjson(in, jsonFactory);
+        }
+    }
+
+    // null once the upload is exhausted
+    final Record next() throws IOException {
+
+        Record record = read();
+
+        if (record != null) {
+            record.number = ++number;
+        }
+
+        return record;
+    }
+
+    abstract Record read() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    @Getter
+    static final class Record {
+
+        private long number;
+        private final Map<String, String> fields;
+        // set when the record could not be read, the fields are then empty
+        private final String error;
+
+        private Record(Map<String, String> fields, String error) {
+            this.fields = fields;
+            this.error = error;
+        }
+
+        static Record of(Map<String, String> fields) {
+            return new Record(fields, null);
+        }
+
+        static Record malformed(String error) {
+            return new Record(Map.of(), error);
+        }
+    }
+
+    // RFC 4180: a header row naming the fields, comma separated, optionally "quoted" with "" for a quote inside,
+    // quoted fields may span lines. Blank lines are skipped.
+    private static final class Csv extends ImportRecordReader {
+
+        private final List<String> header;
+        private int pending = -2; // a character read ahead, -2 for none
+
+        private Csv(InputStream in) throws IOException {
+            super(in);
+            skipByteOrderMark();
+            Line line = readLine();
+            while (line != null && line.isBlank()) {
+                line = readLine();
+            }
+            if (line == null || line.error != null) {
+                throw new ApiRequestException(line == null ? "the CSV upload is empty" : "the CSV header is malformed: " + line.error);
+            }
+            header = new ArrayList<>();
+            line.fields.forEach(name -> header.add(name.trim()));
+        }
+
+        @Override
+        Record read() throws IOException {
+
+            Line line = readLine();
+            while (line != null && line.isBlank()) {
+                line = readLine();
+            }
+
+            if (line == null) {
+                return null;
+            }
+
+            if (line.error != null) {
+                return Record.malformed(line.error);
+            }
+
+            if (line.fields.size() != header.size()) {
+                return Record.malformed("expected " + header.size() + " fields, found " + line.fields.size());
+            }
+
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                fields.put(header.get(i), line.fields.get(i));
+            }
+
+            return Record.of(fields);
+        }
+
+        private Line readLine() throws IOException {
+
+            int c = readChar();
+            if (c == -1) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            String error = null;
+            boolean quoted = false;
+            int length = 0;
+
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        error = error != null ? error : "unterminated quoted field";
+                        break;
+                    }
+                    if (c == '"') {
+                        int following = readChar();
+                        if (following != '"') {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    }
+                } else if (c == ',' || c == '\n' || c == '\r' || c == -1) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    if (c == '\r') {
+                        int following = readChar();
+                        if (following != '\n') {
+                            pending = following;
+                        }
+                    }
+                    if (c != ',') {
+                        break;
+                    }
+                    c = readChar();
+                    continue;
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                    c = readChar();
+                    continue;
+                }
+
+                if (++length > MAX_RECORD_LENGTH) {
+                    error = "record longer than " + MAX_RECORD_LENGTH + " characters";
+                } else {
+                    field.append((char) c);
+                }
+                c = readChar();
+            }
+
+            return new Line(fields, error);
+        }
+
+        private void skipByteOrderMark() throws IOException {
+            int c = readChar();
+            if (c != '\uFEFF') {
+                pending = c;
+            }
+        }
+
+        private int readChar() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        @AllArgsConstructor
+        private static final class Line {
+
+            final List<String> fields;
+            final String error;
+
+            boolean isBlank() {
+                return error == null && fields.size() == 1 && fields.get(0).isBlank();
+            }
+        }
+    }
+
+    // a single JSON array of objects, read token by token
+    private static final class JsonArray extends ImportRecordReader {
+
+        private final JsonParser parser;
+        private boolean ended;
+
+        private JsonArray(InputStream in, JsonFactory jsonFactory) throws IOException {
+            super(in);
+            parser = jsonFactory.createParser(reader);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ApiRequestException("a JSON upload must be an array of objects");
+            }
+        }
+
+        @Override
+        Record read() throws IOException {
+
+            if (ended) {
+                return null;
+            }
+
+            try {
+                JsonToken token = parser.nextToken();
+
+                if (token == JsonToken.END_ARRAY || token == null) {
+                    ended = true;
+                    return null;
+                }
+
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    return Record.malformed("not a JSON object");
+                }
+
+                return Record.of(readObject(parser));
+            } catch (JsonProcessingException e) {
+                ended = true;
+                return Record.malformed("malformed JSON, the rest of the upload was not read: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // one JSON object per line, a line that is not one is reported on its own
+    private static final class Ndjson extends ImportRecordReader {
+
+        private final JsonFactory jsonFactory;
+        private final StringBuilder line = new StringBuilder();
+
+        private Ndjson(InputStream in, JsonFactory jsonFactory) {
+            super(in);
+            this.jsonFactory = jsonFactory;
+        }
+
+        @Override
+        Record read() throws IOException {
+
+            boolean tooLong;
+            do {
+                line.setLength(0);
+                tooLong = false;
+                int c = reader.read();
+                if (c == -1) {
+                    return null;
+                }
+                while (c != -1 && c != '\n') {
+                    if (line.length() < MAX_RECORD_LENGTH) {
+                        line.append((char) c);
+                    } else {
+                        tooLong = true;
+                    }
+                    c = reader.read();
+                }
+            } while (!tooLong && line.toString().isBlank());
+
+            if (tooLong) {
+                return Record.malformed("record longer than " + MAX_RECORD_LENGTH + " characters");
+            }
+
+            try (JsonParser parser = jsonFactory.createParser(line.toString())) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return Record.malformed("not a JSON object");
+                }
+                Map<String, String> fields = readObject(parser);
+                if (parser.nextToken() != null) {
+                    return Record.malformed("more than one JSON value on the line");
+                }
+                return Record.of(fields);
+            } catch (JsonProcessingException e) {
+                return Record.malformed("malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // the parser is on START_OBJECT, left on the matching END_OBJECT
+    private static Map<String, String> readObject(JsonParser parser) throws IOException {
+
+        Map<String, String> fields = new HashMap<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value.isStructStart()) {
+                parser.skipChildren();
+            } else {
+                fields.put(name, value == JsonToken.VALUE_NULL ? null : parser.getText());
+            }
+        }
+
+        return fields;
+    }
+
+}
@@ -0,0 +1,122 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/*
+Shape of a knockout bracket and the Monte Carlo simulation of its open ties.
+
+A bracket for n Teams has `size` places, the next power of two, in log2(size) rounds and size - 1 ties. Seeds are
+placed in the usual order (1 against size, 1 and 2 can only meet in the final, 1 to 4 not before the semi-finals,
+and so on) and the places after the last seed are byes, which so go to the top seeds.
+
+For the simulation the ties are numbered like a binary heap: the final is tie 1 and ties 2k and 2k + 1 feed tie k,
+so slot s of round r is tie (size >> r) + s. A run decides the open ties bottom up, O(size), with
+P(a beats b) = strength(a) / (strength(a) + strength(b)). The runs are split into chunks on a dedicated fork-join
+pool (app.cups.simulation.parallelism threads, one per processor by default), each chunk with its own
+SplittableRandom split off one seeded root, so a seed gives the same result however the chunks are scheduled.
+ */
+
+@Component
+public class KnockoutBracket {
+
+    // more chunks than threads, so a thread that finishes early can take over work
+    static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+
+    public KnockoutBracket(@Value("${app.cups.simulation.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    public static int size(int teams) {
+        return teams <= 1 ? 1 : Integer.highestOneBit(teams - 1) << 1;
+    }
+
+    public static int rounds(int size) {
+        return Integer.numberOfTrailingZeros(size);
+    }
+
+    // the seed (from 1) in each place of the first round, places 2s and 2s + 1 meet in slot s, the better seed first
+    public static int[] seedOrder(int size) {
+
+        int[] order = {1};
+
+        while (order.length < size) {
+            int[] next = new int[order.length * 2];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = 2 * order.length + 1 - order[i];
+            }
+            order = next;
+        }
+
+        return order;
+    }
+
+    public static int tie(int size, int round, int slot) {
+        return (size >> round) + slot;
+    }
+
+    /*
+    How often each Team wins the Cup in `iterations` runs of the open ties. Teams are indexes into `strengths`, the
+    arrays are indexed by tie (1 to size - 1, 0 is unused): `winner` holds the Team that won the tie or -1, `home` and
+    `away` the Teams already in it or -1 while they still come from tie 2k or 2k + 1.
+     */
+    public long[] simulate(int[] home, int[] away, int[] winner, double[] strengths, int iterations, long seed) {
+
+        int chunks = Math.max(1, Math.min(iterations, pool.getParallelism() * CHUNKS_PER_THREAD));
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        return pool.submit(() -> IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> run(home, away, winner, strengths, iterations / chunks + (c < iterations % chunks ? 1 : 0), randoms[c]))
+                .reduce(new long[strengths.length], KnockoutBracket::add)).join();
+    }
+
+    static long[] run(int[] home, int[] away, int[] winner, double[] strengths, int runs, SplittableRandom random) {
+
+        long[] wins = new long[strengths.length];
+        int[] won = new int[winner.length];
+
+        for (int r = 0; r < runs; r++) {
+            for (int k = winner.length - 1; k >= 1; k--) {
+
+                if (winner[k] >= 0) {
+                    won[k] = winner[k];
+                    continue;
+                }
+
+                int a = home[k] >= 0 ? home[k] : won[2 * k];
+                int b = away[k] >= 0 ? away[k] : won[2 * k + 1];
+                won[k] = random.nextDouble() * (strengths[a] + strengths[b]) < strengths[a] ? a : b;
+            }
+            wins[won[1]]++;
+        }
+
+        return wins;
+    }
+
+    private static long[] add(long[] first, long[] second) {
+
+        long[] sum = new long[first.length];
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] = first[i] + second[i];
+        }
+        return sum;
+    }
+
+}
@@ -1,33 +1,60 @@
 package dev.arsalaan.footballclubmanagementsystem.service;
 
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.LeagueDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.LeagueStandingsDTO;
 import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
 import dev.arsalaan.footballclubmanagementsystem.mapper.LeagueMapper;
 import dev.arsalaan.footballclubmanagementsystem.model.League;
 import dev.arsalaan.footballclubmanagementsystem.repository.LeagueRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.StandingRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("service.method")
 public class LeagueService {
 
     private final LeagueRepository leagueRepository;
+    private final TeamRepository teamRepository;
+    private final StandingRepository standingRepository;
     private final LeagueMapper leagueMapper;
 
-    public LeagueService(LeagueRepository leagueRepository, LeagueMapper leagueMapper) {
+    public LeagueService(LeagueRepository leagueRepository, TeamRepository teamRepository,
+                         StandingRepository standingRepository, LeagueMapper leagueMapper) {
         this.leagueRepository = leagueRepository;
+        this.teamRepository = teamRepository;
+        this.standingRepository = standingRepository;
         this.leagueMapper = leagueMapper;
     }
 
+    @Transactional(readOnly = true)
     public List<LeagueDTO> getAllLeagues() {
-        List<League> leagues = leagueRepository.findAll();
+        List<League> leagues = leagueRepository.findAllWithTeams();
         return leagueMapper.toLeagueDTOs(leagues);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<LeagueDTO> getLeaguesPage(Long after, int limit) {
+        List<League> leagues = leagueRepository.findByLeagueIdGreaterThanOrderByLeagueIdAsc(
+                CursorPaging.after(after), CursorPaging.seek(limit));
+
+        if (!leagues.isEmpty()) {
+            leagueRepository.fetchTeams(leagues.stream().map(League::getLeagueId).collect(Collectors.toList()));
+        }
+
+        return CursorPageDTO.of(leagueMapper.toLeagueDTOs(leagues), limit, LeagueDTO::getLeagueId);
+    }
+
+    @Transactional(readOnly = true)
     public LeagueDTO getLeagueById(Long leagueId) {
 
         League league = leagueRepository.findById(leagueId).orElseThrow(
@@ -36,6 +63,33 @@ public class LeagueService {
         return leagueMapper.toLeagueDTO(league);
     }
 
+    // covers the League and the Teams embedded in its DTO
+    @Transactional(readOnly = true)
+    public String getLeagueETag(Long leagueId) {
+
+        Long version = leagueRepository.findVersionByLeagueId(leagueId).orElseThrow(
+                () -> new ApiRequestException("league with id " + leagueId + " does not exist"));
+
+        return ETags.of(version, teamRepository.findVersionsByLeagueId(leagueId));
+    }
+
+    // the precomputed table of a season, the latest season with results when none is given
+    @Transactional(readOnly = true)
+    public LeagueStandingsDTO getLeagueStandings(Long leagueId, Integer season) {
+
+        if (!leagueRepository.existsById(leagueId)) {
+            throw new ApiRequestException("league with id " + leagueId + " does not exist");
+        }
+
+        Integer tableSeason = season != null ? season : standingRepository.findLatestSeason(leagueId).orElse(null);
+
+        if (tableSeason == null) {
+            return new LeagueStandingsDTO(leagueId, null, Collections.emptyList());
+        }
+
+        return new LeagueStandingsDTO(leagueId, tableSeason, standingRepository.findStandings(leagueId, tableSeason));
+    }
+
     public void createLeague(LeagueDTO leagueDTO) {
 
         League league = leagueMapper.toLeague(leagueDTO);
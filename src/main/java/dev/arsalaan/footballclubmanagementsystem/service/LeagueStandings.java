@@ -0,0 +1,215 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.model.Match;
+import dev.arsalaan.footballclubmanagementsystem.model.Standing;
+import dev.arsalaan.footballclubmanagementsystem.repository.LeagueRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.MatchRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.StandingRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+Keeps the precomputed League tables (Standing rows) in step with the results, one Match at a time.
+A recorded, corrected or removed result changes the rows of its two Teams by the difference between the old and the
+new score and moves those two rows to their new places, the rest of the table keeps its order. That is O(teams) per
+result whatever the number of Matches already played, nothing is ever recomputed from the Matches.
+
+Teams are ordered by points, goal difference and goals scored, then by the head-to-head record (points, goal
+difference, goals scored) in the Matches between the Teams still level, and lastly by Team id where the rules
+would go to a play-off. Only the groups of level Teams the two changed rows enter or leave are re-sorted, the
+head-to-head Matches of such a group are the one extra query.
+
+Must run inside the caller's transaction: the League row is locked first, so updates of one League's table are
+applied one after the other.
+ */
+
+@Component
+public class LeagueStandings {
+
+    static final int POINTS_FOR_WIN = 3;
+    static final int POINTS_FOR_DRAW = 1;
+
+    // points, goal difference, goals scored (best first)
+    static final Comparator<Standing> TABLE_ORDER = Comparator.comparingInt(Standing::getPoints)
+            .thenComparingInt(Standing::getGoalDifference)
+            .thenComparingInt(Standing::getGoalsFor)
+            .reversed();
+
+    private final StandingRepository standingRepository;
+    private final LeagueRepository leagueRepository;
+    private final TeamRepository teamRepository;
+    private final MatchRepository matchRepository;
+
+    public LeagueStandings(StandingRepository standingRepository, LeagueRepository leagueRepository,
+                           TeamRepository teamRepository, MatchRepository matchRepository) {
+        this.standingRepository = standingRepository;
+        this.leagueRepository = leagueRepository;
+        this.teamRepository = teamRepository;
+        this.matchRepository = matchRepository;
+    }
+
+    // the Match already carries its new score (null goals when the result is removed), previous goals are null when
+    // there was no result before
+    public void resultChanged(Match match, Integer previousHomeGoals, Integer previousAwayGoals) {
+
+        boolean hadResult = previousHomeGoals != null && previousAwayGoals != null;
+
+        if (!hadResult && !match.hasResult()) {
+            return;
+        }
+
+        Long leagueId = match.getLeague().getLeagueId();
+        Integer season = match.getSeason();
+        leagueRepository.findLockedByLeagueId(leagueId);
+
+        List<Standing> table = standingRepository.findTable(leagueId, season);
+
+        if (table.isEmpty()) {
+            standingRepository.insertTableForLeagueTeams(leagueId, season);
+            table = standingRepository.findTable(leagueId, season);
+        }
+
+        Standing home = row(table, match, match.getHomeTeam().getTeamId());
+        Standing away = row(table, match, match.getAwayTeam().getTeamId());
+        List<Standing> changed = List.of(home, away);
+        List<Standing> previous = changed.stream().map(LeagueStandings::copyOf).collect(Collectors.toList());
+
+        if (hadResult) {
+            add(home, previousHomeGoals, previousAwayGoals, -1);
+            add(away, previousAwayGoals, previousHomeGoals, -1);
+        }
+
+        if (match.hasResult()) {
+            add(home, match.getHomeGoals(), match.getAwayGoals(), 1);
+            add(away, match.getAwayGoals(), match.getHomeGoals(), 1);
+        }
+
+        reposition(table, changed, previous, teamIds -> matchRepository.findResultsBetween(leagueId, season, teamIds));
+
+        // rows of Teams that joined the League after the table was started
+        changed.stream().filter(row -> row.getStandingId() == null).forEach(standingRepository::save);
+    }
+
+    private Standing row(List<Standing> table, Match match, Long teamId) {
+
+        for (Standing row : table) {
+            if (row.getTeam().getTeamId().equals(teamId)) {
+                return row;
+            }
+        }
+
+        return Standing.builder()
+                .league(match.getLeague())
+                .season(match.getSeason())
+                .team(teamRepository.getReferenceById(teamId))
+                .build();
+    }
+
+    static void add(Standing row, int scored, int conceded, int sign) {
+
+        row.setPlayed(row.getPlayed() + sign);
+        row.setGoalsFor(row.getGoalsFor() + sign * scored);
+        row.setGoalsAgainst(row.getGoalsAgainst() + sign * conceded);
+
+        if (scored > conceded) {
+            row.setWon(row.getWon() + sign);
+            row.setPoints(row.getPoints() + sign * POINTS_FOR_WIN);
+        } else if (scored == conceded) {
+            row.setDrawn(row.getDrawn() + sign);
+            row.setPoints(row.getPoints() + sign * POINTS_FOR_DRAW);
+        } else {
+            row.setLost(row.getLost() + sign);
+        }
+    }
+
+    /*
+    `table` is in the order of the positions before the change and `changed` are its rows whose numbers changed
+    (or new rows that are not in it yet), `previous` their numbers before the change. Takes the changed rows out,
+    puts them back where their new numbers go, re-sorts the groups of level rows they joined or left and writes the
+    positions that moved. Unchanged rows keep their order relative to each other, so this is O(table size).
+     */
+    static void reposition(List<Standing> table, Collection<Standing> changed, Collection<Standing> previous,
+                           Function<List<Long>, List<Match>> resultsBetween) {
+
+        List<Standing> ordered = new ArrayList<>(table.size() + changed.size());
+        for (Standing row : table) {
+            if (!changed.contains(row)) {
+                ordered.add(row);
+            }
+        }
+
+        for (Standing row : changed) {
+            int index = 0;
+            while (index < ordered.size() && TABLE_ORDER.compare(ordered.get(index), row) <= 0) {
+                index++;
+            }
+            ordered.add(index, row);
+        }
+
+        int start = 0;
+        while (start < ordered.size()) {
+
+            int end = start + 1;
+            while (end < ordered.size() && TABLE_ORDER.compare(ordered.get(start), ordered.get(end)) == 0) {
+                end++;
+            }
+
+            Standing level = ordered.get(start);
+            boolean affected = changed.stream().anyMatch(row -> TABLE_ORDER.compare(row, level) == 0)
+                    || previous.stream().anyMatch(row -> TABLE_ORDER.compare(row, level) == 0);
+
+            if (end - start > 1 && affected) {
+                List<Standing> group = ordered.subList(start, end);
+                group.sort(headToHead(group, resultsBetween));
+            }
+
+            start = end;
+        }
+
+        for (int i = 0; i < ordered.size(); i++) {
+            if (!Objects.equals(ordered.get(i).getPosition(), i + 1)) {
+                ordered.get(i).setPosition(i + 1);
+            }
+        }
+    }
+
+    // mini-table of the Matches between the level Teams only
+    private static Comparator<Standing> headToHead(List<Standing> group, Function<List<Long>, List<Match>> resultsBetween) {
+
+        Map<Long, Standing> miniTable = new HashMap<>();
+        for (Standing row : group) {
+            miniTable.put(row.getTeam().getTeamId(), new Standing());
+        }
+
+        for (Match match : resultsBetween.apply(new ArrayList<>(miniTable.keySet()))) {
+            Standing home = miniTable.get(match.getHomeTeam().getTeamId());
+            Standing away = miniTable.get(match.getAwayTeam().getTeamId());
+            if (home != null && away != null && match.hasResult()) {
+                add(home, match.getHomeGoals(), match.getAwayGoals(), 1);
+                add(away, match.getAwayGoals(), match.getHomeGoals(), 1);
+            }
+        }
+
+        Comparator<Standing> byHeadToHead = Comparator.comparing(row -> miniTable.get(row.getTeam().getTeamId()), TABLE_ORDER);
+        return byHeadToHead.thenComparing(row -> row.getTeam().getTeamId());
+    }
+
+    private static Standing copyOf(Standing row) {
+        return Standing.builder()
+                .points(row.getPoints())
+                .goalsFor(row.getGoalsFor())
+                .goalsAgainst(row.getGoalsAgainst())
+                .build();
+    }
+
+}
@@ -0,0 +1,390 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.arsalaan.footballclubmanagementsystem.dto.LiveScoreDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchEventDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiTooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+Server-Sent Events feeds of the live Matches, one per Match and one per League (every Match of it), for
+GET /api/v1/match/{matchId}/live and GET /api/v1/league/{leagueId}/live.
+
+Every update (a "match-event" with a MatchEventDTO, or a "score" with a LiveScoreDTO) is serialized once into a
+complete SSE frame, and the same bytes are written to every subscriber; nothing is serialized per client. The frame
+is put into each subscriber's own queue (app.live.subscriber-buffer frames) and a small pool of sender threads
+(app.live.senders) writes the queues out, so the thread publishing an update never waits for a client. A client
+that falls so far behind that its queue is full (its socket send buffer filled up first) is disconnected, and so is
+one whose connection turns out to be gone when written to; a heartbeat comment every app.live.heartbeat-seconds
+finds those on a quiet feed. A write blocks while the client's TCP window is closed, so a write still running after
+app.live.send-timeout-seconds drops its subscriber too and another sender thread takes over the stuck one's share
+until the write returns (at the latest after the connector's connection timeout), so a few stalled sockets cannot
+hold up the other feeds. Clients reconnect (EventSource does so by itself) and read the events they missed from
+GET /api/v1/match/{matchId}/events. A feed is also closed after app.live.timeout-minutes, and subscribers above
+app.live.max-subscribers are turned away with 429.
+
+Metrics: live.subscribers (gauge), live.updates (counter, the frames published) and live.subscribers.dropped
+(counter, tagged with the reason: slow, stalled or gone).
+ */
+
+@Component
+@Slf4j
+public class LiveScoreFeed {
+
+    private static final byte[] CONNECTED = ": connected\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+    // Subscriber.sendStarted when no write is running, and once the watchdog gave up on the running one
+    private static final long IDLE = Long.MIN_VALUE;
+    private static final long STALLED = Long.MIN_VALUE + 1;
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+
+    private final Map<Long, Set<Subscriber>> matchFeeds = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> leagueFeeds = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong frameIds = new AtomicLong();
+
+    private final ThreadPoolExecutor senders;
+    private final int sendersBase;
+    // guards stalledSenders and the resizing, a lock rather than synchronized so virtual threads do not pin
+    private final ReentrantLock sendersLock = new ReentrantLock();
+    private int stalledSenders;
+    private final ScheduledExecutorService heartbeat;
+
+    private final Counter updates;
+    private final Counter droppedSlow;
+    private final Counter droppedStalled;
+    private final Counter droppedGone;
+
+    @Autowired
+    public LiveScoreFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         @Value("${app.live.subscriber-buffer:256}") int bufferSize,
+                         @Value("${app.live.max-subscribers:10000}") int maxSubscribers,
+                         @Value("${app.live.timeout-minutes:30}") long timeoutMinutes,
+                         @Value("${app.live.senders:0}") int senders,
+                         @Value("${app.live.heartbeat-seconds:15}") long heartbeatSeconds,
+                         @Value("${app.live.send-timeout-seconds:10}") long sendTimeoutSeconds) {
+        this(objectMapper, meterRegistry, bufferSize, maxSubscribers, timeoutMinutes,
+                (ThreadPoolExecutor) Executors.newFixedThreadPool(
+                        senders > 0 ? senders : Runtime.getRuntime().availableProcessors(), daemon("live-sender")),
+                heartbeatSeconds, sendTimeoutSeconds);
+    }
+
+    // the feeds written out by the given threads
+    LiveScoreFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry, int bufferSize, int maxSubscribers,
+                  long timeoutMinutes, ThreadPoolExecutor senders, long heartbeatSeconds, long sendTimeoutSeconds) {
+
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.sendTimeoutNanos = TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+        this.senders = senders;
+        this.sendersBase = senders.getCorePoolSize();
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("live-heartbeat"));
+        this.heartbeat.scheduleWithFixedDelay(this::sendHeartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        this.heartbeat.scheduleWithFixedDelay(this::checkSends, 1, 1, TimeUnit.SECONDS);
+
+        Gauge.builder("live.subscribers", subscribers, AtomicInteger::get).register(meterRegistry);
+        updates = meterRegistry.counter("live.updates");
+        droppedSlow = meterRegistry.counter("live.subscribers.dropped", "reason", "slow");
+        droppedStalled = meterRegistry.counter("live.subscribers.dropped", "reason", "stalled");
+        droppedGone = meterRegistry.counter("live.subscribers.dropped", "reason", "gone");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+        List<Subscriber> all = new ArrayList<>();
+        matchFeeds.values().forEach(all::addAll);
+        leagueFeeds.values().forEach(all::addAll);
+        for (Subscriber subscriber : all) {
+            try {
+                subscriber.emitter.complete();
+            } catch (RuntimeException e) {
+                // its client went away already, the others still get completed
+            }
+        }
+    }
+
+    public ResponseBodyEmitter subscribeToMatch(Long matchId) {
+        return subscribe(matchFeeds, matchId);
+    }
+
+    public ResponseBodyEmitter subscribeToLeague(Long leagueId) {
+        return subscribe(leagueFeeds, leagueId);
+    }
+
+    public int subscribers() {
+        return subscribers.get();
+    }
+
+    // the Matches and Leagues with subscribers
+    int feeds() {
+        return matchFeeds.size() + leagueFeeds.size();
+    }
+
+    // the stored events of Matches, in order, and the new score of each of these Matches
+    public void publish(List<MatchEventDTO> events, List<LiveScoreDTO> scores) {
+
+        if (subscribers.get() == 0) {
+            return;
+        }
+
+        Map<Long, Long> leagueIds = new HashMap<>();
+        scores.forEach(score -> leagueIds.put(score.getMatchId(), score.getLeagueId()));
+
+        for (MatchEventDTO event : events) {
+            broadcast(event.getMatchId(), leagueIds.get(event.getMatchId()), "match-event", event);
+        }
+
+        for (LiveScoreDTO score : scores) {
+            broadcast(score.getMatchId(), score.getLeagueId(), "score", score);
+        }
+    }
+
+    private ResponseBodyEmitter subscribe(Map<Long, Set<Subscriber>> feeds, Long id) {
+
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new ApiTooManyRequestsException("the live feeds are full, subscribe again later");
+        }
+
+        Subscriber subscriber = new Subscriber(new ResponseBodyEmitter(timeoutMillis), bufferSize, feeds, id);
+        // added inside the compute, so it cannot land in a set that remove is just dropping as empty
+        feeds.compute(id, (key, feed) -> {
+            Set<Subscriber> subscribed = feed != null ? feed : ConcurrentHashMap.newKeySet();
+            subscribed.add(subscriber);
+            return subscribed;
+        });
+
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+
+        // sends the response headers straight away
+        deliver(subscriber, CONNECTED);
+        return subscriber.emitter;
+    }
+
+    private void broadcast(Long matchId, Long leagueId, String name, Object data) {
+
+        Set<Subscriber> matchFeed = matchFeeds.get(matchId);
+        Set<Subscriber> leagueFeed = leagueId == null ? null : leagueFeeds.get(leagueId);
+
+        if ((matchFeed == null || matchFeed.isEmpty()) && (leagueFeed == null || leagueFeed.isEmpty())) {
+            return;
+        }
+
+        byte[] frame = frame(name, data);
+        updates.increment();
+        deliver(matchFeed, frame);
+        deliver(leagueFeed, frame);
+    }
+
+    private byte[] frame(String name, Object data) {
+        try {
+            return ("id:" + frameIds.incrementAndGet() + "\nevent:" + name + "\ndata:" + objectMapper.writeValueAsString(data)
+                    + "\n\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("live update could not be serialized", e);
+        }
+    }
+
+    private void sendHeartbeat() {
+        matchFeeds.values().forEach(feed -> deliver(feed, HEARTBEAT));
+        leagueFeeds.values().forEach(feed -> deliver(feed, HEARTBEAT));
+    }
+
+    private void deliver(Collection<Subscriber> feed, byte[] frame) {
+        if (feed != null) {
+            feed.forEach(subscriber -> deliver(subscriber, frame));
+        }
+    }
+
+    private void deliver(Subscriber subscriber, byte[] frame) {
+
+        if (!subscriber.frames.offer(frame)) {
+            // its drain is scheduled (the queue is full) and completes the feed, the emitter is locked while it writes
+            if (remove(subscriber)) {
+                droppedSlow.increment();
+                log.debug("Dropped a live feed subscriber {} frames behind", bufferSize);
+            }
+            return;
+        }
+
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    // runs on one sender thread at a time per subscriber, so its frames go out in order
+    private void drain(Subscriber subscriber) {
+
+        try {
+            byte[] frame;
+            while (!subscriber.removed.get() && (frame = subscriber.frames.poll()) != null) {
+                send(subscriber, frame);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the client went away, or the feed was completed in the meantime
+            if (remove(subscriber)) {
+                droppedGone.increment();
+                subscriber.emitter.completeWithError(e);
+            }
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+
+        // dropped as too slow (or its feed ended) while frames were queued
+        if (subscriber.removed.get()) {
+            subscriber.emitter.complete();
+            return;
+        }
+
+        // a frame queued after the last poll but before the flag was cleared
+        if (!subscriber.frames.isEmpty() && !subscriber.removed.get() && subscriber.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void send(Subscriber subscriber, byte[] frame) throws IOException {
+
+        long started = System.nanoTime();
+        subscriber.sendStarted.set(started);
+
+        try {
+            subscriber.emitter.send(frame, MediaType.TEXT_EVENT_STREAM);
+        } finally {
+            if (!subscriber.sendStarted.compareAndSet(started, IDLE)) {
+                // checkSends gave up on this write and added a sender in place of this thread, which is free again
+                resizeSenders(-1);
+            }
+        }
+    }
+
+    // drops the subscribers whose write has been blocked for longer than the send timeout
+    private void checkSends() {
+
+        long now = System.nanoTime();
+        List<Subscriber> all = new ArrayList<>();
+        matchFeeds.values().forEach(all::addAll);
+        leagueFeeds.values().forEach(all::addAll);
+
+        for (Subscriber subscriber : all) {
+            long started = subscriber.sendStarted.get();
+            if (started != IDLE && started != STALLED && now - started > sendTimeoutNanos
+                    && subscriber.sendStarted.compareAndSet(started, STALLED)) {
+                resizeSenders(1);
+                // completed by its drain once the write returns, the emitter is locked until then
+                if (remove(subscriber)) {
+                    droppedStalled.increment();
+                    log.debug("Dropped a live feed subscriber whose write took longer than {} ms",
+                            TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                }
+            }
+        }
+    }
+
+    // one more sender thread for every write checkSends gave up on, until it returns
+    private void resizeSenders(int delta) {
+
+        sendersLock.lock();
+        try {
+            stalledSenders += delta;
+            int size = sendersBase + Math.max(0, stalledSenders);
+
+            if (size > senders.getMaximumPoolSize()) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        } finally {
+            sendersLock.unlock();
+        }
+    }
+
+    // true for the one caller that actually removed it
+    private boolean remove(Subscriber subscriber) {
+
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return false;
+        }
+
+        subscriber.feeds.computeIfPresent(subscriber.id, (id, feed) -> {
+            feed.remove(subscriber);
+            return feed.isEmpty() ? null : feed;
+        });
+        subscriber.frames.clear();
+        subscribers.decrementAndGet();
+        return true;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Subscriber {
+
+        private final ResponseBodyEmitter emitter;
+        private final ArrayBlockingQueue<byte[]> frames;
+        private final Map<Long, Set<Subscriber>> feeds;
+        private final Long id;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        // System.nanoTime() when the running write started, IDLE or STALLED
+        private final AtomicLong sendStarted = new AtomicLong(IDLE);
+
+        Subscriber(ResponseBodyEmitter emitter, int bufferSize, Map<Long, Set<Subscriber>> feeds, Long id) {
+            this.emitter = emitter;
+            this.frames = new ArrayBlockingQueue<>(bufferSize);
+            this.feeds = feeds;
+            this.id = id;
+        }
+
+    }
+
+}
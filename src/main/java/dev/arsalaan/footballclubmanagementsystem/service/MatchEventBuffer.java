@@ -0,0 +1,211 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+The in-process buffer between POST /api/v1/match/{matchId}/events and the database.
+
+Requests put their events into a bounded ring (an ArrayBlockingQueue, app.match-events.buffer-capacity events) and
+return without touching the database. A single consumer thread takes whatever is queued, up to
+app.match-events.batch-size events at a time, and stores it with MatchEventWriter. So under load a batch grows and
+the database sees fewer, larger transactions, and a single writer keeps every Match's events in the order they were
+queued. Once a batch is committed, its events and the new scores go out on the LiveScoreFeed. A request's events go
+in all at once or, when they do not fit, not at all, and the request is turned away with 429 so the client can send
+them again (safe, the writer skips event ids it has already stored).
+
+A batch that cannot be stored is tried WRITE_ATTEMPTS times and then dropped, with an error logged. Events still
+queued on shutdown are stored before the consumer stops, for up to SHUTDOWN_TIMEOUT_MILLIS; whatever is left
+after that is logged as lost.
+
+Metrics: match.events.buffer.depth and match.events.buffer.capacity (gauges), match.events.batch.size (summary),
+match.events.batch.write (timer) and match.events (counter) tagged with the outcome: accepted or rejected when
+queued, stored, duplicate, invalid or failed when written.
+ */
+
+@Component
+@Slf4j
+public class MatchEventBuffer {
+
+    static final int WRITE_ATTEMPTS = 3;
+    private static final long POLL_MILLIS = 100;
+    private static final long RETRY_BACKOFF_MILLIS = 200;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final ArrayBlockingQueue<MatchEventDTO> ring;
+    private final int batchSize;
+    private final MatchEventWriter matchEventWriter;
+    private final LiveScoreFeed liveScoreFeed;
+    private final Thread consumer;
+    // held by the requests adding events, a lock rather than synchronized so virtual threads do not pin
+    private final ReentrantLock producerLock = new ReentrantLock();
+    // queued and not yet written (or dropped)
+    private final AtomicLong pending = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile boolean abandoned;
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter stored;
+    private final Counter duplicates;
+    private final Counter invalid;
+    private final Counter failed;
+    private final DistributionSummary batchSizes;
+    private final Timer batchWrites;
+
+    public MatchEventBuffer(MatchEventWriter matchEventWriter, LiveScoreFeed liveScoreFeed, MeterRegistry meterRegistry,
+                            @Value("${app.match-events.buffer-capacity:65536}") int capacity,
+                            @Value("${app.match-events.batch-size:500}") int batchSize) {
+
+        this.ring = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.matchEventWriter = matchEventWriter;
+        this.liveScoreFeed = liveScoreFeed;
+        this.consumer = new Thread(this::consume, "match-events");
+        this.consumer.setDaemon(true);
+
+        Gauge.builder("match.events.buffer.depth", ring, ArrayBlockingQueue::size).register(meterRegistry);
+        Gauge.builder("match.events.buffer.capacity", () -> capacity).register(meterRegistry);
+        accepted = meterRegistry.counter("match.events", "outcome", "accepted");
+        rejected = meterRegistry.counter("match.events", "outcome", "rejected");
+        stored = meterRegistry.counter("match.events", "outcome", "stored");
+        duplicates = meterRegistry.counter("match.events", "outcome", "duplicate");
+        invalid = meterRegistry.counter("match.events", "outcome", "invalid");
+        failed = meterRegistry.counter("match.events", "outcome", "failed");
+        batchSizes = DistributionSummary.builder("match.events.batch.size").publishPercentileHistogram().register(meterRegistry);
+        batchWrites = meterRegistry.timer("match.events.batch.write");
+    }
+
+    @PostConstruct
+    void start() {
+        consumer.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        consumer.join(SHUTDOWN_TIMEOUT_MILLIS);
+
+        if (consumer.isAlive()) {
+            // stops after the batch it is writing, before the database goes away with the rest of the context
+            abandoned = true;
+            consumer.join(SHUTDOWN_TIMEOUT_MILLIS);
+            log.error("Shut down with {} Match events not stored", ring.size());
+        }
+    }
+
+    public int capacity() {
+        return ring.size() + ring.remainingCapacity();
+    }
+
+    // all of the events or, when they do not fit (or the application is shutting down), none of them
+    public boolean offer(List<MatchEventDTO> events) {
+
+        // the consumer only takes events out, so the room checked here is still there when they are added
+        producerLock.lock();
+        try {
+            if (!running || ring.remainingCapacity() < events.size()) {
+                rejected.increment(events.size());
+                return false;
+            }
+            pending.addAndGet(events.size());
+            ring.addAll(events);
+        } finally {
+            producerLock.unlock();
+        }
+
+        accepted.increment(events.size());
+        return true;
+    }
+
+    long pending() {
+        return pending.get();
+    }
+
+    private void consume() {
+
+        List<MatchEventDTO> batch = new ArrayList<>(batchSize);
+
+        while (!abandoned && (running || !ring.isEmpty())) {
+
+            MatchEventDTO first;
+            try {
+                first = ring.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Match event consumer interrupted with {} events queued", ring.size());
+                return;
+            }
+
+            if (first == null) {
+                continue;
+            }
+
+            batch.add(first);
+            ring.drainTo(batch, batchSize - 1);
+            batchSizes.record(batch.size());
+            batchWrites.record(() -> write(batch));
+            pending.addAndGet(-batch.size());
+            batch.clear();
+        }
+    }
+
+    private void write(List<MatchEventDTO> batch) {
+
+        for (int attempt = 1; attempt <= WRITE_ATTEMPTS; attempt++) {
+
+            MatchEventWriter.Written written;
+            try {
+                written = matchEventWriter.write(batch);
+            } catch (RuntimeException e) {
+                log.warn("Storing a batch of {} Match events failed (attempt {} of {}): {}", batch.size(), attempt,
+                        WRITE_ATTEMPTS, e.getMessage());
+                if (attempt < WRITE_ATTEMPTS) {
+                    sleep(RETRY_BACKOFF_MILLIS * attempt);
+                }
+                continue;
+            }
+
+            stored.increment(written.getStored().size());
+            duplicates.increment(written.getDuplicates());
+            invalid.increment(written.getInvalid());
+            try {
+                liveScoreFeed.publish(written.getStored(), written.getScores());
+            } catch (RuntimeException e) {
+                // stored all the same, the live feeds only miss this batch
+                log.warn("Publishing a batch of {} Match events to the live feeds failed: {}", written.getStored().size(),
+                        e.getMessage());
+            }
+            return;
+        }
+
+        failed.increment(batch.size());
+        log.error("Dropped a batch of {} Match events after {} attempts, from event {} to event {}", batch.size(),
+                WRITE_ATTEMPTS, batch.get(0).getEventId(), batch.get(batch.size() - 1).getEventId());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
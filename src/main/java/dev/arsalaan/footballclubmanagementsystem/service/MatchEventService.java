@@ -0,0 +1,129 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchEventDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiTooManyRequestsException;
+import dev.arsalaan.footballclubmanagementsystem.mapper.MatchEventMapper;
+import dev.arsalaan.footballclubmanagementsystem.model.MatchEvent;
+import dev.arsalaan.footballclubmanagementsystem.repository.LeagueRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.MatchEventRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.MatchRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.List;
+
+/*
+Live Match events. Ingestion only checks the events themselves and queues them in MatchEventBuffer, which stores
+them in batches in the background, so a request never waits for the database; it is answered with 202 Accepted,
+or with 429 when the buffer is full. Once stored, they and the new score are pushed to the live feeds of their
+Match and League (LiveScoreFeed).
+ */
+
+@Service
+@Timed("service.method")
+@Slf4j
+public class MatchEventService {
+
+    static final int MAX_EVENTS_PER_REQUEST = 1000;
+    static final int MAX_EVENT_ID_LENGTH = 64;
+    // extra time and stoppage time included
+    static final int MAX_MINUTE = 150;
+
+    private final MatchEventRepository matchEventRepository;
+    private final MatchRepository matchRepository;
+    private final LeagueRepository leagueRepository;
+    private final MatchEventMapper matchEventMapper;
+    private final MatchEventBuffer matchEventBuffer;
+    private final LiveScoreFeed liveScoreFeed;
+
+    public MatchEventService(MatchEventRepository matchEventRepository, MatchRepository matchRepository,
+                             LeagueRepository leagueRepository, MatchEventMapper matchEventMapper,
+                             MatchEventBuffer matchEventBuffer, LiveScoreFeed liveScoreFeed) {
+        this.matchEventRepository = matchEventRepository;
+        this.matchRepository = matchRepository;
+        this.leagueRepository = leagueRepository;
+        this.matchEventMapper = matchEventMapper;
+        this.matchEventBuffer = matchEventBuffer;
+        this.liveScoreFeed = liveScoreFeed;
+    }
+
+    // [GET] View the stored events of a Match, in the order they arrived
+    @Transactional(readOnly = true)
+    public List<MatchEventDTO> viewEventsForMatch(Long matchId) {
+
+        if (!matchRepository.existsById(matchId)) {
+            throw new ApiRequestException("match with id " + matchId + " does not exist");
+        }
+
+        return matchEventMapper.toMatchEventDTOs(matchEventRepository.findByMatchId(matchId));
+    }
+
+    // [POST] Queue events of a Match to be stored, all of them or none when the buffer is full
+    public void ingestEvents(Long matchId, List<MatchEventDTO> events) {
+
+        if (events == null || events.isEmpty()) {
+            throw new ApiRequestException("no match events given");
+        }
+
+        if (events.size() > Math.min(MAX_EVENTS_PER_REQUEST, matchEventBuffer.capacity())) {
+            throw new ApiRequestException("at most " + Math.min(MAX_EVENTS_PER_REQUEST, matchEventBuffer.capacity())
+                    + " match events can be sent at once");
+        }
+
+        for (MatchEventDTO event : events) {
+
+            if (event.getMatchId() != null && !event.getMatchId().equals(matchId)) {
+                throw new ApiRequestException("match event " + event.getEventId() + " is for Match with id "
+                        + event.getMatchId() + ", not " + matchId);
+            }
+
+            if (event.getEventId() == null || event.getEventId().isBlank() || event.getEventId().length() > MAX_EVENT_ID_LENGTH) {
+                throw new ApiRequestException("every match event needs an event id of at most " + MAX_EVENT_ID_LENGTH + " characters");
+            }
+
+            if (event.getType() == null || event.getTeamId() == null || event.getMinute() == null
+                    || event.getMinute() < 0 || event.getMinute() > MAX_MINUTE) {
+                throw new ApiRequestException("match event " + event.getEventId() + " needs a type, a team id and a minute from 0 to "
+                        + MAX_MINUTE);
+            }
+
+            if (event.getType() == MatchEvent.Type.SUBSTITUTION && (event.getPlayerId() == null || event.getRelatedPlayerId() == null)) {
+                throw new ApiRequestException("substitution " + event.getEventId()
+                        + " needs the player id coming off and the related player id coming on");
+            }
+
+            event.setMatchId(matchId);
+        }
+
+        if (!matchEventBuffer.offer(events)) {
+            throw new ApiTooManyRequestsException("the match event buffer is full, send the events again later");
+        }
+    }
+
+    // [GET] Follow the events and score of a Match live
+    @Transactional(readOnly = true)
+    public ResponseBodyEmitter subscribeToMatch(Long matchId) {
+
+        if (!matchRepository.existsById(matchId)) {
+            throw new ApiRequestException("match with id " + matchId + " does not exist");
+        }
+
+        return liveScoreFeed.subscribeToMatch(matchId);
+    }
+
+    // [GET] Follow the events and scores of every Match of a League live
+    @Transactional(readOnly = true)
+    public ResponseBodyEmitter subscribeToLeague(Long leagueId) {
+
+        if (!leagueRepository.existsById(leagueId)) {
+            throw new ApiRequestException("league with id " + leagueId + " does not exist");
+        }
+
+        return liveScoreFeed.subscribeToLeague(leagueId);
+    }
+
+}
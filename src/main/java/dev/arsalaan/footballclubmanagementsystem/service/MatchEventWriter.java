@@ -0,0 +1,145 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.LiveScoreDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchEventDTO;
+import dev.arsalaan.footballclubmanagementsystem.repository.MatchEventRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.MatchRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.PlayerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+Stores a batch of ingested Match events (see MatchEventBuffer) in one transaction, with the same statements whatever
+the size of the batch: the event ids already stored, the Teams of the Matches, the Players, one batched insert, the
+statistics of the Matches (MatchStatistics) and their goals, for the live scores that go out on the live feeds with
+the stored events.
+
+An event whose id is already stored, or appears earlier in the batch, is a retry and skipped. An event is invalid,
+and dropped with a warning, when its Match does not exist, its Team does not play in the Match or one of its Players
+does not exist; ingestion does not read the database, so these are only found here.
+Events keep their order of arrival within each Match, the batch is only grouped by Match.
+ */
+
+@Component
+@Slf4j
+public class MatchEventWriter {
+
+    private final MatchEventRepository matchEventRepository;
+    private final MatchRepository matchRepository;
+    private final PlayerRepository playerRepository;
+    private final MatchStatistics matchStatistics;
+
+    public MatchEventWriter(MatchEventRepository matchEventRepository, MatchRepository matchRepository,
+                            PlayerRepository playerRepository, MatchStatistics matchStatistics) {
+        this.matchEventRepository = matchEventRepository;
+        this.matchRepository = matchRepository;
+        this.playerRepository = playerRepository;
+        this.matchStatistics = matchStatistics;
+    }
+
+    @Transactional
+    public Written write(List<MatchEventDTO> batch) {
+
+        // the first of the events sharing an event id
+        Map<String, MatchEventDTO> eventsById = new LinkedHashMap<>();
+        for (MatchEventDTO event : batch) {
+            eventsById.putIfAbsent(event.getEventId(), event);
+        }
+        matchEventRepository.findExistingEventIds(eventsById.keySet()).forEach(eventsById::remove);
+        Collection<MatchEventDTO> events = eventsById.values();
+
+        if (events.isEmpty()) {
+            return new Written(List.of(), List.of(), batch.size(), 0);
+        }
+
+        Map<Long, MatchRepository.MatchTeams> matches = matchRepository.findTeamsByMatchIds(
+                        events.stream().map(MatchEventDTO::getMatchId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(MatchRepository.MatchTeams::getMatchId, Function.identity()));
+
+        Set<Long> playerIds = events.stream()
+                .flatMap(event -> Stream.of(event.getPlayerId(), event.getRelatedPlayerId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingPlayerIds = playerIds.isEmpty() ? Set.of() : playerRepository.findTeamIdsByPlayerIds(playerIds).stream()
+                .map(PlayerRepository.TeamPlayerId::getPlayerId)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<MatchEventDTO> valid = new ArrayList<>(events.size());
+        for (MatchEventDTO event : events) {
+
+            MatchRepository.MatchTeams match = matches.get(event.getMatchId());
+
+            if (match == null) {
+                log.warn("Dropped Match event {}: match with id {} does not exist", event.getEventId(), event.getMatchId());
+            } else if (!event.getTeamId().equals(match.getHomeTeamId()) && !event.getTeamId().equals(match.getAwayTeamId())) {
+                log.warn("Dropped Match event {}: Team with id {} does not play in Match with id {}", event.getEventId(),
+                        event.getTeamId(), event.getMatchId());
+            } else if (!existingPlayerIds.containsAll(Stream.of(event.getPlayerId(), event.getRelatedPlayerId())
+                    .filter(Objects::nonNull).collect(Collectors.toList()))) {
+                log.warn("Dropped Match event {}: one of its Players does not exist", event.getEventId());
+            } else {
+                valid.add(event);
+            }
+        }
+
+        int duplicates = batch.size() - events.size();
+
+        if (valid.isEmpty()) {
+            return new Written(List.of(), List.of(), duplicates, events.size());
+        }
+
+        // a stable sort, the events of a Match stay in order
+        valid.sort(Comparator.comparing(MatchEventDTO::getMatchId));
+        matchEventRepository.insertAll(valid);
+        matchStatistics.eventsStored(valid, matches);
+
+        return new Written(valid, scores(valid, matches), duplicates, events.size() - valid.size());
+    }
+
+    // the score of every Match with stored events, counting the events just inserted
+    private List<LiveScoreDTO> scores(List<MatchEventDTO> stored, Map<Long, MatchRepository.MatchTeams> matches) {
+
+        Map<Long, LiveScoreDTO> scores = new LinkedHashMap<>();
+        for (MatchEventDTO event : stored) {
+            scores.computeIfAbsent(event.getMatchId(), matchId -> {
+                MatchRepository.MatchTeams match = matches.get(matchId);
+                return new LiveScoreDTO(matchId, match.getLeagueId(), match.getHomeTeamId(), match.getAwayTeamId(), 0, 0);
+            });
+        }
+
+        for (MatchEventRepository.TeamGoals goals : matchEventRepository.countGoalsByMatchIds(scores.keySet())) {
+            LiveScoreDTO score = scores.get(goals.getMatchId());
+            if (goals.getTeamId().equals(score.getHomeTeamId())) {
+                score.setHomeGoals((int) goals.getGoals());
+            } else {
+                score.setAwayGoals((int) goals.getGoals());
+            }
+        }
+
+        return new ArrayList<>(scores.values());
+    }
+
+    @lombok.Value
+    public static class Written {
+        // in the order they were stored, and the new score of each Match they belong to
+        List<MatchEventDTO> stored;
+        List<LiveScoreDTO> scores;
+        int duplicates;
+        int invalid;
+    }
+
+}
@@ -0,0 +1,172 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchResultDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.mapper.MatchMapper;
+import dev.arsalaan.footballclubmanagementsystem.model.Match;
+import dev.arsalaan.footballclubmanagementsystem.repository.LeagueRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.MatchEventRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.MatchRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Service
+@Timed("service.method")
+@Slf4j
+public class MatchService {
+
+    private final MatchRepository matchRepository;
+    private final MatchEventRepository matchEventRepository;
+    private final LeagueRepository leagueRepository;
+    private final TeamRepository teamRepository;
+    private final MatchMapper matchMapper;
+    private final LeagueStandings leagueStandings;
+    private final MatchStatistics matchStatistics;
+
+    public MatchService(MatchRepository matchRepository, MatchEventRepository matchEventRepository,
+                        LeagueRepository leagueRepository, TeamRepository teamRepository,
+                        MatchMapper matchMapper, LeagueStandings leagueStandings, MatchStatistics matchStatistics) {
+        this.matchRepository = matchRepository;
+        this.matchEventRepository = matchEventRepository;
+        this.leagueRepository = leagueRepository;
+        this.teamRepository = teamRepository;
+        this.matchMapper = matchMapper;
+        this.leagueStandings = leagueStandings;
+        this.matchStatistics = matchStatistics;
+    }
+
+    // [GET] View a specific Match by its ID
+    @Transactional(readOnly = true)
+    public MatchDTO getMatchById(Long matchId) {
+
+        Match match = matchRepository.findById(matchId).orElseThrow(
+                () -> new ApiRequestException("match with id " + matchId + " does not exist"));
+
+        return matchMapper.toMatchDTO(match);
+    }
+
+    // [GET] View All Matches of a League, of one season or of every season, in kick-off order
+    @Transactional(readOnly = true)
+    public List<MatchDTO> viewAllMatchesForLeague(Long leagueId, Integer season) {
+
+        if (!leagueRepository.existsById(leagueId)) {
+            throw new ApiRequestException("League with id " + leagueId + " does not exist");
+        }
+
+        List<Match> matches = season == null
+                ? matchRepository.findByLeagueId(leagueId)
+                : matchRepository.findByLeagueIdAndSeason(leagueId, season);
+
+        return matchMapper.toMatchDTOs(matches);
+    }
+
+    // [POST] Create a Match (a fixture, or a played Match when the score is given) between two Teams of a League
+    @Transactional
+    public void createMatch(MatchDTO matchDTO) {
+
+        if (matchDTO.getLeagueId() == null || matchDTO.getSeason() == null
+                || matchDTO.getHomeTeamId() == null || matchDTO.getAwayTeamId() == null) {
+            throw new ApiRequestException("match needs a league id, season, home team id and away team id");
+        }
+
+        if (matchDTO.getHomeTeamId().equals(matchDTO.getAwayTeamId())) {
+            throw new ApiRequestException("Team with id " + matchDTO.getHomeTeamId() + " cannot play itself");
+        }
+
+        boolean played = matchDTO.getHomeGoals() != null || matchDTO.getAwayGoals() != null;
+        if (played) {
+            validateScore(matchDTO.getHomeGoals(), matchDTO.getAwayGoals());
+        }
+
+        Long leagueId = matchDTO.getLeagueId();
+        if (!leagueRepository.existsById(leagueId)) {
+            throw new ApiRequestException("League with id " + leagueId + " does not exist");
+        }
+
+        Map<Long, Long> leagueIdsByTeamId = teamRepository.findLeagueIdsByTeamIds(
+                        Arrays.asList(matchDTO.getHomeTeamId(), matchDTO.getAwayTeamId())).stream()
+                .filter(team -> team.getLeagueId() != null)
+                .collect(Collectors.toMap(TeamRepository.TeamLeagueId::getTeamId, TeamRepository.TeamLeagueId::getLeagueId));
+
+        for (Long teamId : Arrays.asList(matchDTO.getHomeTeamId(), matchDTO.getAwayTeamId())) {
+            if (!Objects.equals(leagueIdsByTeamId.get(teamId), leagueId)) {
+                throw new ApiRequestException("Team with id " + teamId + " is not in League with id " + leagueId);
+            }
+        }
+
+        Match match = Match.builder()
+                .league(leagueRepository.getReferenceById(leagueId))
+                .season(matchDTO.getSeason())
+                .matchday(matchDTO.getMatchday())
+                .homeTeam(teamRepository.getReferenceById(matchDTO.getHomeTeamId()))
+                .awayTeam(teamRepository.getReferenceById(matchDTO.getAwayTeamId()))
+                .kickOff(matchDTO.getKickOff())
+                .homeGoals(matchDTO.getHomeGoals())
+                .awayGoals(matchDTO.getAwayGoals())
+                .build();
+
+        matchRepository.save(match);
+        leagueStandings.resultChanged(match, null, null);
+        log.info("In DB, Created new Match with generated id: {}", match.getMatchId());
+    }
+
+    // [PUT] Record the result of a Match, or correct it, and update the League table
+    @Transactional
+    public void recordResult(Long matchId, MatchResultDTO matchResultDTO) {
+
+        validateScore(matchResultDTO.getHomeGoals(), matchResultDTO.getAwayGoals());
+
+        Match match = matchRepository.findLockedByMatchId(matchId).orElseThrow(
+                () -> new ApiRequestException("match with id " + matchId + " does not exist"));
+
+        Integer previousHomeGoals = match.getHomeGoals();
+        Integer previousAwayGoals = match.getAwayGoals();
+
+        if (Objects.equals(previousHomeGoals, matchResultDTO.getHomeGoals())
+                && Objects.equals(previousAwayGoals, matchResultDTO.getAwayGoals())) {
+            return;
+        }
+
+        match.setHomeGoals(matchResultDTO.getHomeGoals());
+        match.setAwayGoals(matchResultDTO.getAwayGoals());
+        leagueStandings.resultChanged(match, previousHomeGoals, previousAwayGoals);
+        log.info("In DB, Recorded result {}-{} for Match with id: {}", match.getHomeGoals(), match.getAwayGoals(), matchId);
+    }
+
+    // [DELETE] Remove a specific Match by its ID with its events, taking its result out of the League table
+    @Transactional
+    public void deleteMatchById(Long matchId) {
+
+        Match match = matchRepository.findLockedByMatchId(matchId).orElseThrow(
+                () -> new ApiRequestException("match with id " + matchId + " does not exist"));
+
+        Integer previousHomeGoals = match.getHomeGoals();
+        Integer previousAwayGoals = match.getAwayGoals();
+
+        match.setHomeGoals(null);
+        match.setAwayGoals(null);
+        leagueStandings.resultChanged(match, previousHomeGoals, previousAwayGoals);
+
+        matchStatistics.matchRemoved(matchId);
+        matchEventRepository.deleteByMatchId(matchId);
+        matchRepository.delete(match);
+        log.info("From DB, Deleted Match with id: {}", matchId);
+    }
+
+    private static void validateScore(Integer homeGoals, Integer awayGoals) {
+        if (homeGoals == null || awayGoals == null || homeGoals < 0 || awayGoals < 0) {
+            throw new ApiRequestException("home goals and away goals must both be given and not be negative");
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchEventDTO;
+import dev.arsalaan.footballclubmanagementsystem.model.PlayerMatchStats;
+import dev.arsalaan.footballclubmanagementsystem.model.TeamMatchStats;
+import dev.arsalaan.footballclubmanagementsystem.repository.MatchRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.PlayerMatchStatsRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.TeamMatchStatsRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+Keeps the per Match statistics of Players and Teams (PlayerMatchStats, TeamMatchStats rows) in step with the stored
+Match events, as MatchEventWriter stores them. The rows of the Matches in a batch are read once, the events are
+added to them in memory and the changed rows are written back in JDBC batches: at most six statements whatever
+the size of the batch. Season totals and rolling windows are then sums over at most one row per Match played.
+
+A goal counts for its scorer and the assisting Player, and for the Team it counts for (against the other one).
+The minutes of a Player run from the minute the Player came on (0 for a starter) to the minute the Player was
+substituted or sent off (90 when neither), so only Players named in an event of a Match have minutes in it.
+
+Must run inside the caller's transaction. rebuild() recounts everything from the events, for corrections: a batch
+that finds its rows replaced by a rebuild meanwhile fails and is retried by MatchEventBuffer.
+ */
+
+@Component
+public class MatchStatistics {
+
+    private final PlayerMatchStatsRepository playerMatchStatsRepository;
+    private final TeamMatchStatsRepository teamMatchStatsRepository;
+
+    public MatchStatistics(PlayerMatchStatsRepository playerMatchStatsRepository,
+                           TeamMatchStatsRepository teamMatchStatsRepository) {
+        this.playerMatchStatsRepository = playerMatchStatsRepository;
+        this.teamMatchStatsRepository = teamMatchStatsRepository;
+    }
+
+    // the events were just stored, `matches` has the Teams and season of each of their Matches
+    public void eventsStored(List<MatchEventDTO> events, Map<Long, MatchRepository.MatchTeams> matches) {
+
+        Set<Long> matchIds = events.stream().map(MatchEventDTO::getMatchId).collect(Collectors.toSet());
+
+        Map<String, PlayerMatchStats> playerRows = new LinkedHashMap<>();
+        playerMatchStatsRepository.findByMatchIds(matchIds)
+                .forEach(row -> playerRows.put(key(row.getPlayerId(), row.getMatchId()), row));
+        Map<String, TeamMatchStats> teamRows = new LinkedHashMap<>();
+        teamMatchStatsRepository.findByMatchIds(matchIds)
+                .forEach(row -> teamRows.put(key(row.getTeamId(), row.getMatchId()), row));
+
+        Set<Object> changed = new HashSet<>();
+
+        for (MatchEventDTO event : events) {
+
+            MatchRepository.MatchTeams match = matches.get(event.getMatchId());
+            TeamMatchStats team = teamRow(teamRows, match, event.getTeamId());
+            TeamMatchStats opponent = teamRow(teamRows, match,
+                    event.getTeamId().equals(match.getHomeTeamId()) ? match.getAwayTeamId() : match.getHomeTeamId());
+            PlayerMatchStats player = event.getPlayerId() == null ? null : playerRow(playerRows, match, event.getPlayerId());
+            PlayerMatchStats related = event.getRelatedPlayerId() == null ? null : playerRow(playerRows, match, event.getRelatedPlayerId());
+
+            switch (event.getType()) {
+                case GOAL:
+                    team.setGoalsFor(team.getGoalsFor() + 1);
+                    opponent.setGoalsAgainst(opponent.getGoalsAgainst() + 1);
+                    changed.add(opponent);
+                    if (player != null) {
+                        player.setGoals(player.getGoals() + 1);
+                    }
+                    if (related != null) {
+                        related.setAssists(related.getAssists() + 1);
+                    }
+                    break;
+                case OWN_GOAL:
+                    team.setGoalsFor(team.getGoalsFor() + 1);
+                    opponent.setGoalsAgainst(opponent.getGoalsAgainst() + 1);
+                    changed.add(opponent);
+                    if (player != null) {
+                        player.setOwnGoals(player.getOwnGoals() + 1);
+                    }
+                    break;
+                case YELLOW_CARD:
+                    team.setYellowCards(team.getYellowCards() + 1);
+                    if (player != null) {
+                        player.setYellowCards(player.getYellowCards() + 1);
+                    }
+                    break;
+                case RED_CARD:
+                    team.setRedCards(team.getRedCards() + 1);
+                    if (player != null) {
+                        player.setRedCards(player.getRedCards() + 1);
+                        player.setOffMinute(earliest(player.getOffMinute(), event.getMinute()));
+                    }
+                    break;
+                case SUBSTITUTION:
+                    if (player != null) {
+                        player.setOffMinute(earliest(player.getOffMinute(), event.getMinute()));
+                    }
+                    if (related != null) {
+                        related.setOnMinute(earliest(related.getOnMinute(), event.getMinute()));
+                    }
+                    break;
+            }
+
+            changed.add(team);
+            if (player != null) {
+                player.updateMinutes();
+                changed.add(player);
+            }
+            if (related != null) {
+                related.updateMinutes();
+                changed.add(related);
+            }
+        }
+
+        List<PlayerMatchStats> newPlayerRows = new ArrayList<>();
+        List<PlayerMatchStats> changedPlayerRows = new ArrayList<>();
+        for (PlayerMatchStats row : playerRows.values()) {
+            if (row.getPlayerMatchStatsId() == null) {
+                newPlayerRows.add(row);
+            } else if (changed.contains(row)) {
+                changedPlayerRows.add(row);
+            }
+        }
+
+        List<TeamMatchStats> newTeamRows = new ArrayList<>();
+        List<TeamMatchStats> changedTeamRows = new ArrayList<>();
+        for (TeamMatchStats row : teamRows.values()) {
+            if (row.getTeamMatchStatsId() == null) {
+                newTeamRows.add(row);
+            } else if (changed.contains(row)) {
+                changedTeamRows.add(row);
+            }
+        }
+
+        if (!changedPlayerRows.isEmpty()) {
+            playerMatchStatsRepository.updateAll(changedPlayerRows);
+        }
+        if (!newPlayerRows.isEmpty()) {
+            playerMatchStatsRepository.insertAll(newPlayerRows);
+        }
+        if (!changedTeamRows.isEmpty()) {
+            teamMatchStatsRepository.updateAll(changedTeamRows);
+        }
+        if (!newTeamRows.isEmpty()) {
+            teamMatchStatsRepository.insertAll(newTeamRows);
+        }
+    }
+
+    // the rows of a season (of every season when null) counted again from the stored events, returns the rows
+    // written for Players and for Teams
+    public int[] rebuild(Integer season) {
+        return new int[]{playerMatchStatsRepository.rebuild(season), teamMatchStatsRepository.rebuild(season)};
+    }
+
+    public void matchRemoved(Long matchId) {
+        playerMatchStatsRepository.deleteByMatchId(matchId);
+        teamMatchStatsRepository.deleteByMatchId(matchId);
+    }
+
+    private static PlayerMatchStats playerRow(Map<String, PlayerMatchStats> rows, MatchRepository.MatchTeams match, Long playerId) {
+        return rows.computeIfAbsent(key(playerId, match.getMatchId()), key -> PlayerMatchStats.builder()
+                .playerId(playerId)
+                .matchId(match.getMatchId())
+                .season(match.getSeason())
+                .minutes(PlayerMatchStats.FULL_MATCH_MINUTES)
+                .build());
+    }
+
+    // both Teams of a Match get their row with its first event
+    private static TeamMatchStats teamRow(Map<String, TeamMatchStats> rows, MatchRepository.MatchTeams match, Long teamId) {
+        return rows.computeIfAbsent(key(teamId, match.getMatchId()), key -> TeamMatchStats.builder()
+                .teamId(teamId)
+                .matchId(match.getMatchId())
+                .season(match.getSeason())
+                .build());
+    }
+
+    private static Integer earliest(Integer current, Integer minute) {
+        return current == null ? minute : Math.min(current, minute);
+    }
+
+    private static String key(Long id, Long matchId) {
+        return id + "/" + matchId;
+    }
+
+}
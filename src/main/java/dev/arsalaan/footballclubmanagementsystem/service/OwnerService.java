@@ -1,5 +1,6 @@
 package dev.arsalaan.footballclubmanagementsystem.service;
 
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.OwnerDTO;
 import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
 import dev.arsalaan.footballclubmanagementsystem.mapper.OwnerMapper;
@@ -7,13 +8,15 @@ import dev.arsalaan.footballclubmanagementsystem.model.Owner;
 import dev.arsalaan.footballclubmanagementsystem.model.Team;
 import dev.arsalaan.footballclubmanagementsystem.repository.OwnerRepository;
 import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.util.List;
 import java.util.Objects;
 
 @Service
+@Timed("service.method")
 public class OwnerService {
 
     private final OwnerRepository ownerRepository;
@@ -26,11 +29,20 @@ public class OwnerService {
         this.ownerMapper = ownerMapper;
     }
 
+    @Transactional(readOnly = true)
     public List<OwnerDTO> getAllOwners() {
         List<Owner> owners = ownerRepository.findAll();
         return ownerMapper.toOwnerDTOs(owners);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<OwnerDTO> getOwnersPage(Long after, int limit) {
+        List<Owner> owners = ownerRepository.findByOwnerIdGreaterThanOrderByOwnerIdAsc(
+                CursorPaging.after(after), CursorPaging.seek(limit));
+        return CursorPageDTO.of(ownerMapper.toOwnerDTOs(owners), limit, OwnerDTO::getOwnerId);
+    }
+
+    @Transactional(readOnly = true)
     public OwnerDTO getOwnerById(Long ownerId) {
 
         Owner owner = ownerRepository.findById(ownerId).orElseThrow(
@@ -75,6 +87,7 @@ public class OwnerService {
         ownerRepository.deleteById(ownerId);
     }
 
+    @Transactional(readOnly = true)
     public OwnerDTO viewOwnerForTeam(Long teamId) {
 
         Team team = teamRepository.findById(teamId).orElseThrow(
@@ -0,0 +1,441 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerSearchCriteria;
+import dev.arsalaan.footballclubmanagementsystem.dto.SearchPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.model.Player;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+In-memory inverted index behind GET /api/v1/player/search, a search never touches the database.
+
+Every indexed Player gets a slot (a dense int id). Each name token maps to a postings list of slots (a sorted int array)
+and each nationality / position to a bitset of slots. A query intersects the facet bitsets with, per query term, the
+union of the postings of every token starting with that term, then ranks the remaining slots keeping only the
+requested page in a bounded heap.
+Slots are handed out in increasing order so appending keeps every postings list sorted. A re-indexed Player moves to
+a new slot and the old one stays empty until there are more empty slots than live ones and the index is compacted.
+
+PlayerService builds the index from the database once the application is ready and keeps it in sync after each write.
+The index is local to this instance: with several instances each only sees the writes it handled itself since start up.
+ */
+
+@Component
+public class PlayerSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final String[] NO_TERMS = new String[0];
+    private static final int MIN_SLOTS_TO_COMPACT = 1024;
+    private static final int NO_AGE = Integer.MIN_VALUE;
+
+    private static final Comparator<Hit> BY_PLAYER_ID = Comparator.comparingLong(hit -> hit.playerId);
+    private static final Comparator<Hit> BY_RELEVANCE = Comparator.<Hit>comparingInt(hit -> -hit.score)
+            .thenComparingInt(hit -> hit.entry.sortName.length())
+            .thenComparing(hit -> hit.entry.sortName)
+            .thenComparing(BY_PLAYER_ID);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Entry> slots = new ArrayList<>();
+    // player id and age per slot as well, so filtering and ordering by id do not have to visit every Entry
+    private long[] playerIds = new long[16];
+    private int[] ages = new int[16];
+    private final Map<Long, Integer> slotByPlayerId = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final NavigableMap<String, Postings> postingsByToken = new TreeMap<>();
+    private final Map<String, BitSet> slotsByNationality = new HashMap<>();
+    private final Map<String, BitSet> slotsByPosition = new HashMap<>();
+
+    // replaces the whole index with the given players
+    public void rebuild(Stream<Player> players) {
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            players.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // adds the player, or replaces the previously indexed version of it
+    public void index(Player player) {
+
+        lock.writeLock().lock();
+        try {
+            removeSlot(player.getPlayerId());
+            add(player);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long playerId) {
+
+        lock.writeLock().lock();
+        try {
+            removeSlot(playerId);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+
+        lock.readLock().lock();
+        try {
+            return slotByPlayerId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // slots handed out, live and empty ones
+    int slotCount() {
+
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // matches are ranked by relevance to q (whole word over prefix matches, then shorter names), by id without q
+    public SearchPageDTO<PlayerDTO> search(PlayerSearchCriteria criteria, int page, int size) {
+
+        if (page < 0) {
+            throw new ApiRequestException("page must not be negative");
+        }
+
+        if (size < 1 || size > CursorPaging.MAX_LIMIT) {
+            throw new ApiRequestException("size must be between 1 and " + CursorPaging.MAX_LIMIT);
+        }
+
+        int minAge = criteria.getMinAge() == null ? Integer.MIN_VALUE : criteria.getMinAge();
+        int maxAge = criteria.getMaxAge() == null ? Integer.MAX_VALUE : criteria.getMaxAge();
+        boolean ageFiltered = criteria.getMinAge() != null || criteria.getMaxAge() != null;
+
+        if (minAge > maxAge) {
+            throw new ApiRequestException("minAge must not be greater than maxAge");
+        }
+
+        String[] terms = tokenize(criteria.getQ());
+        Comparator<Hit> order = terms.length == 0 ? BY_PLAYER_ID : BY_RELEVANCE;
+
+        lock.readLock().lock();
+        try {
+            BitSet candidates = candidates(criteria, terms);
+
+            // the heap keeps the best `keep` hits seen so far with the worst of them on top
+            long keep = Math.min((long) page * size + size, slotByPlayerId.size());
+            PriorityQueue<Hit> best = new PriorityQueue<>(order.reversed());
+            Hit probe = new Hit();
+            long totalElements = 0;
+
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+
+                if (ageFiltered && (ages[slot] == NO_AGE || ages[slot] < minAge || ages[slot] > maxAge)) {
+                    continue;
+                }
+
+                totalElements++;
+                probe.slot = slot;
+                probe.playerId = playerIds[slot];
+                if (terms.length > 0) {
+                    probe.entry = slots.get(slot);
+                    probe.score = score(probe.entry, terms);
+                }
+
+                // most candidates of a broad query lose against the worst kept hit, only the others are allocated
+                if (best.size() < keep || order.compare(probe, best.peek()) < 0) {
+                    if (best.size() == keep) {
+                        best.poll();
+                    }
+                    best.add(probe);
+                    probe = new Hit();
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(best);
+            ranked.sort(order);
+            List<PlayerDTO> content = ranked.stream()
+                    .skip((long) page * size)
+                    .map(hit -> slots.get(hit.slot).toPlayerDTO())
+                    .collect(Collectors.toList());
+
+            return new SearchPageDTO<>(content, page, size, totalElements);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet candidates(PlayerSearchCriteria criteria, String[] terms) {
+
+        BitSet candidates = null;
+
+        String nationality = normalize(criteria.getNationality());
+        if (nationality != null) {
+            candidates = restrict(candidates, slotsByNationality.get(nationality));
+        }
+
+        String position = normalize(criteria.getPosition());
+        if (position != null) {
+            candidates = restrict(candidates, slotsByPosition.get(position));
+        }
+
+        for (String term : terms) {
+
+            if (candidates != null && candidates.isEmpty()) {
+                return candidates;
+            }
+
+            BitSet matches = new BitSet();
+            for (Postings postings : postingsByToken.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                postings.addTo(matches);
+            }
+            candidates = restrict(candidates, matches);
+        }
+
+        return candidates == null ? live : candidates;
+    }
+
+    private static BitSet restrict(BitSet candidates, BitSet matches) {
+
+        if (matches == null) {
+            return new BitSet();
+        }
+
+        if (candidates == null) {
+            return (BitSet) matches.clone();
+        }
+
+        candidates.and(matches);
+        return candidates;
+    }
+
+    private static int score(Entry entry, String[] terms) {
+
+        int score = 0;
+        for (String term : terms) {
+            score += Arrays.asList(entry.tokens).contains(term) ? 2 : 1;
+        }
+        return score;
+    }
+
+    private void add(Player player) {
+
+        int slot = slots.size();
+        Entry entry = new Entry(player);
+
+        slots.add(entry);
+        if (slot == playerIds.length) {
+            playerIds = Arrays.copyOf(playerIds, slot * 2);
+            ages = Arrays.copyOf(ages, slot * 2);
+        }
+        playerIds[slot] = entry.playerId;
+        ages[slot] = entry.age == null ? NO_AGE : entry.age;
+        slotByPlayerId.put(entry.playerId, slot);
+        live.set(slot);
+
+        for (String token : entry.tokens) {
+            postingsByToken.computeIfAbsent(token, key -> new Postings()).add(slot);
+        }
+
+        if (entry.nationalityKey != null) {
+            slotsByNationality.computeIfAbsent(entry.nationalityKey, key -> new BitSet()).set(slot);
+        }
+
+        if (entry.positionKey != null) {
+            slotsByPosition.computeIfAbsent(entry.positionKey, key -> new BitSet()).set(slot);
+        }
+    }
+
+    private void removeSlot(Long playerId) {
+
+        Integer slot = slotByPlayerId.remove(playerId);
+
+        if (slot == null) {
+            return;
+        }
+
+        Entry entry = slots.set(slot, null);
+        live.clear(slot);
+
+        for (String token : entry.tokens) {
+            Postings postings = postingsByToken.get(token);
+            if (postings.remove(slot)) {
+                postingsByToken.remove(token);
+            }
+        }
+
+        clearFacet(slotsByNationality, entry.nationalityKey, slot);
+        clearFacet(slotsByPosition, entry.positionKey, slot);
+    }
+
+    private static void clearFacet(Map<String, BitSet> facet, String key, int slot) {
+
+        if (key == null) {
+            return;
+        }
+
+        BitSet slots = facet.get(key);
+        slots.clear(slot);
+        if (slots.isEmpty()) {
+            facet.remove(key);
+        }
+    }
+
+    // every update leaves an empty slot behind as well, not only a removal
+    private void compactIfSparse() {
+        if (slots.size() > MIN_SLOTS_TO_COMPACT && slots.size() > 2 * slotByPlayerId.size()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+
+        List<Player> players = slots.stream()
+                .filter(entry -> entry != null)
+                .map(Entry::toPlayer)
+                .collect(Collectors.toList());
+
+        clear();
+        players.forEach(this::add);
+    }
+
+    private void clear() {
+        slots.clear();
+        slotByPlayerId.clear();
+        live.clear();
+        postingsByToken.clear();
+        slotsByNationality.clear();
+        slotsByPosition.clear();
+    }
+
+    // lower case without accents, so "Müller" is found by "muller" and "MÜLLER"
+    static String normalize(String value) {
+
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static String[] tokenize(String text) {
+
+        String normalized = normalize(text);
+
+        if (normalized == null) {
+            return NO_TERMS;
+        }
+
+        return NON_WORD.splitAsStream(normalized)
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private static final class Entry {
+
+        private final long playerId;
+        private final String name;
+        private final String sortName;
+        private final String position;
+        private final String nationality;
+        private final Integer age;
+        private final String[] tokens;
+        private final String nationalityKey;
+        private final String positionKey;
+
+        private Entry(Player player) {
+            this.playerId = player.getPlayerId();
+            this.name = player.getName();
+            this.sortName = name == null ? "" : name;
+            this.position = player.getPosition();
+            this.nationality = player.getNationality();
+            this.age = player.getAge();
+            this.tokens = tokenize(name);
+            this.nationalityKey = normalize(nationality);
+            this.positionKey = normalize(position);
+        }
+
+        private PlayerDTO toPlayerDTO() {
+            PlayerDTO playerDTO = new PlayerDTO();
+            playerDTO.setPlayerId(playerId);
+            playerDTO.setName(name);
+            playerDTO.setPosition(position);
+            playerDTO.setNationality(nationality);
+            playerDTO.setAge(age);
+            return playerDTO;
+        }
+
+        private Player toPlayer() {
+            return new Player(playerId, name, position, nationality, age, null, null);
+        }
+    }
+
+    // a candidate on its way through the ranking, entry and score are only set when there are query terms
+    private static final class Hit {
+
+        private int slot;
+        private long playerId;
+        private Entry entry;
+        private int score;
+    }
+
+    // sorted slots of the players whose name contains one token
+    private static final class Postings {
+
+        private int[] slots = new int[2];
+        private int size;
+
+        private void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        // returns true once the list is empty
+        private boolean remove(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index >= 0) {
+                System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+                size--;
+            }
+            return size == 0;
+        }
+
+        private void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(slots[i]);
+            }
+        }
+    }
+
+}
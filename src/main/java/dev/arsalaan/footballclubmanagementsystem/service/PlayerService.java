@@ -1,36 +1,165 @@
 package dev.arsalaan.footballclubmanagementsystem.service;
 
+import dev.arsalaan.footballclubmanagementsystem.config.ReadConsistency;
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerFilterDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerSearchCriteria;
+import dev.arsalaan.footballclubmanagementsystem.dto.SearchPageDTO;
 import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
 import dev.arsalaan.footballclubmanagementsystem.mapper.PlayerMapper;
 import dev.arsalaan.footballclubmanagementsystem.model.Team;
 import dev.arsalaan.footballclubmanagementsystem.model.Player;
 import dev.arsalaan.footballclubmanagementsystem.repository.PlayerRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.PlayerSpecifications;
 import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("service.method")
 public class PlayerService {
 
     private final PlayerRepository playerRepository;
     private final TeamRepository teamRepository;
     private final PlayerMapper playerMapper;
+    private final EntityManager entityManager;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final SquadResponseCache squadResponseCache;
+
+    static final int MAX_BATCH_SIZE = 10_000;
+    static final int MAX_FILTER_GROUPS = 20;
+
+    // sortable properties of the filter, by the name used in the request
+    private static final Map<String, String> FILTER_SORT_PROPERTIES = new LinkedHashMap<>();
+
+    static {
+        FILTER_SORT_PROPERTIES.put("playerId", "playerId");
+        FILTER_SORT_PROPERTIES.put("name", "name");
+        FILTER_SORT_PROPERTIES.put("position", "position");
+        FILTER_SORT_PROPERTIES.put("nationality", "nationality");
+        FILTER_SORT_PROPERTIES.put("age", "age");
+        FILTER_SORT_PROPERTIES.put("teamId", "team.teamId");
+    }
 
-    public PlayerService(PlayerRepository playerRepository, TeamRepository teamRepository, PlayerMapper playerMapper) {
+    public PlayerService(PlayerRepository playerRepository, TeamRepository teamRepository, PlayerMapper playerMapper,
+                         EntityManager entityManager, PlayerSearchIndex playerSearchIndex,
+                         SquadResponseCache squadResponseCache) {
         this.playerRepository = playerRepository;
         this.teamRepository = teamRepository;
         this.playerMapper = playerMapper;
+        this.entityManager = entityManager;
+        this.playerSearchIndex = playerSearchIndex;
+        this.squadResponseCache = squadResponseCache;
     }
 
+    @Transactional(readOnly = true)
     public List<PlayerDTO> getAllPlayers() {
         List<Player> players = playerRepository.findAll();
         return playerMapper.toPlayerDTOs(players);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PlayerDTO> getPlayersPage(Long after, int limit) {
+        List<Player> players = playerRepository.findByPlayerIdGreaterThanOrderByPlayerIdAsc(
+                CursorPaging.after(after), CursorPaging.seek(limit));
+        return CursorPageDTO.of(playerMapper.toPlayerDTOs(players), limit, PlayerDTO::getPlayerId);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportPlayers(Consumer<PlayerDTO> sink) {
+
+        try (Stream<Player> players = playerRepository.streamAll()) {
+            players.forEach(player -> {
+                sink.accept(playerMapper.toPlayerDTO(player));
+                entityManager.detach(player); // keeps the persistence context flat however big the table is
+            });
+        }
+    }
+
+    // served from the in-memory PlayerSearchIndex, no database access
+    public SearchPageDTO<PlayerDTO> searchPlayers(PlayerSearchCriteria criteria, int page, int size) {
+        return playerSearchIndex.search(criteria, page, size);
+    }
+
+    // database backed, see PlayerSpecifications for how the filter maps onto the composite indexes
+    @Transactional(readOnly = true)
+    public SearchPageDTO<PlayerDTO> filterPlayers(PlayerFilterDTO filter, int page, int size) {
+
+        if (page < 0) {
+            throw new ApiRequestException("page must not be negative");
+        }
+
+        if (size < 1 || size > CursorPaging.MAX_LIMIT) {
+            throw new ApiRequestException("size must be between 1 and " + CursorPaging.MAX_LIMIT);
+        }
+
+        List<PlayerFilterDTO.CriteriaDTO> anyOf = filter.getAnyOf() == null ? new ArrayList<>() : filter.getAnyOf();
+
+        if (anyOf.size() > MAX_FILTER_GROUPS) {
+            throw new ApiRequestException("at most " + MAX_FILTER_GROUPS + " filter groups can be combined");
+        }
+
+        for (PlayerFilterDTO.CriteriaDTO criteria : anyOf) {
+            if (criteria == null) {
+                throw new ApiRequestException("filter groups must not be null");
+            }
+            if (criteria.getMinAge() != null && criteria.getMaxAge() != null && criteria.getMinAge() > criteria.getMaxAge()) {
+                throw new ApiRequestException("minAge must not be greater than maxAge");
+            }
+        }
+
+        Page<Player> players = playerRepository.findAll(PlayerSpecifications.matchingAny(anyOf),
+                PageRequest.of(page, size, filterSort(filter.getSort())));
+
+        return new SearchPageDTO<>(playerMapper.toPlayerDTOs(players.getContent()), page, size, players.getTotalElements());
+    }
+
+    // (re)builds the search index from every Player, streamed like exportPlayers.
+    // Always reads the primary, the index is kept in sync with committed writes from then on and must not start behind.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildSearchIndex() {
+
+        ReadConsistency.onPrimary(() -> {
+            try (Stream<Player> players = playerRepository.streamAll()) {
+                playerSearchIndex.rebuild(players.peek(entityManager::detach));
+            }
+            return null;
+        });
+    }
+
+    // adds the Players stored past Hibernate after the given id (bulk imports) to the search index, without a rebuild
+    @Transactional(readOnly = true)
+    public void indexPlayersAfter(Long playerId) {
+
+        ReadConsistency.onPrimary(() -> {
+            try (Stream<PlayerDTO> players = playerRepository.streamAfter(playerId)) {
+                players.forEach(playerDTO -> playerSearchIndex.index(playerMapper.toPlayer(playerDTO)));
+            }
+            return null;
+        });
+    }
+
+    @Transactional(readOnly = true)
     public PlayerDTO getPlayerById(Long playerId) {
 
         Player player = playerRepository.findById(playerId).orElseThrow(
@@ -39,6 +168,15 @@ public class PlayerService {
         return playerMapper.toPlayerDTO(player);
     }
 
+    @Transactional(readOnly = true)
+    public String getPlayerETag(Long playerId) {
+
+        Long version = playerRepository.findVersionByPlayerId(playerId).orElseThrow(
+                () -> new ApiRequestException("player with id " + playerId + " does not exist"));
+
+        return ETags.of(version);
+    }
+
     public void createPlayer(PlayerDTO playerDTO) {
 
         Player player = playerMapper.toPlayer(playerDTO);
@@ -46,6 +184,30 @@ public class PlayerService {
         // no player name check as two players can have the same name (a name is not unique)
 
         playerRepository.save(player);
+        afterCommit(() -> playerSearchIndex.index(player));
+    }
+
+    @Transactional
+    public List<Long> createPlayers(List<PlayerDTO> playerDTOs) {
+
+        if (playerDTOs == null || playerDTOs.isEmpty()) {
+            throw new ApiRequestException("at least one player is required");
+        }
+
+        if (playerDTOs.size() > MAX_BATCH_SIZE) {
+            throw new ApiRequestException("at most " + MAX_BATCH_SIZE + " players can be created at once");
+        }
+
+        List<Player> players = playerDTOs.stream().map(playerMapper::toPlayer).collect(Collectors.toList());
+
+        List<Long> playerIds = playerRepository.insertAll(players);
+
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).setPlayerId(playerIds.get(i));
+        }
+        afterCommit(() -> players.forEach(playerSearchIndex::index));
+
+        return playerIds;
     }
 
     @Transactional
@@ -70,19 +232,26 @@ public class PlayerService {
             player.setAge(playerDTO.getAge());
         }
 
+        afterCommit(() -> playerSearchIndex.index(player));
+        // the squad views of its Team show the Player too
+        squadResponseCache.invalidate(player.getTeam() == null ? null : player.getTeam().getTeamId());
     }
 
     public void deletePlayerById(Long playerId) {
 
-        boolean exists = playerRepository.existsById(playerId);
+        // the Team too, whose squad views show the Player
+        List<PlayerRepository.TeamPlayerId> found = playerRepository.findTeamIdsByPlayerIds(List.of(playerId));
 
-        if (!exists) {
+        if (found.isEmpty()) {
             throw new ApiRequestException("player with id " + playerId + " does not exist");
         }
 
         playerRepository.deleteById(playerId);
+        afterCommit(() -> playerSearchIndex.remove(playerId));
+        squadResponseCache.invalidate(found.get(0).getTeamId());
     }
 
+    @Transactional(readOnly = true)
     public List<PlayerDTO> viewAllPlayersForTeam(Long teamId) {
 
         Team team = teamRepository.findById(teamId).orElseThrow(
@@ -104,6 +273,7 @@ public class PlayerService {
         }
 
         player.setTeam(team);
+        squadResponseCache.invalidate(teamId);
     }
 
     @Transactional
@@ -123,6 +293,49 @@ public class PlayerService {
         }
 
         player.setTeam(null); // sets team field in player to null instead of removing the parents AND deleting child
+        squadResponseCache.invalidate(teamId);
+    }
+
+    private static Sort filterSort(List<String> sort) {
+
+        List<Sort.Order> orders = new ArrayList<>();
+
+        for (String entry : sort == null ? new ArrayList<String>() : sort) {
+            String[] parts = entry == null ? new String[0] : entry.split(",");
+            String property = parts.length == 0 ? null : FILTER_SORT_PROPERTIES.get(parts[0].trim());
+
+            if (property == null || parts.length > 2) {
+                throw new ApiRequestException("cannot sort by '" + entry + "', sortable properties are " + FILTER_SORT_PROPERTIES.keySet());
+            }
+
+            Sort.Direction direction = parts.length == 1 ? Sort.Direction.ASC
+                    : Sort.Direction.fromOptionalString(parts[1].trim()).orElseThrow(
+                            () -> new ApiRequestException("sort direction of '" + entry + "' must be asc or desc"));
+            orders.add(new Sort.Order(direction, property));
+        }
+
+        // a unique last key keeps the pages stable
+        if (orders.stream().noneMatch(order -> order.getProperty().equals("playerId"))) {
+            orders.add(Sort.Order.asc("playerId"));
+        }
+
+        return Sort.by(orders);
     }
-    
+
+    // the search index must only see committed changes, so inside a transaction the change waits for the commit
+    private static void afterCommit(Runnable change) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
 }
@@ -0,0 +1,212 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+The serialized JSON of the squad views of a Team (GET /api/v1/team/{teamId} and /api/v1/player/team/{teamId}), so
+a repeated request is answered from memory: no transaction, no mapping, no serialization. With gzip on the bytes are
+kept compressed, sent as they are to clients accepting gzip and inflated for the others.
+The cache is bounded by the size of the bodies it holds (app.squad-cache.max-bytes), least recently used out first,
+and an entry is dropped app.squad-cache.ttl-seconds after it was stored at the latest.
+
+TeamService and PlayerService invalidate the views of a Team once a write touching its row or its Players commits.
+A reader that loaded the views before that commit must not put them back afterwards, so every Team has a generation
+(Teams share one of a fixed set of counters), bumped by invalidate: a response is only stored when the generation it
+was loaded under is still the current one. Views are loaded from the primary (ReadConsistency.onPrimary): a lagging
+replica could hand back the state from before the write that just invalidated them, kept until the next write.
+
+The cache is local to this instance, like the search index, and so is invalidation: a write served by another instance
+does not reach it, other instances answer with the views they hold for up to the TTL.
+ */
+
+@Component
+public class SquadResponseCache {
+
+    public enum View { TEAM, PLAYERS }
+
+    private static final int GENERATION_STRIPES = 1024;
+    // roughly what a cached entry costs besides its body
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+    private final Cache<Key, SerializedResponse> responses;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Counter invalidations;
+
+    @Autowired
+    public SquadResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${app.squad-cache.max-bytes:67108864}") long maxBytes,
+                              @Value("${app.squad-cache.gzip:false}") boolean gzip,
+                              @Value("${app.squad-cache.ttl-seconds:300}") long ttlSeconds) {
+        this(objectMapper, meterRegistry, maxBytes, gzip, ttlSeconds, ForkJoinPool.commonPool());
+    }
+
+    // the cache doing its maintenance (evictions, the weighted size) on the given executor
+    SquadResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry, long maxBytes, boolean gzip,
+                       long ttlSeconds, Executor executor) {
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<Key, SerializedResponse>weigher((key, response) -> response.getBody().length + ENTRY_OVERHEAD_BYTES)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .executor(executor)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "squad.responses");
+        Gauge.builder("squad.responses.hit.ratio", responses, cache -> cache.stats().hitRate())
+                .description("share of squad view requests answered from the cache")
+                .register(meterRegistry);
+        // the weighted size lags the writes until the pending maintenance has run
+        Gauge.builder("squad.responses.bytes", responses, cache -> {
+                    cache.cleanUp();
+                    return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+                })
+                .description("bytes held by the cached squad views")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("squad.responses.invalidations")
+                .description("Teams whose cached views were dropped after a write")
+                .register(meterRegistry);
+    }
+
+    // null when the view is not cached
+    public SerializedResponse get(View view, Long teamId) {
+        return responses.getIfPresent(new Key(view, teamId));
+    }
+
+    // read before loading a view, and handed back to put
+    public long generation(Long teamId) {
+        return generations.get(stripe(teamId));
+    }
+
+    // serializes a loaded view and keeps it unless the Team was invalidated since `generation` was read
+    public SerializedResponse put(View view, Long teamId, long generation, String eTag, Object body, boolean empty) {
+
+        SerializedResponse response = new SerializedResponse(serialize(body), gzip, eTag, empty);
+
+        // checked inside the compute, which invalidate's remove of the same key waits for
+        responses.asMap().compute(new Key(view, teamId),
+                (key, cached) -> generations.get(stripe(teamId)) == generation ? response : cached);
+
+        return response;
+    }
+
+    // drops both views of a Team once the surrounding transaction commits (at once without one)
+    public void invalidate(Long teamId) {
+
+        if (teamId == null) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(teamId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(teamId);
+            }
+        });
+    }
+
+    // after changes too broad to track per Team, such as bulk loads
+    public void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        responses.invalidateAll();
+    }
+
+    private void evict(Long teamId) {
+        generations.incrementAndGet(stripe(teamId));
+        for (View view : View.values()) {
+            responses.invalidate(new Key(view, teamId));
+        }
+        invalidations.increment();
+    }
+
+    private byte[] serialize(Object body) {
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+
+            if (!gzip) {
+                return json;
+            }
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 32);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(json);
+            }
+            return compressed.toByteArray();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("could not serialize a squad view", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int stripe(Long teamId) {
+        return (int) Math.floorMod(teamId, (long) GENERATION_STRIPES);
+    }
+
+    @lombok.Value
+    private static class Key {
+        View view;
+        Long teamId;
+    }
+
+    @lombok.Value
+    public static class SerializedResponse {
+
+        // gzip compressed when `gzipped`
+        byte[] body;
+        boolean gzipped;
+        // null for views without one
+        String eTag;
+        // answered with 204 No Content
+        boolean empty;
+
+        public byte[] plainBody() {
+
+            if (!gzipped) {
+                return body;
+            }
+
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+}
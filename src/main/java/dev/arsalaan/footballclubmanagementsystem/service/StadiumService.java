@@ -1,5 +1,6 @@
 package dev.arsalaan.footballclubmanagementsystem.service;
 
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.StadiumDTO;
 import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
 import dev.arsalaan.footballclubmanagementsystem.mapper.StadiumMapper;
@@ -7,14 +8,16 @@ import dev.arsalaan.footballclubmanagementsystem.model.Stadium;
 import dev.arsalaan.footballclubmanagementsystem.model.Team;
 import dev.arsalaan.footballclubmanagementsystem.repository.StadiumRepository;
 import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
 @Service
+@Timed("service.method")
 public class StadiumService {
 
     private final StadiumRepository stadiumRepository;
@@ -27,11 +30,20 @@ public class StadiumService {
         this.stadiumMapper = stadiumMapper;
     }
 
+    @Transactional(readOnly = true)
     public List<StadiumDTO> getAllStadiums() {
         List<Stadium> stadiums = stadiumRepository.findAll();
         return stadiumMapper.toStadiumDTOs(stadiums);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<StadiumDTO> getStadiumsPage(Long after, int limit) {
+        List<Stadium> stadiums = stadiumRepository.findByStadiumIdGreaterThanOrderByStadiumIdAsc(
+                CursorPaging.after(after), CursorPaging.seek(limit));
+        return CursorPageDTO.of(stadiumMapper.toStadiumDTOs(stadiums), limit, StadiumDTO::getStadiumId);
+    }
+
+    @Transactional(readOnly = true)
     public StadiumDTO getStadiumById(Long stadiumId) {
 
         Stadium stadium = stadiumRepository.findById(stadiumId).orElseThrow(
@@ -81,6 +93,7 @@ public class StadiumService {
         stadiumRepository.deleteById(stadiumId);
     }
 
+    @Transactional(readOnly = true)
     public StadiumDTO viewStadiumForTeam(Long teamId) {
 
         Team team = teamRepository.findById(teamId).orElseThrow(
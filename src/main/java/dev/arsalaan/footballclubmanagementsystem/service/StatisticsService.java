@@ -0,0 +1,148 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerStatsDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.StatsRebuildDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamStatsDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.model.PlayerMatchStats;
+import dev.arsalaan.footballclubmanagementsystem.model.TeamMatchStats;
+import dev.arsalaan.footballclubmanagementsystem.repository.PlayerMatchStatsRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.PlayerRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.TeamMatchStatsRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/*
+Goals, assists, cards and minutes of Players and Teams, season to date and over their latest Matches. They are read
+from the per Match rows MatchStatistics keeps up to date as the events are stored, never from the events themselves,
+so a query reads at most one row per Match played whatever the number of events.
+The season defaults to the latest one the Player or Team has statistics in.
+ */
+
+@Service
+@Timed("service.method")
+@Slf4j
+public class StatisticsService {
+
+    static final int DEFAULT_LAST = 5;
+    static final int MAX_LAST = 50;
+
+    private final PlayerMatchStatsRepository playerMatchStatsRepository;
+    private final TeamMatchStatsRepository teamMatchStatsRepository;
+    private final PlayerRepository playerRepository;
+    private final TeamRepository teamRepository;
+    private final MatchStatistics matchStatistics;
+
+    public StatisticsService(PlayerMatchStatsRepository playerMatchStatsRepository,
+                             TeamMatchStatsRepository teamMatchStatsRepository, PlayerRepository playerRepository,
+                             TeamRepository teamRepository, MatchStatistics matchStatistics) {
+        this.playerMatchStatsRepository = playerMatchStatsRepository;
+        this.teamMatchStatsRepository = teamMatchStatsRepository;
+        this.playerRepository = playerRepository;
+        this.teamRepository = teamRepository;
+        this.matchStatistics = matchStatistics;
+    }
+
+    // [GET] View the statistics of a Player for a season, in total and over its latest Matches
+    @Transactional(readOnly = true)
+    public PlayerStatsDTO getPlayerStats(Long playerId, Integer season, Integer last) {
+
+        int window = window(last);
+
+        if (!playerRepository.existsById(playerId)) {
+            throw new ApiRequestException("player with id " + playerId + " does not exist");
+        }
+
+        Integer statsSeason = season != null ? season : playerMatchStatsRepository.findLatestSeason(playerId).orElse(null);
+
+        if (statsSeason == null) {
+            return new PlayerStatsDTO(playerId, null, window, playerTotals(List.of()), playerTotals(List.of()));
+        }
+
+        PlayerMatchStatsRepository.PlayerTotals totals = playerMatchStatsRepository.sumSeason(playerId, statsSeason);
+        List<PlayerMatchStats> latest = playerMatchStatsRepository.findLatest(playerId, statsSeason, PageRequest.of(0, window));
+
+        return new PlayerStatsDTO(playerId, statsSeason, window,
+                new PlayerStatsDTO.TotalsDTO(totals.getMatches(), totals.getGoals(), totals.getAssists(),
+                        totals.getOwnGoals(), totals.getYellowCards(), totals.getRedCards(), totals.getMinutes()),
+                playerTotals(latest));
+    }
+
+    // [GET] View the statistics of a Team for a season, in total and over its latest Matches
+    @Transactional(readOnly = true)
+    public TeamStatsDTO getTeamStats(Long teamId, Integer season, Integer last) {
+
+        int window = window(last);
+
+        if (!teamRepository.existsById(teamId)) {
+            throw new ApiRequestException("team with id " + teamId + " does not exist");
+        }
+
+        Integer statsSeason = season != null ? season : teamMatchStatsRepository.findLatestSeason(teamId).orElse(null);
+
+        if (statsSeason == null) {
+            return new TeamStatsDTO(teamId, null, window, teamTotals(List.of()), teamTotals(List.of()));
+        }
+
+        TeamMatchStatsRepository.TeamTotals totals = teamMatchStatsRepository.sumSeason(teamId, statsSeason);
+        List<TeamMatchStats> latest = teamMatchStatsRepository.findLatest(teamId, statsSeason, PageRequest.of(0, window));
+
+        return new TeamStatsDTO(teamId, statsSeason, window,
+                new TeamStatsDTO.TotalsDTO(totals.getMatches(), totals.getGoalsFor(), totals.getGoalsAgainst(),
+                        totals.getYellowCards(), totals.getRedCards()),
+                teamTotals(latest));
+    }
+
+    // [POST] Count the statistics of a season (of every season when none is given) again from the stored events
+    @Transactional
+    public StatsRebuildDTO rebuildStats(Integer season) {
+
+        int[] rows = matchStatistics.rebuild(season);
+
+        log.info("From DB, Rebuilt the statistics of season {}: {} Player rows, {} Team rows",
+                season == null ? "(all)" : season, rows[0], rows[1]);
+        return new StatsRebuildDTO(season, rows[0], rows[1]);
+    }
+
+    private static int window(Integer last) {
+
+        int window = last == null ? DEFAULT_LAST : last;
+
+        if (window < 1 || window > MAX_LAST) {
+            throw new ApiRequestException("last must be between 1 and " + MAX_LAST);
+        }
+
+        return window;
+    }
+
+    private static PlayerStatsDTO.TotalsDTO playerTotals(List<PlayerMatchStats> rows) {
+        PlayerStatsDTO.TotalsDTO totals = new PlayerStatsDTO.TotalsDTO((long) rows.size(), 0L, 0L, 0L, 0L, 0L, 0L);
+        for (PlayerMatchStats row : rows) {
+            totals.setGoals(totals.getGoals() + row.getGoals());
+            totals.setAssists(totals.getAssists() + row.getAssists());
+            totals.setOwnGoals(totals.getOwnGoals() + row.getOwnGoals());
+            totals.setYellowCards(totals.getYellowCards() + row.getYellowCards());
+            totals.setRedCards(totals.getRedCards() + row.getRedCards());
+            totals.setMinutes(totals.getMinutes() + row.getMinutes());
+        }
+        return totals;
+    }
+
+    private static TeamStatsDTO.TotalsDTO teamTotals(List<TeamMatchStats> rows) {
+        TeamStatsDTO.TotalsDTO totals = new TeamStatsDTO.TotalsDTO((long) rows.size(), 0L, 0L, 0L, 0L);
+        for (TeamMatchStats row : rows) {
+            totals.setGoalsFor(totals.getGoalsFor() + row.getGoalsFor());
+            totals.setGoalsAgainst(totals.getGoalsAgainst() + row.getGoalsAgainst());
+            totals.setYellowCards(totals.getYellowCards() + row.getYellowCards());
+            totals.setRedCards(totals.getRedCards() + row.getRedCards());
+        }
+        return totals;
+    }
+
+}
@@ -1,43 +1,127 @@
 package dev.arsalaan.footballclubmanagementsystem.service;
 
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.RosterUpdateDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.TeamDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamExportDTO;
 import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
 import dev.arsalaan.footballclubmanagementsystem.mapper.TeamMapper;
 import dev.arsalaan.footballclubmanagementsystem.model.League;
 import dev.arsalaan.footballclubmanagementsystem.model.Team;
 import dev.arsalaan.footballclubmanagementsystem.repository.LeagueRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.PlayerRepository;
 import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("service.method")
 @Slf4j
 public class TeamService {
 
     private final TeamRepository teamRepository;
     private final LeagueRepository leagueRepository;
+    private final PlayerRepository playerRepository;
     private final TeamMapper teamMapper;
+    private final SquadResponseCache squadResponseCache;
 
-    public TeamService(TeamRepository teamRepository, LeagueRepository leagueRepository, TeamMapper teamMapper) {
+    // number of teams whose player ids are looked up together while exporting
+    static final int EXPORT_CHUNK_SIZE = 500;
+
+    // maximum number of Player ID's accepted by one bulk roster change
+    static final int MAX_ROSTER_CHANGE_SIZE = 1000;
+
+    public TeamService(TeamRepository teamRepository, LeagueRepository leagueRepository, PlayerRepository playerRepository,
+                       TeamMapper teamMapper, SquadResponseCache squadResponseCache) {
         this.teamRepository = teamRepository;
         this.leagueRepository = leagueRepository;
+        this.playerRepository = playerRepository;
         this.teamMapper = teamMapper;
+        this.squadResponseCache = squadResponseCache;
     }
 
     // [GET] View All Teams
+    @Transactional(readOnly = true)
     public List<TeamDTO> getAllTeams() {
-        List<Team> teams = teamRepository.findAll();
+        List<Team> teams = teamRepository.findAllWithPlayers();
 
         log.info("From DB, Got Teams");
         return teamMapper.toTeamDTOs(teams);
     }
 
+    // [GET] View a page of Teams after the given cursor (keyset pagination)
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TeamDTO> getTeamsPage(Long after, int limit) {
+        List<Team> teams = teamRepository.findByTeamIdGreaterThanOrderByTeamIdAsc(
+                CursorPaging.after(after), CursorPaging.seek(limit));
+
+        if (!teams.isEmpty()) {
+            teamRepository.fetchPlayers(teams.stream().map(Team::getTeamId).collect(Collectors.toList()));
+        }
+
+        log.info("From DB, Got page of Teams after id: {}", after);
+        return CursorPageDTO.of(teamMapper.toTeamDTOs(teams), limit, TeamDTO::getTeamId);
+    }
+
+    // [GET] Export All Teams (with league id and player ids) one at a time to the sink
+    @Transactional(readOnly = true)
+    public void exportTeams(Consumer<TeamExportDTO> sink) {
+
+        List<TeamExportDTO> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+
+        try (Stream<TeamExportDTO> teams = teamRepository.streamAllForExport()) {
+            teams.forEach(team -> {
+                chunk.add(team);
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exportChunk(chunk, sink);
+                }
+            });
+        }
+
+        exportChunk(chunk, sink);
+        log.info("From DB, Exported Teams");
+    }
+
+    // one player id query per chunk of teams instead of one per team
+    private void exportChunk(List<TeamExportDTO> chunk, Consumer<TeamExportDTO> sink) {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Long>> playerIdsByTeamId = playerRepository.findPlayerIdsByTeamIds(
+                        chunk.stream().map(TeamExportDTO::getTeamId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(PlayerRepository.TeamPlayerId::getTeamId,
+                        Collectors.mapping(PlayerRepository.TeamPlayerId::getPlayerId, Collectors.toList())));
+
+        for (TeamExportDTO team : chunk) {
+            team.setPlayerIds(playerIdsByTeamId.getOrDefault(team.getTeamId(), Collections.emptyList()));
+            sink.accept(team);
+        }
+
+        chunk.clear();
+    }
+
     // [GET] View a specific Team by its ID
+    @Transactional(readOnly = true)
     public TeamDTO getTeamById(Long teamId) {
 
         Team team = teamRepository.findById(teamId).orElseThrow(
@@ -47,6 +131,16 @@ public class TeamService {
         return teamMapper.toTeamDTO(team);
     }
 
+    // [GET] ETag of a specific Team, covering the Team and the Players embedded in its DTO (no entities are loaded)
+    @Transactional(readOnly = true)
+    public String getTeamETag(Long teamId) {
+
+        Long version = teamRepository.findVersionByTeamId(teamId).orElseThrow(
+                () -> new ApiRequestException("team with id " + teamId + " does not exist"));
+
+        return ETags.of(version, playerRepository.findVersionsByTeamId(teamId));
+    }
+
     // [POST] Create a Team
     public void createTeam(TeamDTO teamDTO) {
 
@@ -82,6 +176,7 @@ public class TeamService {
 
         // Team updatedTeam = teamRepository.save(team); - would need this if @Transactional not used
 
+        squadResponseCache.invalidate(teamId);
         log.info("From DB, Updated Team with id: {}", teamId);
 
         // return teamMapper.toTeamDTO(updatedTeam); - would need this if response DTO was required
@@ -98,17 +193,33 @@ public class TeamService {
         }
 
         teamRepository.deleteById(teamId);
+        squadResponseCache.invalidate(teamId);
         log.info("From DB, Deleted Team with id: {}", teamId);
     }
 
     // [GET] View All Teams for League ID
+    @Transactional(readOnly = true)
     public List<TeamDTO> viewAllTeamsForLeague(Long leagueId) {
 
-        League league = leagueRepository.findById(leagueId).orElseThrow(
-                () -> new ApiRequestException("League with id " + leagueId + " does not exist"));
+        if (!leagueRepository.existsById(leagueId)) {
+            throw new ApiRequestException("League with id " + leagueId + " does not exist");
+        }
+
+        List<Team> teams = teamRepository.findAllWithPlayersByLeagueId(leagueId);
 
         log.info("From DB, Retrieved Teams with League id: {}", leagueId);
-        return teamMapper.toTeamDTOs(league.getTeams());
+        return teamMapper.toTeamDTOs(teams);
+    }
+
+    // [GET] ETag of All Teams for League ID, covering the League, its Teams and their Players
+    @Transactional(readOnly = true)
+    public String getTeamsForLeagueETag(Long leagueId) {
+
+        Long version = leagueRepository.findVersionByLeagueId(leagueId).orElseThrow(
+                () -> new ApiRequestException("League with id " + leagueId + " does not exist"));
+
+        return ETags.of(version, teamRepository.findVersionsByLeagueId(leagueId),
+                playerRepository.findVersionsByLeagueId(leagueId));
     }
 
     // [PUT] Add a Team to a specific League
@@ -149,4 +260,82 @@ public class TeamService {
         log.info("From DB, Removed Team with id: {} from League with id: {}", teamId, leagueId);
     }
 
+    // [PUT] Assign many Players to a specific Team, players that do not exist or already have a Team are rejected
+    @Transactional
+    public RosterUpdateDTO assignPlayersToTeam(Long teamId, List<Long> playerIds) {
+
+        RosterUpdateDTO roster = updateRoster(teamId, playerIds,
+                currentTeamId -> currentTeamId == null ? null : "already assigned to Team with id " + currentTeamId,
+                playerRepository::assignTeam);
+
+        log.info("In DB, Assigned {} Players to Team with id: {}", roster.getUpdated().size(), teamId);
+        return roster;
+    }
+
+    // [DELETE] Remove many Players from a specific Team, players that do not exist or are not in the Team are rejected
+    @Transactional
+    public RosterUpdateDTO removePlayersFromTeam(Long teamId, List<Long> playerIds) {
+
+        RosterUpdateDTO roster = updateRoster(teamId, playerIds,
+                currentTeamId -> teamId.equals(currentTeamId) ? null : "is not assigned to Team with id " + teamId,
+                playerRepository::unassignTeam);
+
+        log.info("In DB, Removed {} Players from Team with id: {}", roster.getUpdated().size(), teamId);
+        return roster;
+    }
+
+    // validates all players with one query and updates the eligible ones with one UPDATE ... WHERE player_id IN (...)
+    private RosterUpdateDTO updateRoster(Long teamId, List<Long> playerIds, Function<Long, String> rejectionReason,
+                                         BiFunction<Team, Set<Long>, Integer> update) {
+
+        if (playerIds == null || playerIds.isEmpty()) {
+            throw new ApiRequestException("at least one player id is required");
+        }
+
+        if (playerIds.size() > MAX_ROSTER_CHANGE_SIZE) {
+            throw new ApiRequestException("at most " + MAX_ROSTER_CHANGE_SIZE + " players can be moved at once");
+        }
+
+        if (playerIds.contains(null)) {
+            throw new ApiRequestException("player ids must not be null");
+        }
+
+        if (!teamRepository.existsById(teamId)) {
+            throw new ApiRequestException("Team with id " + teamId + " does not exist");
+        }
+
+        Set<Long> requestedIds = new LinkedHashSet<>(playerIds); // drops duplicates, keeps request order
+
+        Map<Long, Long> teamIdByPlayerId = new HashMap<>(); // values are null for unassigned players
+        for (PlayerRepository.TeamPlayerId player : playerRepository.findTeamIdsByPlayerIds(requestedIds)) {
+            teamIdByPlayerId.put(player.getPlayerId(), player.getTeamId());
+        }
+
+        Set<Long> eligibleIds = new LinkedHashSet<>();
+        List<RosterUpdateDTO.RejectedPlayerDTO> rejected = new ArrayList<>();
+
+        for (Long playerId : requestedIds) {
+            String reason = teamIdByPlayerId.containsKey(playerId)
+                    ? rejectionReason.apply(teamIdByPlayerId.get(playerId))
+                    : "does not exist";
+
+            if (reason == null) {
+                eligibleIds.add(playerId);
+            } else {
+                rejected.add(new RosterUpdateDTO.RejectedPlayerDTO(playerId, "Player with id " + playerId + " " + reason));
+            }
+        }
+
+        // the UPDATE repeats the team condition, so a player moved by a concurrent request is never overwritten
+        if (!eligibleIds.isEmpty() && update.apply(teamRepository.getReferenceById(teamId), eligibleIds) != eligibleIds.size()) {
+            throw new ApiRequestException("roster of Team with id " + teamId + " changed concurrently, please retry");
+        }
+
+        if (!eligibleIds.isEmpty()) {
+            squadResponseCache.invalidate(teamId);
+        }
+
+        return new RosterUpdateDTO(teamId, new ArrayList<>(eligibleIds), rejected);
+    }
+
 }
@@ -0,0 +1,57 @@
+-- Schema of the reactive read API's own in-memory database (reactive.properties), the tables Hibernate creates for the
+-- MVC application with ddl-auto. Not used against PostgreSQL (reactive-prod.properties), that schema is the MVC one's.
+CREATE TABLE IF NOT EXISTS league (
+  league_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  country VARCHAR(255),
+  name VARCHAR(255),
+  number_of_teams INTEGER,
+  version BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS team (
+  team_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  city VARCHAR(255) NOT NULL,
+  manager VARCHAR(255),
+  name VARCHAR(255) NOT NULL UNIQUE,
+  version BIGINT DEFAULT 0 NOT NULL,
+  league_id BIGINT REFERENCES league (league_id)
+);
+
+CREATE TABLE IF NOT EXISTS cup (
+  cup_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  name VARCHAR(255),
+  number_of_teams INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS team_cup_map (
+  cup_id BIGINT NOT NULL REFERENCES cup (cup_id),
+  team_id BIGINT NOT NULL REFERENCES team (team_id)
+);
+
+CREATE TABLE IF NOT EXISTS owner (
+  owner_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  name VARCHAR(255),
+  net_worth VARCHAR(255),
+  team_id BIGINT REFERENCES team (team_id)
+);
+
+CREATE TABLE IF NOT EXISTS player (
+  player_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  age INTEGER,
+  name VARCHAR(255),
+  nationality VARCHAR(255),
+  position VARCHAR(255),
+  version BIGINT DEFAULT 0 NOT NULL,
+  team_id BIGINT REFERENCES team (team_id)
+);
+
+CREATE TABLE IF NOT EXISTS stadium (
+  stadium_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  capacity INTEGER,
+  name VARCHAR(255),
+  team_id BIGINT REFERENCES team (team_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_player_team_position ON player (team_id, position);
+CREATE INDEX IF NOT EXISTS idx_team_league ON team (league_id);
+CREATE INDEX IF NOT EXISTS idx_team_cup_map_team ON team_cup_map (team_id);
@@ -0,0 +1,53 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The test application.properties replaces the main one, so the metrics settings under test are repeated here.
+// Runs with the "cache" profile, the second-level cache metrics are only registered when that cache is enabled.
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        "management.metrics.distribution.percentiles-histogram.http.server.requests=true",
+        "management.metrics.distribution.percentiles-histogram.service.method=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("cache")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class MetricsConfigurationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void givenTeamRequest_whenScrapingPrometheus_thenEndpointServiceHibernateAndPoolMetricsArePresent() throws Exception {
+
+        // given
+        mockMvc.perform(get("/api/v1/team/"));
+
+        // when / then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{exception=\"None\",method=\"GET\"")))
+                .andExpect(content().string(containsString("uri=\"/api/v1/team\"")))
+                .andExpect(content().string(containsString("service_method_seconds_bucket{class=\"dev.arsalaan.footballclubmanagementsystem.service.TeamService\"")))
+                .andExpect(content().string(containsString("method=\"getAllTeams\"")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_entities_loads_total")))
+                .andExpect(content().string(containsString("hibernate_collections_fetches_total")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")));
+    }
+
+}
@@ -0,0 +1,146 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.LeagueDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.model.League;
+import dev.arsalaan.footballclubmanagementsystem.repository.LeagueRepository;
+import dev.arsalaan.footballclubmanagementsystem.service.LeagueService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs the "replica" profile against two separate in-memory H2 databases.
+// There is no replication between them: replicate() copies the primary into the replica, so anything written after it
+// is only visible on the replica once replicate() runs again - exactly what a lagging replica looks like.
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("replica")
+@AutoConfigureMockMvc
+public class ReadWriteRoutingTest {
+
+    @Autowired
+    private LeagueService leagueService;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private Long leagueId;
+
+    @BeforeEach
+    public void setup() {
+        leagueRepository.deleteAll();
+        leagueId = leagueRepository.save(League.builder().name("Premier League").country("England")
+                .numberOfTeams(20).build()).getLeagueId();
+        replicate();
+    }
+
+    @Test
+    public void givenReplicatedLeague_whenGetLeagueById_thenServedByReplica() {
+
+        // given - only the replica copy is renamed
+        new JdbcTemplate(replicaDataSource).update("update league set name = 'Replica League' where league_id = ?", leagueId);
+
+        // when
+        LeagueDTO leagueDTO = leagueService.getLeagueById(leagueId);
+
+        // then
+        assertThat(leagueDTO.getName()).isEqualTo("Replica League");
+    }
+
+    @Test
+    public void givenLeagueNotReplicatedYet_whenReadingOnPrimary_thenOwnWriteIsSeen() {
+
+        // given
+        Long newLeagueId = leagueRepository.save(League.builder().name("Serie A").country("Italy")
+                .numberOfTeams(20).build()).getLeagueId();
+
+        // when / then
+        assertThrows(ApiRequestException.class, () -> leagueService.getLeagueById(newLeagueId));
+        assertThat(ReadConsistency.onPrimary(() -> leagueService.getLeagueById(newLeagueId)).getName()).isEqualTo("Serie A");
+    }
+
+    @Test
+    public void givenLeague_whenUpdateLeagueById_thenWrittenToPrimaryOnly() {
+
+        // when
+        leagueService.updateLeagueById(leagueId, LeagueDTO.builder().name("EPL").build());
+
+        // then
+        assertThat(leagueName(primaryDataSource)).isEqualTo("EPL");
+        assertThat(leagueName(replicaDataSource)).isEqualTo("Premier League");
+    }
+
+    @Test
+    public void givenReadOnlyTransaction_whenEntityIsChanged_thenChangeIsNotFlushed() {
+
+        // given
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // when
+        ReadConsistency.onPrimary(() -> readOnly.execute(status -> {
+            leagueRepository.findById(leagueId).get().setName("Changed");
+            return null;
+        }));
+
+        // then
+        assertThat(leagueName(primaryDataSource)).isEqualTo("Premier League");
+    }
+
+    @Test
+    public void givenLeagueNotReplicatedYet_whenGetWithReadYourWritesHeader_thenStatusOk() throws Exception {
+
+        // given
+        Long newLeagueId = leagueRepository.save(League.builder().name("Serie A").country("Italy")
+                .numberOfTeams(20).build()).getLeagueId();
+
+        // when / then
+        mockMvc.perform(get("/api/v1/league/{leagueId}", newLeagueId))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/league/{leagueId}", newLeagueId).header(ReadConsistency.HEADER, "true"))
+                .andExpect(status().isOk());
+    }
+
+    private String leagueName(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("select name from league where league_id = ?", String.class, leagueId);
+    }
+
+    private void replicate() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("drop all objects");
+        new JdbcTemplate(primaryDataSource).queryForList("script", String.class).forEach(replica::execute);
+    }
+
+}
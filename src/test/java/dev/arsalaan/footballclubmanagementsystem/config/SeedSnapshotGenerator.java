@@ -0,0 +1,79 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import dev.arsalaan.footballclubmanagementsystem.FootballClubManagementSystemApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/*
+Writes the seed snapshot (see SeedSnapshot) from the seed SQL scripts: starts the application (its web server on a
+free port) on an empty in-memory H2 database, seeds it with app.seed.mode=sql and writes what the scripts stored.
+A development tool, kept with the tests so it stays out of the application jar. Run after changing a seed script,
+from the project directory:
+
+    mvn test-compile exec:java -Dexec.classpathScope=test \
+        -Dexec.mainClass=dev.arsalaan.footballclubmanagementsystem.config.SeedSnapshotGenerator
+
+The first argument is the file written (src/main/resources/seed.snapshot by default), further ones are passed on to
+the application, e.g. --app.seed.scripts=file:seed/cup-data.sql,file:seed/player-data.sql for other scripts.
+ */
+
+@Slf4j
+public final class SeedSnapshotGenerator {
+
+    public static final Path DEFAULT_TARGET = Path.of("src", "main", "resources", "seed.snapshot");
+
+    // the test application.properties, which shadows the main one on this classpath, has no seed scripts
+    private static final String SEED_SCRIPTS = "--app.seed.scripts=classpath:cup-data.sql,classpath:league-data.sql,"
+            + "classpath:owner-data.sql,classpath:player-data.sql,classpath:stadium-data.sql,classpath:team-data.sql";
+
+    private SeedSnapshotGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        Path target = args.length > 0 && !args[0].startsWith("--") ? Path.of(args[0]) : DEFAULT_TARGET;
+        String[] properties = Stream.of(args).filter(arg -> arg.startsWith("--")).toArray(String[]::new);
+
+        generate(target, properties);
+        log.info("Seed snapshot written to {} ({} bytes)", target.toAbsolutePath(), Files.size(target));
+    }
+
+    public static void generate(Path target, String... properties) throws IOException {
+
+        // command line arguments, so they win over application.properties; a property given twice would be read as
+        // a list of both values, so the default scripts only go in when no others are given
+        Stream<String> scripts = Stream.of(properties).anyMatch(property -> property.startsWith("--app.seed.scripts="))
+                ? Stream.empty() : Stream.of(SEED_SCRIPTS);
+        String[] args = Stream.of(Stream.of(
+                        "--app.seed.mode=sql",
+                        "--spring.datasource.url=jdbc:h2:mem:seed-snapshot",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.sql.init.mode=never",
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN",
+                        "--logging.level.dev.arsalaan.footballclubmanagementsystem=INFO"),
+                scripts, Stream.of(properties)).flatMap(stream -> stream).toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FootballClubManagementSystemApplication.class)
+                .run(args)) {
+
+            if (target.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(target.toAbsolutePath().getParent());
+            }
+            try (OutputStream out = Files.newOutputStream(target)) {
+                SeedSnapshot.write(context.getBean(JdbcTemplate.class), out);
+            }
+        }
+    }
+
+}
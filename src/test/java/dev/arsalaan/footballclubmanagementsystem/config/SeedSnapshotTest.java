@@ -0,0 +1,85 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import dev.arsalaan.footballclubmanagementsystem.repository.BulkInserter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The committed seed.snapshot against the seed scripts it is generated from, and loading it into the empty tables
+// of a test database. Both run in the test transaction, nothing stays behind.
+
+@DataJpaTest
+@Import(BulkInserter.class)
+public class SeedSnapshotTest {
+
+    private static final String[] SEED_TABLES = {"cup", "league", "owner", "player", "stadium", "team"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BulkInserter bulkInserter;
+
+    @Test
+    public void givenSeedScripts_whenSnapshotWritten_thenSameAsCommittedSnapshot() throws IOException {
+
+        // given (ids from 1, as in the freshly created database the generator runs the scripts against)
+        Stream.of(SEED_TABLES).forEach(table -> jdbcTemplate.execute("alter table " + table + " alter column " + table + "_id restart with 1"));
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(Stream.of(SEED_TABLES)
+                .map(table -> new ClassPathResource(table + "-data.sql")).toArray(ClassPathResource[]::new));
+        populator.setSqlScriptEncoding(StandardCharsets.UTF_8.name());
+        populator.execute(jdbcTemplate.getDataSource());
+
+        // when
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        SeedSnapshot.write(jdbcTemplate, written);
+
+        // then
+        try (InputStream committed = new ClassPathResource("seed.snapshot").getInputStream()) {
+            assertThat(written.toByteArray())
+                    .as("seed.snapshot is out of date with the seed scripts, generate it again with SeedSnapshotGenerator")
+                    .isEqualTo(committed.readAllBytes());
+        }
+    }
+
+    @Test
+    public void givenEmptyTables_whenSnapshotLoaded_thenSeedRowsStoredWithTheirIdsAndNewIdsFollowThem() throws IOException {
+
+        // when
+        Map<String, Long> loaded = load();
+
+        // then
+        assertThat(loaded).containsExactly(Map.entry("cup", 9L), Map.entry("league", 4L), Map.entry("team", 20L),
+                Map.entry("player", 34L), Map.entry("owner", 20L), Map.entry("stadium", 20L));
+        assertThat(jdbcTemplate.queryForObject("select name from team where team_id = 3", String.class)).isEqualTo("Arsenal F.C.");
+        assertThat(jdbcTemplate.queryForObject("select age from player where player_id = 1", Integer.class)).isEqualTo(37);
+        assertThat(jdbcTemplate.queryForObject("select team_id from player where player_id = 1", Long.class)).isNull();
+
+        jdbcTemplate.update("insert into league (name, country, number_of_teams) values ('Bundesliga', 'Germany', 18)");
+        assertThat(jdbcTemplate.queryForObject("select league_id from league where name = 'Bundesliga'", Long.class)).isEqualTo(5L);
+
+        // a database holding data already is left alone
+        assertThat(load()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from team", Long.class)).isEqualTo(20L);
+    }
+
+    private Map<String, Long> load() throws IOException {
+        try (InputStream snapshot = new ClassPathResource("seed.snapshot").getInputStream()) {
+            return SeedSnapshot.load(snapshot, bulkInserter, jdbcTemplate);
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package dev.arsalaan.footballclubmanagementsystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// The virtual thread checks only run on a Java 21+ JVM, the startup failure check only below it.
+
+public class VirtualThreadConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(VirtualThreadConfiguration.class);
+
+    @Test
+    public void givenPropertyNotSet_whenStarting_thenPlatformThreadPoolIsKept() {
+
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean("virtualThreadProtocolHandlerCustomizer");
+            assertThat(context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME))
+                    .isNotInstanceOf(SimpleAsyncTaskExecutor.class);
+        });
+    }
+
+    @Test
+    public void givenVirtualThreadsOnJava21_whenRunningAsyncWork_thenItRunsOnAVirtualThread() throws Exception {
+
+        assumeTrue(VirtualThreads.isSupported());
+
+        contextRunner.withPropertyValues("app.threads.virtual=true").run(context -> {
+            AsyncTaskExecutor executor = context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+                    AsyncTaskExecutor.class);
+
+            Thread thread = executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+
+            assertThat(VirtualThreads.isVirtual(thread)).isTrue();
+            assertThat(thread.getName()).startsWith("task-virtual-");
+            assertThat(context).hasBean("virtualThreadProtocolHandlerCustomizer");
+        });
+    }
+
+    @Test
+    public void givenVirtualThreadsBelowJava21_whenStarting_thenStartupFails() {
+
+        assumeFalse(VirtualThreads.isSupported());
+
+        contextRunner.withPropertyValues("app.threads.virtual=true").run(context -> {
+            assertThat(context).hasFailed();
+            assertThat(context.getStartupFailure()).hasRootCauseInstanceOf(IllegalStateException.class)
+                    .hasStackTraceContaining("need Java 21 or newer");
+        });
+    }
+
+}
@@ -1,30 +1,47 @@
 package dev.arsalaan.footballclubmanagementsystem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.arsalaan.footballclubmanagementsystem.config.ReadConsistency;
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.ImportReportDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.LeagueDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.RosterUpdateDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.TeamDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamExportDTO;
 import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.service.BulkImportService;
+import dev.arsalaan.footballclubmanagementsystem.service.FixtureService;
 import dev.arsalaan.footballclubmanagementsystem.service.LeagueService;
+import dev.arsalaan.footballclubmanagementsystem.service.MatchEventService;
+import dev.arsalaan.footballclubmanagementsystem.service.SquadResponseCache;
+import dev.arsalaan.footballclubmanagementsystem.service.StatisticsService;
 import dev.arsalaan.footballclubmanagementsystem.service.TeamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.*;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.BDDMockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 // Unit test
 // (cannot involve Spring and the whole request & response lifecycle as then it is no longer a unit test.)
@@ -35,6 +52,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest({ TeamController.class, LeagueController.class })
+@Import({SquadResponseCache.class, SimpleMeterRegistry.class})
 class TeamControllerTest {
 
         @MockBean
@@ -43,6 +61,21 @@ class TeamControllerTest {
         @MockBean
         private LeagueService leagueService;
 
+        @MockBean
+        private FixtureService fixtureService;
+
+        @MockBean
+        private MatchEventService matchEventService;
+
+        @MockBean
+        private StatisticsService statisticsService;
+
+        @MockBean
+        private BulkImportService bulkImportService;
+
+        @Autowired
+        private SquadResponseCache squadResponseCache;
+
         @Autowired
         MockMvc mockMvc;
 
@@ -56,6 +89,8 @@ class TeamControllerTest {
 
         @BeforeEach
         void setUp() {
+                // the services are mocks, so no write ever invalidates what an earlier test cached
+                squadResponseCache.invalidateAll();
                 teamDTO1 = TeamDTO.builder().teamId(1L).name("Manchester United").city("Manchester")
                                 .manager("Erik ten Hag").build();
                 teamDTO2 = TeamDTO.builder().teamId(2L).name("Manchester City").city("Manchester")
@@ -94,10 +129,58 @@ class TeamControllerTest {
                                 .andExpect(jsonPath("$", hasSize(0)));
         }
 
+        @Test
+        public void givenTeamsPage_whenGetAllTeamsWithLimit_thenStatusOkAndNextCursor() throws Exception {
+
+                // given
+                given(teamService.getTeamsPage(null, 2)).willReturn(new CursorPageDTO<>(teamsDTO, 2, 2L));
+
+                // when
+                mockMvc.perform(get("/api/v1/team/").param("limit", "2"))
+
+                                // then
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(2)))
+                                .andExpect(jsonPath("$.nextCursor", is(2)));
+        }
+
+        @Test
+        public void givenTeams_whenExportTeams_thenStatusOkAndOneJsonLinePerTeam() throws Exception {
+
+                // given
+                TeamExportDTO teamExportDTO1 = new TeamExportDTO(1L, "Manchester United", "Manchester", "Erik ten Hag", 1L);
+                teamExportDTO1.setPlayerIds(Arrays.asList(1L, 2L));
+                TeamExportDTO teamExportDTO2 = new TeamExportDTO(2L, "Manchester City", "Manchester", "Pep Guardiola", null);
+                teamExportDTO2.setPlayerIds(Collections.emptyList());
+
+                willAnswer(invocation -> {
+                        Consumer<TeamExportDTO> sink = invocation.getArgument(0);
+                        sink.accept(teamExportDTO1);
+                        sink.accept(teamExportDTO2);
+                        return null;
+                }).given(teamService).exportTeams(any());
+
+                // when
+                MvcResult mvcResult = mockMvc.perform(get("/api/v1/team/export"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                // then
+                String[] lines = mockMvc.perform(asyncDispatch(mvcResult))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                                .andReturn().getResponse().getContentAsString().split("\n");
+
+                assertEquals(2, lines.length);
+                assertEquals(teamExportDTO1, objectMapper.readValue(lines[0], TeamExportDTO.class));
+                assertEquals(teamExportDTO2, objectMapper.readValue(lines[1], TeamExportDTO.class));
+        }
+
         @Test
         public void givenTeam_whenGetTeamById_thenStatusOkAndBodyCorrect() throws Exception {
 
                 // given
+                given(teamService.getTeamETag(1L)).willReturn("\"0\"");
                 given(teamService.getTeamById(1L)).willReturn(teamDTO1);
 
                 // when
@@ -105,9 +188,83 @@ class TeamControllerTest {
 
                                 // then
                                 .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                                .andExpect(jsonPath("$.name").value("Manchester United"));
+        }
+
+        @Test
+        public void givenMatchingETag_whenGetTeamById_thenStatusNotModifiedWithoutLoadingTeam() throws Exception {
+
+                // given
+                given(teamService.getTeamETag(1L)).willReturn("\"0\"");
+
+                // when
+                mockMvc.perform(get("/api/v1/team/{teamId}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+
+                                // then
+                                .andExpect(status().isNotModified())
+                                .andExpect(content().string(""));
+
+                verify(teamService, never()).getTeamById(1L);
+        }
+
+        @Test
+        public void givenTeamAlreadyServed_whenGetTeamById_thenAnsweredFromTheCacheUntilInvalidated() throws Exception {
+
+                // given
+                given(teamService.getTeamETag(1L)).willReturn("\"0\"");
+                given(teamService.getTeamById(1L)).willReturn(teamDTO1);
+                mockMvc.perform(get("/api/v1/team/{teamId}", 1L)).andExpect(status().isOk());
+
+                // when
+                mockMvc.perform(get("/api/v1/team/{teamId}", 1L))
+
+                                // then
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                                .andExpect(jsonPath("$.name").value("Manchester United"));
+                mockMvc.perform(get("/api/v1/team/{teamId}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                                .andExpect(status().isNotModified());
+                verify(teamService, times(1)).getTeamETag(1L);
+                verify(teamService, times(1)).getTeamById(1L);
+
+                // and once a write touched the Team it is loaded again
+                squadResponseCache.invalidate(1L);
+                mockMvc.perform(get("/api/v1/team/{teamId}", 1L)).andExpect(status().isOk());
+                verify(teamService, times(2)).getTeamById(1L);
+        }
+
+        @Test
+        public void givenTeamNotCached_whenGetTeamById_thenLoadedFromThePrimary() throws Exception {
+
+                // given
+                given(teamService.getTeamETag(1L)).willAnswer(invocation -> ReadConsistency.isPrimaryRequired() ? "\"0\"" : null);
+                given(teamService.getTeamById(1L)).willAnswer(invocation -> ReadConsistency.isPrimaryRequired() ? teamDTO1 : null);
+
+                // when
+                mockMvc.perform(get("/api/v1/team/{teamId}", 1L))
+
+                                // then (never a lagging replica, whatever it returned would stay cached)
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
                                 .andExpect(jsonPath("$.name").value("Manchester United"));
         }
 
+        @Test
+        public void givenMatchingETag_whenViewAllTeamsForLeague_thenStatusNotModifiedWithoutLoadingTeams() throws Exception {
+
+                // given
+                given(teamService.getTeamsForLeagueETag(1L)).willReturn("\"abc\"");
+
+                // when
+                mockMvc.perform(get("/api/v1/team/league/{leagueId}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"abc\""))
+
+                                // then
+                                .andExpect(status().isNotModified());
+
+                verify(teamService, never()).viewAllTeamsForLeague(1L);
+        }
+
         @Test
         public void givenNothing_whenGetTeamById_thenStatusBadRequest() throws Exception {
 
@@ -122,6 +279,41 @@ class TeamControllerTest {
                                 .andExpect(status().isBadRequest());
         }
 
+        @Test
+        public void givenCsvUpload_whenImportTeams_thenStatusOkAndReportOfTheRows() throws Exception {
+
+                // given
+                MockMultipartFile file = new MockMultipartFile("file", "teams.csv", "text/csv",
+                                "name,city\nArsenal,London\nChelsea,\n".getBytes());
+                given(bulkImportService.importTeams(any(), eq(BulkImportService.Format.CSV))).willReturn(
+                                new ImportReportDTO("team", 2L, 1L, 1L,
+                                                List.of(new ImportReportDTO.RowErrorDTO(2L, "city is required")), false));
+
+                // when
+                mockMvc.perform(multipart("/api/v1/team/import").file(file))
+
+                                // then
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.imported", is(1)))
+                                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                                .andExpect(jsonPath("$.errors[0].message", is("city is required")));
+        }
+
+        @Test
+        public void givenUploadOfUnknownFormat_whenImportTeams_thenStatusBadRequest() throws Exception {
+
+                // given
+                MockMultipartFile file = new MockMultipartFile("file", "teams.xlsx", "application/octet-stream", new byte[]{1});
+
+                // when
+                mockMvc.perform(multipart("/api/v1/team/import").file(file))
+
+                                // then
+                                .andExpect(status().isBadRequest());
+
+                verify(bulkImportService, never()).importTeams(any(), any());
+        }
+
         @Test
         public void givenTeam_whenCreateTeam_thenStatusCreated() throws Exception {
 
@@ -275,6 +467,7 @@ class TeamControllerTest {
                 mockMvc.perform(put("/api/v1/team/{teamId}/league/{leagueId}", "1", "1"));
                 mockMvc.perform(put("/api/v1/team/{teamId}/league/{leagueId}", "2", "1"));
 
+                given(teamService.getTeamsForLeagueETag(1L)).willReturn("\"abc\"");
                 given(teamService.viewAllTeamsForLeague(1L)).willReturn(teamsDTO);
 
                 // when
@@ -282,6 +475,7 @@ class TeamControllerTest {
 
                                 // then
                                 .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.ETAG, "\"abc\""))
                                 .andExpect(jsonPath("$", hasSize(2)))
                                 .andExpect(jsonPath("$[1].name", is("Manchester City")));
         }
@@ -479,4 +673,41 @@ class TeamControllerTest {
                                 .andExpect(status().isBadRequest());
         }
 
-}
\ No newline at end of file
+        @Test
+        public void givenPlayerIds_whenAssignPlayersToTeam_thenStatusOkAndRejectedIdsReported() throws Exception {
+
+                // given
+                List<Long> playerIds = Arrays.asList(7L, 8L);
+                given(teamService.assignPlayersToTeam(1L, playerIds)).willReturn(new RosterUpdateDTO(1L,
+                                Collections.singletonList(7L),
+                                Collections.singletonList(new RosterUpdateDTO.RejectedPlayerDTO(8L, "Player with id 8 does not exist"))));
+
+                // when
+                mockMvc.perform(put("/api/v1/team/{teamId}/players", "1")
+                                .content(objectMapper.writeValueAsString(playerIds))
+                                .contentType(MediaType.APPLICATION_JSON))
+
+                                // then
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.updated", hasSize(1)))
+                                .andExpect(jsonPath("$.rejected[0].playerId", is(8)))
+                                .andExpect(jsonPath("$.rejected[0].reason", is("Player with id 8 does not exist")));
+        }
+
+        @Test
+        public void givenNonExistingTeamId_whenRemovePlayersFromTeam_thenStatusBadRequest() throws Exception {
+
+                // given
+                willThrow(new ApiRequestException("Team with id " + 50L + " does not exist"))
+                                .given(teamService).removePlayersFromTeam(50L, Collections.singletonList(7L));
+
+                // when
+                mockMvc.perform(delete("/api/v1/team/{teamId}/players", "50")
+                                .content("[7]")
+                                .contentType(MediaType.APPLICATION_JSON))
+
+                                // then
+                                .andExpect(status().isBadRequest());
+        }
+
+}
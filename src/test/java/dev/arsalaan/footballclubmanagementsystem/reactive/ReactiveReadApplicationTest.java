@@ -0,0 +1,169 @@
+package dev.arsalaan.footballclubmanagementsystem.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.arsalaan.footballclubmanagementsystem.dto.CupDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.LeagueDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The reactive read API against its own seeded in-memory H2 (reactive.properties, r2dbc-h2).
+// The seed data has no relationships, setup() puts Players 1-2 in Team 1, Teams 1-2 in League 1 and Team 1 in Cup 1.
+
+@SpringBootTest(classes = ReactiveReadApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.config.name=reactive", "spring.main.web-application-type=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactivetest;DB_CLOSE_DELAY=-1"})
+@ActiveProfiles(ReactiveReadApplication.PROFILE)
+public class ReactiveReadApplicationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveReadQueries reactiveReadQueries;
+
+    @BeforeEach
+    void setUp() {
+        execute("update player set team_id = 1 where player_id in (1, 2)");
+        execute("update team set league_id = 1 where team_id in (1, 2)");
+        execute("delete from team_cup_map");
+        execute("insert into team_cup_map (cup_id, team_id) values (1, 1)");
+    }
+
+    @Test
+    public void givenSeededTeams_whenGetAllTeams_thenStatusOkAndPlayersFoldedIntoTheirTeam() {
+
+        // then (one DTO per Team even though the join returns a row per Player)
+        webTestClient.get().uri("/api/v1/team/").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].teamId").isEqualTo(1)
+                .jsonPath("$[0].players.length()").isEqualTo(2)
+                .jsonPath("$[0].players[0].name").isEqualTo("Cristiano Ronaldo")
+                .jsonPath("$[0].players[1].name").isEqualTo("Marcus Rashford")
+                .jsonPath("$[1].teamId").isEqualTo(2)
+                .jsonPath("$[1].players").isEmpty()
+                .jsonPath("$[2].teamId").isEqualTo(3);
+    }
+
+    @Test
+    public void givenNdjsonAccepted_whenGetAllTeams_thenTeamsAreStreamedOnePerLine() {
+
+        // when
+        Flux<JsonNode> teams = webTestClient.get().uri("/api/v1/team/").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(JsonNode.class).getResponseBody();
+
+        // then
+        StepVerifier.create(teams)
+                .assertNext(team -> assertThat(team.get("name").asText()).isEqualTo("Manchester United F.C."))
+                .assertNext(team -> assertThat(team.get("name").asText()).isEqualTo("Manchester City F.C."))
+                .thenConsumeWhile(team -> true)
+                .verifyComplete();
+    }
+
+    @Test
+    public void givenTeamId_whenGetTeamById_thenStatusOkAndBodyCorrect() {
+
+        webTestClient.get().uri("/api/v1/team/{teamId}", 1).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Manchester United F.C.")
+                .jsonPath("$.players.length()").isEqualTo(2);
+    }
+
+    @Test
+    public void givenUnknownTeamId_whenGetTeamById_thenStatusBadRequestWithMessage() {
+
+        webTestClient.get().uri("/api/v1/team/{teamId}", 999).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("team with id 999 does not exist")
+                .jsonPath("$.httpStatus").isEqualTo(HttpStatus.BAD_REQUEST.name());
+    }
+
+    @Test
+    public void givenTeamWithPlayers_whenViewAllPlayersForTeam_thenStatusOkAndPlayersById() {
+
+        webTestClient.get().uri("/api/v1/player/team/{teamId}", 1).exchange()
+                .expectStatus().isOk()
+                .expectBodyList(PlayerDTO.class).value(players -> assertThat(players)
+                        .extracting(PlayerDTO::getPlayerId).containsExactly(1L, 2L));
+    }
+
+    @Test
+    public void givenTeamWithoutPlayers_whenViewAllPlayersForTeam_thenStatusNoContent() {
+
+        webTestClient.get().uri("/api/v1/player/team/{teamId}", 3).exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    public void givenUnknownTeamId_whenViewAllCupsForTeam_thenStatusBadRequest() {
+
+        webTestClient.get().uri("/api/v1/cup/team/{teamId}", 999).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Team with id 999 does not exist");
+    }
+
+    @Test
+    public void givenTeamInCup_whenViewAllCupsForTeam_thenStatusOkAndBodyCorrect() {
+
+        webTestClient.get().uri("/api/v1/cup/team/{teamId}", 1).exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CupDTO.class).value(cups -> assertThat(cups)
+                        .extracting(CupDTO::getName).containsExactly("FA Cup"));
+    }
+
+    @Test
+    public void givenLeagueWithTeams_whenGetLeagues_thenStatusOkAndTeamsFoldedIntoTheirLeague() {
+
+        webTestClient.get().uri("/api/v1/league/").exchange()
+                .expectStatus().isOk()
+                .expectBodyList(LeagueDTO.class).value(leagues -> {
+                    assertThat(leagues).extracting(LeagueDTO::getLeagueId).doesNotHaveDuplicates();
+                    assertThat(leagues.get(0).getTeams()).extracting(LeagueDTO.TeamDTO::getTeamId).containsExactly(1L, 2L);
+                });
+
+        webTestClient.get().uri("/api/v1/league/{leagueId}", 1).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.name").isEqualTo("Premier League");
+
+        webTestClient.get().uri("/api/v1/league/{leagueId}", 999).exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void givenSlowSubscriber_whenFindAllTeams_thenTeamsArriveOnlyAsRequested() {
+
+        StepVerifier.create(reactiveReadQueries.findAllTeams(), 1)
+                .assertNext(team -> assertThat(team.getTeamId()).isEqualTo(1L))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(1)
+                .assertNext(team -> assertThat(team.getTeamId()).isEqualTo(2L))
+                .thenCancel()
+                .verify();
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).fetch().rowsUpdated().block();
+    }
+
+}
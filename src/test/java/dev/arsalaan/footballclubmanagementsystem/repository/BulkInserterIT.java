@@ -0,0 +1,109 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The COPY path of BulkInserter, against a real PostgreSQL in Docker (skipped without Docker). Like the other *IT
+// classes not part of the default test run, run explicitly with:
+//   mvn test -Dtest=BulkInserterIT
+
+@Testcontainers(disabledWithoutDocker = true)
+public class BulkInserterIT {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static final BulkInserter.Table SIGNING = new BulkInserter.Table("signing", List.of(
+            new BulkInserter.Column("name", Types.VARCHAR), new BulkInserter.Column("age", Types.INTEGER),
+            new BulkInserter.Column("fee", Types.BIGINT), new BulkInserter.Column("signed_on", Types.DATE),
+            new BulkInserter.Column("loan", Types.BOOLEAN)));
+
+    private JdbcTemplate jdbcTemplate;
+    private BulkInserter bulkInserter;
+
+    @BeforeEach
+    public void setup() {
+
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword()));
+        jdbcTemplate.execute("drop table if exists signing");
+        jdbcTemplate.execute("create table signing (id bigserial primary key, name varchar(255), age integer, "
+                + "fee bigint, signed_on date, loan boolean)");
+        bulkInserter = new BulkInserter(jdbcTemplate);
+    }
+
+    @Test
+    public void givenRowsWithEdgeCases_whenInsert_thenCopiedAsTheyWere() {
+
+        // given
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"N'Golo \"The Ant\" Kanté", 31, 32_000_000L, LocalDate.of(2016, 7, 16), false});
+        rows.add(new Object[]{"", null, null, null, null});
+        rows.add(new Object[]{null, 18, 0L, LocalDate.of(2022, 1, 31), true});
+        rows.add(new Object[]{"Rome, Italy\nsecond line", 25, 1L, LocalDate.of(2020, 9, 1), true});
+        rows.add(new Object[]{"\\.", 20, 2L, LocalDate.of(2021, 8, 31), false});
+
+        // when
+        bulkInserter.insert(SIGNING, rows);
+
+        // then
+        List<Map<String, Object>> stored = jdbcTemplate.queryForList(
+                "select name, age, fee, signed_on, loan from signing order by id");
+        assertThat(stored).hasSize(rows.size());
+        assertThat(stored.get(0)).containsEntry("name", "N'Golo \"The Ant\" Kanté").containsEntry("age", 31)
+                .containsEntry("fee", 32_000_000L).containsEntry("loan", false);
+        assertThat(stored.get(0).get("signed_on").toString()).isEqualTo("2016-07-16");
+        assertThat(stored.get(1)).containsEntry("name", "").containsEntry("age", null).containsEntry("fee", null)
+                .containsEntry("signed_on", null).containsEntry("loan", null);
+        assertThat(stored.get(2)).containsEntry("name", null).containsEntry("loan", true);
+        assertThat(stored.get(3)).containsEntry("name", "Rome, Italy\nsecond line");
+        assertThat(stored.get(4)).containsEntry("name", "\\.");
+    }
+
+    @Test
+    public void givenManyRows_whenInsert_thenAllCopiedInOneGo() {
+
+        // given (more rows than one multi-row INSERT of the other databases holds)
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 10 * BulkInserter.ROWS_PER_STATEMENT + 1; i++) {
+            rows.add(new Object[]{"Player " + i, 18 + i % 20, (long) i, LocalDate.of(2022, 7, 1), i % 2 == 0});
+        }
+
+        // when
+        bulkInserter.insert(SIGNING, rows);
+
+        // then
+        assertThat(jdbcTemplate.queryForObject("select count(*) from signing", Long.class)).isEqualTo(rows.size());
+        assertThat(jdbcTemplate.queryForObject("select sum(fee) from signing", Long.class))
+                .isEqualTo((long) rows.size() * (rows.size() - 1) / 2);
+    }
+
+    @Test
+    public void givenRowViolatingAConstraint_whenInsert_thenNothingIsCopied() {
+
+        // given
+        jdbcTemplate.execute("alter table signing add constraint signing_age check (age > 0)");
+        List<Object[]> rows = List.of(
+                new Object[]{"Valid", 20, 1L, null, null},
+                new Object[]{"Invalid", -1, 2L, null, null});
+
+        // when / then
+        assertThatThrownBy(() -> bulkInserter.insert(SIGNING, rows)).hasMessageContaining("signing_age");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from signing", Long.class)).isZero();
+    }
+
+}
@@ -0,0 +1,74 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkInserterTest {
+
+    private static final BulkInserter.Table PLAYER = new BulkInserter.Table("player", List.of(
+            new BulkInserter.Column("name", Types.VARCHAR), new BulkInserter.Column("age", Types.INTEGER),
+            new BulkInserter.Column("team_id", Types.BIGINT)));
+
+    @Test
+    public void givenTable_whenCopySql_thenCopiesItsColumnsInCsvForm() {
+
+        assertThat(PLAYER.copySql()).isEqualTo("copy player (name, age, team_id) from stdin with (format csv)");
+    }
+
+    @Test
+    public void givenTable_whenInsertSql_thenOneValuesListPerRow() {
+
+        assertThat(PLAYER.insertSql(2)).isEqualTo("insert into player (name, age, team_id) values (?, ?, ?), (?, ?, ?)");
+    }
+
+    @Test
+    public void givenNullAndEmptyString_whenAppendCsv_thenNullIsAnUnquotedEmptyFieldAndEmptyStringIsQuoted() {
+
+        assertThat(csv(null)).isEmpty();
+        assertThat(csv("")).isEqualTo("\"\"");
+    }
+
+    @Test
+    public void givenTextWithQuotesCommasAndNewlines_whenAppendCsv_thenQuotedWithQuotesDoubled() {
+
+        assertThat(csv("N'Golo \"The Ant\" Kanté")).isEqualTo("\"N'Golo \"\"The Ant\"\" Kanté\"");
+        assertThat(csv("Rome, Italy")).isEqualTo("\"Rome, Italy\"");
+        assertThat(csv("first line\nsecond line\r\n")).isEqualTo("\"first line\nsecond line\r\n\"");
+        // COPY would read an unquoted \. line as the end of the data
+        assertThat(csv("\\.")).isEqualTo("\"\\.\"");
+    }
+
+    @Test
+    public void givenNonTextValues_whenAppendCsv_thenWrittenUnquotedThroughToString() {
+
+        assertThat(csv(42)).isEqualTo("42");
+        assertThat(csv(7L)).isEqualTo("7");
+        assertThat(csv(true)).isEqualTo("true");
+        assertThat(csv(LocalDate.of(2022, 8, 5))).isEqualTo("2022-08-05");
+    }
+
+    @Test
+    public void givenRows_whenToCsv_thenOneLinePerRowWithCommaSeparatedFields() {
+
+        // when
+        String csv = BulkInserter.toCsv(List.of(
+                new Object[]{"Bukayo Saka", 21, 1L},
+                new Object[]{"", null, null},
+                new Object[]{"Two\nLines", 30, 2L}));
+
+        // then
+        assertThat(csv).isEqualTo("\"Bukayo Saka\",21,1\n\"\",,\n\"Two\nLines\",30,2\n");
+    }
+
+    private static String csv(Object value) {
+        StringBuilder csv = new StringBuilder();
+        BulkInserter.appendCsv(csv, value);
+        return csv.toString();
+    }
+
+}
@@ -0,0 +1,109 @@
+package dev.arsalaan.footballclubmanagementsystem.repository;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerFilterDTO;
+import dev.arsalaan.footballclubmanagementsystem.model.Player;
+import dev.arsalaan.footballclubmanagementsystem.model.Team;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+// the composite indexes are created the way the application creates them, by spring.sql.init after Hibernate
+@TestPropertySource(properties = {
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:schema-indexes.sql",
+        "spring.jpa.defer-datasource-initialization=true"})
+public class PlayerRepositoryTest {
+
+    @Autowired
+    PlayerRepository playerRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void test_insertAll() {
+
+        // given (more than two JDBC batches worth of players)
+        int count = 2 * PlayerBatchRepositoryImpl.BATCH_SIZE + 1;
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new Player(null, "Player " + i, "CM", "England", 20 + i % 15, null, null));
+        }
+
+        // when
+        List<Long> ids = playerRepository.insertAll(players);
+
+        // then (ids come back in request order and the rows are readable through JPA)
+        Assertions.assertThat(ids).hasSize(count).doesNotHaveDuplicates().isSorted();
+        Player last = playerRepository.findById(ids.get(count - 1)).get();
+        Assertions.assertThat(last.getName()).isEqualTo("Player " + (count - 1));
+        Assertions.assertThat(last.getVersion()).isZero();
+        Assertions.assertThat(playerRepository.count()).isEqualTo(count);
+    }
+
+    @Test
+    public void test_findAllMatchingAnyCriteria() {
+
+        // given
+        Team arsenal = entityManager.persist(new Team(null, "Arsenal", "London", "Arteta", null, null, null, null, null, null));
+        Team chelsea = entityManager.persist(new Team(null, "Chelsea", "London", "Potter", null, null, null, null, null, null));
+        Player saka = entityManager.persist(new Player(null, "Bukayo Saka", "RW", "England", 21, null, arsenal));
+        Player jesus = entityManager.persist(new Player(null, "Gabriel Jesus", "ST", "Brazil", 25, null, arsenal));
+        Player sterling = entityManager.persist(new Player(null, "Raheem Sterling", "LW", "England", 28, null, chelsea));
+        Player silva = entityManager.persist(new Player(null, "Thiago Silva", "CB", "Brazil", 38, null, chelsea));
+        entityManager.persist(new Player(null, "Free Agent", "ST", "England", 33, null, null));
+
+        // when ((Brazilian and over 30) or (Arsenal and a forward))
+        List<Player> players = playerRepository.findAll(PlayerSpecifications.matchingAny(Arrays.asList(
+                new PlayerFilterDTO.CriteriaDTO(null, Collections.singletonList("Brazil"), null, 30, null),
+                new PlayerFilterDTO.CriteriaDTO(Arrays.asList("ST", "RW"), null, Collections.singletonList(arsenal.getTeamId()), null, null))),
+                Sort.by("age"));
+
+        // then
+        Assertions.assertThat(players).extracting(Player::getPlayerId)
+                .containsExactly(saka.getPlayerId(), jesus.getPlayerId(), silva.getPlayerId());
+        Assertions.assertThat(playerRepository.findAll(PlayerSpecifications.matchingAny(Collections.singletonList(
+                new PlayerFilterDTO.CriteriaDTO(null, Collections.singletonList("England"), null, 20, 30)))))
+                .extracting(Player::getPlayerId).containsExactlyInAnyOrder(saka.getPlayerId(), sterling.getPlayerId());
+        Assertions.assertThat(playerRepository.findAll(PlayerSpecifications.matchingAny(Arrays.asList(
+                new PlayerFilterDTO.CriteriaDTO(), new PlayerFilterDTO.CriteriaDTO(null, null, null, 99, null)))))
+                .hasSize(5);
+    }
+
+    @Test
+    public void test_indexesBackTheFilterPredicates() {
+
+        // then (the plans of the filter predicates name an index instead of a table scan, the foreign key index for
+        // the team)
+        Assertions.assertThat(explain("select * from player where team_id = 1 and position = 'ST'"))
+                .containsPattern("(?i)_index_\\d+: team_id =");
+        Assertions.assertThat(explain("select * from player where nationality = 'England' and age between 20 and 30"))
+                .containsIgnoringCase("idx_player_nationality_age");
+        Assertions.assertThat(explain("select * from player where position in ('ST', 'CF') and age >= 30"))
+                .containsIgnoringCase("idx_player_position_age");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+
+}
@@ -7,8 +7,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -74,4 +76,20 @@ public class TeamRepositoryTest {
         Assertions.assertThat(teamOptional.get().getCity()).isEqualTo("Manchester");
     }
 
+    @Test
+    public void test_findByTeamIdGreaterThanOrderByTeamIdAsc() {
+
+        // given
+        Team team1 = teamRepository.save(Team.builder().name("Manchester United").city("Manchester").build());
+        Team team2 = teamRepository.save(Team.builder().name("Manchester City").city("Manchester").build());
+        Team team3 = teamRepository.save(Team.builder().name("Liverpool").city("Liverpool").build());
+
+        // when
+        List<Team> page = teamRepository.findByTeamIdGreaterThanOrderByTeamIdAsc(team1.getTeamId(), PageRequest.of(0, 1));
+
+        // then
+        Assertions.assertThat(page).extracting(Team::getName).containsExactly(team2.getName());
+        Assertions.assertThat(teamRepository.findByTeamIdGreaterThanOrderByTeamIdAsc(team3.getTeamId(), PageRequest.of(0, 1))).isEmpty();
+    }
+
 }
@@ -0,0 +1,201 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.ImportReportDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerSearchCriteria;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.mapper.PlayerMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.repository.BulkInserter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Imports against H2 (the multi-row INSERT path), committed chunk by chunk, so there is no test transaction and the
+// rows are removed after every test. Chunks of 150 rows: an import of more spans several chunks and its first one is
+// written as one full statement of BulkInserter.ROWS_PER_STATEMENT rows plus the rest.
+
+@DataJpaTest
+@Import({BulkImportService.class, BulkInserter.class, PlayerService.class, PlayerMapperImpl.class, PlayerSearchIndex.class,
+        SquadResponseCache.class, JacksonAutoConfiguration.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {"app.import.chunk-size=150", "app.import.max-errors=5"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BulkImportServiceTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long leagueId;
+    private Long teamId;
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate.update("insert into league (name, country, number_of_teams, version) values ('Premier League', 'England', 20, 0)");
+        leagueId = jdbcTemplate.queryForObject("select max(league_id) from league", Long.class);
+        jdbcTemplate.update("insert into team (name, city, league_id, version) values ('Arsenal', 'London', ?, 0)", leagueId);
+        teamId = jdbcTemplate.queryForObject("select max(team_id) from team", Long.class);
+    }
+
+    @AfterEach
+    public void clear() {
+        Stream.of("player", "owner", "stadium", "team", "league")
+                .forEach(table -> jdbcTemplate.update("delete from " + table));
+    }
+
+    @Test
+    public void givenCsvWithInvalidRows_whenImportPlayers_thenValidRowsStoredAndTheOthersReported() {
+
+        // given (quoted fields with a comma, a quote and a line break; a blank line is skipped)
+        String csv = "name,position,nationality,age,teamId,playerId\r\n"
+                + "\"Saka, Bukayo\",RW,England,22," + teamId + ",99\r\n"
+                + "\"Martin \"\"Ødegaard\"\"\",CM,\"Nor\nway\",25,,\r\n"
+                + "\r\n"
+                + ",CB,France,25,,\r\n"
+                + "William Saliba,CB,France,old,,\r\n"
+                + "Gabriel,CB,Brazil,26,12345,\r\n"
+                + "Declan Rice,CM,England\r\n"
+                + "Ben White,RB,England,26,,";
+
+        // when
+        ImportReportDTO report = bulkImportService.importPlayers(upload(csv), BulkImportService.Format.CSV);
+
+        // then
+        assertThat(report.getRows()).isEqualTo(7);
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getRejected()).isEqualTo(4);
+        assertThat(report.getErrors()).extracting(ImportReportDTO.RowErrorDTO::getRow).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(report.getErrors()).extracting(ImportReportDTO.RowErrorDTO::getMessage).containsExactly(
+                "name is required", "age must be a whole number", "team with id 12345 does not exist",
+                "expected 6 fields, found 3");
+        assertThat(report.getErrorsTruncated()).isFalse();
+
+        Map<String, Object> saka = jdbcTemplate.queryForMap("select * from player where name = 'Saka, Bukayo'");
+        assertThat(saka.get("TEAM_ID")).isEqualTo(teamId);
+        assertThat(saka.get("VERSION")).isEqualTo(0L);
+        assertThat(jdbcTemplate.queryForObject("select nationality from player where name = 'Martin \"Ødegaard\"'", String.class))
+                .isEqualTo("Nor\nway");
+
+        PlayerSearchCriteria criteria = new PlayerSearchCriteria();
+        criteria.setQ("White");
+        assertThat(playerService.searchPlayers(criteria, 0, 10).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenJsonArrayOverSeveralChunks_whenImportTeams_thenTakenNamesRejectedAcrossChunks() {
+
+        // given (the name of row 2 comes back in the second chunk, Arsenal is stored already)
+        String json = IntStream.rangeClosed(1, 160)
+                .mapToObj(i -> team(i == 155 ? "Team 2" : i == 7 ? "Arsenal" : "Team " + i, i == 9 ? leagueId + 1 : leagueId))
+                .collect(Collectors.joining(",\n", "[", "]"));
+
+        // when
+        ImportReportDTO report = bulkImportService.importTeams(upload(json), BulkImportService.Format.JSON);
+
+        // then
+        assertThat(report.getImported()).isEqualTo(157);
+        assertThat(report.getErrors()).extracting(ImportReportDTO.RowErrorDTO::getMessage).containsExactly(
+                "team name Arsenal already exists", "league with id " + (leagueId + 1) + " does not exist",
+                "team name Team 2 already exists");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from team where league_id = ?", Long.class, leagueId))
+                .isEqualTo(158);
+    }
+
+    @Test
+    public void givenMalformedJsonArray_whenImportTeams_thenRowsBeforeItKeptAndTheRestNotRead() {
+
+        // when
+        ImportReportDTO report = bulkImportService.importTeams(upload("[" + team("Chelsea", leagueId)
+                + ", {\"name\": \"Fulham\" \"city\": \"London\"}, " + team("Brentford", leagueId) + "]"), BulkImportService.Format.JSON);
+
+        // then
+        assertThat(report.getRows()).isEqualTo(2);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getMessage()).startsWith("malformed JSON, the rest of the upload was not read");
+    }
+
+    @Test
+    public void givenNdjsonWithMalformedLine_whenImportStadiumsAndOwners_thenOnlyThatLineAndTakenTeamsRejected() {
+
+        // given
+        String stadiums = "{\"stadiumId\": 4, \"name\": \"Emirates Stadium\", \"capacity\": 60704, \"teamId\": " + teamId + "}\n"
+                + "{\"name\": \"Highbury\", \n"
+                + "{\"name\": \"Highbury\", \"capacity\": 38419, \"teamId\": " + teamId + "}\n"
+                + "[1, 2]\n"
+                + "{\"name\": \"Wembley\", \"capacity\": -1}\n"
+                + "{\"name\": \"Emirates Stadium\"}\n";
+        String owners = "{\"name\": \"Kroenke Sports\", \"netWorth\": \"$12bn\", \"teamId\": " + teamId + "}\n"
+                + "{\"name\": \"Usmanov\", \"netWorth\": \"$18bn\", \"teamId\": " + teamId + "}\n";
+
+        // when
+        ImportReportDTO stadiumReport = bulkImportService.importStadiums(upload(stadiums), BulkImportService.Format.NDJSON);
+        ImportReportDTO ownerReport = bulkImportService.importOwners(upload(owners), BulkImportService.Format.NDJSON);
+
+        // then
+        assertThat(stadiumReport.getImported()).isEqualTo(1);
+        assertThat(stadiumReport.getErrors()).extracting(ImportReportDTO.RowErrorDTO::getRow).containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(stadiumReport.getErrors().get(0).getMessage()).startsWith("malformed JSON: ");
+        assertThat(stadiumReport.getErrors().subList(1, 5)).extracting(ImportReportDTO.RowErrorDTO::getMessage).containsExactly(
+                "a stadium of team " + teamId + " already exists", "not a JSON object",
+                "capacity must be between 0 and " + Integer.MAX_VALUE, "stadium name Emirates Stadium already exists");
+        assertThat(ownerReport.getImported()).isEqualTo(1);
+        assertThat(ownerReport.getErrors()).extracting(ImportReportDTO.RowErrorDTO::getMessage)
+                .containsExactly("an owner of team " + teamId + " already exists");
+    }
+
+    @Test
+    public void givenMoreRejectedRowsThanListed_whenImportPlayers_thenErrorsTruncated() {
+
+        // when
+        ImportReportDTO report = bulkImportService.importPlayers(upload(IntStream.range(0, 8).mapToObj(i -> "{}")
+                .collect(Collectors.joining("\n"))), BulkImportService.Format.NDJSON);
+
+        // then
+        assertThat(report.getRejected()).isEqualTo(8);
+        assertThat(report.getErrors()).hasSize(5);
+        assertThat(report.getErrorsTruncated()).isTrue();
+    }
+
+    @Test
+    public void givenUnusableUpload_whenImport_thenThrowsApiRequestException() {
+
+        assertThrows(ApiRequestException.class, () -> bulkImportService.importPlayers(upload(""), BulkImportService.Format.CSV));
+        assertThrows(ApiRequestException.class, () -> bulkImportService.importTeams(upload("{}"), BulkImportService.Format.JSON));
+        assertThrows(ApiRequestException.class, () -> BulkImportService.Format.resolve("xml", null, null));
+        assertThrows(ApiRequestException.class, () -> BulkImportService.Format.resolve(null, "application/octet-stream", "teams.bin"));
+        assertThat(BulkImportService.Format.resolve(null, null, "players.ndjson")).isEqualTo(BulkImportService.Format.NDJSON);
+        assertThat(BulkImportService.Format.resolve(null, "text/csv; charset=UTF-8", null)).isEqualTo(BulkImportService.Format.CSV);
+    }
+
+    private static String team(String name, Long leagueId) {
+        return "{\"name\": \"" + name + "\", \"city\": \"London\", \"leagueId\": " + leagueId + ", \"playerIds\": [1, 2]}";
+    }
+
+    private static ByteArrayInputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,207 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.CupBracketDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.CupDrawDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.CupSimulationDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.CupTieDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.CupTieResultDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.mapper.CupTieMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.model.Cup;
+import dev.arsalaan.footballclubmanagementsystem.model.League;
+import dev.arsalaan.footballclubmanagementsystem.model.Standing;
+import dev.arsalaan.footballclubmanagementsystem.model.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Brackets drawn, played through and simulated through CupBracketService against H2.
+// Six Teams are entered in the Cup, created in seed order, so a bracket of eight with byes for seeds 1 and 2.
+
+@DataJpaTest
+@Import({CupBracketService.class, CupTieMapperImpl.class, KnockoutBracket.class})
+public class CupBracketServiceTest {
+
+    @Autowired
+    private CupBracketService cupBracketService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long cupId;
+    private final List<Long> seeds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+
+        List<Team> teams = new ArrayList<>();
+        for (String name : List.of("Arsenal", "Chelsea", "Liverpool", "Everton", "Fulham", "Brentford")) {
+            Team team = entityManager.persist(Team.builder().name(name).city("City").build());
+            teams.add(team);
+            seeds.add(team.getTeamId());
+        }
+
+        cupId = entityManager.persist(new Cup(null, "FA Cup", 6, teams)).getCupId();
+        entityManager.flush();
+    }
+
+    @Test
+    public void givenSixTeams_whenCreateBracket_thenTopSeedsGetByesAndMeetLate() {
+
+        // when
+        CupBracketDTO bracket = cupBracketService.createBracket(cupId, null);
+
+        // then
+        assertThat(bracket.getRounds()).isEqualTo(3);
+        assertThat(bracket.getTies()).hasSize(7);
+
+        Map<String, CupTieDTO> ties = byRoundAndSlot(bracket);
+        assertThat(pairing(ties.get("1/0"))).containsExactly(seed(1), null);
+        assertThat(pairing(ties.get("1/1"))).containsExactly(seed(4), seed(5));
+        assertThat(pairing(ties.get("1/2"))).containsExactly(seed(2), null);
+        assertThat(pairing(ties.get("1/3"))).containsExactly(seed(3), seed(6));
+        assertThat(ties.get("1/0").getWinnerTeamId()).isEqualTo(seed(1));
+        assertThat(pairing(ties.get("2/0"))).containsExactly(seed(1), null);
+        assertThat(pairing(ties.get("2/1"))).containsExactly(seed(2), null);
+        assertThat(pairing(ties.get("3/0"))).containsExactly(null, null);
+
+        assertThat(cupBracketService.getBracket(cupId)).isEqualTo(bracket);
+    }
+
+    @Test
+    public void givenResults_whenRecordTieResult_thenWinnersAdvanceToTheFinal() {
+
+        // given
+        cupBracketService.createBracket(cupId, null);
+
+        // when (seed 5 beats 4, seed 3 goes through on penalties)
+        play("1/1", 0, 2, null);
+        play("1/3", 1, 1, seed(3));
+        play("2/0", 3, 1, null);
+        play("2/1", 0, 1, null);
+        play("3/0", 2, 2, seed(3));
+
+        // then
+        Map<String, CupTieDTO> ties = byRoundAndSlot(cupBracketService.getBracket(cupId));
+        assertThat(pairing(ties.get("2/0"))).containsExactly(seed(1), seed(5));
+        assertThat(pairing(ties.get("2/1"))).containsExactly(seed(2), seed(3));
+        assertThat(pairing(ties.get("3/0"))).containsExactly(seed(1), seed(3));
+        assertThat(ties.get("3/0").getWinnerTeamId()).isEqualTo(seed(3));
+
+        CupSimulationDTO simulation = cupBracketService.simulateCup(cupId, 1000);
+        assertThat(simulation.getTeams().get(0).getTeamId()).isEqualTo(seed(3));
+        assertThat(simulation.getTeams().get(0).getProbability()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void givenPlayedNextRound_whenCorrectingTheWinner_thenThrowsApiRequestException() {
+
+        // given
+        cupBracketService.createBracket(cupId, null);
+        play("1/1", 0, 2, null);
+
+        // when a correction still can change the Team that went through
+        play("1/1", 3, 0, null);
+        assertThat(pairing(byRoundAndSlot(cupBracketService.getBracket(cupId)).get("2/0"))).containsExactly(seed(1), seed(4));
+
+        // then not once that Team has played its next tie, but the score can still be corrected
+        play("2/0", 1, 0, null);
+        assertThrows(ApiRequestException.class, () -> play("1/1", 0, 1, null));
+        play("1/1", 4, 0, null);
+        assertThat(byRoundAndSlot(cupBracketService.getBracket(cupId)).get("1/1").getHomeGoals()).isEqualTo(4);
+    }
+
+    @Test
+    public void givenStrongerTeam_whenSimulateCup_thenItIsMoreLikelyToWin() {
+
+        // given (seed 6 has won every League game, the others have no table)
+        League league = entityManager.persist(League.builder().name("Premier League").country("England").numberOfTeams(20).build());
+        entityManager.persist(Standing.builder().league(league).season(2024).position(1)
+                .team(entityManager.find(Team.class, seed(6))).played(10).won(10).points(30).build());
+        cupBracketService.createBracket(cupId, null);
+        play("1/1", 0, 2, null); // seed 4 is out
+
+        // when
+        CupSimulationDTO simulation = cupBracketService.simulateCup(cupId, 200_000);
+
+        // then
+        Map<Long, Double> probabilities = simulation.getTeams().stream().collect(Collectors.toMap(
+                CupSimulationDTO.TeamProbabilityDTO::getTeamId, CupSimulationDTO.TeamProbabilityDTO::getProbability));
+        assertThat(simulation.getIterations()).isEqualTo(200_000);
+        assertThat(simulation.getTeams().get(0).getTeamId()).isEqualTo(seed(6));
+        assertThat(probabilities.values().stream().mapToDouble(Double::doubleValue).sum()).isCloseTo(1.0, within(1e-9));
+        assertThat(probabilities.get(seed(4))).isZero();
+        // seeds 1 and 5 meet in a semi-final as equals and would face the same opponents after it
+        assertThat(probabilities.get(seed(1))).isCloseTo(probabilities.get(seed(5)), within(0.01));
+    }
+
+    @Test
+    public void givenInvalidDrawOrResult_whenCreateBracketOrRecordTieResult_thenThrowsApiRequestException() {
+
+        assertThrows(ApiRequestException.class, () -> cupBracketService.createBracket(cupId, new CupDrawDTO(seeds.subList(0, 5))));
+        assertThrows(ApiRequestException.class, () -> cupBracketService.simulateCup(cupId, 100));
+
+        CupBracketDTO bracket = cupBracketService.createBracket(cupId, new CupDrawDTO(List.of(seed(6), seed(5), seed(4), seed(3), seed(2), seed(1))));
+        assertThat(pairing(byRoundAndSlot(bracket).get("1/0"))).containsExactly(seed(6), null);
+
+        assertThrows(ApiRequestException.class, () -> cupBracketService.createBracket(cupId, null));
+        assertThrows(ApiRequestException.class, () -> play("1/1", 1, 1, null));
+        assertThrows(ApiRequestException.class, () -> play("1/1", -1, 0, null));
+        assertThrows(ApiRequestException.class, () -> play("2/0", 1, 0, null));
+        assertThrows(ApiRequestException.class, () -> cupBracketService.simulateCup(cupId, 0));
+
+        cupBracketService.deleteBracket(cupId);
+        assertThat(cupBracketService.getBracket(cupId).getTies()).isEmpty();
+    }
+
+    @Test
+    public void givenBracketSizes_whenSeedOrder_thenEverySeedOnceAndSeedsAddUpPerTie() {
+
+        for (int size = 2; size <= 128; size *= 2) {
+            int[] order = KnockoutBracket.seedOrder(size);
+            assertThat(order).hasSize(size);
+            assertThat(order).containsExactlyInAnyOrder(java.util.stream.IntStream.rangeClosed(1, size).toArray());
+            for (int slot = 0; slot < size / 2; slot++) {
+                assertThat(order[2 * slot] + order[2 * slot + 1]).isEqualTo(size + 1);
+            }
+        }
+
+        assertThat(KnockoutBracket.seedOrder(8)).containsExactly(1, 8, 4, 5, 2, 7, 3, 6);
+        assertThat(KnockoutBracket.size(5)).isEqualTo(8);
+        assertThat(KnockoutBracket.size(8)).isEqualTo(8);
+    }
+
+    private Long seed(int seed) {
+        return seeds.get(seed - 1);
+    }
+
+    private void play(String roundAndSlot, int homeGoals, int awayGoals, Long winnerTeamId) {
+        Long cupTieId = byRoundAndSlot(cupBracketService.getBracket(cupId)).get(roundAndSlot).getCupTieId();
+        cupBracketService.recordTieResult(cupId, cupTieId, new CupTieResultDTO(homeGoals, awayGoals, winnerTeamId));
+        entityManager.flush();
+    }
+
+    private static Map<String, CupTieDTO> byRoundAndSlot(CupBracketDTO bracket) {
+        return bracket.getTies().stream().collect(Collectors.toMap(tie -> tie.getRound() + "/" + tie.getSlot(), tie -> tie));
+    }
+
+    private static List<Long> pairing(CupTieDTO tie) {
+        List<Long> pairing = new ArrayList<>();
+        pairing.add(tie.getHomeTeamId());
+        pairing.add(tie.getAwayTeamId());
+        return pairing;
+    }
+
+}
@@ -0,0 +1,215 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.FixtureRequestDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.FixtureScheduleDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.mapper.MatchMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.model.League;
+import dev.arsalaan.footballclubmanagementsystem.model.Stadium;
+import dev.arsalaan.footballclubmanagementsystem.model.Team;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Fixture lists generated through FixtureService against H2 and read back through MatchService,
+// plus the rules of FixtureGenerator checked for every League size up to 24 Teams.
+
+@DataJpaTest
+@Import({FixtureService.class, FixtureGenerator.class, MatchService.class, MatchMapperImpl.class, LeagueStandings.class, MatchStatistics.class})
+public class FixtureServiceTest {
+
+    private static final int SEASON = 2024;
+    private static final LocalDateTime FIRST_KICK_OFF = LocalDateTime.of(2024, 8, 17, 15, 0);
+
+    @Autowired
+    private FixtureService fixtureService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    public void givenLeague_whenGenerateFixtures_thenEveryPairingIsPlayedOnceAtEachGround() {
+
+        // given
+        Long leagueId = league("Premier League", "Emirates Stadium", "Stamford Bridge", "Craven Cottage",
+                "London Stadium", "Selhurst Park", "Brentford Community Stadium");
+
+        // when
+        FixtureScheduleDTO schedule = fixtureService.generateFixtures(leagueId, request());
+
+        // then
+        assertThat(schedule.getRounds()).isEqualTo(10);
+        assertThat(schedule.getMatches()).isEqualTo(30);
+
+        List<MatchDTO> matches = matchService.viewAllMatchesForLeague(leagueId, SEASON);
+        assertThat(matches).hasSize(30);
+        assertThat(matches).extracting(match -> match.getHomeTeamId() + "-" + match.getAwayTeamId()).doesNotHaveDuplicates();
+        assertThat(matches).allSatisfy(match -> assertThat(match.getKickOff())
+                .isEqualTo(FIRST_KICK_OFF.plusWeeks(match.getMatchday() - 1)));
+        assertRules(matches.stream().map(match -> new FixtureGenerator.Fixture(match.getMatchday(),
+                match.getHomeTeamId(), match.getAwayTeamId())).collect(Collectors.toList()), 6, Map.of());
+    }
+
+    @Test
+    public void givenTeamsSharingAStadium_whenGenerateFixtures_thenNeverBothAtHomeInARound() {
+
+        // given (an odd number of Teams, so one of them has a bye every round)
+        Long leagueId = league("Serie A", "San Siro", "Olimpico", " san siro ", "Allianz Stadium", "Olimpico");
+
+        // when
+        fixtureService.generateFixtures(leagueId, request());
+
+        // then
+        Map<Integer, Set<Long>> homeTeamsByRound = new HashMap<>();
+        for (MatchDTO match : matchService.viewAllMatchesForLeague(leagueId, SEASON)) {
+            homeTeamsByRound.computeIfAbsent(match.getMatchday(), round -> new HashSet<>()).add(match.getHomeTeamId());
+        }
+
+        List<Long> teamIds = teamIds(leagueId);
+        assertThat(homeTeamsByRound).hasSize(10);
+        assertThat(homeTeamsByRound.values()).allSatisfy(homeTeams -> {
+            assertThat(homeTeams.containsAll(List.of(teamIds.get(0), teamIds.get(2)))).isFalse();
+            assertThat(homeTeams.containsAll(List.of(teamIds.get(1), teamIds.get(4)))).isFalse();
+        });
+    }
+
+    @Test
+    public void givenAnyNumberOfTeams_whenDoubleRoundRobin_thenEveryRuleHolds() {
+
+        Random random = new Random(42);
+
+        for (int size = 2; size <= 24; size++) {
+
+            List<Long> teamIds = LongStream.rangeClosed(1, size).boxed().collect(Collectors.toList());
+
+            // a random half of the Teams share their Stadium with another one
+            List<Long> shuffled = new ArrayList<>(teamIds);
+            Collections.shuffle(shuffled, random);
+            Map<Long, Long> stadiumPartners = new HashMap<>();
+            for (int i = 0; i + 1 < size / 2; i += 2) {
+                stadiumPartners.put(shuffled.get(i), shuffled.get(i + 1));
+                stadiumPartners.put(shuffled.get(i + 1), shuffled.get(i));
+            }
+
+            assertRules(FixtureGenerator.doubleRoundRobin(teamIds, stadiumPartners), size, stadiumPartners);
+        }
+    }
+
+    @Test
+    public void givenSeveralLeagues_whenGenerateFixturesForLeagues_thenEachIsReportedOnItsOwn() {
+
+        // given
+        Long first = league("Ligue 1", "Parc des Princes", "Velodrome", "Groupama Stadium", "Stade Louis II");
+        Long second = league("Eredivisie", "Johan Cruijff ArenA", "Philips Stadion", "De Kuip");
+        Long alone = league("Scottish Premiership", "Celtic Park");
+        Long missing = second + 1000;
+        fixtureService.generateFixtures(first, request());
+
+        // when
+        FixtureRequestDTO request = request();
+        request.setLeagueIds(List.of(first, second, alone, missing, second));
+        List<FixtureScheduleDTO> schedules = fixtureService.generateFixturesForLeagues(request);
+
+        // then
+        assertThat(schedules).extracting(FixtureScheduleDTO::getLeagueId).containsExactly(first, second, alone, missing);
+        assertThat(schedules.get(0).getError()).contains("already has Matches in season 2024");
+        assertThat(schedules.get(1).getError()).isNull();
+        assertThat(schedules.get(1).getRounds()).isEqualTo(6);
+        assertThat(schedules.get(1).getMatches()).isEqualTo(6);
+        assertThat(schedules.get(2).getError()).contains("needs at least two Teams");
+        assertThat(schedules.get(3).getError()).contains("does not exist");
+        assertThat(matchService.viewAllMatchesForLeague(first, SEASON)).hasSize(12);
+        assertThat(matchService.viewAllMatchesForLeague(second, SEASON)).hasSize(6);
+    }
+
+    @Test
+    public void givenInvalidRequest_whenGenerateFixtures_thenThrowsApiRequestException() {
+
+        Long leagueId = league("Bundesliga", "Allianz Arena", "Allianz Arena", "allianz arena", "Signal Iduna Park");
+
+        assertThrows(ApiRequestException.class, () -> fixtureService.generateFixtures(leagueId, request()));
+        assertThrows(ApiRequestException.class, () -> fixtureService.generateFixtures(leagueId + 1000, request()));
+        assertThrows(ApiRequestException.class, () -> fixtureService.generateFixtures(leagueId, new FixtureRequestDTO()));
+        assertThrows(ApiRequestException.class, () -> fixtureService.generateFixturesForLeagues(request()));
+    }
+
+    // every pairing once at each ground, one Match per Team per round, as many home as away Matches per Team and
+    // Teams sharing a Stadium never both at home in a round
+    private static void assertRules(List<FixtureGenerator.Fixture> fixtures, int size, Map<Long, Long> stadiumPartners) {
+
+        int rounds = 2 * (size - 1 + size % 2);
+        assertThat(fixtures).as("%d teams", size).hasSize(size * (size - 1));
+        assertThat(fixtures).extracting(fixture -> fixture.getHomeTeamId() + "-" + fixture.getAwayTeamId()).doesNotHaveDuplicates();
+        assertThat(fixtures).allSatisfy(fixture -> assertThat(fixture.getHomeTeamId()).isNotEqualTo(fixture.getAwayTeamId()));
+
+        Map<Long, Integer> homeMatches = new HashMap<>();
+        for (int round = 1; round <= rounds; round++) {
+
+            Set<Long> playing = new HashSet<>();
+            Set<Long> atHome = new HashSet<>();
+            for (FixtureGenerator.Fixture fixture : fixtures) {
+                if (fixture.getRound() == round) {
+                    assertThat(playing.add(fixture.getHomeTeamId())).as("%d teams, round %d", size, round).isTrue();
+                    assertThat(playing.add(fixture.getAwayTeamId())).as("%d teams, round %d", size, round).isTrue();
+                    atHome.add(fixture.getHomeTeamId());
+                    homeMatches.merge(fixture.getHomeTeamId(), 1, Integer::sum);
+                }
+            }
+
+            for (Long team : atHome) {
+                assertThat(atHome).as("%d teams, round %d", size, round).doesNotContain(stadiumPartners.get(team));
+            }
+        }
+
+        assertThat(homeMatches).hasSize(size);
+        assertThat(homeMatches.values()).containsOnly(size - 1);
+    }
+
+    private FixtureRequestDTO request() {
+        return FixtureRequestDTO.builder().season(SEASON).firstKickOff(FIRST_KICK_OFF).build();
+    }
+
+    // one Team per Stadium name, in the given order
+    private Long league(String name, String... stadiums) {
+
+        League league = entityManager.persist(League.builder().name(name).country("Europe")
+                .numberOfTeams(stadiums.length).build());
+
+        for (int i = 0; i < stadiums.length; i++) {
+            Team team = entityManager.persist(Team.builder().name(name + " " + i).city("City").league(league).build());
+            entityManager.persist(new Stadium(null, stadiums[i], 40000, team));
+        }
+
+        entityManager.flush();
+        return league.getLeagueId();
+    }
+
+    private List<Long> teamIds(Long leagueId) {
+        return entityManager.getEntityManager()
+                .createQuery("select t.teamId from Team t where t.league.leagueId = :leagueId order by t.teamId", Long.class)
+                .setParameter("leagueId", leagueId)
+                .getResultList();
+    }
+
+}
@@ -0,0 +1,62 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchEventDTO;
+import dev.arsalaan.footballclubmanagementsystem.mapper.MatchEventMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.mapper.MatchMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.model.MatchEvent;
+import dev.arsalaan.footballclubmanagementsystem.support.JdbcRows;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// What the tests of the services behind MatchEventBuffer share: the events are stored by its background consumer
+// against H2, so the rows are committed (no test transaction) and removed after every test. The tests extending it
+// share one Spring context.
+
+@DataJpaTest
+@Import({MatchEventService.class, MatchEventMapperImpl.class, MatchEventBuffer.class, MatchEventWriter.class, LiveScoreFeed.class,
+        MatchService.class, MatchMapperImpl.class, LeagueStandings.class, MatchStatistics.class, StatisticsService.class, JacksonAutoConfiguration.class,
+        SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+abstract class MatchEventBufferTestBase {
+
+    @Autowired
+    protected MatchEventBuffer matchEventBuffer;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void clear() {
+        Stream.of("player_match_stats", "team_match_stats", "match_event", "matches", "player", "team", "league")
+                .forEach(table -> jdbcTemplate.update("delete from " + table));
+    }
+
+    // until the consumer has stored everything queued
+    protected void awaitWritten() {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (matchEventBuffer.pending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(matchEventBuffer.pending()).as("events still queued").isZero();
+    }
+
+    protected MatchEventDTO event(String eventId, MatchEvent.Type type, Integer minute, Long teamId, Long playerId, Long relatedPlayerId) {
+        return new MatchEventDTO(eventId, null, type, minute, teamId, playerId, relatedPlayerId);
+    }
+
+    protected Long insert(String sql, Object... args) {
+        return JdbcRows.insert(jdbcTemplate, sql, args);
+    }
+
+}
@@ -0,0 +1,308 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.arsalaan.footballclubmanagementsystem.controller.LeagueController;
+import dev.arsalaan.footballclubmanagementsystem.controller.MatchController;
+import dev.arsalaan.footballclubmanagementsystem.dto.LiveScoreDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchEventDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiTooManyRequestsException;
+import dev.arsalaan.footballclubmanagementsystem.model.MatchEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Match events ingested through MatchEventService and stored by the background consumer of MatchEventBuffer against
+// H2, so the rows are committed (no test transaction) and removed after every test.
+// The backpressure of the buffer itself is checked on a buffer whose consumer has not been started yet, and the
+// live feeds through MockMvc, which writes what the feeds send into its response as it comes.
+
+public class MatchEventServiceTest extends MatchEventBufferTestBase {
+
+    @Autowired
+    private MatchEventService matchEventService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long leagueId;
+    private Long matchId;
+    private Long homeTeamId;
+    private Long awayTeamId;
+    private Long playerId;
+    private Long substituteId;
+
+    @BeforeEach
+    public void setup() {
+
+        leagueId = insert("insert into league (name, country, number_of_teams, version) values (?, ?, ?, 0)",
+                "Premier League", "England", 20);
+        homeTeamId = insert("insert into team (name, city, league_id, version) values (?, ?, ?, 0)", "Arsenal", "London", leagueId);
+        awayTeamId = insert("insert into team (name, city, league_id, version) values (?, ?, ?, 0)", "Chelsea", "London", leagueId);
+        playerId = insert("insert into player (name, position, nationality, age, team_id, version) values (?, ?, ?, ?, ?, 0)",
+                "Bukayo Saka", "RW", "England", 23, homeTeamId);
+        substituteId = insert("insert into player (name, position, nationality, age, team_id, version) values (?, ?, ?, ?, ?, 0)",
+                "Leandro Trossard", "LW", "Belgium", 30, homeTeamId);
+        matchId = insert("insert into matches (league_id, season, home_team_id, away_team_id, version) values (?, ?, ?, ?, 0)",
+                leagueId, 2024, homeTeamId, awayTeamId);
+    }
+
+    @Test
+    public void givenEvents_whenIngestEvents_thenStoredInTheOrderTheyArrived() {
+
+        // when
+        matchEventService.ingestEvents(matchId, List.of(
+                event("e1", MatchEvent.Type.GOAL, 12, homeTeamId, playerId, null),
+                event("e2", MatchEvent.Type.YELLOW_CARD, 30, awayTeamId, null, null)));
+        matchEventService.ingestEvents(matchId, List.of(
+                event("e3", MatchEvent.Type.SUBSTITUTION, 61, homeTeamId, playerId, substituteId)));
+        awaitWritten();
+
+        // then
+        List<MatchEventDTO> events = matchEventService.viewEventsForMatch(matchId);
+        assertThat(events).extracting(MatchEventDTO::getEventId).containsExactly("e1", "e2", "e3");
+        assertThat(events.get(0)).isEqualTo(new MatchEventDTO("e1", matchId, MatchEvent.Type.GOAL, 12, homeTeamId, playerId, null));
+        assertThat(events.get(2).getRelatedPlayerId()).isEqualTo(substituteId);
+    }
+
+    @Test
+    public void givenRetriedEvents_whenIngestEvents_thenEachEventIsStoredOnce() {
+
+        // given
+        double duplicates = count("duplicate");
+        matchEventService.ingestEvents(matchId, List.of(event("goal-1", MatchEvent.Type.GOAL, 12, homeTeamId, playerId, null)));
+        awaitWritten();
+
+        // when (the first one again, and the second one twice in one request)
+        matchEventService.ingestEvents(matchId, List.of(
+                event("goal-1", MatchEvent.Type.GOAL, 12, homeTeamId, playerId, null),
+                event("goal-2", MatchEvent.Type.GOAL, 80, awayTeamId, null, null),
+                event("goal-2", MatchEvent.Type.GOAL, 80, awayTeamId, null, null)));
+        awaitWritten();
+
+        // then
+        assertThat(matchEventService.viewEventsForMatch(matchId)).extracting(MatchEventDTO::getEventId)
+                .containsExactly("goal-1", "goal-2");
+        assertThat(count("duplicate") - duplicates).isEqualTo(2);
+    }
+
+    @Test
+    public void givenEventsNotMatchingTheDatabase_whenIngestEvents_thenOnlyTheInvalidOnesAreDropped() {
+
+        // given
+        double invalid = count("invalid");
+        Long otherTeamId = insert("insert into team (name, city, version) values (?, ?, 0)", "Fulham", "London");
+
+        // when
+        matchEventService.ingestEvents(matchId, List.of(
+                event("wrong-team", MatchEvent.Type.GOAL, 5, otherTeamId, null, null),
+                event("no-player", MatchEvent.Type.RED_CARD, 6, homeTeamId, playerId + 1000, null),
+                event("fine", MatchEvent.Type.OWN_GOAL, 7, awayTeamId, playerId, null)));
+        matchEventService.ingestEvents(matchId + 1000, List.of(event("no-match", MatchEvent.Type.GOAL, 8, homeTeamId, null, null)));
+        awaitWritten();
+
+        // then
+        assertThat(matchEventService.viewEventsForMatch(matchId)).extracting(MatchEventDTO::getEventId).containsExactly("fine");
+        assertThat(count("invalid") - invalid).isEqualTo(3);
+    }
+
+    @Test
+    public void givenMatchWithEvents_whenDeleteMatchById_thenItsEventsAreDeletedToo() {
+
+        // given
+        matchEventService.ingestEvents(matchId, List.of(event("e1", MatchEvent.Type.GOAL, 12, homeTeamId, playerId, null)));
+        awaitWritten();
+
+        // when
+        matchService.deleteMatchById(matchId);
+
+        // then
+        assertThat(jdbcTemplate.queryForObject("select count(*) from match_event", Integer.class)).isZero();
+        assertThrows(ApiRequestException.class, () -> matchEventService.viewEventsForMatch(matchId));
+    }
+
+    @Test
+    public void givenInvalidEvents_whenIngestEvents_thenThrowsApiRequestException() {
+
+        assertThrows(ApiRequestException.class, () -> matchEventService.ingestEvents(matchId, List.of()));
+        assertThrows(ApiRequestException.class, () -> matchEventService.ingestEvents(matchId,
+                List.of(event(" ", MatchEvent.Type.GOAL, 1, homeTeamId, null, null))));
+        assertThrows(ApiRequestException.class, () -> matchEventService.ingestEvents(matchId,
+                List.of(event("x".repeat(65), MatchEvent.Type.GOAL, 1, homeTeamId, null, null))));
+        assertThrows(ApiRequestException.class, () -> matchEventService.ingestEvents(matchId,
+                List.of(event("e", null, 1, homeTeamId, null, null))));
+        assertThrows(ApiRequestException.class, () -> matchEventService.ingestEvents(matchId,
+                List.of(event("e", MatchEvent.Type.GOAL, 151, homeTeamId, null, null))));
+        assertThrows(ApiRequestException.class, () -> matchEventService.ingestEvents(matchId,
+                List.of(event("e", MatchEvent.Type.SUBSTITUTION, 60, homeTeamId, playerId, null))));
+
+        MatchEventDTO otherMatch = event("e", MatchEvent.Type.GOAL, 1, homeTeamId, null, null);
+        otherMatch.setMatchId(matchId + 1);
+        assertThrows(ApiRequestException.class, () -> matchEventService.ingestEvents(matchId, List.of(otherMatch)));
+
+        List<MatchEventDTO> tooMany = IntStream.range(0, MatchEventService.MAX_EVENTS_PER_REQUEST + 1)
+                .mapToObj(i -> event("e" + i, MatchEvent.Type.GOAL, 1, homeTeamId, null, null))
+                .collect(Collectors.toList());
+        assertThrows(ApiRequestException.class, () -> matchEventService.ingestEvents(matchId, tooMany));
+        assertThat(matchEventBuffer.pending()).isZero();
+    }
+
+    @Test
+    public void givenFullBuffer_whenOffer_thenNoneOfTheEventsAreQueuedUntilThereIsRoom() throws InterruptedException {
+
+        // given (a consumer that is not running yet)
+        MatchEventWriter writer = mock(MatchEventWriter.class);
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        when(writer.write(anyList())).thenAnswer(invocation -> {
+            List<MatchEventDTO> batch = invocation.getArgument(0);
+            batches.add(batch.stream().map(MatchEventDTO::getEventId).collect(Collectors.toList()));
+            return new MatchEventWriter.Written(batch, List.of(), 0, 0);
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MatchEventBuffer buffer = new MatchEventBuffer(writer, mock(LiveScoreFeed.class), registry, 4, 3);
+
+        // when / then
+        assertThat(buffer.offer(events("a", "b", "c"))).isTrue();
+        assertThat(buffer.offer(events("d", "e"))).isFalse();
+        assertThat(buffer.offer(events("d"))).isTrue();
+        assertThat(registry.get("match.events.buffer.depth").gauge().value()).isEqualTo(4);
+        assertThat(registry.get("match.events").tag("outcome", "rejected").counter().count()).isEqualTo(2);
+
+        buffer.start();
+        buffer.shutdown();
+
+        assertThat(buffer.pending()).isZero();
+        assertThat(batches).containsExactly(List.of("a", "b", "c"), List.of("d"));
+        assertThat(registry.get("match.events.batch.size").summary().max()).isEqualTo(3);
+        assertThat(buffer.offer(events("f"))).isFalse();
+    }
+
+    @Test
+    public void givenFullBuffer_whenIngestEvents_thenThrowsApiTooManyRequestsException() {
+
+        MatchEventBuffer full = mock(MatchEventBuffer.class);
+        when(full.capacity()).thenReturn(10);
+        when(full.offer(anyList())).thenReturn(false);
+        MatchEventService service = new MatchEventService(null, null, null, null, full, null);
+
+        assertThrows(ApiTooManyRequestsException.class, () -> service.ingestEvents(matchId,
+                List.of(event("e", MatchEvent.Type.GOAL, 1, homeTeamId, null, null))));
+    }
+
+    @Test
+    public void givenSubscribers_whenEventsStored_thenMatchAndLeagueFeedsGetTheEventsAndTheScore() throws Exception {
+
+        // given
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new MatchController(matchService, matchEventService, null),
+                new LeagueController(null, null, matchEventService)).build();
+        MvcResult matchFeed = mockMvc.perform(get("/api/v1/match/{matchId}/live", matchId))
+                .andExpect(request().asyncStarted()).andReturn();
+        MvcResult leagueFeed = mockMvc.perform(get("/api/v1/league/{leagueId}/live", leagueId))
+                .andExpect(request().asyncStarted()).andReturn();
+        assertThat(matchFeed.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThrows(ApiRequestException.class, () -> matchEventService.subscribeToMatch(matchId + 1));
+
+        // when
+        matchEventService.ingestEvents(matchId, List.of(
+                event("e1", MatchEvent.Type.GOAL, 12, homeTeamId, playerId, null),
+                event("e2", MatchEvent.Type.OWN_GOAL, 40, awayTeamId, null, null),
+                event("e3", MatchEvent.Type.YELLOW_CARD, 55, awayTeamId, null, null)));
+        awaitWritten();
+
+        // then (an own goal counts for the Team it was credited to)
+        LiveScoreDTO score = new LiveScoreDTO(matchId, leagueId, homeTeamId, awayTeamId, 1, 1);
+        for (MvcResult feed : List.of(matchFeed, leagueFeed)) {
+            String frames = awaitFrames(feed, "event:score");
+            assertThat(frames).startsWith(": connected\n\n");
+            assertThat(frames).containsSubsequence("event:match-event\ndata:{\"eventId\":\"e1\"",
+                    "event:match-event\ndata:{\"eventId\":\"e2\"", "event:match-event\ndata:{\"eventId\":\"e3\"",
+                    "event:score\ndata:" + objectMapper.writeValueAsString(score) + "\n\n");
+        }
+        // the same frames, ids included, went to both feeds
+        assertThat(awaitFrames(leagueFeed, "event:score")).isEqualTo(awaitFrames(matchFeed, "event:score"));
+        assertThat(meterRegistry.get("live.updates").counter().count()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    public void givenSlowSubscriber_whenItsQueueIsFull_thenOnlyItIsDropped() throws InterruptedException {
+
+        // given (sender threads that are busy until released, and room for three frames per subscriber)
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor senders = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+        senders.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LiveScoreFeed feed = new LiveScoreFeed(objectMapper, registry, 3, 2, 30, senders, 15, 10);
+        feed.subscribeToMatch(matchId);
+        feed.subscribeToMatch(matchId + 1);
+        assertThrows(ApiTooManyRequestsException.class, () -> feed.subscribeToLeague(leagueId));
+
+        // when (connected + two events + the score is one frame too many)
+        MatchEventDTO first = new MatchEventDTO("e1", matchId, MatchEvent.Type.GOAL, 1, homeTeamId, null, null);
+        MatchEventDTO second = new MatchEventDTO("e2", matchId, MatchEvent.Type.GOAL, 2, homeTeamId, null, null);
+        feed.publish(List.of(first, second), List.of(new LiveScoreDTO(matchId, leagueId, homeTeamId, awayTeamId, 2, 0)));
+
+        // then
+        assertThat(feed.subscribers()).isEqualTo(1);
+        assertThat(feed.feeds()).as("the Match feed left without subscribers").isEqualTo(1);
+        assertThat(registry.get("live.subscribers.dropped").tag("reason", "slow").counter().count()).isEqualTo(1);
+        assertThat(registry.get("live.updates").counter().count()).isEqualTo(3);
+        release.countDown();
+        feed.shutdown();
+    }
+
+    private String awaitFrames(MvcResult feed, String expected) throws UnsupportedEncodingException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!feed.getResponse().getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(feed.getResponse().getContentAsString()).as("live feed").contains(expected);
+        return feed.getResponse().getContentAsString();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("match.events").tag("outcome", outcome).counter().count();
+    }
+
+    private List<MatchEventDTO> events(String... eventIds) {
+        return Stream.of(eventIds).map(eventId -> event(eventId, MatchEvent.Type.GOAL, 1, 1L, null, null))
+                .collect(Collectors.toList());
+    }
+
+}
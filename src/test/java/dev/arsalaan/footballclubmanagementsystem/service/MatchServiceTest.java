@@ -0,0 +1,181 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.LeagueStandingsDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.MatchResultDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.StandingDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.mapper.LeagueMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.mapper.MatchMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.model.League;
+import dev.arsalaan.footballclubmanagementsystem.model.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Results recorded, corrected and removed through MatchService against H2, checked on the table LeagueService serves.
+// Teams are created in the order a, b, c, d, so that is also their id order (the last tie-breaker).
+
+@DataJpaTest
+@Import({MatchService.class, MatchMapperImpl.class, LeagueStandings.class, MatchStatistics.class, LeagueService.class, LeagueMapperImpl.class})
+public class MatchServiceTest {
+
+    private static final int SEASON = 2024;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private LeagueService leagueService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long leagueId;
+    private Long a;
+    private Long b;
+    private Long c;
+    private Long d;
+
+    @BeforeEach
+    public void setup() {
+
+        League league = entityManager.persist(League.builder().name("Premier League").country("England")
+                .numberOfTeams(4).build());
+        leagueId = league.getLeagueId();
+
+        a = team("Arsenal", league);
+        b = team("Brentford", league);
+        c = team("Chelsea", league);
+        d = team("Fulham", league);
+    }
+
+    @Test
+    public void givenResults_whenGetLeagueStandings_thenOrderedByPointsThenGoalDifference() {
+
+        // given
+        play(a, b, 3, 0);
+        play(c, d, 1, 0);
+
+        // when
+        LeagueStandingsDTO standings = leagueService.getLeagueStandings(leagueId, null);
+
+        // then
+        assertThat(standings.getSeason()).isEqualTo(SEASON);
+        assertThat(standings.getStandings()).extracting(StandingDTO::getTeamId).containsExactly(a, c, d, b);
+        assertThat(standings.getStandings()).extracting(StandingDTO::getPosition).containsExactly(1, 2, 3, 4);
+
+        StandingDTO leader = standings.getStandings().get(0);
+        assertThat(leader.getTeamName()).isEqualTo("Arsenal");
+        assertThat(leader.getPlayed()).isEqualTo(1);
+        assertThat(leader.getWon()).isEqualTo(1);
+        assertThat(leader.getGoalDifference()).isEqualTo(3);
+        assertThat(leader.getPoints()).isEqualTo(3);
+    }
+
+    @Test
+    public void givenCorrectedResult_whenGetLeagueStandings_thenOldResultIsReplaced() {
+
+        // given
+        play(a, b, 3, 0);
+        play(c, d, 1, 0);
+        Long matchId = matchId(a, b);
+
+        // when (b and c end up level on everything without having played each other, so Team id decides)
+        matchService.recordResult(matchId, new MatchResultDTO(0, 1));
+
+        // then
+        List<StandingDTO> table = leagueService.getLeagueStandings(leagueId, SEASON).getStandings();
+        assertThat(table).extracting(StandingDTO::getTeamId).containsExactly(b, c, a, d);
+        assertThat(table.get(0).getWon()).isEqualTo(1);
+        assertThat(table.get(2).getLost()).isEqualTo(1);
+        assertThat(table).extracting(StandingDTO::getPlayed).containsOnly(1);
+        assertThat(matchService.getMatchById(matchId).getHomeGoals()).isZero();
+    }
+
+    @Test
+    public void givenTeamsLevelOnPointsAndGoals_whenGetLeagueStandings_thenHeadToHeadDecides() {
+
+        // given (a and b both on 3 points, 1 scored and 1 conceded, but b beat a)
+        play(b, a, 1, 0);
+        play(a, c, 1, 0);
+        play(d, b, 1, 0);
+
+        // when
+        List<StandingDTO> table = leagueService.getLeagueStandings(leagueId, SEASON).getStandings();
+
+        // then
+        assertThat(table).extracting(StandingDTO::getTeamId).containsExactly(d, b, a, c);
+    }
+
+    @Test
+    public void givenDeletedMatch_whenGetLeagueStandings_thenItsResultIsTakenOut() {
+
+        // given
+        play(b, a, 1, 0);
+        play(a, c, 1, 0);
+        play(d, b, 1, 0);
+
+        // when
+        matchService.deleteMatchById(matchId(b, a));
+
+        // then
+        List<StandingDTO> table = leagueService.getLeagueStandings(leagueId, SEASON).getStandings();
+        assertThat(table).extracting(StandingDTO::getTeamId).containsExactly(a, d, b, c);
+        assertThat(table).extracting(StandingDTO::getPlayed).containsExactly(1, 1, 1, 1);
+        assertThat(matchService.viewAllMatchesForLeague(leagueId, SEASON)).hasSize(2);
+    }
+
+    @Test
+    public void givenFixtureWithoutResult_whenGetLeagueStandings_thenNoTableYet() {
+
+        // given
+        matchService.createMatch(MatchDTO.builder().leagueId(leagueId).season(SEASON).homeTeamId(a).awayTeamId(b).build());
+
+        // when
+        LeagueStandingsDTO standings = leagueService.getLeagueStandings(leagueId, null);
+
+        // then
+        assertThat(standings.getSeason()).isNull();
+        assertThat(standings.getStandings()).isEmpty();
+    }
+
+    @Test
+    public void givenInvalidMatch_whenCreateMatch_thenThrowsApiRequestException() {
+
+        Long outsider = entityManager.persist(Team.builder().name("Leeds United").city("Leeds").build()).getTeamId();
+
+        assertThrows(ApiRequestException.class, () -> matchService.createMatch(
+                MatchDTO.builder().leagueId(leagueId).season(SEASON).homeTeamId(a).awayTeamId(a).build()));
+        assertThrows(ApiRequestException.class, () -> matchService.createMatch(
+                MatchDTO.builder().leagueId(leagueId).season(SEASON).homeTeamId(a).awayTeamId(outsider).build()));
+        assertThrows(ApiRequestException.class, () -> matchService.createMatch(
+                MatchDTO.builder().leagueId(leagueId).season(SEASON).homeTeamId(a).awayTeamId(b).homeGoals(-1).awayGoals(0).build()));
+        assertThrows(ApiRequestException.class, () -> matchService.createMatch(
+                MatchDTO.builder().leagueId(leagueId).homeTeamId(a).awayTeamId(b).build()));
+    }
+
+    private Long team(String name, League league) {
+        return entityManager.persist(Team.builder().name(name).city("London").league(league).build()).getTeamId();
+    }
+
+    private void play(Long homeTeamId, Long awayTeamId, int homeGoals, int awayGoals) {
+        matchService.createMatch(MatchDTO.builder().leagueId(leagueId).season(SEASON).homeTeamId(homeTeamId)
+                .awayTeamId(awayTeamId).homeGoals(homeGoals).awayGoals(awayGoals).build());
+    }
+
+    private Long matchId(Long homeTeamId, Long awayTeamId) {
+        return matchService.viewAllMatchesForLeague(leagueId, SEASON).stream()
+                .filter(match -> match.getHomeTeamId().equals(homeTeamId) && match.getAwayTeamId().equals(awayTeamId))
+                .findFirst().orElseThrow().getMatchId();
+    }
+
+}
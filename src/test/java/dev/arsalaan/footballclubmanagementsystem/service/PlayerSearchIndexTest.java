@@ -0,0 +1,164 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerSearchCriteria;
+import dev.arsalaan.footballclubmanagementsystem.dto.SearchPageDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PlayerSearchIndexTest {
+
+    private PlayerSearchIndex playerSearchIndex;
+
+    @BeforeEach
+    public void setup() {
+
+        playerSearchIndex = new PlayerSearchIndex();
+        playerSearchIndex.rebuild(Stream.of(
+                player(1L, "Cristiano Ronaldo", "ST", "Portugal", 37),
+                player(2L, "Ronaldo Nazario", "ST", "Brazil", 46),
+                player(3L, "Ronald Koeman", "CB", "Netherlands", 59),
+                player(4L, "Thomas Müller", "CAM", "Germany", 33),
+                player(5L, "Gerd Muller", "ST", "Germany", 76),
+                player(6L, "Marcus Rashford", "LW", "England", 24)));
+    }
+
+    @Test
+    public void givenPartialName_whenSearch_thenWholeWordMatchesRankAboveLongerWords() {
+
+        // when
+        SearchPageDTO<PlayerDTO> result = search(new PlayerSearchCriteria("ronald", null, null, null, null), 0, 20);
+
+        // then ("Ronald" is a whole word, "Ronaldo" only starts with it; shorter names first on equal score)
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getContent()).extracting(PlayerDTO::getPlayerId).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    public void givenNameWithoutAccents_whenSearch_thenAccentedNamesMatchToo() {
+
+        // when
+        SearchPageDTO<PlayerDTO> result = search(new PlayerSearchCriteria("MULLER", null, null, null, null), 0, 20);
+
+        // then
+        assertThat(result.getContent()).extracting(PlayerDTO::getName).containsExactly("Gerd Muller", "Thomas Müller");
+    }
+
+    @Test
+    public void givenSeveralTerms_whenSearch_thenEveryTermMustMatch() {
+
+        // when
+        SearchPageDTO<PlayerDTO> result = search(new PlayerSearchCriteria("ronaldo cris", null, null, null, null), 0, 20);
+
+        // then
+        assertThat(result.getContent()).extracting(PlayerDTO::getPlayerId).containsExactly(1L);
+    }
+
+    @Test
+    public void givenFacetsAndAgeRange_whenSearch_thenOnlyMatchingPlayersAreReturnedById() {
+
+        // when
+        SearchPageDTO<PlayerDTO> result = search(new PlayerSearchCriteria(null, "germany", "st", 70, 80), 0, 20);
+
+        // then
+        assertThat(result.getContent()).extracting(PlayerDTO::getPlayerId).containsExactly(5L);
+        assertThat(result.getContent().get(0).getNationality()).isEqualTo("Germany");
+    }
+
+    @Test
+    public void givenUnknownFacetValue_whenSearch_thenNothingMatches() {
+
+        // when
+        SearchPageDTO<PlayerDTO> result = search(new PlayerSearchCriteria("ronaldo", "Spain", null, null, null), 0, 20);
+
+        // then
+        assertThat(result.getTotalElements()).isZero();
+        assertThat(result.getContent()).isEmpty();
+    }
+
+    @Test
+    public void givenNoCriteria_whenSearchingPages_thenAllPlayersArePagedById() {
+
+        // when
+        SearchPageDTO<PlayerDTO> first = search(new PlayerSearchCriteria(), 0, 4);
+        SearchPageDTO<PlayerDTO> second = search(new PlayerSearchCriteria(), 1, 4);
+        SearchPageDTO<PlayerDTO> third = search(new PlayerSearchCriteria(), 2, 4);
+
+        // then
+        assertThat(first.getContent()).extracting(PlayerDTO::getPlayerId).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(second.getContent()).extracting(PlayerDTO::getPlayerId).containsExactly(5L, 6L);
+        assertThat(third.getContent()).isEmpty();
+        assertThat(third.getTotalElements()).isEqualTo(6);
+    }
+
+    @Test
+    public void givenUpdatedAndRemovedPlayers_whenSearch_thenIndexReflectsTheChanges() {
+
+        // when
+        playerSearchIndex.index(player(6L, "Marcus Rashford", "ST", "England", 25));
+        playerSearchIndex.index(player(7L, "Ronaldinho", "CAM", "Brazil", 42));
+        playerSearchIndex.remove(2L);
+
+        // then
+        assertThat(search(new PlayerSearchCriteria(null, null, "LW", null, null), 0, 20).getContent()).isEmpty();
+        assertThat(search(new PlayerSearchCriteria("ronald", "brazil", null, null, null), 0, 20).getContent())
+                .extracting(PlayerDTO::getPlayerId).containsExactly(7L);
+        assertThat(playerSearchIndex.size()).isEqualTo(6);
+    }
+
+    @Test
+    public void givenMostPlayersRemoved_whenCompacted_thenSearchStillFindsTheRest() {
+
+        // given
+        playerSearchIndex.rebuild(LongStream.rangeClosed(1, 3000)
+                .mapToObj(id -> player(id, "Player " + id, "CM", "England", 20)));
+
+        // when (removing more than half of the slots triggers a compaction)
+        LongStream.rangeClosed(1, 2000).forEach(playerSearchIndex::remove);
+
+        // then
+        SearchPageDTO<PlayerDTO> result = search(new PlayerSearchCriteria("player", "England", "CM", null, null), 0, 2);
+        assertThat(result.getTotalElements()).isEqualTo(1000);
+        assertThat(result.getContent()).extracting(PlayerDTO::getPlayerId).containsExactly(2001L, 2002L);
+    }
+
+    @Test
+    public void givenPlayerUpdatedOverAndOver_whenIndexed_thenEmptySlotsAreCompactedAway() {
+
+        // when (every update moves the Player to a new slot)
+        IntStream.rangeClosed(1, 5000)
+                .forEach(update -> playerSearchIndex.index(player(6L, "Marcus Rashford", "LW", "England", 24)));
+
+        // then
+        assertThat(playerSearchIndex.slotCount()).isLessThanOrEqualTo(1025);
+        assertThat(playerSearchIndex.size()).isEqualTo(6);
+        assertThat(search(new PlayerSearchCriteria("rashford", null, null, null, null), 0, 20).getContent())
+                .extracting(PlayerDTO::getPlayerId).containsExactly(6L);
+    }
+
+    @Test
+    public void givenInvalidPaging_whenSearch_thenThrowsApiRequestException() {
+
+        assertThrows(ApiRequestException.class, () -> search(new PlayerSearchCriteria(), -1, 20));
+        assertThrows(ApiRequestException.class, () -> search(new PlayerSearchCriteria(), 0, 0));
+        assertThrows(ApiRequestException.class, () -> search(new PlayerSearchCriteria(null, null, null, 30, 20), 0, 20));
+    }
+
+    private SearchPageDTO<PlayerDTO> search(PlayerSearchCriteria criteria, int page, int size) {
+        return playerSearchIndex.search(criteria, page, size);
+    }
+
+    private static Player player(Long playerId, String name, String position, String nationality, Integer age) {
+        return new Player(playerId, name, position, nationality, age, 0L, null);
+    }
+
+}
@@ -0,0 +1,153 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.LeagueDTO;
+import dev.arsalaan.footballclubmanagementsystem.mapper.CupMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.mapper.LeagueMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.model.Cup;
+import dev.arsalaan.footballclubmanagementsystem.model.League;
+import dev.arsalaan.footballclubmanagementsystem.model.Team;
+import dev.arsalaan.footballclubmanagementsystem.repository.CupRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.LeagueRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs with the opt-in "cache" profile. Every call below runs in its own transaction (and so its own persistence
+// context), so anything not read from the database must have come from the second-level cache.
+
+@DataJpaTest
+@ActiveProfiles("cache")
+@Import({LeagueService.class, LeagueMapperImpl.class, CupService.class, CupMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReferenceDataCacheTest {
+
+    @Autowired
+    private LeagueService leagueService;
+
+    @Autowired
+    private CupService cupService;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private CupRepository cupRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Long leagueId;
+    private Long cupId;
+    private Long teamId;
+
+    @BeforeEach
+    public void setup() {
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        leagueId = leagueRepository.save(League.builder().name("Premier League").country("England")
+                .numberOfTeams(20).teams(new ArrayList<>()).build()).getLeagueId();
+        cupId = cupRepository.save(new Cup(null, "FA Cup", 732, new ArrayList<>())).getCupId();
+        teamId = teamRepository.save(Team.builder().name("Manchester United").city("Manchester").build()).getTeamId();
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cupRepository.deleteAll();
+        teamRepository.deleteAll();
+        leagueRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    public void givenCachedLeague_whenGetLeagueById_thenServedWithoutStatements() {
+
+        // given (first read populates the league and league-teams regions)
+        transactionTemplate.execute(status -> leagueService.getLeagueById(leagueId));
+        statistics.clear();
+
+        // when
+        LeagueDTO leagueDTO = transactionTemplate.execute(status -> leagueService.getLeagueById(leagueId));
+
+        // then
+        assertThat(leagueDTO.getName()).isEqualTo("Premier League");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("league").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("league-teams").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenCachedLeague_whenUpdateLeagueById_thenNextReadSeesUpdate() {
+
+        // given
+        transactionTemplate.execute(status -> leagueService.getLeagueById(leagueId));
+
+        // when
+        leagueService.updateLeagueById(leagueId, LeagueDTO.builder().name("EPL").build());
+
+        // then
+        LeagueDTO leagueDTO = transactionTemplate.execute(status -> leagueService.getLeagueById(leagueId));
+        assertThat(leagueDTO.getName()).isEqualTo("EPL");
+    }
+
+    @Test
+    public void givenCachedCup_whenAddCupToTeam_thenCupTeamsCollectionIsRefreshed() {
+
+        // given (cup and its empty teams collection are cached)
+        transactionTemplate.execute(status -> cupRepository.findById(cupId).get().getTeams().size());
+
+        // when
+        cupService.addCupToTeam(teamId, cupId);
+
+        // then
+        Integer teams = transactionTemplate.execute(status -> cupRepository.findById(cupId).get().getTeams().size());
+        assertThat(teams).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("cup").getHitCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void givenCachedLeague_whenTeamJoinsLeague_thenLeagueTeamsCollectionIsEvicted() {
+
+        // given
+        transactionTemplate.execute(status -> leagueService.getLeagueById(leagueId));
+
+        // when (Team owns the relationship, League.teams is only the inverse side)
+        transactionTemplate.execute(status -> {
+            teamRepository.findById(teamId).get().setLeague(leagueRepository.findById(leagueId).get());
+            return null;
+        });
+
+        // then
+        LeagueDTO leagueDTO = transactionTemplate.execute(status -> leagueService.getLeagueById(leagueId));
+        assertThat(leagueDTO.getTeams()).extracting(LeagueDTO.TeamDTO::getTeamId).containsExactly(teamId);
+    }
+
+}
@@ -0,0 +1,890 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.*;
+import dev.arsalaan.footballclubmanagementsystem.mapper.*;
+import dev.arsalaan.footballclubmanagementsystem.model.MatchEvent;
+import dev.arsalaan.footballclubmanagementsystem.repository.BulkInserter;
+import dev.arsalaan.footballclubmanagementsystem.support.JdbcRows;
+import dev.arsalaan.footballclubmanagementsystem.support.SqlRecorder;
+import dev.arsalaan.footballclubmanagementsystem.support.SqlRecorderConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Pins the number of SQL statements (round trips, a JDBC batch counts once) every public service method issues,
+// with 1, 100 and 10,000 rows in each table. A budget is the same at every size, so a method that starts
+// loading rows one by one (N+1) fails here before it reaches production.
+// Every test method is named after the service method it covers, everyPublicServiceMethodHasABudget keeps it that way.
+// Writes run against throwaway rows so the seeded data set stays the same for the reads.
+
+@DataJpaTest
+@Import({SqlRecorderConfiguration.class,
+        TeamService.class, TeamMapperImpl.class, PlayerService.class, PlayerMapperImpl.class, PlayerSearchIndex.class,
+        LeagueService.class, LeagueMapperImpl.class, CupService.class, CupMapperImpl.class,
+        OwnerService.class, OwnerMapperImpl.class, StadiumService.class, StadiumMapperImpl.class,
+        MatchService.class, MatchMapperImpl.class, LeagueStandings.class, FixtureService.class, FixtureGenerator.class,
+        CupBracketService.class, CupTieMapperImpl.class, KnockoutBracket.class,
+        MatchEventService.class, MatchEventMapperImpl.class, MatchEventBuffer.class, MatchEventWriter.class,
+        LiveScoreFeed.class, StatisticsService.class, MatchStatistics.class, SquadResponseCache.class, JacksonAutoConfiguration.class,
+        SimpleMeterRegistry.class, BulkImportService.class, BulkInserter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ServiceStatementBudgetTest {
+
+    private static final List<Class<?>> SERVICES = Arrays.asList(TeamService.class, PlayerService.class,
+            LeagueService.class, CupService.class, OwnerService.class, StadiumService.class, MatchService.class,
+            FixtureService.class, CupBracketService.class, MatchEventService.class, StatisticsService.class,
+            BulkImportService.class);
+
+    private static final int PAGE_SIZE = 50;
+    private static final int BATCH_SIZE = 1000;
+    private static final int SEASON = 2024;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private LeagueService leagueService;
+
+    @Autowired
+    private CupService cupService;
+
+    @Autowired
+    private OwnerService ownerService;
+
+    @Autowired
+    private StadiumService stadiumService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private FixtureService fixtureService;
+
+    @Autowired
+    private CupBracketService cupBracketService;
+
+    @Autowired
+    private MatchEventService matchEventService;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private MatchEventBuffer matchEventBuffer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Test
+    public void everyPublicServiceMethodHasABudget() {
+
+        Set<String> budgeted = Arrays.stream(Budgets.class.getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(Test.class))
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+
+        List<String> serviceMethods = SERVICES.stream()
+                .flatMap(service -> Arrays.stream(service.getDeclaredMethods()))
+                .filter(method -> Modifier.isPublic(method.getModifiers()) && !method.isSynthetic())
+                .map(Method::getName)
+                .collect(Collectors.toList());
+
+        assertThat(budgeted).containsAll(serviceMethods);
+    }
+
+    @Nested
+    class OneRow extends Budgets {
+        OneRow() {
+            super(1);
+        }
+    }
+
+    @Nested
+    class HundredRows extends Budgets {
+        HundredRows() {
+            super(100);
+        }
+    }
+
+    @Nested
+    class TenThousandRows extends Budgets {
+        TenThousandRows() {
+            super(10_000);
+        }
+    }
+
+    // Seeds `size` leagues, teams, stadiums, owners and cups and 2 * `size` players. The first league, team and cup
+    // are the ones read by id: every team plays in the first league, the first team is in every cup (and the first cup
+    // has every team) and half of the players are in the first team, so their collections grow with `size` too.
+    // The first league also has a SEASON table with every team and `size` played matches, all involving the first team.
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    abstract class Budgets {
+
+        private final int size;
+
+        private Long leagueId;
+        private Long teamId;
+        private Long playerId;
+        private Long cupId;
+        private Long ownerId;
+        private Long stadiumId;
+        private Long matchId;
+
+        Budgets(int size) {
+            this.size = size;
+        }
+
+        @BeforeAll
+        void seed() {
+
+            batch("insert into league (name, country, number_of_teams, version) values (?, ?, ?, 0)",
+                    i -> new Object[]{"League " + i, "England", 20});
+            List<Long> leagueIds = ids("league");
+            leagueId = leagueIds.get(0);
+
+            batch("insert into team (name, city, manager, league_id, version) values (?, ?, ?, ?, 0)",
+                    i -> new Object[]{"Team " + i, "City " + i, "Manager " + i, leagueId});
+            List<Long> teamIds = ids("team");
+            teamId = teamIds.get(0);
+
+            batch("insert into stadium (name, capacity, team_id) values (?, ?, ?)",
+                    i -> new Object[]{"Stadium " + i, 40000, teamIds.get(i)});
+            batch("insert into owner (name, net_worth, team_id) values (?, ?, ?)",
+                    i -> new Object[]{"Owner " + i, "$1bn", teamIds.get(i)});
+            batch("insert into player (name, position, nationality, age, team_id, version) values (?, ?, ?, ?, ?, 0)",
+                    i -> new Object[]{"Player " + i, "CM", "England", 25, teamIds.get(i)});
+            batch("insert into player (name, position, nationality, age, team_id, version) values (?, ?, ?, ?, ?, 0)",
+                    i -> new Object[]{"Squad player " + i, "CB", "France", 25, teamId});
+            batch("insert into cup (name, number_of_teams) values (?, ?)",
+                    i -> new Object[]{"Cup " + i, 64});
+            List<Long> cupIds = ids("cup");
+            cupId = cupIds.get(0);
+            batch("insert into team_cup_map (cup_id, team_id) values (?, ?)",
+                    i -> new Object[]{cupId, teamIds.get(i)});
+            batch("insert into team_cup_map (cup_id, team_id) values (?, ?)",
+                    i -> new Object[]{cupIds.get(i), teamId}, 1);
+
+            playerId = ids("player").get(0);
+            ownerId = ids("owner").get(0);
+            stadiumId = ids("stadium").get(0);
+
+            batch("insert into standing (league_id, season, team_id, position, played, won, drawn, lost, goals_for, goals_against, points) "
+                    + "values (?, ?, ?, ?, 0, 0, 0, 0, 0, 0, 0)", i -> new Object[]{leagueId, SEASON, teamIds.get(i), i + 1});
+            batch("insert into matches (league_id, season, home_team_id, away_team_id, home_goals, away_goals, version) "
+                    + "values (?, ?, ?, ?, 1, 0, 0)", i -> new Object[]{leagueId, SEASON, teamId, teamIds.get((i + 1) % size)});
+            matchId = jdbcTemplate.queryForObject("select min(match_id) from matches", Long.class);
+
+            List<Long> matchIds = jdbcTemplate.queryForList("select match_id from matches order by match_id", Long.class);
+            batch("insert into team_match_stats (team_id, match_id, season, goals_for, goals_against, yellow_cards, red_cards) "
+                    + "values (?, ?, ?, 1, 0, 1, 0)", i -> new Object[]{teamId, matchIds.get(i), SEASON});
+            batch("insert into player_match_stats (player_id, match_id, season, goals, assists, own_goals, yellow_cards, "
+                    + "red_cards, minutes) values (?, ?, ?, 1, 0, 0, 0, 0, 90)", i -> new Object[]{playerId, matchIds.get(i), SEASON});
+        }
+
+        @AfterAll
+        void clear() throws InterruptedException {
+            // the events ingestEvents queued are stored in the background
+            while (matchEventBuffer.pending() > 0) {
+                Thread.sleep(10);
+            }
+            Stream.of("standing", "player_match_stats", "team_match_stats", "match_event", "matches", "cup_tie", "team_cup_map", "cup", "player", "owner", "stadium", "team", "league")
+                    .forEach(table -> jdbcTemplate.update("delete from " + table));
+        }
+
+        // TeamService
+
+        @Test
+        void getAllTeams() {
+            budget(1, () -> teamService.getAllTeams());
+        }
+
+        @Test
+        void getTeamsPage() {
+            budget(2, () -> teamService.getTeamsPage(null, PAGE_SIZE));
+        }
+
+        // the player ids are looked up once per chunk of exported teams
+        @Test
+        void exportTeams() {
+            int teams = jdbcTemplate.queryForObject("select count(*) from team", Integer.class);
+            int chunks = (teams + TeamService.EXPORT_CHUNK_SIZE - 1) / TeamService.EXPORT_CHUNK_SIZE;
+            budget(1 + chunks, () -> teamService.exportTeams(team -> { }));
+        }
+
+        @Test
+        void getTeamById() {
+            budget(2, () -> teamService.getTeamById(teamId));
+        }
+
+        @Test
+        void getTeamETag() {
+            budget(2, () -> teamService.getTeamETag(teamId));
+        }
+
+        @Test
+        void createTeam() {
+            budget(2, () -> teamService.createTeam(TeamDTO.builder().name(unique("New team")).city("London").build()));
+        }
+
+        @Test
+        void updateTeamById() {
+            budget(2, () -> teamService.updateTeamById(teamId, TeamDTO.builder().name(unique("Renamed team"))
+                    .city("Leeds").manager("Manager").build()));
+        }
+
+        @Test
+        void deleteTeamById() {
+            Long spareTeamId = team(null);
+            budget(3, () -> teamService.deleteTeamById(spareTeamId));
+        }
+
+        @Test
+        void viewAllTeamsForLeague() {
+            budget(2, () -> teamService.viewAllTeamsForLeague(leagueId));
+        }
+
+        @Test
+        void getTeamsForLeagueETag() {
+            budget(3, () -> teamService.getTeamsForLeagueETag(leagueId));
+        }
+
+        @Test
+        void addTeamToLeague() {
+            Long spareTeamId = team(null);
+            budget(3, () -> teamService.addTeamToLeague(leagueId, spareTeamId));
+        }
+
+        @Test
+        void removeTeamFromLeague() {
+            Long spareTeamId = team(leagueId);
+            budget(3, () -> teamService.removeTeamFromLeague(leagueId, spareTeamId));
+        }
+
+        @Test
+        void assignPlayersToTeam() {
+            List<Long> playerIds = players(null, 25);
+            budget(3, () -> teamService.assignPlayersToTeam(teamId, playerIds));
+        }
+
+        @Test
+        void removePlayersFromTeam() {
+            List<Long> playerIds = players(teamId, 25);
+            budget(3, () -> teamService.removePlayersFromTeam(teamId, playerIds));
+        }
+
+        // PlayerService
+
+        @Test
+        void getAllPlayers() {
+            budget(1, () -> playerService.getAllPlayers());
+        }
+
+        @Test
+        void getPlayersPage() {
+            budget(1, () -> playerService.getPlayersPage(null, PAGE_SIZE));
+        }
+
+        @Test
+        void exportPlayers() {
+            budget(1, () -> playerService.exportPlayers(player -> { }));
+        }
+
+        @Test
+        void searchPlayers() {
+            budget(0, () -> playerService.searchPlayers(new PlayerSearchCriteria("player", "England", null, 18, 30), 0, PAGE_SIZE));
+        }
+
+        @Test
+        void filterPlayers() {
+            // a one row page is always full here, so the count query is never skipped: page + count
+            PlayerFilterDTO filter = new PlayerFilterDTO(Arrays.asList(
+                    new PlayerFilterDTO.CriteriaDTO(null, Collections.singletonList("England"), null, 18, 30),
+                    new PlayerFilterDTO.CriteriaDTO(Collections.singletonList("CB"), null, null, null, null)),
+                    Collections.singletonList("age,desc"));
+            budget(2, () -> playerService.filterPlayers(filter, 0, 1));
+        }
+
+        @Test
+        void rebuildSearchIndex() {
+            budget(1, () -> playerService.rebuildSearchIndex());
+        }
+
+        @Test
+        void indexPlayersAfter() {
+            budget(1, () -> playerService.indexPlayersAfter(playerId));
+        }
+
+        @Test
+        void getPlayerById() {
+            budget(1, () -> playerService.getPlayerById(playerId));
+        }
+
+        @Test
+        void getPlayerETag() {
+            budget(1, () -> playerService.getPlayerETag(playerId));
+        }
+
+        @Test
+        void createPlayer() {
+            budget(1, () -> playerService.createPlayer(player("New player")));
+        }
+
+        @Test
+        void createPlayers() {
+            List<PlayerDTO> playerDTOs = IntStream.range(0, 25).mapToObj(i -> player("New player " + i))
+                    .collect(Collectors.toList());
+            budget(1, () -> playerService.createPlayers(playerDTOs));
+        }
+
+        @Test
+        void updatePlayerById() {
+            PlayerDTO playerDTO = new PlayerDTO();
+            playerDTO.setName(unique("Renamed player"));
+            budget(2, () -> playerService.updatePlayerById(playerId, playerDTO));
+        }
+
+        @Test
+        void deletePlayerById() {
+            Long sparePlayerId = players(null, 1).get(0);
+            budget(3, () -> playerService.deletePlayerById(sparePlayerId));
+        }
+
+        @Test
+        void viewAllPlayersForTeam() {
+            budget(2, () -> playerService.viewAllPlayersForTeam(teamId));
+        }
+
+        @Test
+        void addPlayerToTeam() {
+            Long sparePlayerId = players(null, 1).get(0);
+            budget(3, () -> playerService.addPlayerToTeam(teamId, sparePlayerId));
+        }
+
+        @Test
+        void removePlayerFromTeam() {
+            Long sparePlayerId = players(teamId, 1).get(0);
+            budget(3, () -> playerService.removePlayerFromTeam(teamId, sparePlayerId));
+        }
+
+        // LeagueService
+
+        @Test
+        void getAllLeagues() {
+            budget(1, () -> leagueService.getAllLeagues());
+        }
+
+        @Test
+        void getLeaguesPage() {
+            budget(2, () -> leagueService.getLeaguesPage(null, PAGE_SIZE));
+        }
+
+        @Test
+        void getLeagueById() {
+            budget(2, () -> leagueService.getLeagueById(leagueId));
+        }
+
+        @Test
+        void getLeagueETag() {
+            budget(2, () -> leagueService.getLeagueETag(leagueId));
+        }
+
+        @Test
+        void getLeagueStandings() {
+            budget(3, () -> leagueService.getLeagueStandings(leagueId, null));
+        }
+
+        @Test
+        void createLeague() {
+            budget(2, () -> leagueService.createLeague(LeagueDTO.builder().name(unique("New league")).country("Spain")
+                    .numberOfTeams(20).build()));
+        }
+
+        @Test
+        void updateLeagueById() {
+            budget(2, () -> leagueService.updateLeagueById(leagueId, LeagueDTO.builder().name(unique("Renamed league")).build()));
+        }
+
+        @Test
+        void deleteLeagueById() {
+            Long spareLeagueId = insert("insert into league (name, country, number_of_teams, version) values (?, ?, ?, 0)",
+                    unique("Spare league"), "Spain", 20);
+            budget(3, () -> leagueService.deleteLeagueById(spareLeagueId));
+        }
+
+        // CupService
+
+        @Test
+        void getAllCups() {
+            budget(1, () -> cupService.getAllCups());
+        }
+
+        @Test
+        void getCupsPage() {
+            budget(1, () -> cupService.getCupsPage(null, PAGE_SIZE));
+        }
+
+        @Test
+        void getCupById() {
+            budget(1, () -> cupService.getCupById(cupId));
+        }
+
+        @Test
+        void createCup() {
+            CupDTO cupDTO = new CupDTO();
+            cupDTO.setName(unique("New cup"));
+            cupDTO.setNumberOfTeams(32);
+            budget(2, () -> cupService.createCup(cupDTO));
+        }
+
+        @Test
+        void updateCupById() {
+            CupDTO cupDTO = new CupDTO();
+            cupDTO.setName(unique("Renamed cup"));
+            budget(2, () -> cupService.updateCupById(cupId, cupDTO));
+        }
+
+        @Test
+        void deleteCupById() {
+            Long spareCupId = cup();
+            budget(4, () -> cupService.deleteCupById(spareCupId));
+        }
+
+        @Test
+        void viewAllCupsForTeam() {
+            budget(2, () -> cupService.viewAllCupsForTeam(teamId));
+        }
+
+        @Test
+        void addCupToTeam() {
+            Long spareTeamId = team(null);
+            Long spareCupId = cup();
+            budget(4, () -> cupService.addCupToTeam(spareTeamId, spareCupId));
+        }
+
+        @Test
+        void removeCupFromTeam() {
+            Long spareTeamId = team(null);
+            Long spareCupId = cup();
+            jdbcTemplate.update("insert into team_cup_map (cup_id, team_id) values (?, ?)", spareCupId, spareTeamId);
+            budget(4, () -> cupService.removeCupFromTeam(spareTeamId, spareCupId));
+        }
+
+        // OwnerService
+
+        @Test
+        void getAllOwners() {
+            budget(1, () -> ownerService.getAllOwners());
+        }
+
+        @Test
+        void getOwnersPage() {
+            budget(1, () -> ownerService.getOwnersPage(null, PAGE_SIZE));
+        }
+
+        @Test
+        void getOwnerById() {
+            budget(1, () -> ownerService.getOwnerById(ownerId));
+        }
+
+        @Test
+        void createOwner() {
+            OwnerDTO ownerDTO = new OwnerDTO();
+            ownerDTO.setName(unique("New owner"));
+            ownerDTO.setNetWorth("$2bn");
+            budget(1, () -> ownerService.createOwner(ownerDTO));
+        }
+
+        @Test
+        void updateOwnerById() {
+            OwnerDTO ownerDTO = new OwnerDTO();
+            ownerDTO.setName(unique("Renamed owner"));
+            budget(2, () -> ownerService.updateOwnerById(ownerId, ownerDTO));
+        }
+
+        @Test
+        void deleteOwnerById() {
+            Long spareOwnerId = owner(null);
+            budget(3, () -> ownerService.deleteOwnerById(spareOwnerId));
+        }
+
+        @Test
+        void viewOwnerForTeam() {
+            budget(1, () -> ownerService.viewOwnerForTeam(teamId));
+        }
+
+        @Test
+        void addOwnerToTeam() {
+            Long spareTeamId = team(null);
+            Long spareOwnerId = owner(null);
+            budget(3, () -> ownerService.addOwnerToTeam(spareTeamId, spareOwnerId));
+        }
+
+        @Test
+        void removeOwnerFromTeam() {
+            Long spareTeamId = team(null);
+            Long spareOwnerId = owner(spareTeamId);
+            budget(2, () -> ownerService.removeOwnerFromTeam(spareTeamId, spareOwnerId));
+        }
+
+        // StadiumService
+
+        @Test
+        void getAllStadiums() {
+            budget(1, () -> stadiumService.getAllStadiums());
+        }
+
+        @Test
+        void getStadiumsPage() {
+            budget(1, () -> stadiumService.getStadiumsPage(null, PAGE_SIZE));
+        }
+
+        @Test
+        void getStadiumById() {
+            budget(1, () -> stadiumService.getStadiumById(stadiumId));
+        }
+
+        @Test
+        void createStadium() {
+            StadiumDTO stadiumDTO = new StadiumDTO();
+            stadiumDTO.setName(unique("New stadium"));
+            stadiumDTO.setCapacity(30000);
+            budget(2, () -> stadiumService.createStadium(stadiumDTO));
+        }
+
+        @Test
+        void updateStadiumById() {
+            StadiumDTO stadiumDTO = new StadiumDTO();
+            stadiumDTO.setName(unique("Renamed stadium"));
+            budget(2, () -> stadiumService.updateStadiumById(stadiumId, stadiumDTO));
+        }
+
+        @Test
+        void deleteStadiumById() {
+            Long spareStadiumId = stadium(null);
+            budget(3, () -> stadiumService.deleteStadiumById(spareStadiumId));
+        }
+
+        @Test
+        void viewStadiumForTeam() {
+            budget(1, () -> stadiumService.viewStadiumForTeam(teamId));
+        }
+
+        @Test
+        void addStadiumToTeam() {
+            Long spareTeamId = team(null);
+            Long spareStadiumId = stadium(null);
+            budget(3, () -> stadiumService.addStadiumToTeam(spareTeamId, spareStadiumId));
+        }
+
+        @Test
+        void removeStadiumFromTeam() {
+            Long spareTeamId = team(null);
+            Long spareStadiumId = stadium(spareTeamId);
+            budget(2, () -> stadiumService.removeStadiumFromTeam(spareTeamId, spareStadiumId));
+        }
+
+        // MatchService
+
+        @Test
+        void getMatchById() {
+            budget(1, () -> matchService.getMatchById(matchId));
+        }
+
+        @Test
+        void viewAllMatchesForLeague() {
+            budget(2, () -> matchService.viewAllMatchesForLeague(leagueId, SEASON));
+        }
+
+        @Test
+        void createMatch() {
+            Long spareLeagueId = league();
+            Long homeTeamId = team(spareLeagueId);
+            Long awayTeamId = team(spareLeagueId);
+            budget(3, () -> matchService.createMatch(MatchDTO.builder().leagueId(spareLeagueId).season(SEASON)
+                    .homeTeamId(homeTeamId).awayTeamId(awayTeamId).build()));
+        }
+
+        // first result of the season (starts the table), a draw so the two teams are level and the head-to-head
+        // is looked up: lock match + lock league + table + start table + table + 3 updates + head-to-head
+        @Test
+        void recordResult() {
+            Long spareMatchId = match(league());
+            budget(9, () -> matchService.recordResult(spareMatchId, new MatchResultDTO(1, 1)));
+        }
+
+        // a result not yet recorded leaves the table alone: lock match + delete statistics of both kinds + delete
+        // events + delete
+        @Test
+        void deleteMatchById() {
+            Long spareMatchId = match(league());
+            budget(5, () -> matchService.deleteMatchById(spareMatchId));
+        }
+
+        // MatchEventService
+
+        // queued only, the background consumer stores the events on its own thread
+        @Test
+        void ingestEvents() {
+            Long spareMatchId = match(league());
+            Long homeTeamId = jdbcTemplate.queryForObject("select home_team_id from matches where match_id = ?", Long.class, spareMatchId);
+            List<MatchEventDTO> events = IntStream.range(0, 10)
+                    .mapToObj(i -> new MatchEventDTO(unique("event"), null, MatchEvent.Type.YELLOW_CARD, i, homeTeamId, null, null))
+                    .collect(Collectors.toList());
+            budget(0, () -> matchEventService.ingestEvents(spareMatchId, events));
+        }
+
+        @Test
+        void viewEventsForMatch() {
+            budget(2, () -> matchEventService.viewEventsForMatch(matchId));
+        }
+
+        // the feed itself is in memory
+        @Test
+        void subscribeToMatch() {
+            budget(1, () -> matchEventService.subscribeToMatch(matchId).complete());
+        }
+
+        @Test
+        void subscribeToLeague() {
+            budget(1, () -> matchEventService.subscribeToLeague(leagueId).complete());
+        }
+
+        // StatisticsService
+
+        // the first Player has a row for each of the `size` matches: exists + season totals + latest matches
+        @Test
+        void getPlayerStats() {
+            budget(3, () -> statisticsService.getPlayerStats(playerId, SEASON, null));
+        }
+
+        @Test
+        void getTeamStats() {
+            budget(3, () -> statisticsService.getTeamStats(teamId, SEASON, null));
+        }
+
+        // a season without events: delete + insert for each kind
+        @Test
+        void rebuildStats() {
+            budget(4, () -> statisticsService.rebuildStats(SEASON + 100));
+        }
+
+        // BulkImportService (one chunk each)
+
+        // last player id + existing teams + one insert + the imported players for the search index
+        @Test
+        void importPlayers() {
+            String csv = IntStream.range(0, 25).mapToObj(i -> unique("Imported player") + ",CM,Spain,22," + teamId)
+                    .collect(Collectors.joining("\n", "name,position,nationality,age,teamId\n", "\n"));
+            budget(4, () -> bulkImportService.importPlayers(upload(csv), BulkImportService.Format.CSV));
+        }
+
+        // existing leagues + taken names + one insert
+        @Test
+        void importTeams() {
+            String json = IntStream.range(0, 25).mapToObj(i -> "{\"name\":\"" + unique("Imported team") + "\",\"city\":\"Leeds\",\"leagueId\":" + leagueId + "}")
+                    .collect(Collectors.joining(",", "[", "]"));
+            budget(3, () -> bulkImportService.importTeams(upload(json), BulkImportService.Format.JSON));
+        }
+
+        // taken names + one insert (no teams referenced)
+        @Test
+        void importStadiums() {
+            String ndjson = IntStream.range(0, 25).mapToObj(i -> "{\"name\":\"" + unique("Imported stadium") + "\",\"capacity\":30000}")
+                    .collect(Collectors.joining("\n"));
+            budget(2, () -> bulkImportService.importStadiums(upload(ndjson), BulkImportService.Format.NDJSON));
+        }
+
+        // existing teams + teams with an owner + one insert
+        @Test
+        void importOwners() {
+            Long spareTeamId = team(leagueId);
+            String csv = IntStream.range(0, 25).mapToObj(i -> unique("Imported owner") + ",$2bn," + (i == 0 ? spareTeamId : ""))
+                    .collect(Collectors.joining("\n", "name,netWorth,teamId\n", "\n"));
+            budget(3, () -> bulkImportService.importOwners(upload(csv), BulkImportService.Format.CSV));
+        }
+
+        // FixtureService
+
+        // lock leagues + leagues with matches in the season + teams with stadiums + one insert batch
+        @Test
+        void generateFixtures() {
+            Long spareLeagueId = league();
+            team(spareLeagueId);
+            team(spareLeagueId);
+            team(spareLeagueId);
+            budget(4, () -> fixtureService.generateFixtures(spareLeagueId, FixtureRequestDTO.builder().season(SEASON).build()));
+        }
+
+        // the same statements for any number of leagues
+        @Test
+        void generateFixturesForLeagues() {
+            List<Long> spareLeagueIds = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                Long spareLeagueId = league();
+                team(spareLeagueId);
+                team(spareLeagueId);
+                spareLeagueIds.add(spareLeagueId);
+            }
+            budget(4, () -> fixtureService.generateFixturesForLeagues(FixtureRequestDTO.builder().season(SEASON)
+                    .leagueIds(spareLeagueIds).build()));
+        }
+
+        // CupBracketService, on spare cups of four teams: the statements grow with the size of the bracket, not with the tables
+
+        @Test
+        void getBracket() {
+            Long spareCupId = bracket();
+            budget(2, () -> cupBracketService.getBracket(spareCupId));
+        }
+
+        @Test
+        void createBracket() {
+            Long spareCupId = cup(4);
+            budget(6, () -> cupBracketService.createBracket(spareCupId, null));
+        }
+
+        @Test
+        void recordTieResult() {
+            Long spareCupId = bracket();
+            Long cupTieId = cupBracketService.getBracket(spareCupId).getTies().get(0).getCupTieId();
+            budget(5, () -> cupBracketService.recordTieResult(spareCupId, cupTieId, new CupTieResultDTO(2, 1, null)));
+        }
+
+        @Test
+        void deleteBracket() {
+            Long spareCupId = bracket();
+            budget(2, () -> cupBracketService.deleteBracket(spareCupId));
+        }
+
+        @Test
+        void simulateCup() {
+            Long spareCupId = bracket();
+            budget(3, () -> cupBracketService.simulateCup(spareCupId, 1000));
+        }
+
+        private void budget(int statements, Runnable call) {
+
+            SqlRecorder.Recording recording = SqlRecorder.record(call);
+
+            assertThat(recording.count()).as("statements with %d rows: %s", size, recording).isEqualTo(statements);
+        }
+
+        private void batch(String sql, IntFunction<Object[]> row) {
+            batch(sql, row, 0);
+        }
+
+        private void batch(String sql, IntFunction<Object[]> row, int from) {
+            for (int start = from; start < size; start += BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, IntStream.range(start, Math.min(start + BATCH_SIZE, size))
+                        .mapToObj(row).collect(Collectors.toList()));
+            }
+        }
+
+        private List<Long> ids(String table) {
+            return jdbcTemplate.queryForList("select " + table + "_id from " + table + " order by " + table + "_id", Long.class);
+        }
+
+        private Long team(Long leagueId) {
+            return insert("insert into team (name, city, league_id, version) values (?, ?, ?, 0)",
+                    unique("Spare team"), "London", leagueId);
+        }
+
+        private List<Long> players(Long teamId, int count) {
+            List<Long> playerIds = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                playerIds.add(insert("insert into player (name, position, nationality, age, team_id, version) values (?, ?, ?, ?, ?, 0)",
+                        unique("Spare player"), "ST", "Spain", 21, teamId));
+            }
+            return playerIds;
+        }
+
+        private Long league() {
+            return insert("insert into league (name, country, number_of_teams, version) values (?, ?, ?, 0)",
+                    unique("Spare league"), "Spain", 20);
+        }
+
+        private Long match(Long leagueId) {
+            return insert("insert into matches (league_id, season, home_team_id, away_team_id, version) values (?, ?, ?, ?, 0)",
+                    leagueId, SEASON, team(leagueId), team(leagueId));
+        }
+
+        private Long cup() {
+            return insert("insert into cup (name, number_of_teams) values (?, ?)", unique("Spare cup"), 16);
+        }
+
+        private Long cup(int teams) {
+            Long spareCupId = cup();
+            for (int i = 0; i < teams; i++) {
+                jdbcTemplate.update("insert into team_cup_map (cup_id, team_id) values (?, ?)", spareCupId, team(leagueId));
+            }
+            return spareCupId;
+        }
+
+        private Long bracket() {
+            Long spareCupId = cup(4);
+            cupBracketService.createBracket(spareCupId, null);
+            return spareCupId;
+        }
+
+        private Long owner(Long teamId) {
+            return insert("insert into owner (name, net_worth, team_id) values (?, ?, ?)", unique("Spare owner"), "$1m", teamId);
+        }
+
+        private Long stadium(Long teamId) {
+            return insert("insert into stadium (name, capacity, team_id) values (?, ?, ?)", unique("Spare stadium"), 10000, teamId);
+        }
+    }
+
+    private PlayerDTO player(String name) {
+        PlayerDTO playerDTO = new PlayerDTO();
+        playerDTO.setName(name);
+        playerDTO.setPosition("GK");
+        playerDTO.setNationality("Italy");
+        playerDTO.setAge(30);
+        return playerDTO;
+    }
+
+    private static ByteArrayInputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String unique(String name) {
+        return name + " " + sequence.incrementAndGet();
+    }
+
+    private Long insert(String sql, Object... args) {
+        return JdbcRows.insert(jdbcTemplate, sql, args);
+    }
+
+}
@@ -0,0 +1,116 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SquadResponseCacheTest {
+
+    private static final Long TEAM_ID = 7L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SquadResponseCache squadResponseCache;
+    private TeamDTO teamDTO;
+
+    @BeforeEach
+    public void setup() {
+        squadResponseCache = new SquadResponseCache(objectMapper, meterRegistry, 1 << 20, false, 300, Runnable::run);
+        teamDTO = TeamDTO.builder().teamId(TEAM_ID).name("Arsenal").city("London")
+                .players(List.of(new TeamDTO.PlayerDTO("Bukayo Saka"))).build();
+    }
+
+    @AfterEach
+    public void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void givenPutView_whenGet_thenSameBytesAndHitsCounted() throws Exception {
+
+        // given
+        assertThat(squadResponseCache.get(SquadResponseCache.View.TEAM, TEAM_ID)).isNull();
+        squadResponseCache.put(SquadResponseCache.View.TEAM, TEAM_ID, squadResponseCache.generation(TEAM_ID), "\"1\"", teamDTO, false);
+
+        // when
+        SquadResponseCache.SerializedResponse response = squadResponseCache.get(SquadResponseCache.View.TEAM, TEAM_ID);
+
+        // then
+        assertThat(response.getETag()).isEqualTo("\"1\"");
+        assertThat(response.getBody()).isEqualTo(objectMapper.writeValueAsBytes(teamDTO));
+        assertThat(squadResponseCache.get(SquadResponseCache.View.PLAYERS, TEAM_ID)).isNull();
+        assertThat(meterRegistry.get("squad.responses.hit.ratio").gauge().value()).isEqualTo(1.0 / 3);
+        assertThat(meterRegistry.get("squad.responses.bytes").gauge().value()).isGreaterThan(response.getBody().length);
+    }
+
+    @Test
+    public void givenInvalidatedWhileLoading_whenPut_thenTheStaleViewIsNotKept() {
+
+        // given (loaded before a write to the Team commits)
+        long generation = squadResponseCache.generation(TEAM_ID);
+        squadResponseCache.invalidate(TEAM_ID);
+
+        // when
+        SquadResponseCache.SerializedResponse response = squadResponseCache.put(SquadResponseCache.View.TEAM, TEAM_ID,
+                generation, "\"1\"", teamDTO, false);
+
+        // then (still answers the request that loaded it)
+        assertThat(response).isNotNull();
+        assertThat(squadResponseCache.get(SquadResponseCache.View.TEAM, TEAM_ID)).isNull();
+    }
+
+    @Test
+    public void givenTransaction_whenInvalidate_thenViewsOfTheTeamDroppedOnlyOnCommit() {
+
+        // given
+        squadResponseCache.put(SquadResponseCache.View.TEAM, TEAM_ID, squadResponseCache.generation(TEAM_ID), "\"1\"", teamDTO, false);
+        squadResponseCache.put(SquadResponseCache.View.PLAYERS, TEAM_ID, squadResponseCache.generation(TEAM_ID), null, List.of(), true);
+        squadResponseCache.put(SquadResponseCache.View.TEAM, 8L, squadResponseCache.generation(8L), "\"1\"", teamDTO, false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        squadResponseCache.invalidate(TEAM_ID);
+
+        // then
+        assertThat(squadResponseCache.get(SquadResponseCache.View.TEAM, TEAM_ID)).isNotNull();
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertThat(squadResponseCache.get(SquadResponseCache.View.TEAM, TEAM_ID)).isNull();
+        assertThat(squadResponseCache.get(SquadResponseCache.View.PLAYERS, TEAM_ID)).isNull();
+        assertThat(squadResponseCache.get(SquadResponseCache.View.TEAM, 8L)).isNotNull();
+        assertThat(meterRegistry.get("squad.responses.invalidations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenGzip_whenPut_thenKeptCompressedAndInflatedOnDemand() throws Exception {
+
+        // given
+        squadResponseCache = new SquadResponseCache(objectMapper, new SimpleMeterRegistry(), 1 << 20, true, 300, Runnable::run);
+        byte[] json = objectMapper.writeValueAsBytes(teamDTO);
+
+        // when
+        SquadResponseCache.SerializedResponse response = squadResponseCache.put(SquadResponseCache.View.TEAM, TEAM_ID,
+                squadResponseCache.generation(TEAM_ID), "\"1\"", teamDTO, false);
+
+        // then
+        assertThat(response.isGzipped()).isTrue();
+        assertThat(response.getBody()).startsWith(0x1f, 0x8b);
+        assertThat(new String(response.plainBody(), StandardCharsets.UTF_8)).isEqualTo(new String(json, StandardCharsets.UTF_8));
+    }
+
+}
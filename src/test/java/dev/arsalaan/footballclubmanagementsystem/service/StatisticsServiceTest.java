@@ -0,0 +1,169 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.dto.PlayerStatsDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.StatsRebuildDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamStatsDTO;
+import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
+import dev.arsalaan.footballclubmanagementsystem.model.MatchEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Statistics kept up to date by the background writer of MatchEventBuffer as the events are stored, against H2, so
+// the rows are committed (no test transaction) and removed after every test. Every test also rebuilds them from
+// the events and expects the same numbers.
+
+public class StatisticsServiceTest extends MatchEventBufferTestBase {
+
+    private static final int SEASON = 2024;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private MatchEventService matchEventService;
+
+    @Autowired
+    private MatchService matchService;
+
+    private Long leagueId;
+    private Long homeTeamId;
+    private Long awayTeamId;
+    private Long strikerId;
+    private Long wingerId;
+    private Long substituteId;
+    private Long defenderId;
+
+    @BeforeEach
+    public void setup() {
+
+        leagueId = insert("insert into league (name, country, number_of_teams, version) values (?, ?, ?, 0)",
+                "Premier League", "England", 20);
+        homeTeamId = insert("insert into team (name, city, league_id, version) values (?, ?, ?, 0)", "Arsenal", "London", leagueId);
+        awayTeamId = insert("insert into team (name, city, league_id, version) values (?, ?, ?, 0)", "Chelsea", "London", leagueId);
+        strikerId = player("Kai Havertz", homeTeamId);
+        wingerId = player("Bukayo Saka", homeTeamId);
+        substituteId = player("Leandro Trossard", homeTeamId);
+        defenderId = player("Levi Colwill", awayTeamId);
+    }
+
+    @Test
+    public void givenEventsInSeveralBatches_whenGetStats_thenCountedAsTheyCameInAndTheSameAfterARebuild() {
+
+        // given
+        Long matchId = match(LocalDateTime.of(2024, 8, 17, 15, 0));
+        matchEventService.ingestEvents(matchId, List.of(
+                event("e1", MatchEvent.Type.GOAL, 12, homeTeamId, strikerId, wingerId),
+                event("e2", MatchEvent.Type.YELLOW_CARD, 30, awayTeamId, defenderId, null)));
+        awaitWritten();
+        matchEventService.ingestEvents(matchId, List.of(
+                event("e3", MatchEvent.Type.SUBSTITUTION, 60, homeTeamId, wingerId, substituteId),
+                event("e4", MatchEvent.Type.OWN_GOAL, 70, awayTeamId, strikerId, null),
+                event("e5", MatchEvent.Type.GOAL, 85, homeTeamId, substituteId, strikerId),
+                event("e6", MatchEvent.Type.RED_CARD, 88, awayTeamId, defenderId, null)));
+        awaitWritten();
+
+        for (int run = 0; run < 2; run++) {
+
+            // then
+            assertThat(statisticsService.getPlayerStats(strikerId, null, null).getSeasonToDate())
+                    .isEqualTo(new PlayerStatsDTO.TotalsDTO(1L, 1L, 1L, 1L, 0L, 0L, 90L));
+            assertThat(statisticsService.getPlayerStats(wingerId, null, null).getSeasonToDate())
+                    .isEqualTo(new PlayerStatsDTO.TotalsDTO(1L, 0L, 1L, 0L, 0L, 0L, 60L));
+            assertThat(statisticsService.getPlayerStats(substituteId, null, null).getSeasonToDate())
+                    .isEqualTo(new PlayerStatsDTO.TotalsDTO(1L, 1L, 0L, 0L, 0L, 0L, 30L));
+            assertThat(statisticsService.getPlayerStats(defenderId, null, null).getSeasonToDate())
+                    .isEqualTo(new PlayerStatsDTO.TotalsDTO(1L, 0L, 0L, 0L, 1L, 1L, 88L));
+
+            TeamStatsDTO home = statisticsService.getTeamStats(homeTeamId, null, null);
+            assertThat(home.getSeason()).isEqualTo(SEASON);
+            assertThat(home.getSeasonToDate()).isEqualTo(new TeamStatsDTO.TotalsDTO(1L, 2L, 1L, 0L, 0L));
+            assertThat(statisticsService.getTeamStats(awayTeamId, null, null).getSeasonToDate())
+                    .isEqualTo(new TeamStatsDTO.TotalsDTO(1L, 1L, 2L, 1L, 1L));
+
+            // when
+            StatsRebuildDTO rebuild = statisticsService.rebuildStats(null);
+            assertThat(rebuild.getPlayerRows()).isEqualTo(4);
+            assertThat(rebuild.getTeamRows()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void givenMoreMatchesThanTheWindow_whenGetPlayerStats_thenLastMatchesAreTheLatestOnes() {
+
+        // given (a goal in each of six Matches, the earliest one a hat-trick)
+        for (int day = 1; day <= 6; day++) {
+            Long matchId = match(LocalDateTime.of(2024, 9, day, 15, 0));
+            int goals = day == 1 ? 3 : 1;
+            for (int goal = 0; goal < goals; goal++) {
+                matchEventService.ingestEvents(matchId, List.of(
+                        event("goal-" + day + "-" + goal, MatchEvent.Type.GOAL, 10 + goal, homeTeamId, strikerId, null)));
+            }
+        }
+        awaitWritten();
+
+        // when
+        PlayerStatsDTO stats = statisticsService.getPlayerStats(strikerId, SEASON, null);
+        PlayerStatsDTO lastTwo = statisticsService.getPlayerStats(strikerId, SEASON, 2);
+
+        // then
+        assertThat(stats.getLast()).isEqualTo(StatisticsService.DEFAULT_LAST);
+        assertThat(stats.getSeasonToDate().getMatches()).isEqualTo(6);
+        assertThat(stats.getSeasonToDate().getGoals()).isEqualTo(8);
+        assertThat(stats.getLastMatches().getMatches()).isEqualTo(5);
+        assertThat(stats.getLastMatches().getGoals()).isEqualTo(5);
+        assertThat(lastTwo.getLastMatches().getGoals()).isEqualTo(2);
+        assertThat(statisticsService.getTeamStats(homeTeamId, SEASON, 2).getLastMatches().getGoalsFor()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenMatchWithStatistics_whenDeleteMatchById_thenItsStatisticsAreGone() {
+
+        // given
+        Long matchId = match(LocalDateTime.of(2024, 8, 17, 15, 0));
+        matchEventService.ingestEvents(matchId, List.of(event("e1", MatchEvent.Type.GOAL, 12, homeTeamId, strikerId, null)));
+        awaitWritten();
+
+        // when
+        matchService.deleteMatchById(matchId);
+
+        // then
+        assertThat(statisticsService.getPlayerStats(strikerId, SEASON, null).getSeasonToDate().getMatches()).isZero();
+        assertThat(statisticsService.getTeamStats(awayTeamId, SEASON, null).getSeasonToDate().getMatches()).isZero();
+    }
+
+    @Test
+    public void givenNoStatistics_whenGetPlayerStats_thenNoSeasonAndZeroTotals() {
+
+        PlayerStatsDTO stats = statisticsService.getPlayerStats(strikerId, null, null);
+
+        assertThat(stats.getSeason()).isNull();
+        assertThat(stats.getSeasonToDate()).isEqualTo(new PlayerStatsDTO.TotalsDTO(0L, 0L, 0L, 0L, 0L, 0L, 0L));
+    }
+
+    @Test
+    public void givenInvalidRequest_whenGetStats_thenThrowsApiRequestException() {
+
+        assertThrows(ApiRequestException.class, () -> statisticsService.getPlayerStats(strikerId + 1000, null, null));
+        assertThrows(ApiRequestException.class, () -> statisticsService.getTeamStats(homeTeamId + 1000, null, null));
+        assertThrows(ApiRequestException.class, () -> statisticsService.getPlayerStats(strikerId, null, 0));
+        assertThrows(ApiRequestException.class, () -> statisticsService.getTeamStats(homeTeamId, null, StatisticsService.MAX_LAST + 1));
+    }
+
+    private Long match(LocalDateTime kickOff) {
+        return insert("insert into matches (league_id, season, home_team_id, away_team_id, kick_off, version) values (?, ?, ?, ?, ?, 0)",
+                leagueId, SEASON, homeTeamId, awayTeamId, kickOff);
+    }
+
+    private Long player(String name, Long teamId) {
+        return insert("insert into player (name, position, nationality, age, team_id, version) values (?, ?, ?, ?, ?, 0)",
+                name, "ST", "England", 25, teamId);
+    }
+
+}
@@ -0,0 +1,143 @@
+package dev.arsalaan.footballclubmanagementsystem.service;
+
+import dev.arsalaan.footballclubmanagementsystem.mapper.TeamMapperImpl;
+import dev.arsalaan.footballclubmanagementsystem.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Pins the number of SQL statements each TeamService read method issues.
+// Every team is seeded with a league, stadium, owner and players, so walking any of those lazily (N+1) would
+// make the count grow with TEAM_COUNT and fail the assertions below.
+// The persistence context is cleared after seeding so every read really hits the database.
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({TeamService.class, TeamMapperImpl.class, SquadResponseCache.class, JacksonAutoConfiguration.class,
+        SimpleMeterRegistry.class})
+public class TeamServiceQueryCountTest {
+
+    private static final int TEAM_COUNT = 20;
+    private static final int PLAYERS_PER_TEAM = 3;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long leagueId;
+    private Long teamId;
+
+    @BeforeEach
+    public void setup() {
+
+        League league = entityManager.persist(League.builder().name("Premier League").country("England")
+                .numberOfTeams(TEAM_COUNT).build());
+        leagueId = league.getLeagueId();
+
+        for (int t = 0; t < TEAM_COUNT; t++) {
+            Team team = entityManager.persist(Team.builder().name("Team " + t).city("City " + t)
+                    .manager("Manager " + t).league(league).build());
+            entityManager.persist(new Stadium(null, "Stadium " + t, 40000, team));
+            entityManager.persist(new Owner(null, "Owner " + t, "$1bn", team));
+            for (int p = 0; p < PLAYERS_PER_TEAM; p++) {
+                entityManager.persist(new Player(null, "Player " + t + "-" + p, "CM", "England", 25, null, team));
+            }
+            teamId = team.getTeamId();
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void getAllTeams_issuesOneStatement() {
+
+        assertThat(teamService.getAllTeams()).hasSize(TEAM_COUNT)
+                .allSatisfy(team -> assertThat(team.getPlayers()).hasSize(PLAYERS_PER_TEAM));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void getTeamsPage_issuesTwoStatements() {
+
+        assertThat(teamService.getTeamsPage(null, TEAM_COUNT / 2).getContent()).hasSize(TEAM_COUNT / 2)
+                .allSatisfy(team -> assertThat(team.getPlayers()).hasSize(PLAYERS_PER_TEAM));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void getTeamById_issuesTwoStatements() {
+
+        assertThat(teamService.getTeamById(teamId).getPlayers()).hasSize(PLAYERS_PER_TEAM);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void getTeamETag_issuesTwoStatementsAndLoadsNoEntities() {
+
+        assertThat(teamService.getTeamETag(teamId)).startsWith("\"");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void getTeamsForLeagueETag_issuesThreeStatementsAndLoadsNoEntities() {
+
+        assertThat(teamService.getTeamsForLeagueETag(leagueId)).startsWith("\"");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void viewAllTeamsForLeague_issuesTwoStatements() {
+
+        assertThat(teamService.viewAllTeamsForLeague(leagueId)).hasSize(TEAM_COUNT)
+                .allSatisfy(team -> assertThat(team.getPlayers()).hasSize(PLAYERS_PER_TEAM));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void exportTeams_issuesTwoStatements() {
+
+        teamService.exportTeams(team -> assertThat(team.getPlayerIds()).hasSize(PLAYERS_PER_TEAM));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void assignPlayersToTeam_issuesThreeStatementsWhateverTheSquadSize() {
+
+        List<Long> playerIds = new ArrayList<>();
+        for (int p = 0; p < 25; p++) {
+            playerIds.add(entityManager.persistAndGetId(new Player(null, "Free agent " + p, "CB", "England", 25, null, null), Long.class));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        assertThat(teamService.assignPlayersToTeam(teamId, playerIds).getUpdated()).hasSize(25);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(teamService.getTeamById(teamId).getPlayers()).hasSize(PLAYERS_PER_TEAM + 25);
+    }
+
+}
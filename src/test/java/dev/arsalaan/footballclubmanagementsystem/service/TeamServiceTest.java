@@ -1,12 +1,17 @@
 package dev.arsalaan.footballclubmanagementsystem.service;
 
+import dev.arsalaan.footballclubmanagementsystem.dto.CursorPageDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.LeagueDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.RosterUpdateDTO;
 import dev.arsalaan.footballclubmanagementsystem.dto.TeamDTO;
+import dev.arsalaan.footballclubmanagementsystem.dto.TeamExportDTO;
 import dev.arsalaan.footballclubmanagementsystem.exception.ApiRequestException;
 import dev.arsalaan.footballclubmanagementsystem.mapper.TeamMapper;
 import dev.arsalaan.footballclubmanagementsystem.model.League;
 import dev.arsalaan.footballclubmanagementsystem.model.Team;
+import dev.arsalaan.footballclubmanagementsystem.repository.EntityVersion;
 import dev.arsalaan.footballclubmanagementsystem.repository.LeagueRepository;
+import dev.arsalaan.footballclubmanagementsystem.repository.PlayerRepository;
 import dev.arsalaan.footballclubmanagementsystem.repository.TeamRepository;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -23,10 +28,14 @@ import static org.mockito.Mockito.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 // Requires @InjectMocks for Service (want to inject a mocked object into another mocked object).
@@ -47,6 +56,12 @@ public class TeamServiceTest {
     @Mock
     private LeagueRepository leagueRepository;
 
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private SquadResponseCache squadResponseCache;
+
     private Team team1;
     private Team team2;
     private TeamDTO teamDTO1;
@@ -87,7 +102,7 @@ public class TeamServiceTest {
     public void givenTeamsList_whenGetAllTeams_thenReturnTeamsList() {
 
         // given
-        given(teamRepository.findAll()).willReturn(teams);
+        given(teamRepository.findAllWithPlayers()).willReturn(teams);
         given(teamMapper.toTeamDTOs(teams)).willReturn(teamsDTO);
 
         // when
@@ -96,7 +111,74 @@ public class TeamServiceTest {
         // then
         assertEquals(2, teamsList.size());
         assertThat(teamsList.get(1).getName()).isEqualTo(teams.get(1).getName());
-        verify(teamRepository, times(1)).findAll();
+        verify(teamRepository, times(1)).findAllWithPlayers();
+    }
+
+    @Test
+    public void givenMoreTeamsThanLimit_whenGetTeamsPage_thenReturnPageWithNextCursor() {
+
+        // given (limit + 1 rows come back when a next page exists)
+        given(teamRepository.findByTeamIdGreaterThanOrderByTeamIdAsc(eq(0L), any(Pageable.class))).willReturn(teams);
+        given(teamMapper.toTeamDTOs(teams)).willReturn(teamsDTO);
+
+        // when
+        CursorPageDTO<TeamDTO> teamsPage = teamService.getTeamsPage(null, 1);
+
+        // then
+        assertEquals(1, teamsPage.getContent().size());
+        assertEquals(1L, teamsPage.getNextCursor());
+        verify(teamRepository, times(1)).fetchPlayers(Arrays.asList(1L, 2L));
+    }
+
+    @Test
+    public void givenLastPage_whenGetTeamsPage_thenReturnPageWithoutNextCursor() {
+
+        // given
+        given(teamRepository.findByTeamIdGreaterThanOrderByTeamIdAsc(eq(1L), any(Pageable.class))).willReturn(teams.subList(1, 2));
+        given(teamMapper.toTeamDTOs(teams.subList(1, 2))).willReturn(teamsDTO.subList(1, 2));
+
+        // when
+        CursorPageDTO<TeamDTO> teamsPage = teamService.getTeamsPage(1L, 1);
+
+        // then
+        assertEquals(1, teamsPage.getContent().size());
+        assertThat(teamsPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void givenLimitOutOfRange_whenGetTeamsPage_thenThrowsException() {
+
+        // when
+        ApiRequestException apiRequestException = Assertions.assertThrows(ApiRequestException.class,
+                () -> teamService.getTeamsPage(null, 0));
+
+        // then
+        assertThat(apiRequestException).hasMessageContaining("limit must be between");
+        verify(teamRepository, never()).findByTeamIdGreaterThanOrderByTeamIdAsc(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    public void givenTeamsWithPlayers_whenExportTeams_thenSinkReceivesTeamsWithPlayerIds() {
+
+        // given
+        TeamExportDTO teamExportDTO1 = new TeamExportDTO(1L, "Manchester United", "Manchester", "Erik ten Hag", 1L);
+        TeamExportDTO teamExportDTO2 = new TeamExportDTO(2L, "Manchester City", "Manchester", "Pep Guardiola", null);
+        PlayerRepository.TeamPlayerId teamPlayerId = mock(PlayerRepository.TeamPlayerId.class);
+        given(teamPlayerId.getTeamId()).willReturn(1L);
+        given(teamPlayerId.getPlayerId()).willReturn(7L);
+
+        given(teamRepository.streamAllForExport()).willReturn(Stream.of(teamExportDTO1, teamExportDTO2));
+        given(playerRepository.findPlayerIdsByTeamIds(Arrays.asList(1L, 2L))).willReturn(Collections.singletonList(teamPlayerId));
+
+        // when
+        List<TeamExportDTO> exported = new ArrayList<>();
+        teamService.exportTeams(exported::add);
+
+        // then
+        assertEquals(2, exported.size());
+        assertThat(exported.get(0).getPlayerIds()).containsExactly(7L);
+        assertThat(exported.get(1).getPlayerIds()).isEmpty();
+        verify(playerRepository, times(1)).findPlayerIdsByTeamIds(anyCollection());
     }
 
     @Test
@@ -128,6 +210,38 @@ public class TeamServiceTest {
         verify(teamMapper, never()).toTeamDTO(any(Team.class));
     }
 
+    @Test
+    public void givenPlayerUpdated_whenGetTeamETag_thenETagChanges() {
+
+        // given
+        EntityVersion player = mock(EntityVersion.class);
+        given(player.getId()).willReturn(7L);
+        given(player.getVersion()).willReturn(0L, 1L);
+        given(teamRepository.findVersionByTeamId(1L)).willReturn(Optional.of(0L));
+        given(playerRepository.findVersionsByTeamId(1L)).willReturn(Collections.singletonList(player));
+
+        // when
+        String eTagBefore = teamService.getTeamETag(1L);
+        String eTagAfter = teamService.getTeamETag(1L);
+
+        // then
+        assertThat(eTagBefore).isNotEqualTo(eTagAfter);
+        verify(teamRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    public void givenNonExistingTeamId_whenGetTeamETag_thenThrowsException() {
+
+        // given
+        given(teamRepository.findVersionByTeamId(1L)).willReturn(Optional.empty());
+
+        // when
+        ApiRequestException apiRequestException = Assertions.assertThrows(ApiRequestException.class, () -> teamService.getTeamETag(1L));
+
+        // then
+        assertThat(apiRequestException).hasMessageContaining("does not exist");
+    }
+
     @Test
     public void givenTeam_whenCreateTeam_thenSaveTeam(){
 
@@ -174,6 +288,7 @@ public class TeamServiceTest {
         // then - verify the output
         assertThat(teamDTO1.getName()).isEqualTo("MUFC");
         verify(teamRepository, times(1)).findById(1L);
+        verify(squadResponseCache, times(1)).invalidate(1L);
     }
 
     @Test
@@ -202,6 +317,7 @@ public class TeamServiceTest {
 
         // then - verify the output
         verify(teamRepository, times(1)).deleteById(1L);
+        verify(squadResponseCache, times(1)).invalidate(1L);
     }
 
     @Test
@@ -217,15 +333,16 @@ public class TeamServiceTest {
         // then
         assertThat(apiRequestException).hasMessageContaining("does not exist");
         verify(teamRepository, never()).deleteById(50L);
+        verify(squadResponseCache, never()).invalidate(50L);
     }
 
     @Test
     public void givenLeagueWithTeams_whenViewAllTeamsForLeague_thenReturnTeamsList() {
 
         // given - precondition or setup
-        league1.setTeams(teams);
-        given(leagueRepository.findById(1L)).willReturn(Optional.of(league1));
-        given(teamMapper.toTeamDTOs(league1.getTeams())).willReturn(teamsDTO);
+        given(leagueRepository.existsById(1L)).willReturn(true);
+        given(teamRepository.findAllWithPlayersByLeagueId(1L)).willReturn(teams);
+        given(teamMapper.toTeamDTOs(teams)).willReturn(teamsDTO);
 
         // when - action or the behaviour that we are going test
         List<TeamDTO> teamsList = teamService.viewAllTeamsForLeague(1L);
@@ -239,7 +356,7 @@ public class TeamServiceTest {
     public void givenNonExistingLeagueId_whenViewAllTeamsForLeague_thenThrowsException() {
 
         // given - precondition or setup
-        given(leagueRepository.findById(50L)).willReturn(Optional.empty());
+        given(leagueRepository.existsById(50L)).willReturn(false);
 
         // when - action or the behaviour that we are going test
         ApiRequestException apiRequestException = Assertions.assertThrows(
@@ -386,4 +503,89 @@ public class TeamServiceTest {
         assertThat(apiRequestException).hasMessageContaining("not assigned to any League");
     }
 
+    @Test
+    public void givenMixedPlayers_whenAssignPlayersToTeam_thenUpdatesEligibleAndRejectsOthers() {
+
+        // given - player 7 is free, 8 plays for team 2, 9 does not exist
+        given(teamRepository.existsById(1L)).willReturn(true);
+        given(teamRepository.getReferenceById(1L)).willReturn(team1);
+        given(playerRepository.findTeamIdsByPlayerIds(anyCollection()))
+                .willReturn(Arrays.asList(teamPlayerId(7L, null), teamPlayerId(8L, 2L)));
+        given(playerRepository.assignTeam(team1, Collections.singleton(7L))).willReturn(1);
+
+        // when
+        RosterUpdateDTO roster = teamService.assignPlayersToTeam(1L, Arrays.asList(7L, 8L, 9L, 7L));
+
+        // then
+        assertThat(roster.getUpdated()).containsExactly(7L);
+        assertThat(roster.getRejected()).extracting(RosterUpdateDTO.RejectedPlayerDTO::getPlayerId).containsExactly(8L, 9L);
+        assertThat(roster.getRejected().get(0).getReason()).contains("already assigned to Team with id 2");
+        assertThat(roster.getRejected().get(1).getReason()).contains("does not exist");
+    }
+
+    @Test
+    public void givenNonExistingTeamId_whenAssignPlayersToTeam_thenThrowsException() {
+
+        // given
+        given(teamRepository.existsById(50L)).willReturn(false);
+
+        // when
+        ApiRequestException apiRequestException = Assertions.assertThrows(
+                ApiRequestException.class, () -> teamService.assignPlayersToTeam(50L, Collections.singletonList(7L)));
+
+        // then
+        assertThat(apiRequestException).hasMessageContaining("does not exist");
+        verify(playerRepository, never()).assignTeam(any(Team.class), anyCollection());
+    }
+
+    @Test
+    public void givenConcurrentRosterChange_whenAssignPlayersToTeam_thenThrowsException() {
+
+        // given - player 7 looked free, but another request assigned it before the UPDATE ran
+        given(teamRepository.existsById(1L)).willReturn(true);
+        given(teamRepository.getReferenceById(1L)).willReturn(team1);
+        given(playerRepository.findTeamIdsByPlayerIds(anyCollection())).willReturn(Collections.singletonList(teamPlayerId(7L, null)));
+        given(playerRepository.assignTeam(team1, Collections.singleton(7L))).willReturn(0);
+
+        // when
+        ApiRequestException apiRequestException = Assertions.assertThrows(
+                ApiRequestException.class, () -> teamService.assignPlayersToTeam(1L, Collections.singletonList(7L)));
+
+        // then
+        assertThat(apiRequestException).hasMessageContaining("changed concurrently");
+    }
+
+    @Test
+    public void givenMixedPlayers_whenRemovePlayersFromTeam_thenUpdatesEligibleAndRejectsOthers() {
+
+        // given - player 7 plays for team 1, 8 is free
+        given(teamRepository.existsById(1L)).willReturn(true);
+        given(teamRepository.getReferenceById(1L)).willReturn(team1);
+        given(playerRepository.findTeamIdsByPlayerIds(anyCollection()))
+                .willReturn(Arrays.asList(teamPlayerId(7L, 1L), teamPlayerId(8L, null)));
+        given(playerRepository.unassignTeam(team1, Collections.singleton(7L))).willReturn(1);
+
+        // when
+        RosterUpdateDTO roster = teamService.removePlayersFromTeam(1L, Arrays.asList(7L, 8L));
+
+        // then
+        assertThat(roster.getUpdated()).containsExactly(7L);
+        assertThat(roster.getRejected()).extracting(RosterUpdateDTO.RejectedPlayerDTO::getReason)
+                .containsExactly("Player with id 8 is not assigned to Team with id 1");
+    }
+
+    private static PlayerRepository.TeamPlayerId teamPlayerId(Long playerId, Long teamId) {
+        return new PlayerRepository.TeamPlayerId() {
+            @Override
+            public Long getTeamId() {
+                return teamId;
+            }
+
+            @Override
+            public Long getPlayerId() {
+                return playerId;
+            }
+        };
+    }
+
 }
@@ -0,0 +1,36 @@
+package dev.arsalaan.footballclubmanagementsystem.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/*
+Test rows written with plain JDBC, committed at once, for tests that run outside a test transaction:
+
+    Long teamId = JdbcRows.insert(jdbcTemplate, "insert into team (name, city, version) values (?, ?, 0)", "Arsenal", "London");
+ */
+
+public final class JdbcRows {
+
+    private JdbcRows() {
+    }
+
+    // the generated id of the inserted row
+    public static Long insert(JdbcTemplate jdbcTemplate, String sql, Object... args) {
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, keyHolder);
+
+        return keyHolder.getKey().longValue();
+    }
+
+}
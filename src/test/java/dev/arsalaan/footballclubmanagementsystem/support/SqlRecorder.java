@@ -0,0 +1,135 @@
+package dev.arsalaan.footballclubmanagementsystem.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/*
+Records the SQL statements a block of code sends through a DataSource wrapped with SqlRecorder.wrap (or through the
+Spring context when SqlRecorderConfiguration is imported):
+
+    SqlRecorder.Recording recording = SqlRecorder.record(() -> teamService.getAllTeams());
+    assertThat(recording.count()).as(recording.toString()).isEqualTo(1);
+
+Only statements run by the calling thread are recorded. A JDBC batch counts as one statement (one round trip).
+ */
+
+public final class SqlRecorder {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private static final QueryExecutionListener LISTENER = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Recording recording = CURRENT.get();
+            if (recording != null) {
+                String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+                recording.statements.add(new Statement(QueryUtils.getQueryType(queryInfoList.get(0).getQuery()), sql,
+                        execInfo.isBatch() ? execInfo.getBatchSize() : 1, Duration.ofMillis(execInfo.getElapsedTime())));
+            }
+        }
+    };
+
+    private SqlRecorder() {
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return ProxyDataSourceBuilder.create(dataSource).name("sql-recorder").listener(LISTENER).build();
+    }
+
+    public static Recording record(Runnable block) {
+
+        Recording previous = CURRENT.get();
+        Recording recording = new Recording();
+        CURRENT.set(recording);
+
+        try {
+            block.run();
+            return recording;
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static final class Recording {
+
+        private final List<Statement> statements = new ArrayList<>();
+
+        public List<Statement> statements() {
+            return Collections.unmodifiableList(statements);
+        }
+
+        public int count() {
+            return statements.size();
+        }
+
+        public long count(QueryType type) {
+            return statements.stream().filter(statement -> statement.type == type).count();
+        }
+
+        public Duration totalTime() {
+            return statements.stream().map(statement -> statement.time).reduce(Duration.ZERO, Duration::plus);
+        }
+
+        public Map<QueryType, Long> countsByType() {
+            return statements.stream().collect(Collectors.groupingBy(statement -> statement.type, TreeMap::new, Collectors.counting()));
+        }
+
+        // used as assertion description, so a failing budget shows what was actually run
+        @Override
+        public String toString() {
+
+            StringBuilder summary = new StringBuilder()
+                    .append(count()).append(" statements ").append(countsByType())
+                    .append(" in ").append(totalTime().toMillis()).append(" ms");
+
+            statements.stream().limit(20).forEach(statement -> summary.append("\n  ").append(statement));
+            if (count() > 20) {
+                summary.append("\n  ... ").append(count() - 20).append(" more");
+            }
+
+            return summary.toString();
+        }
+    }
+
+    public static final class Statement {
+
+        public final QueryType type;
+        public final String sql;
+        public final int batchSize;
+        public final Duration time;
+
+        private Statement(QueryType type, String sql, int batchSize, Duration time) {
+            this.type = type;
+            this.sql = sql;
+            this.batchSize = batchSize;
+            this.time = time;
+        }
+
+        @Override
+        public String toString() {
+            return type + (batchSize > 1 ? " x" + batchSize : "") + " " + sql;
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package dev.arsalaan.footballclubmanagementsystem.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+// @Import it into a Spring test to route every DataSource of the context through SqlRecorder
+
+@TestConfiguration
+public class SqlRecorderConfiguration {
+
+    @Bean
+    public static BeanPostProcessor sqlRecorderDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource ? SqlRecorder.wrap((DataSource) bean) : bean;
+            }
+        };
+    }
+
+}